@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package binding;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * A micro benchmark for setting properties that have many listeners, like
+ * layout properties that many bindings depend on.
+ * <p>
+ * Usage: PropertyNotificationBench [listeners] [sets per round] [rounds]
+ * <p>
+ * For each round and kind of listener the number of property sets per second
+ * is printed, together with the number of bytes allocated per set when the
+ * JVM can measure it. Run it against two builds of the base module to
+ * compare their implementations.
+ */
+public class PropertyNotificationBench {
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        int listeners = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int sets = args.length > 1 ? Integer.parseInt(args[1]) : 200000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        for (int round = 0; round < rounds; round++) {
+            run(round, "invalidation", createInvalidated(listeners), sets);
+            run(round, "change", createChanged(listeners), sets);
+            run(round, "object change", createObjectChanged(listeners), sets);
+            run(round, "bound", createBound(listeners), sets);
+            run(round, "modified during event", createModifying(listeners), sets);
+        }
+    }
+
+    private static DoubleProperty createInvalidated(int listeners) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        // Reading the value validates the property, so the next set notifies again
+        InvalidationListener listener = o -> sink += (int) property.get();
+        for (int i = 0; i < listeners; i++) {
+            property.addListener(listener);
+        }
+        return property;
+    }
+
+    private static DoubleProperty createChanged(int listeners) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        ChangeListener<Number> listener = (o, oldValue, newValue) -> sink++;
+        for (int i = 0; i < listeners; i++) {
+            property.addListener(listener);
+        }
+        return property;
+    }
+
+    private static DoubleProperty createObjectChanged(int listeners) {
+        ObjectProperty<Double> source = new SimpleObjectProperty<>(0.0);
+        ChangeListener<Double> listener = (o, oldValue, newValue) -> sink++;
+        for (int i = 0; i < listeners; i++) {
+            source.addListener(listener);
+        }
+        DoubleProperty property = new SimpleDoubleProperty();
+        property.addListener(o -> source.set(property.get()));
+        return property;
+    }
+
+    private static DoubleProperty createBound(int listeners) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        for (int i = 0; i < listeners; i++) {
+            DoubleProperty target = new SimpleDoubleProperty();
+            target.bind(property.multiply(2));
+            target.addListener(o -> sink += (int) target.get());
+        }
+        return property;
+    }
+
+    private static DoubleProperty createModifying(int listeners) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        InvalidationListener listener = o -> sink += (int) property.get();
+        for (int i = 0; i < listeners; i++) {
+            property.addListener(listener);
+        }
+        // Each event removes and adds back a listener
+        InvalidationListener modifier = new InvalidationListener() {
+            @Override public void invalidated(Observable o) {
+                property.removeListener(listener);
+                property.addListener(listener);
+            }
+        };
+        property.addListener(modifier);
+        return property;
+    }
+
+    private static void run(int round, String name, DoubleProperty property, int sets) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long allocatedBefore = allocatedBytes(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < sets; i++) {
+            property.set(i);
+        }
+        long time = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes(threads);
+
+        String allocation = allocatedBefore < 0 ? "n/a"
+                : String.format("%.1f bytes/set", (allocatedAfter - allocatedBefore) / (double) sets);
+        System.out.printf("round %d: %-22s %,.0f sets/s, %s%n",
+                round, name, sets / (time / 1e9), allocation);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threads) {
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package collections;
+
+import java.util.Random;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+
+/**
+ * A micro benchmark for SortedList and FilteredList under a stream of
+ * single element changes to a large source list, like a live table that
+ * receives row inserts, removals and replacements.
+ * <p>
+ * Usage: TransformationListBench [source size] [changes per round] [rounds]
+ * <p>
+ * For each round the number of source changes per second seen through a
+ * SortedList and through a FilteredList is printed. Run it against two
+ * builds of the base module to compare their implementations.
+ */
+public class TransformationListBench {
+
+    private static final ListChangeListener<Integer> LISTENER = c -> {
+        while (c.next()) {
+            // consume the change
+        }
+    };
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 500000;
+        int changes = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        for (int round = 0; round < rounds; round++) {
+            ObservableList<Integer> source = createSource(size);
+            SortedList<Integer> sorted = new SortedList<>(source, Integer::compare);
+            sorted.addListener(LISTENER);
+            double sortedRate = run(source, changes);
+
+            source = createSource(size);
+            FilteredList<Integer> filtered = new FilteredList<>(source, i -> (i & 1) == 0);
+            filtered.addListener(LISTENER);
+            double filteredRate = run(source, changes);
+
+            System.out.printf("round %d: SortedList %.0f changes/s, FilteredList %.0f changes/s%n",
+                    round, sortedRate, filteredRate);
+        }
+    }
+
+    private static ObservableList<Integer> createSource(int size) {
+        Random random = new Random(size);
+        Integer[] values = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        return FXCollections.observableArrayList(values);
+    }
+
+    private static double run(ObservableList<Integer> source, int changes) {
+        Random random = new Random(changes);
+        long start = System.nanoTime();
+        for (int i = 0; i < changes; i++) {
+            int index = random.nextInt(source.size());
+            switch (i % 3) {
+                case 0:
+                    source.add(index, random.nextInt());
+                    break;
+                case 1:
+                    source.remove(index);
+                    break;
+                default:
+                    source.set(index, random.nextInt());
+                    break;
+            }
+        }
+        return changes / ((System.nanoTime() - start) / 1e9);
+    }
+}
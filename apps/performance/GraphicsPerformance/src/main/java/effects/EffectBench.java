@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package effects;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.effect.Blend;
+import javafx.scene.effect.BlendMode;
+import javafx.scene.effect.Bloom;
+import javafx.scene.effect.BoxBlur;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.effect.DisplacementMap;
+import javafx.scene.effect.DropShadow;
+import javafx.scene.effect.Effect;
+import javafx.scene.effect.FloatMap;
+import javafx.scene.effect.GaussianBlur;
+import javafx.scene.effect.Glow;
+import javafx.scene.effect.InnerShadow;
+import javafx.scene.effect.Light;
+import javafx.scene.effect.Lighting;
+import javafx.scene.effect.MotionBlur;
+import javafx.scene.effect.PerspectiveTransform;
+import javafx.scene.effect.Reflection;
+import javafx.scene.effect.SepiaTone;
+import javafx.scene.effect.Shadow;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.CycleMethod;
+import javafx.scene.paint.LinearGradient;
+import javafx.scene.paint.Stop;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Stage;
+import com.sun.javafx.perf.PerformanceTracker;
+
+/**
+ * Measures the frame rate of a continuously changing scene with each of the
+ * effects backed by the decora peers applied in turn. The content under the
+ * effect is animated, so the effect is re-filtered on every frame.
+ *
+ * To compare the single-threaded Java peers against the band-parallel ones,
+ * run this twice on the software pipeline:
+ * -Dprism.order=sw -Ddecora.jsw.parallelism=1
+ * -Dprism.order=sw
+ *
+ * and compare the reported frames per second for each effect.
+ */
+public class EffectBench extends Application {
+
+    private static final long WARMUP_NANOS = 2000L * 1000000;
+    private static final long MEASURE_NANOS = 5000L * 1000000;
+
+    private final Map<String, Supplier<Effect>> effects = new LinkedHashMap<>();
+    private final Map<String, Float> results = new LinkedHashMap<>();
+
+    private static FloatMap createFloatMap(int w, int h) {
+        FloatMap map = new FloatMap(w, h);
+        for (int x = 0; x < w; x++) {
+            float v = (float) (Math.sin(x / 20.0) * 0.02);
+            for (int y = 0; y < h; y++) {
+                map.setSamples(x, y, 0f, v);
+            }
+        }
+        return map;
+    }
+
+    private void createEffects(double w, double h) {
+        effects.put("Blend", () -> {
+            Blend b = new Blend(BlendMode.MULTIPLY);
+            b.setTopInput(new ColorAdjust(0.2, 0.1, 0.1, 0.1));
+            return b;
+        });
+        effects.put("Bloom", () -> new Bloom(0.3));
+        effects.put("BoxBlur", () -> new BoxBlur(15, 15, 3));
+        effects.put("ColorAdjust", () -> new ColorAdjust(0.2, 0.3, 0.1, 0.2));
+        effects.put("DisplacementMap", () -> new DisplacementMap(createFloatMap((int) w, (int) h)));
+        effects.put("DropShadow", () -> new DropShadow(20, 10, 10, Color.BLACK));
+        effects.put("GaussianBlur", () -> new GaussianBlur(20));
+        effects.put("Glow", () -> new Glow(0.8));
+        effects.put("InnerShadow", () -> new InnerShadow(20, Color.DARKBLUE));
+        effects.put("Lighting (distant)", () -> new Lighting(new Light.Distant(45, 45, Color.WHITE)));
+        effects.put("Lighting (point)", () -> new Lighting(new Light.Point(w / 2, h / 2, 100, Color.WHITE)));
+        effects.put("Lighting (spot)", () -> new Lighting(new Light.Spot(w / 2, h / 2, 100, 1, Color.WHITE)));
+        effects.put("MotionBlur", () -> new MotionBlur(30, 20));
+        effects.put("PerspectiveTransform", () ->
+                new PerspectiveTransform(50, 20, w - 50, 0, w, h, 0, h - 20));
+        effects.put("Reflection", () -> new Reflection(0, 0.5, 0.8, 0));
+        effects.put("SepiaTone", () -> new SepiaTone(0.8));
+        effects.put("Shadow", () -> new Shadow(20, Color.BLACK));
+    }
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        final double width = 800;
+        final double height = 600;
+        createEffects(width, height);
+
+        Rectangle background = new Rectangle(width, height,
+                new LinearGradient(0, 0, 1, 1, true, CycleMethod.NO_CYCLE,
+                                   new Stop(0, Color.CORNFLOWERBLUE),
+                                   new Stop(1, Color.ORANGE)));
+        Circle ball = new Circle(80, Color.CRIMSON);
+        Group content = new Group(background, ball);
+
+        Scene scene = new Scene(new Group(content), width, height);
+        stage.setScene(scene);
+        stage.show();
+
+        final PerformanceTracker tracker = PerformanceTracker.getSceneTracker(scene);
+        final String[] names = effects.keySet().toArray(new String[effects.size()]);
+
+        new AnimationTimer() {
+            int index = -1;
+            long phaseStart;
+            boolean warmingUp;
+
+            @Override
+            public void handle(long now) {
+                // Move the content so that the effect must be recomputed
+                double t = now / 1e9;
+                ball.setCenterX(width / 2 + Math.cos(t) * width / 3);
+                ball.setCenterY(height / 2 + Math.sin(t) * height / 3);
+
+                if (index >= 0 && warmingUp && now - phaseStart > WARMUP_NANOS) {
+                    warmingUp = false;
+                    phaseStart = now;
+                    tracker.resetAverageFPS();
+                } else if (index < 0 || (!warmingUp && now - phaseStart > MEASURE_NANOS)) {
+                    if (index >= 0) {
+                        results.put(names[index], tracker.getAverageFPS());
+                    }
+                    if (++index >= names.length) {
+                        stop();
+                        printResults();
+                        Platform.exit();
+                        return;
+                    }
+                    content.setEffect(effects.get(names[index]).get());
+                    System.out.println("Starting test: " + names[index]);
+                    warmingUp = true;
+                    phaseStart = now;
+                }
+            }
+        }.start();
+    }
+
+    private void printResults() {
+        System.out.println("decora.jsw.parallelism=" + System.getProperty("decora.jsw.parallelism", "<default>"));
+        for (Map.Entry<String, Float> e : results.entrySet()) {
+            System.out.println(e.getKey() + "\t" + e.getValue());
+        }
+    }
+
+    /**
+     * Java main for when running without JavaFX launcher
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
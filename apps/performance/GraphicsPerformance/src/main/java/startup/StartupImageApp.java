@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates.
+ * All rights reserved. Use is subject to license terms.
+ *
+ * This file is available and licensed under the following license:
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  - Redistributions of source code must retain the above copyright
+ *    notice, this list of conditions and the following disclaimer.
+ *  - Redistributions in binary form must reproduce the above copyright
+ *    notice, this list of conditions and the following disclaimer in
+ *    the documentation and/or other materials provided with the distribution.
+ *  - Neither the name of Oracle Corporation nor the names of its
+ *    contributors may be used to endorse or promote products derived
+ *    from this software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package startup;
+
+import java.io.File;
+import java.util.List;
+import javafx.application.Application;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.TilePane;
+import javafx.stage.Stage;
+
+/**
+ * A startup benchmark for applications that show many images. All images
+ * found in the directory given as the first argument are loaded (and scaled
+ * to the thumbnail size given as the optional second argument) before the
+ * stage is shown, and the time spent loading them is printed.
+ * <p>
+ * Run it twice with
+ * -Djavafx.imageCache.dir=&lt;some directory&gt;
+ *
+ * to compare a cold start, which decodes every image and fills the image
+ * cache, with a warm start, which maps the decoded frames from the cache.
+ * The -Dsun.perflog and -Dsun.perflog.fx.firstpaintflush options described
+ * in {@link StartupApp} report the overall startup time.
+ */
+public class StartupImageApp extends Application {
+
+    @Override
+    public void start(Stage stage) throws Exception {
+        List<String> args = getParameters().getUnnamed();
+        if (args.isEmpty()) {
+            System.err.println("Usage: StartupImageApp <image directory> [thumbnail size]");
+            System.exit(1);
+        }
+        double size = args.size() > 1 ? Double.parseDouble(args.get(1)) : 128;
+        File[] files = new File(args.get(0)).listFiles();
+
+        TilePane tiles = new TilePane();
+        int count = 0;
+        long start = System.nanoTime();
+        if (files != null) {
+            for (File file : files) {
+                Image image = new Image(file.toURI().toString(), size, size, true, true, false);
+                if (!image.isError()) {
+                    tiles.getChildren().add(new ImageView(image));
+                    count++;
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("Loaded %d images in %.1f ms%n", count, elapsed / 1e6);
+
+        stage.setScene(new Scene(new ScrollPane(tiles), 800, 600));
+        stage.show();
+    }
+
+    /**
+     * Java main for when running without JavaFX launcher
+     */
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -70,6 +70,7 @@ public class JSWBackend extends TreeScanner {
         StringBuilder genericsDecl = new StringBuilder();
         StringBuilder interfaceDecl = new StringBuilder();
         StringBuilder constants = new StringBuilder();
+        StringBuilder bandDecls = new StringBuilder();
         StringBuilder samplers = new StringBuilder();
         StringBuilder cleanup = new StringBuilder();
         StringBuilder srcRects = new StringBuilder();
@@ -146,7 +147,7 @@ public class JSWBackend extends TreeScanner {
                     samplers.append("int src" + i + "h = src" + i + ".getHeight();\n");
                     samplers.append("int src" + i + "scan = src" + i + ".getWidth();\n");
                     samplers.append("float[] " + v.getName() + " = src" + i + ".getData();\n");
-                    samplers.append("float " + v.getName() + "_vals[] = new float[4];\n");
+                    bandDecls.append("float " + v.getName() + "_vals[] = new float[4];\n");
 
                     // TODO: for now, assume [0,0,1,1]
                     srcRects.append("float[] src" + i + "Rect = new float[] {0,0,1,1};\n");
@@ -181,7 +182,8 @@ public class JSWBackend extends TreeScanner {
                     samplers.append("setInputNativeBounds(" + i + ", src" + i + "Bounds);\n");
 
                     if (t == Type.LSAMPLER) {
-                        samplers.append("float " + v.getName() + "_vals[] = new float[4];\n");
+                        // scratch space for sample(), one per band of rows
+                        bandDecls.append("float " + v.getName() + "_vals[] = new float[4];\n");
                     }
 
                     // the source rect decls need to come after all calls to
@@ -204,7 +206,7 @@ public class JSWBackend extends TreeScanner {
                 posDecls.append("float inc" + i + "_x = (src" + i + "Rect[2] - src" + i + "Rect[0]) / dstw;\n");
                 posDecls.append("float inc" + i + "_y = (src" + i + "Rect[3] - src" + i + "Rect[1]) / dsth;\n");
 
-                posInitY.append("float pos" + i + "_y = src" + i + "Rect[1] + inc" + i + "_y*0.5f;\n");
+                posInitY.append("float pos" + i + "_y = src" + i + "Rect[1] + inc" + i + "_y*(ystart + 0.5f);\n");
                 posInitX.append("float pos" + i + "_x = src" + i + "Rect[0] + inc" + i + "_x*0.5f;\n");
                 posIncrX.append("pos" + i + "_x += inc" + i + "_x;\n");
                 posIncrY.append("pos" + i + "_y += inc" + i + "_y;\n");
@@ -231,6 +233,7 @@ public class JSWBackend extends TreeScanner {
         glue.setAttribute("cleanup", cleanup.toString());
         glue.setAttribute("srcRects", srcRects.toString());
         glue.setAttribute("constants", constants.toString());
+        glue.setAttribute("bandDecls", bandDecls.toString());
         glue.setAttribute("posDecls", posDecls.toString());
         glue.setAttribute("pixInitY", pixInitY.toString());
         glue.setAttribute("pixInitX", pixInitX.toString());
@@ -32,19 +32,19 @@ import javafx.beans.WeakListener;
 public class ExpressionHelperBase {
 
     protected static int trim(int size, Object[] listeners) {
+        // Compact in a single pass, so that many collected listeners do not
+        // cost one array copy each
+        int newSize = 0;
         for (int index = 0; index < size; index++) {
             final Object listener = listeners[index];
-            if (listener instanceof WeakListener) {
-                if (((WeakListener)listener).wasGarbageCollected()) {
-                    final int numMoved = size - index - 1;
-                    if (numMoved > 0)
-                        System.arraycopy(listeners, index+1, listeners, index, numMoved);
-                    listeners[--size] = null; // Let gc do its work
-                    index--;
-                }
+            if (!(listener instanceof WeakListener) || !((WeakListener)listener).wasGarbageCollected()) {
+                listeners[newSize++] = listener;
             }
         }
-        return size;
+        for (int index = newSize; index < size; index++) {
+            listeners[index] = null; // Let gc do its work
+        }
+        return newSize;
     }
 
 }
@@ -309,7 +309,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int listChangeSize;
-        private boolean locked;
+        private int dispatchDepth;
+        private boolean invalidationShared;
+        private boolean changeShared;
+        private boolean listChangeShared;
         private ObservableList<E> currentValue;
 
         private Generic(ObservableListValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -366,9 +369,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -399,17 +403,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (invalidationShared) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
+                                invalidationShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners[invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -425,9 +428,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -461,17 +465,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super ObservableList<E>>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (changeShared) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
+                                changeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners[changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -487,9 +490,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                 listChangeSize = 1;
             } else {
                 final int oldCapacity = listChangeListeners.length;
-                if (locked) {
+                if (listChangeShared) {
                     final int newCapacity = (listChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     listChangeListeners = Arrays.copyOf(listChangeListeners, newCapacity);
+                    listChangeShared = false;
                 } else if (listChangeSize == oldCapacity) {
                     listChangeSize = trim(listChangeSize, listChangeListeners);
                     if (listChangeSize == oldCapacity) {
@@ -523,17 +527,16 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = listChangeSize - index - 1;
                             final ListChangeListener<? super E>[] oldListeners = listChangeListeners;
-                            if (locked) {
+                            if (listChangeShared) {
                                 listChangeListeners = new ListChangeListener[listChangeListeners.length];
                                 System.arraycopy(oldListeners, 0, listChangeListeners, 0, index+1);
+                                listChangeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, listChangeListeners, index, numMoved);
                             }
                             listChangeSize--;
-                            if (!locked) {
-                                listChangeListeners[listChangeSize] = null; // Let gc do its work
-                            }
+                            listChangeListeners[listChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -579,7 +582,10 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
             final ListChangeListener<? super E>[] curListChangeList = listChangeListeners;
             final int curListChangeSize = listChangeSize;
             try {
-                locked = true;
+                dispatchDepth++;
+                invalidationShared = true;
+                changeShared = true;
+                listChangeShared = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     curInvalidationList[i].invalidated(observable);
                 }
@@ -595,7 +601,11 @@ public abstract class ListExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--dispatchDepth == 0) {
+                    invalidationShared = false;
+                    changeShared = false;
+                    listChangeShared = false;
+                }
             }
         }
 
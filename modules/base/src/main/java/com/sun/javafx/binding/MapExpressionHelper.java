@@ -318,7 +318,10 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int mapChangeSize;
-        private boolean locked;
+        private int dispatchDepth;
+        private boolean invalidationShared;
+        private boolean changeShared;
+        private boolean mapChangeShared;
         private ObservableMap<K, V> currentValue;
 
         private Generic(ObservableMapValue<K, V> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -375,9 +378,10 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -406,17 +410,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (invalidationShared) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
+                                invalidationShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[--invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners[invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -432,9 +435,10 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -466,17 +470,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super ObservableMap<K, V>>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (changeShared) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
+                                changeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[--changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners[changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -492,9 +495,10 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                 mapChangeSize = 1;
             } else {
                 final int oldCapacity = mapChangeListeners.length;
-                if (locked) {
+                if (mapChangeShared) {
                     final int newCapacity = (mapChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     mapChangeListeners = Arrays.copyOf(mapChangeListeners, newCapacity);
+                    mapChangeShared = false;
                 } else if (mapChangeSize == oldCapacity) {
                     mapChangeSize = trim(mapChangeSize, mapChangeListeners);
                     if (mapChangeSize == oldCapacity) {
@@ -526,17 +530,16 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = mapChangeSize - index - 1;
                             final MapChangeListener<? super K, ? super V>[] oldListeners = mapChangeListeners;
-                            if (locked) {
+                            if (mapChangeShared) {
                                 mapChangeListeners = new MapChangeListener[mapChangeListeners.length];
                                 System.arraycopy(oldListeners, 0, mapChangeListeners, 0, index+1);
+                                mapChangeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, mapChangeListeners, index, numMoved);
                             }
                             mapChangeSize--;
-                            if (!locked) {
-                                mapChangeListeners[--mapChangeSize] = null; // Let gc do its work
-                            }
+                            mapChangeListeners[mapChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -570,7 +573,10 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
             final MapChangeListener<? super K, ? super V>[] curListChangeList = mapChangeListeners;
             final int curListChangeSize = mapChangeSize;
             try {
-                locked = true;
+                dispatchDepth++;
+                invalidationShared = true;
+                changeShared = true;
+                mapChangeShared = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     curInvalidationList[i].invalidated(observable);
                 }
@@ -632,7 +638,11 @@ public abstract class MapExpressionHelper<K, V> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--dispatchDepth == 0) {
+                    invalidationShared = false;
+                    changeShared = false;
+                    mapChangeShared = false;
+                }
             }
         }
 
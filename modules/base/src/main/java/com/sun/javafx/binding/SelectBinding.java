@@ -47,7 +47,14 @@ import com.sun.javafx.property.JavaBeanAccessHelper;
 import sun.util.logging.PlatformLogger;
 import sun.util.logging.PlatformLogger.Level;
 import com.sun.javafx.property.PropertyReference;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A binding used to get a member, such as <code>a.b.c</code>. The value of the
@@ -417,7 +424,7 @@ public class SelectBinding {
         private final Binding<?> binding;
         private final String[] propertyNames;
         private final ObservableValue<?>[] properties;
-        private final PropertyReference<?>[] propRefs;
+        private final StepAccessor[] accessors;
         private final WeakInvalidationListener observer;
 
         private ObservableList<ObservableValue<?>> dependencies;
@@ -442,7 +449,7 @@ public class SelectBinding {
             observer = new WeakInvalidationListener(this);
             propertyNames = new String[n];
             System.arraycopy(steps, 0, propertyNames, 0, n);
-            propRefs = new PropertyReference<?>[n];
+            accessors = new StepAccessor[n];
             properties = new ObservableValue<?>[n + 1];
             properties[0] = firstProperty;
             properties[0].addListener(observer);
@@ -475,17 +482,11 @@ public class SelectBinding {
             for (int i = 0; i < n - 1; i++) {
                 final Object obj = properties[i].getValue();
                 try {
-                    if ((propRefs[i] == null)
-                            || (!obj.getClass().equals(
-                            propRefs[i].getContainingClass()))) {
-                        propRefs[i] = new PropertyReference<Object>(obj.getClass(),
-                                propertyNames[i]);
-                    }
-                    if (propRefs[i].hasProperty()) {
-                        properties[i + 1] = propRefs[i].getProperty(obj);
-                    } else {
-                        properties[i + 1] = JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(obj, propRefs[i].getName());
+                    if ((accessors[i] == null)
+                            || (accessors[i].beanClass != obj.getClass())) {
+                        accessors[i] = StepAccessor.get(obj.getClass(), propertyNames[i]);
                     }
+                    properties[i + 1] = accessors[i].getProperty(obj);
                 } catch (NoSuchMethodException ex) {
                     Logging.getLogger().warning("Exception while evaluating select-binding " + stepsToString(), ex);
                     // return default
@@ -558,4 +559,89 @@ public class SelectBinding {
 
     }
 
+    /**
+     * Resolves one step of a select binding for a particular class of bean.
+     * <p>
+     * Without a security manager the accessor is resolved once per class and
+     * step name and shared by all select bindings; the property getter is
+     * then called through a {@code MethodHandle} rather than by reflection.
+     * With a security manager every binding resolves its own accessor
+     * through {@link PropertyReference}, which performs the package access
+     * checks and invokes the getter through the reflection trampoline.
+     */
+    static final class StepAccessor {
+
+        private static final MethodType PROPERTY_GETTER_TYPE =
+                MethodType.methodType(ObservableValue.class, Object.class);
+
+        private static final ClassValue<ConcurrentMap<String, StepAccessor>> CACHE =
+                new ClassValue<ConcurrentMap<String, StepAccessor>>() {
+                    @Override
+                    protected ConcurrentMap<String, StepAccessor> computeValue(Class<?> type) {
+                        return new ConcurrentHashMap<>();
+                    }
+                };
+
+        final Class<?> beanClass;
+        private final PropertyReference<Object> reference;
+        private final MethodHandle propertyGetter;
+
+        private StepAccessor(Class<?> beanClass, String name, boolean useMethodHandle) {
+            this.beanClass = beanClass;
+            this.reference = new PropertyReference<Object>(beanClass, name);
+            // resolve eagerly, so that a cached accessor is never modified
+            // after it has been published
+            final boolean hasProperty = reference.hasProperty();
+            this.propertyGetter = (useMethodHandle && hasProperty)
+                    ? findPropertyGetter(beanClass, name) : null;
+        }
+
+        static StepAccessor get(Class<?> beanClass, String name) {
+            if (System.getSecurityManager() != null) {
+                return new StepAccessor(beanClass, name, false);
+            }
+            final ConcurrentMap<String, StepAccessor> accessors = CACHE.get(beanClass);
+            StepAccessor accessor = accessors.get(name);
+            if (accessor == null) {
+                accessor = new StepAccessor(beanClass, name, true);
+                final StepAccessor existing = accessors.putIfAbsent(name, accessor);
+                if (existing != null) {
+                    accessor = existing;
+                }
+            }
+            return accessor;
+        }
+
+        private static MethodHandle findPropertyGetter(Class<?> beanClass, String name) {
+            try {
+                final Method m = beanClass.getMethod(name + "Property");
+                if (!ObservableValue.class.isAssignableFrom(m.getReturnType())
+                        || Modifier.isStatic(m.getModifiers())) {
+                    return null;
+                }
+                return MethodHandles.publicLookup().unreflect(m).asType(PROPERTY_GETTER_TYPE);
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                // fall back to the reflective call of PropertyReference
+                return null;
+            }
+        }
+
+        ObservableValue<?> getProperty(Object bean) throws NoSuchMethodException {
+            if (propertyGetter != null) {
+                try {
+                    return (ObservableValue<?>) propertyGetter.invokeExact(bean);
+                } catch (Error ex) {
+                    throw ex;
+                } catch (Throwable ex) {
+                    // same wrapping as PropertyReference.getProperty
+                    throw new RuntimeException(ex);
+                }
+            }
+            if (reference.hasProperty()) {
+                return reference.getProperty(bean);
+            }
+            return JavaBeanAccessHelper.createReadOnlyJavaBeanProperty(bean, reference.getName());
+        }
+    }
+
 }
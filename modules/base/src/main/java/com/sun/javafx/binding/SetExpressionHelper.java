@@ -309,7 +309,10 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
         private int invalidationSize;
         private int changeSize;
         private int setChangeSize;
-        private boolean locked;
+        private int dispatchDepth;
+        private boolean invalidationShared;
+        private boolean changeShared;
+        private boolean setChangeShared;
         private ObservableSet<E> currentValue;
 
         private Generic(ObservableSetValue<E> observable, InvalidationListener listener0, InvalidationListener listener1) {
@@ -366,9 +369,10 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -397,17 +401,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (invalidationShared) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
+                                invalidationShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[--invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners[invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -423,9 +426,10 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -457,17 +461,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super ObservableSet<E>>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (changeShared) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
+                                changeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners[changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -483,9 +486,10 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                 setChangeSize = 1;
             } else {
                 final int oldCapacity = setChangeListeners.length;
-                if (locked) {
+                if (setChangeShared) {
                     final int newCapacity = (setChangeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     setChangeListeners = Arrays.copyOf(setChangeListeners, newCapacity);
+                    setChangeShared = false;
                 } else if (setChangeSize == oldCapacity) {
                     setChangeSize = trim(setChangeSize, setChangeListeners);
                     if (setChangeSize == oldCapacity) {
@@ -517,17 +521,16 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = setChangeSize - index - 1;
                             final SetChangeListener<? super E>[] oldListeners = setChangeListeners;
-                            if (locked) {
+                            if (setChangeShared) {
                                 setChangeListeners = new SetChangeListener[setChangeListeners.length];
                                 System.arraycopy(oldListeners, 0, setChangeListeners, 0, index+1);
+                                setChangeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, setChangeListeners, index, numMoved);
                             }
                             setChangeSize--;
-                            if (!locked) {
-                                setChangeListeners[setChangeSize] = null; // Let gc do its work
-                            }
+                            setChangeListeners[setChangeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -561,7 +564,10 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
             final SetChangeListener<? super E>[] curListChangeList = setChangeListeners;
             final int curListChangeSize = setChangeSize;
             try {
-                locked = true;
+                dispatchDepth++;
+                invalidationShared = true;
+                changeShared = true;
+                setChangeShared = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     curInvalidationList[i].invalidated(observable);
                 }
@@ -613,7 +619,11 @@ public abstract class SetExpressionHelper<E> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                if (--dispatchDepth == 0) {
+                    invalidationShared = false;
+                    changeShared = false;
+                    setChangeShared = false;
+                }
             }
         }
 
@@ -180,7 +180,9 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
         private ArrayChangeListener[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
+        private int dispatchDepth;
+        private boolean invalidationShared;
+        private boolean changeShared;
 
         private Generic(T observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
@@ -209,9 +211,10 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
                 invalidationSize = 1;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -240,17 +243,16 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (invalidationShared) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index+1);
+                                invalidationShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners[invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -266,9 +268,10 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
                 changeSize = 1;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -297,17 +300,16 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ArrayChangeListener[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (changeShared) {
                                 changeListeners = new ArrayChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index+1);
+                                changeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners[changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -324,7 +326,9 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
             final int curChangeSize = changeSize;
 
             try {
-                locked = true;
+                dispatchDepth++;
+                invalidationShared = true;
+                changeShared = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
@@ -340,7 +344,10 @@ public abstract class ArrayListenerHelper<T extends ObservableArray<T>> extends
                     }
                 }
             } finally {
-                locked = false;
+                if (--dispatchDepth == 0) {
+                    invalidationShared = false;
+                    changeShared = false;
+                }
             }
         }
     }
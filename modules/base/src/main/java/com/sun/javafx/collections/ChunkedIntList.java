@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+
+/**
+ * A list of ascending ints, such as the source indexes mapped by a
+ * FilteredList, stored in chunks of bounded size. Inserting or removing a
+ * value moves the values of a single chunk, and {@link #addToTail} adds to
+ * all the values from an index by updating a per chunk offset, so a single
+ * element change costs O(chunk size + number of chunks) rather than O(size).
+ */
+public final class ChunkedIntList {
+
+    private static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private static final class Chunk {
+        final int[] items;
+        int size;
+        int start;
+        // Added to every item of the chunk
+        int delta;
+
+        Chunk(int capacity) {
+            items = new int[capacity];
+        }
+    }
+
+    private final int maxChunkSize;
+    private Chunk[] chunks = new Chunk[4];
+    private int chunkCount;
+    private int size;
+    // The chunk of the last access, a hint for sequential access
+    private int lastChunk;
+
+    public ChunkedIntList() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    // package for testing
+    ChunkedIntList(int maxChunkSize) {
+        this.maxChunkSize = Math.max(4, maxChunkSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(int index) {
+        checkIndex(index, size);
+        final Chunk chunk = chunks[chunkIndexOf(index)];
+        return chunk.items[index - chunk.start] + chunk.delta;
+    }
+
+    public void set(int index, int value) {
+        checkIndex(index, size);
+        final Chunk chunk = chunks[chunkIndexOf(index)];
+        chunk.items[index - chunk.start] = value - chunk.delta;
+    }
+
+    public void add(int index, int value) {
+        checkIndex(index, size + 1);
+        if (chunkCount == 0) {
+            insertChunk(0, new Chunk(maxChunkSize));
+        }
+        int k = index == size ? chunkCount - 1 : chunkIndexOf(index);
+        Chunk chunk = chunks[k];
+        if (chunk.size == maxChunkSize) {
+            split(k);
+            if (index - chunk.start > chunk.size) {
+                chunk = chunks[++k];
+            }
+        }
+        final int offset = index - chunk.start;
+        System.arraycopy(chunk.items, offset, chunk.items, offset + 1, chunk.size - offset);
+        chunk.items[offset] = value - chunk.delta;
+        chunk.size++;
+        size++;
+        updateStarts(k + 1);
+    }
+
+    public int remove(int index) {
+        checkIndex(index, size);
+        final int k = chunkIndexOf(index);
+        final Chunk chunk = chunks[k];
+        final int offset = index - chunk.start;
+        final int value = chunk.items[offset] + chunk.delta;
+        System.arraycopy(chunk.items, offset + 1, chunk.items, offset, chunk.size - offset - 1);
+        chunk.size--;
+        size--;
+        compact(k, k + 1);
+        updateStarts(k);
+        return value;
+    }
+
+    /**
+     * Removes the values from {@code from}, inclusive, to {@code to},
+     * exclusive.
+     */
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", size: " + size);
+        }
+        if (from == to) {
+            return;
+        }
+        if (from == 0 && to == size) {
+            clear();
+            return;
+        }
+        final int first = chunkIndexOf(from);
+        int k = first;
+        int offset = from - chunks[k].start;
+        int count = to - from;
+        while (count > 0) {
+            final Chunk chunk = chunks[k];
+            final int n = Math.min(count, chunk.size - offset);
+            System.arraycopy(chunk.items, offset + n, chunk.items, offset, chunk.size - offset - n);
+            chunk.size -= n;
+            count -= n;
+            offset = 0;
+            k++;
+        }
+        size -= to - from;
+        compact(first, k);
+        updateStarts(first);
+    }
+
+    /**
+     * Adds {@code delta} to the values from {@code from} to the end of the
+     * list.
+     */
+    public void addToTail(int from, int delta) {
+        checkIndex(from, size + 1);
+        if (from == size || delta == 0) {
+            return;
+        }
+        final int k = chunkIndexOf(from);
+        final Chunk chunk = chunks[k];
+        final int[] items = chunk.items;
+        for (int i = from - chunk.start; i < chunk.size; i++) {
+            items[i] += delta;
+        }
+        for (int j = k + 1; j < chunkCount; j++) {
+            chunks[j].delta += delta;
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+        lastChunk = 0;
+    }
+
+    /**
+     * Replaces the content of this list with the first {@code count} values
+     * of the given array.
+     */
+    public void setAll(int[] a, int count) {
+        clear();
+        // Leave room in every chunk so that insertions don't split right away
+        final int fill = maxChunkSize * 3 / 4;
+        for (int from = 0; from < count; from += fill) {
+            final int n = Math.min(fill, count - from);
+            final Chunk chunk = new Chunk(maxChunkSize);
+            System.arraycopy(a, from, chunk.items, 0, n);
+            chunk.size = n;
+            chunk.start = from;
+            insertChunk(chunkCount, chunk);
+        }
+        size = count;
+    }
+
+    /**
+     * Searches the value in this list, which must be sorted in ascending
+     * order, and returns its index or, if it is not found,
+     * {@code (-(insertion point) - 1)} like {@link Arrays#binarySearch(int[], int)}.
+     */
+    public int binarySearch(int value) {
+        if (chunkCount == 0) {
+            return -1;
+        }
+        // Find the last chunk whose first value is not greater than the value
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            final Chunk chunk = chunks[mid];
+            if (chunk.items[0] + chunk.delta <= value) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        final Chunk chunk = chunks[low];
+        final int pos = Arrays.binarySearch(chunk.items, 0, chunk.size, value - chunk.delta);
+        return pos >= 0 ? chunk.start + pos : pos - chunk.start;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private int chunkIndexOf(int index) {
+        int k = lastChunk;
+        if (k < chunkCount) {
+            final Chunk chunk = chunks[k];
+            if (index >= chunk.start && index < chunk.start + chunk.size) {
+                return k;
+            }
+        }
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (chunks[mid].start <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastChunk = low;
+        return low;
+    }
+
+    private void insertChunk(int k, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(chunks, k, chunks, k + 1, chunkCount - k);
+        chunks[k] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunks(int from, int to) {
+        System.arraycopy(chunks, to, chunks, from, chunkCount - to);
+        Arrays.fill(chunks, chunkCount - (to - from), chunkCount, null);
+        chunkCount -= to - from;
+    }
+
+    /**
+     * Moves the upper half of the given chunk to a new chunk following it.
+     */
+    private void split(int k) {
+        final Chunk chunk = chunks[k];
+        final Chunk next = new Chunk(maxChunkSize);
+        final int half = chunk.size / 2;
+        final int n = chunk.size - half;
+        System.arraycopy(chunk.items, half, next.items, 0, n);
+        chunk.size = half;
+        next.size = n;
+        next.start = chunk.start + half;
+        next.delta = chunk.delta;
+        insertChunk(k + 1, next);
+    }
+
+    /**
+     * Moves the values of a chunk at the end of another one.
+     */
+    private static void append(Chunk to, Chunk from) {
+        final int diff = from.delta - to.delta;
+        final int[] items = to.items;
+        System.arraycopy(from.items, 0, items, to.size, from.size);
+        if (diff != 0) {
+            for (int i = to.size, n = to.size + from.size; i < n; i++) {
+                items[i] += diff;
+            }
+        }
+        to.size += from.size;
+    }
+
+    /**
+     * Removes the empty chunks from {@code from} to {@code to} and merges
+     * the chunk left at {@code from} with a neighbour if both are small.
+     */
+    private void compact(int from, int to) {
+        int k = from;
+        for (int i = from; i < to; i++) {
+            if (chunks[i].size > 0) {
+                chunks[k++] = chunks[i];
+            }
+        }
+        if (k < to) {
+            removeChunks(k, to);
+        }
+        // Merge a small chunk with the following one when they fit in half a
+        // chunk, so the number of chunks stays proportional to the size
+        if (from < chunkCount - 1 && chunks[from].size + chunks[from + 1].size <= maxChunkSize / 2) {
+            append(chunks[from], chunks[from + 1]);
+            removeChunks(from + 1, from + 2);
+        }
+        if (from > 0 && from < chunkCount && chunks[from - 1].size + chunks[from].size <= maxChunkSize / 2) {
+            append(chunks[from - 1], chunks[from]);
+            removeChunks(from, from + 1);
+        }
+    }
+
+    private void updateStarts(int from) {
+        for (int k = Math.max(from, 0); k < chunkCount; k++) {
+            chunks[k].start = k == 0 ? 0 : chunks[k - 1].start + chunks[k - 1].size;
+        }
+        if (lastChunk >= chunkCount) {
+            lastChunk = 0;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A list stored in chunks of bounded size. Inserting or removing an element
+ * moves the elements of a single chunk and updates the start index of the
+ * following chunks, instead of moving all the following elements, so a
+ * single element change costs O(chunk size + number of chunks) rather than
+ * O(size).
+ * <p>
+ * Every element records the chunk it is stored in through a {@link Locator},
+ * which lets {@link #indexOf} find an element by scanning a single chunk.
+ * An element can therefore only be stored once in a given list.
+ *
+ * @param <T> the type of the elements
+ */
+public final class ChunkedList<T> {
+
+    /**
+     * Stores the chunk an element belongs to, typically in a field of the
+     * element.
+     */
+    public interface Locator<T> {
+        Object getChunk(T t);
+        void setChunk(T t, Object chunk);
+    }
+
+    private static final int DEFAULT_CHUNK_SIZE = 512;
+
+    private static final class Chunk {
+        final Object[] items;
+        int size;
+        int start;
+
+        Chunk(int capacity) {
+            items = new Object[capacity];
+        }
+    }
+
+    private final Locator<T> locator;
+    private final int maxChunkSize;
+    private Chunk[] chunks = new Chunk[4];
+    private int chunkCount;
+    private int size;
+    // The chunk of the last access, a hint for sequential access
+    private int lastChunk;
+
+    public ChunkedList(Locator<T> locator) {
+        this(locator, DEFAULT_CHUNK_SIZE);
+    }
+
+    // package for testing
+    ChunkedList(Locator<T> locator, int maxChunkSize) {
+        this.locator = locator;
+        this.maxChunkSize = Math.max(4, maxChunkSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index, size);
+        final Chunk chunk = chunks[chunkIndexOf(index)];
+        return (T) chunk.items[index - chunk.start];
+    }
+
+    /**
+     * Replaces the element at the given index. The replaced element is not
+     * told it left its chunk, so that elements can be moved around with
+     * successive calls; {@link #indexOf} returns -1 for it if it is not
+     * stored again.
+     */
+    public void set(int index, T t) {
+        checkIndex(index, size);
+        final Chunk chunk = chunks[chunkIndexOf(index)];
+        chunk.items[index - chunk.start] = t;
+        locator.setChunk(t, chunk);
+    }
+
+    /**
+     * Returns the index of the given element, or -1 if it is not in this list.
+     */
+    public int indexOf(T t) {
+        final Object c = locator.getChunk(t);
+        if (!(c instanceof Chunk)) {
+            return -1;
+        }
+        final Chunk chunk = (Chunk) c;
+        final Object[] items = chunk.items;
+        for (int i = 0, n = chunk.size; i < n; i++) {
+            if (items[i] == t) {
+                return chunk.start + i;
+            }
+        }
+        return -1;
+    }
+
+    public void add(int index, T t) {
+        checkIndex(index, size + 1);
+        if (chunkCount == 0) {
+            insertChunk(0, new Chunk(maxChunkSize));
+        }
+        int k = index == size ? chunkCount - 1 : chunkIndexOf(index);
+        Chunk chunk = chunks[k];
+        if (chunk.size == maxChunkSize) {
+            split(k);
+            if (index - chunk.start > chunk.size) {
+                chunk = chunks[++k];
+            }
+        }
+        final int offset = index - chunk.start;
+        System.arraycopy(chunk.items, offset, chunk.items, offset + 1, chunk.size - offset);
+        chunk.items[offset] = t;
+        chunk.size++;
+        size++;
+        locator.setChunk(t, chunk);
+        updateStarts(k + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T remove(int index) {
+        checkIndex(index, size);
+        final int k = chunkIndexOf(index);
+        final Chunk chunk = chunks[k];
+        final int offset = index - chunk.start;
+        final T t = (T) chunk.items[offset];
+        System.arraycopy(chunk.items, offset + 1, chunk.items, offset, chunk.size - offset - 1);
+        chunk.items[--chunk.size] = null;
+        size--;
+        locator.setChunk(t, null);
+        compact(k, k + 1);
+        updateStarts(k);
+        return t;
+    }
+
+    /**
+     * Removes the elements from {@code from}, inclusive, to {@code to},
+     * exclusive.
+     */
+    @SuppressWarnings("unchecked")
+    public void removeRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", size: " + size);
+        }
+        if (from == to) {
+            return;
+        }
+        if (from == 0 && to == size) {
+            clear();
+            return;
+        }
+        final int first = chunkIndexOf(from);
+        int k = first;
+        int offset = from - chunks[k].start;
+        int count = to - from;
+        while (count > 0) {
+            final Chunk chunk = chunks[k];
+            final int n = Math.min(count, chunk.size - offset);
+            for (int i = offset; i < offset + n; i++) {
+                locator.setChunk((T) chunk.items[i], null);
+            }
+            System.arraycopy(chunk.items, offset + n, chunk.items, offset, chunk.size - offset - n);
+            Arrays.fill(chunk.items, chunk.size - n, chunk.size, null);
+            chunk.size -= n;
+            count -= n;
+            offset = 0;
+            k++;
+        }
+        size -= to - from;
+        compact(first, k);
+        updateStarts(first);
+    }
+
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        for (int k = 0; k < chunkCount; k++) {
+            final Chunk chunk = chunks[k];
+            for (int i = 0; i < chunk.size; i++) {
+                locator.setChunk((T) chunk.items[i], null);
+            }
+        }
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+        lastChunk = 0;
+    }
+
+    /**
+     * Replaces the content of this list with the first {@code count}
+     * elements of the given array.
+     */
+    public void setAll(T[] a, int count) {
+        clear();
+        // Leave room in every chunk so that insertions don't split right away
+        final int fill = maxChunkSize * 3 / 4;
+        for (int from = 0; from < count; from += fill) {
+            final int n = Math.min(fill, count - from);
+            final Chunk chunk = new Chunk(maxChunkSize);
+            System.arraycopy(a, from, chunk.items, 0, n);
+            chunk.size = n;
+            chunk.start = from;
+            for (int i = 0; i < n; i++) {
+                locator.setChunk(a[from + i], chunk);
+            }
+            insertChunk(chunkCount, chunk);
+        }
+        size = count;
+    }
+
+    /**
+     * Copies the elements of this list in the given array, which must be at
+     * least {@link #size} long, and returns it.
+     */
+    public T[] toArray(T[] a) {
+        for (int k = 0; k < chunkCount; k++) {
+            final Chunk chunk = chunks[k];
+            System.arraycopy(chunk.items, 0, a, chunk.start, chunk.size);
+        }
+        return a;
+    }
+
+    /**
+     * Searches the key in this list, which must be sorted according to the
+     * given comparator, with the same algorithm and result as
+     * {@link Arrays#binarySearch(Object[], int, int, Object, Comparator)}
+     * on an array holding the same elements.
+     */
+    public int binarySearch(T key, Comparator<? super T> c) {
+        int low = 0;
+        int high = size - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int cmp = c.compare(get(mid), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid; // key found
+            }
+        }
+        return -(low + 1);  // key not found.
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private int chunkIndexOf(int index) {
+        int k = lastChunk;
+        if (k < chunkCount) {
+            final Chunk chunk = chunks[k];
+            if (index >= chunk.start && index < chunk.start + chunk.size) {
+                return k;
+            }
+        }
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (chunks[mid].start <= index) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        lastChunk = low;
+        return low;
+    }
+
+    private void insertChunk(int k, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(chunks, k, chunks, k + 1, chunkCount - k);
+        chunks[k] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunks(int from, int to) {
+        System.arraycopy(chunks, to, chunks, from, chunkCount - to);
+        Arrays.fill(chunks, chunkCount - (to - from), chunkCount, null);
+        chunkCount -= to - from;
+    }
+
+    /**
+     * Moves the upper half of the given chunk to a new chunk following it.
+     */
+    @SuppressWarnings("unchecked")
+    private void split(int k) {
+        final Chunk chunk = chunks[k];
+        final Chunk next = new Chunk(maxChunkSize);
+        final int half = chunk.size / 2;
+        final int n = chunk.size - half;
+        System.arraycopy(chunk.items, half, next.items, 0, n);
+        Arrays.fill(chunk.items, half, chunk.size, null);
+        for (int i = 0; i < n; i++) {
+            locator.setChunk((T) next.items[i], next);
+        }
+        chunk.size = half;
+        next.size = n;
+        next.start = chunk.start + half;
+        insertChunk(k + 1, next);
+    }
+
+    /**
+     * Removes the empty chunks from {@code from} to {@code to} and merges
+     * the chunk left at {@code from} with a neighbour if both are small.
+     */
+    private void compact(int from, int to) {
+        int k = from;
+        for (int i = from; i < to; i++) {
+            if (chunks[i].size > 0) {
+                chunks[k++] = chunks[i];
+            }
+        }
+        if (k < to) {
+            removeChunks(k, to);
+        }
+        // Merge a small chunk with the following one when they fit in half a
+        // chunk, so the number of chunks stays proportional to the size
+        if (from < chunkCount - 1 && chunks[from].size + chunks[from + 1].size <= maxChunkSize / 2) {
+            append(chunks[from], chunks[from + 1]);
+            removeChunks(from + 1, from + 2);
+        }
+        if (from > 0 && from < chunkCount && chunks[from - 1].size + chunks[from].size <= maxChunkSize / 2) {
+            append(chunks[from - 1], chunks[from]);
+            removeChunks(from, from + 1);
+        }
+    }
+
+    /**
+     * Moves the elements of a chunk at the end of another one.
+     */
+    @SuppressWarnings("unchecked")
+    private void append(Chunk to, Chunk from) {
+        System.arraycopy(from.items, 0, to.items, to.size, from.size);
+        for (int i = 0; i < from.size; i++) {
+            locator.setChunk((T) from.items[i], to);
+        }
+        to.size += from.size;
+    }
+
+    private void updateStarts(int from) {
+        for (int k = Math.max(from, 0); k < chunkCount; k++) {
+            chunks[k].start = k == 0 ? 0 : chunks[k - 1].start + chunks[k - 1].size;
+        }
+        if (lastChunk >= chunkCount) {
+            lastChunk = 0;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import javafx.beans.InvalidationListener;
+import javafx.collections.IntegerMapChangeListener;
+import javafx.collections.ObservableIntegerMap;
+
+/**
+ * ObservableIntegerMap default implementation. The entries are kept in an open
+ * addressing hash table with linear probing, so the keys are never boxed.
+ */
+public final class ObservableIntegerMapImpl<V> implements ObservableIntegerMap<V> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final InvalidationListener[] NO_INVALIDATION_LISTENERS = new InvalidationListener[0];
+    private static final IntegerMapChangeListener<?>[] NO_CHANGE_LISTENERS = new IntegerMapChangeListener<?>[0];
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    // Replaced rather than modified, so that listeners can be added or
+    // removed while a change is being reported
+    private InvalidationListener[] invalidationListeners = NO_INVALIDATION_LISTENERS;
+    private IntegerMapChangeListener<?>[] changeListeners = NO_CHANGE_LISTENERS;
+
+    private class SimpleChange extends IntegerMapChangeListener.Change<V> {
+
+        private final int key;
+        private final V old;
+        private final V added;
+        private final boolean wasAdded;
+        private final boolean wasRemoved;
+
+        public SimpleChange(int key, V old, V added, boolean wasAdded, boolean wasRemoved) {
+            super(ObservableIntegerMapImpl.this);
+            assert(wasAdded || wasRemoved);
+            this.key = key;
+            this.old = old;
+            this.added = added;
+            this.wasAdded = wasAdded;
+            this.wasRemoved = wasRemoved;
+        }
+
+        @Override
+        public boolean wasAdded() {
+            return wasAdded;
+        }
+
+        @Override
+        public boolean wasRemoved() {
+            return wasRemoved;
+        }
+
+        @Override
+        public int getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValueAdded() {
+            return added;
+        }
+
+        @Override
+        public V getValueRemoved() {
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            if (wasAdded) {
+                if (wasRemoved) {
+                    builder.append("replaced ").append(old).append("by ").append(added);
+                } else {
+                    builder.append("added ").append(added);
+                }
+            } else {
+                builder.append("removed ").append(old);
+            }
+            builder.append(" at key ").append(key);
+            return builder.toString();
+        }
+
+    }
+
+    @SuppressWarnings("unchecked")
+    private void callObservers(SimpleChange change) {
+        final InvalidationListener[] invalidation = invalidationListeners;
+        final IntegerMapChangeListener<?>[] listeners = changeListeners;
+        for (InvalidationListener listener : invalidation) {
+            try {
+                listener.invalidated(this);
+            } catch (Exception e) {
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+        for (IntegerMapChangeListener<?> listener : listeners) {
+            try {
+                ((IntegerMapChangeListener<V>) listener).onChanged(change);
+            } catch (Exception e) {
+                Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), e);
+            }
+        }
+    }
+
+    private boolean hasListeners() {
+        return invalidationListeners.length > 0 || changeListeners.length > 0;
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        final int n = invalidationListeners.length;
+        invalidationListeners = Arrays.copyOf(invalidationListeners, n + 1);
+        invalidationListeners[n] = listener;
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        invalidationListeners = removeFrom(invalidationListeners, listener);
+    }
+
+    @Override
+    public void addListener(IntegerMapChangeListener<? super V> listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        final int n = changeListeners.length;
+        changeListeners = Arrays.copyOf(changeListeners, n + 1);
+        changeListeners[n] = listener;
+    }
+
+    @Override
+    public void removeListener(IntegerMapChangeListener<? super V> listener) {
+        if (listener == null) {
+            throw new NullPointerException();
+        }
+        changeListeners = removeFrom(changeListeners, listener);
+    }
+
+    private static <L> L[] removeFrom(L[] listeners, Object listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listener.equals(listeners[i])) {
+                final L[] result = Arrays.copyOf(listeners, listeners.length - 1);
+                System.arraycopy(listeners, i + 1, result, i, listeners.length - i - 1);
+                return result;
+            }
+        }
+        return listeners;
+    }
+
+    private static int hash(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the slot of the key, or the empty slot where it would be put.
+     */
+    private int slot(int key) {
+        final int mask = keys.length - 1;
+        int i = hash(key) & mask;
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return used[slot(key)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        return (V) values[slot(key)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        int i = slot(key);
+        if (used[i]) {
+            final V old = (V) values[i];
+            values[i] = value;
+            if (old == null && value != null || old != null && !old.equals(value)) {
+                callObservers(new SimpleChange(key, old, value, true, true));
+            }
+            return old;
+        }
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+            i = slot(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        used[i] = true;
+        size++;
+        callObservers(new SimpleChange(key, null, value, true, false));
+        return null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        final int i = slot(key);
+        if (!used[i]) {
+            return null;
+        }
+        final V old = (V) values[i];
+        removeSlot(i);
+        callObservers(new SimpleChange(key, old, null, false, true));
+        return old;
+    }
+
+    /**
+     * Empties the slot, moving back the entries that follow it in the same
+     * probe sequence so that lookups don't stop at the hole.
+     */
+    private void removeSlot(int i) {
+        final int mask = keys.length - 1;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (!used[j]) {
+                break;
+            }
+            final int k = hash(keys[j]) & mask;
+            // Leave the entry if its home slot lies cyclically in (i, j]
+            if (i <= j ? i < k && k <= j : i < k || k <= j) {
+                continue;
+            }
+            keys[i] = keys[j];
+            values[i] = values[j];
+            i = j;
+        }
+        used[i] = false;
+        values[i] = null;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final boolean[] oldUsed = used;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                final int j = slot(oldKeys[i]);
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+                used[j] = true;
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final boolean[] oldUsed = used;
+        keys = new int[INITIAL_CAPACITY];
+        values = new Object[INITIAL_CAPACITY];
+        used = new boolean[INITIAL_CAPACITY];
+        size = 0;
+        if (hasListeners()) {
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    callObservers(new SimpleChange(oldKeys[i], (V) oldValues[i], null, false, true));
+                }
+            }
+        }
+    }
+
+    @Override
+    public int[] keys() {
+        final int[] result = new int[size];
+        int n = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                result[n++] = keys[i];
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void forEachKey(IntConsumer action) {
+        final int[] k = keys;
+        final boolean[] u = used;
+        for (int i = 0; i < k.length; i++) {
+            if (u[i]) {
+                action.accept(k[i]);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                if (!first) {
+                    sb.append(", ");
+                }
+                sb.append(keys[i]).append('=').append(values[i]);
+                first = false;
+            }
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -35,6 +35,7 @@ public class Logger {
     public void renderEnd() {}
     public void addMessage(String message) {}
     public void incrementCounter(String counter) {}
+    public void incrementCounter(String counter, int amount) {}
     public void newPhase(String name) {}
     public void newInput(String name) {}
 }
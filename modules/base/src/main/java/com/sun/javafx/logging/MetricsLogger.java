@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aggregates pulse statistics instead of printing them. Every phase reported
+ * through {@link PulseLogger#newPhase(String)} gets a {@link Histogram} of its
+ * durations, as do the pulse as a whole (from {@code pulseStart} to
+ * {@code pulseEnd} on the FX thread) and rendering (from {@code renderStart}
+ * to {@code renderEnd}, spanning the FX and render threads). Counters passed to
+ * {@link PulseLogger#incrementCounter(String)} are accumulated over the
+ * lifetime of the application.
+ * <p>
+ * The metrics logger is enabled with {@code -Djavafx.pulseLogger.metrics=true},
+ * and is on by default when {@code javafx.debug} is set, since that is when
+ * the management extension publishing these metrics is registered. Recording a
+ * sample does not allocate once a phase or counter has been seen: durations
+ * are kept in fixed size ring buffers, and percentiles are only computed when
+ * somebody asks for them.
+ */
+public final class MetricsLogger extends Logger {
+
+    /**
+     * Name of the histogram covering a whole pulse on the FX thread.
+     */
+    public static final String PULSE = "Pulse";
+
+    /**
+     * Name of the histogram covering all rendering done for a pulse.
+     */
+    public static final String RENDER = "Render";
+
+    /**
+     * The number of most recent samples each histogram keeps for computing
+     * percentiles.
+     */
+    private static final int SAMPLES =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.pulseLogger.metrics.samples", 1024));
+
+    private static MetricsLogger metricsLogger;
+
+    private final int samples;
+    private final Map<String,Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String,AtomicLong> counters = new ConcurrentHashMap<>();
+    private final Histogram pulseHistogram;
+    private final Histogram renderHistogram;
+
+    private final ThreadLocal<ThreadLocalData> phaseData =
+        new ThreadLocal<ThreadLocalData>() {
+            @Override
+            public ThreadLocalData initialValue() {
+                return new ThreadLocalData();
+            }
+        };
+
+    private static final class ThreadLocalData {
+        String  phaseName;
+        long    phaseStart;
+    }
+
+    private long pulseStartTime;
+    private volatile long renderStartTime;
+    private final AtomicLong pulseCount = new AtomicLong();
+
+    MetricsLogger(int samples) {
+        this.samples = Math.max(1, samples);
+        pulseHistogram = getOrCreateHistogram(PULSE);
+        renderHistogram = getOrCreateHistogram(RENDER);
+    }
+
+    public static synchronized MetricsLogger getInstance() {
+        if (metricsLogger == null) {
+            boolean enabled = AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> {
+                String value = System.getProperty("javafx.pulseLogger.metrics");
+                if (value == null) {
+                    value = System.getProperty("javafx.debug");
+                }
+                return "true".equalsIgnoreCase(value);
+            });
+            if (enabled) {
+                metricsLogger = new MetricsLogger(SAMPLES);
+            }
+        }
+        return metricsLogger;
+    }
+
+    @Override
+    public void pulseStart() {
+        pulseStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void pulseEnd() {
+        newPhase(null);
+        if (pulseStartTime != 0) {
+            pulseHistogram.record(System.nanoTime() - pulseStartTime);
+            pulseStartTime = 0;
+            pulseCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void renderStart() {
+        newPhase(null); // finish the current phase on the FX thread
+        renderStartTime = System.nanoTime();
+    }
+
+    @Override
+    public void renderEnd() {
+        newPhase(null); // finish the current phase on the render thread
+        long start = renderStartTime;
+        if (start != 0) {
+            renderHistogram.record(System.nanoTime() - start);
+            renderStartTime = 0;
+        }
+    }
+
+    @Override
+    public void incrementCounter(String counter) {
+        incrementCounter(counter, 1);
+    }
+
+    @Override
+    public void incrementCounter(String counter, int amount) {
+        AtomicLong value = counters.get(counter);
+        if (value == null) {
+            value = counters.computeIfAbsent(counter, k -> new AtomicLong());
+        }
+        value.addAndGet(amount);
+    }
+
+    @Override
+    public void newPhase(String name) {
+        long curTime = System.nanoTime();
+
+        ThreadLocalData curPhase = phaseData.get();
+        if (curPhase.phaseName != null) {
+            getOrCreateHistogram(curPhase.phaseName).record(curTime - curPhase.phaseStart);
+        }
+        curPhase.phaseName = name;
+        curPhase.phaseStart = curTime;
+    }
+
+    private Histogram getOrCreateHistogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(name, k -> new Histogram(k, samples));
+        }
+        return histogram;
+    }
+
+    /**
+     * Returns the number of pulses recorded since the last {@link #reset()}.
+     */
+    public long getPulseCount() {
+        return pulseCount.get();
+    }
+
+    /**
+     * Returns the histogram for the given phase, or {@code null} if no such
+     * phase has been recorded.
+     */
+    public Histogram getHistogram(String name) {
+        return histograms.get(name);
+    }
+
+    /**
+     * Returns all histograms, sorted by name.
+     */
+    public List<Histogram> getHistograms() {
+        List<Histogram> list = new ArrayList<>(histograms.values());
+        Collections.sort(list, (a, b) -> a.getName().compareTo(b.getName()));
+        return list;
+    }
+
+    /**
+     * Returns a snapshot of all counters, sorted by name.
+     */
+    public Map<String,Long> getCounters() {
+        Map<String,Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String,AtomicLong> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    /**
+     * Clears all histograms and counters.
+     */
+    public void reset() {
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        for (AtomicLong value : counters.values()) {
+            value.set(0);
+        }
+        pulseCount.set(0);
+    }
+
+    /**
+     * Durations, in nanoseconds, recorded for a single phase. The total count
+     * and maximum cover every sample since the last reset, while percentiles
+     * are computed over the most recent samples kept in a ring buffer.
+     */
+    public static final class Histogram {
+        private final String name;
+        private final long[] ring;
+        private int next;
+        private long count;
+        private long total;
+        private long max;
+
+        Histogram(String name, int samples) {
+            this.name = name;
+            this.ring = new long[samples];
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        synchronized void record(long nanos) {
+            ring[next] = nanos;
+            if (++next == ring.length) {
+                next = 0;
+            }
+            count++;
+            total += nanos;
+            if (nanos > max) {
+                max = nanos;
+            }
+        }
+
+        synchronized void reset() {
+            next = 0;
+            count = 0;
+            total = 0;
+            max = 0;
+        }
+
+        public synchronized long getCount() {
+            return count;
+        }
+
+        public synchronized long getMax() {
+            return max;
+        }
+
+        public synchronized long getMean() {
+            return count == 0 ? 0 : total / count;
+        }
+
+        /**
+         * Returns the given percentile of the most recent samples.
+         *
+         * @param percentile a value between 0 and 100
+         */
+        public long getPercentile(double percentile) {
+            return getPercentiles(percentile)[0];
+        }
+
+        /**
+         * Returns the given percentiles of the most recent samples, sorting
+         * them only once.
+         *
+         * @param percentiles values between 0 and 100
+         */
+        public long[] getPercentiles(double... percentiles) {
+            long[] sorted;
+            synchronized (this) {
+                sorted = Arrays.copyOf(ring, (int) Math.min(count, ring.length));
+            }
+            long[] result = new long[percentiles.length];
+            if (sorted.length == 0) {
+                return result;
+            }
+            Arrays.sort(sorted);
+            for (int i = 0; i < percentiles.length; i++) {
+                double p = Math.min(100.0, Math.max(0.0, percentiles[i]));
+                int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+                result[i] = sorted[Math.max(0, index)];
+            }
+            return result;
+        }
+    }
+}
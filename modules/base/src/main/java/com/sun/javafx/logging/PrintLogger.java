@@ -291,6 +291,16 @@ class PrintLogger extends Logger {
      */
     @Override
     public void incrementCounter(String counter) {
+        incrementCounter(counter, 1);
+    }
+
+    /**
+     * Adds the given amount to the named per-pulse counter.
+     * @param counter The name for the counter.
+     * @param amount The amount to add to the counter.
+     */
+    @Override
+    public void incrementCounter(String counter, int amount) {
         PulseData pulseData;
         if (fxThread == null || Thread.currentThread() == fxThread) {
             if (fxData == null) {
@@ -310,7 +320,7 @@ class PrintLogger extends Logger {
             cval = new Counter();
             counters.put(counter, cval);
         }
-        cval.value += 1;
+        cval.value += amount;
     }
 
     @Override
@@ -42,6 +42,10 @@ public class PulseLogger {
         if (logger != null) {
             list.add(logger);
         }
+        logger = MetricsLogger.getInstance();
+        if (logger != null) {
+            list.add(logger);
+        }
         try {
             Class klass = Class.forName("com.sun.javafx.logging.JFRLogger");
             if (klass != null) {
@@ -96,6 +100,12 @@ public class PulseLogger {
         }
     }
 
+    public static void incrementCounter(String counter, int amount) {
+        for (Logger logger: loggers) {
+            logger.incrementCounter(counter, amount);
+        }
+    }
+
     public static void newPhase(String name) {
         for (Logger logger: loggers) {
             logger.newPhase(name);
@@ -64,8 +64,10 @@ import com.sun.javafx.binding.StringFormatter;
 import com.sun.javafx.collections.ImmutableObservableList;
 import com.sun.javafx.collections.annotations.ReturnsUnmodifiableCollection;
 import javafx.collections.ObservableArray;
+import javafx.collections.ObservableDoubleArray;
 import javafx.collections.ObservableFloatArray;
 import javafx.collections.ObservableIntegerArray;
+import javafx.collections.ObservableLongArray;
 
 /**
  * Bindings is a helper class with a lot of utility functions to create simple
@@ -7246,6 +7248,220 @@ public final class Bindings {
         };
     }
 
+    /**
+     * Creates a new {@link javafx.beans.binding.DoubleBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code DoubleBinding}
+     * will hold {@code 0.0}, if the {@code index} points behind the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}
+     * @return the new {@code DoubleBinding}
+     * @throws NullPointerException if the {@code ObservableArray} is {@code null}
+     * @throws IllegalArgumentException if (@code index < 0}
+     * @since JavaFX 8u202
+     */
+    public static DoubleBinding doubleArrayValueAt(final ObservableDoubleArray op, final int index) {
+        if (op == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+
+        return new DoubleBinding() {
+            {
+                super.bind(op);
+            }
+
+            @Override
+            public void dispose() {
+                super.unbind(op);
+            }
+
+            @Override
+            protected double computeValue() {
+                try {
+                    return op.get(index);
+                } catch (IndexOutOfBoundsException ex) {
+                    Logging.getLogger().fine("Exception while evaluating binding", ex);
+                }
+                return 0.0;
+            }
+
+            @Override
+            @ReturnsUnmodifiableCollection
+            public ObservableList<?> getDependencies() {
+                return FXCollections.singletonObservableList(op);
+            }
+        };
+    }
+
+    /**
+     * Creates a new {@link javafx.beans.binding.DoubleBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code DoubleBinding}
+     * will hold {@code 0.0}, if the {@code index} is outside of the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}
+     * @return the new {@code DoubleBinding}
+     * @throws NullPointerException if the {@code ObservableArray} or {@code index} is {@code null}
+     * @since JavaFX 8u202
+     */
+    public static DoubleBinding doubleArrayValueAt(final ObservableDoubleArray op, final ObservableIntegerValue index) {
+        return doubleArrayValueAt(op, (ObservableNumberValue)index);
+    }
+
+    /**
+     * Creates a new {@link javafx.beans.binding.DoubleBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code DoubleBinding}
+     * will hold {@code 0.0}, if the {@code index} is outside of the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}, converted to int
+     * @return the new {@code DoubleBinding}
+     * @throws NullPointerException if the {@code ObservableArray} or {@code index} is {@code null}
+     * @since JavaFX 8u202
+     */
+    public static DoubleBinding doubleArrayValueAt(final ObservableDoubleArray op, final ObservableNumberValue index) {
+        if ((op == null) || (index == null)) {
+            throw new NullPointerException("Operands cannot be null.");
+        }
+
+        return new DoubleBinding() {
+            {
+                super.bind(op, index);
+            }
+
+            @Override
+            public void dispose() {
+                super.unbind(op, index);
+            }
+
+            @Override
+            protected double computeValue() {
+                try {
+                    return op.get(index.intValue());
+                } catch (IndexOutOfBoundsException ex) {
+                    Logging.getLogger().fine("Exception while evaluating binding", ex);
+                }
+                return 0.0;
+            }
+
+            @Override
+            @ReturnsUnmodifiableCollection
+            public ObservableList<?> getDependencies() {
+                return new ImmutableObservableList<>(op, index);
+            }
+        };
+    }
+
+    /**
+     * Creates a new {@link javafx.beans.binding.LongBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code LongBinding}
+     * will hold {@code 0L}, if the {@code index} points behind the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}
+     * @return the new {@code LongBinding}
+     * @throws NullPointerException if the {@code ObservableArray} is {@code null}
+     * @throws IllegalArgumentException if (@code index < 0}
+     * @since JavaFX 8u202
+     */
+    public static LongBinding longArrayValueAt(final ObservableLongArray op, final int index) {
+        if (op == null) {
+            throw new NullPointerException("Array cannot be null.");
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+
+        return new LongBinding() {
+            {
+                super.bind(op);
+            }
+
+            @Override
+            public void dispose() {
+                super.unbind(op);
+            }
+
+            @Override
+            protected long computeValue() {
+                try {
+                    return op.get(index);
+                } catch (IndexOutOfBoundsException ex) {
+                    Logging.getLogger().fine("Exception while evaluating binding", ex);
+                }
+                return 0L;
+            }
+
+            @Override
+            @ReturnsUnmodifiableCollection
+            public ObservableList<?> getDependencies() {
+                return FXCollections.singletonObservableList(op);
+            }
+        };
+    }
+
+    /**
+     * Creates a new {@link javafx.beans.binding.LongBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code LongBinding}
+     * will hold {@code 0L}, if the {@code index} is outside of the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}
+     * @return the new {@code LongBinding}
+     * @throws NullPointerException if the {@code ObservableArray} or {@code index} is {@code null}
+     * @since JavaFX 8u202
+     */
+    public static LongBinding longArrayValueAt(final ObservableLongArray op, final ObservableIntegerValue index) {
+        return longArrayValueAt(op, (ObservableNumberValue)index);
+    }
+
+    /**
+     * Creates a new {@link javafx.beans.binding.LongBinding} that contains the element
+     * of an {@link javafx.collections.ObservableArray} at the specified position. The {@code LongBinding}
+     * will hold {@code 0L}, if the {@code index} is outside of the {@code ObservableArray}.
+     *
+     * @param op the {@code ObservableArray}
+     * @param index the position in the {@code ObservableArray}, converted to int
+     * @return the new {@code LongBinding}
+     * @throws NullPointerException if the {@code ObservableArray} or {@code index} is {@code null}
+     * @since JavaFX 8u202
+     */
+    public static LongBinding longArrayValueAt(final ObservableLongArray op, final ObservableNumberValue index) {
+        if ((op == null) || (index == null)) {
+            throw new NullPointerException("Operands cannot be null.");
+        }
+
+        return new LongBinding() {
+            {
+                super.bind(op, index);
+            }
+
+            @Override
+            public void dispose() {
+                super.unbind(op, index);
+            }
+
+            @Override
+            protected long computeValue() {
+                try {
+                    return op.get(index.intValue());
+                } catch (IndexOutOfBoundsException ex) {
+                    Logging.getLogger().fine("Exception while evaluating binding", ex);
+                }
+                return 0L;
+            }
+
+            @Override
+            @ReturnsUnmodifiableCollection
+            public ObservableList<?> getDependencies() {
+                return new ImmutableObservableList<>(op, index);
+            }
+        };
+    }
+
     // Map
     // =================================================================================================================
 
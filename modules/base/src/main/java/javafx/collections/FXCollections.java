@@ -53,8 +53,12 @@ import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
+import com.sun.javafx.collections.ObservableDoubleArrayImpl;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
 import com.sun.javafx.collections.ObservableIntegerArrayImpl;
+import com.sun.javafx.collections.ObservableIntegerMapImpl;
+import com.sun.javafx.collections.ObservableLongArrayImpl;
+import com.sun.javafx.collections.ObservableLongMapImpl;
 import com.sun.javafx.collections.ObservableSequentialListWrapper;
 import com.sun.javafx.collections.SetAdapterChange;
 import com.sun.javafx.collections.SortableList;
@@ -295,6 +299,88 @@ public class FXCollections {
         return new ObservableFloatArrayImpl(array);
     }
 
+    /**
+     * Creates a new empty observable double array.
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableDoubleArray observableDoubleArray() {
+        return new ObservableDoubleArrayImpl();
+    }
+
+    /**
+     * Creates a new observable double array with {@code values} set to it.
+     * @param values the values that will be in the new observable double array
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableDoubleArray observableDoubleArray(double... values) {
+        return new ObservableDoubleArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable double array with copy of elements in given
+     * {@code array}.
+     * @param array observable double array to copy
+     * @return a newly created ObservableDoubleArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableDoubleArray observableDoubleArray(ObservableDoubleArray array) {
+        return new ObservableDoubleArrayImpl(array);
+    }
+
+    /**
+     * Creates a new empty observable long array.
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableLongArray observableLongArray() {
+        return new ObservableLongArrayImpl();
+    }
+
+    /**
+     * Creates a new observable long array with {@code values} set to it.
+     * @param values the values that will be in the new observable long array
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableLongArray observableLongArray(long... values) {
+        return new ObservableLongArrayImpl(values);
+    }
+
+    /**
+     * Creates a new observable long array with copy of elements in given
+     * {@code array}.
+     * @param array observable long array to copy
+     * @return a newly created ObservableLongArray
+     * @since JavaFX 8u202
+     */
+    public static ObservableLongArray observableLongArray(ObservableLongArray array) {
+        return new ObservableLongArrayImpl(array);
+    }
+
+    /**
+     * Creates a new empty observable map with {@code int} keys, which are
+     * stored without boxing.
+     * @param <V> the type of the values
+     * @return a newly created ObservableIntegerMap
+     * @since JavaFX 8u202
+     */
+    public static <V> ObservableIntegerMap<V> observableIntegerMap() {
+        return new ObservableIntegerMapImpl<V>();
+    }
+
+    /**
+     * Creates a new empty observable map with {@code long} keys, which are
+     * stored without boxing.
+     * @param <V> the type of the values
+     * @return a newly created ObservableLongMap
+     * @since JavaFX 8u202
+     */
+    public static <V> ObservableLongMap<V> observableLongMap() {
+        return new ObservableLongMapImpl<V>();
+    }
+
     /**
      * Creates a new empty observable list that is backed by an arraylist.
      * @see #observableList(java.util.List)
@@ -676,6 +762,55 @@ public class FXCollections {
         }
     }
 
+    /**
+     * Runs the given modification of the provided observable list as one batch.
+     * All elements added, removed, replaced or updated while the modification runs,
+     * through the list or through another list wrapping it, are reported
+     * in <b>one</b> change notification fired when the modification completes,
+     * even if an exception is thrown.
+     * <br><br>
+     * This coalesces the notifications of lists created by this class,
+     * of lists wrapping them and of {@link ObservableListBase} subclasses.
+     * For other lists the modification is run as is.
+     * <p>
+     * Batches can be nested, only the outer-most batch fires a notification.
+     * <p>
+     * For example, the following updates two rows and inserts a third with
+     * one notification:
+     * <pre><code>
+     * FXCollections.batch(rows, () -&gt; {
+     *     rows.set(10, quote1);
+     *     rows.set(2000, quote2);
+     *     rows.add(quote3);
+     * });
+     * </code></pre>
+     * @param list the list to be modified
+     * @param modification the modification of the list
+     * @since JavaFX 8u202
+     */
+    public static void batch(ObservableList<?> list, Runnable modification) {
+        if (list instanceof CheckedObservableList) {
+            batch(((CheckedObservableList<?>) list).list, modification);
+        } else if (list instanceof UnmodifiableObservableListImpl) {
+            batch(((UnmodifiableObservableListImpl<?>) list).backingList, modification);
+        } else if (list instanceof SynchronizedObservableList) {
+            final SynchronizedObservableList<?> sync = (SynchronizedObservableList<?>) list;
+            synchronized(sync.mutex) {
+                batch(sync.backingList, modification);
+            }
+        } else if (list instanceof ObservableListBase) {
+            final ObservableListBase<?> base = (ObservableListBase<?>) list;
+            base.beginChange();
+            try {
+                modification.run();
+            } finally {
+                base.endChange();
+            }
+        } else {
+            modification.run();
+        }
+    }
+
     private static class EmptyObservableList<E> extends AbstractList<E> implements ObservableList<E> {
 
         private static final ListIterator iterator = new ListIterator() {
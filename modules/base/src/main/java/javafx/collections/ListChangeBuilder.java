@@ -44,6 +44,12 @@ final class ListChangeBuilder<E> {
     private List<SubChange<E>> addRemoveChanges;
     private List<SubChange<E>> updateChanges;
     private SubChange<E> permutationChange;
+    // The add/remove changes from shiftIndex on are yet to be moved by
+    // shiftDelta. Applying the shift lazily keeps many scattered changes,
+    // e.g. removals from the end of the list to its start, from moving
+    // all of the following sub changes on every call.
+    private int shiftIndex = Integer.MAX_VALUE;
+    private int shiftDelta;
 
     private void checkAddRemoveList() {
         if (addRemoveChanges == null) {
@@ -58,16 +64,21 @@ final class ListChangeBuilder<E> {
     }
 
     private int findSubChange(int idx, final List<SubChange<E>> list) {
+        return findSubChange(idx, list, Integer.MAX_VALUE, 0);
+    }
+
+    private int findSubChange(int idx, final List<SubChange<E>> list, int shiftIndex, int shiftDelta) {
         int from = 0;
         int to = list.size() - 1;
 
     while (from <= to) {
         int changeIdx  = (from + to) / 2;
             SubChange<E> change = list.get(changeIdx);
+            final int delta = changeIdx >= shiftIndex ? shiftDelta : 0;
 
-        if (idx >= change.to) {
+        if (idx >= change.to + delta) {
         from = changeIdx + 1;
-            } else if (idx < change.from) {
+            } else if (idx < change.from + delta) {
         to = changeIdx - 1;
             } else {
         return changeIdx;
@@ -76,6 +87,75 @@ final class ListChangeBuilder<E> {
     return ~from;
     }
 
+    private int findAddRemoveChange(int idx) {
+        return findSubChange(idx, addRemoveChanges, shiftIndex, shiftDelta);
+    }
+
+    /**
+     * Returns the shift not yet applied to the add/remove change at the given index.
+     */
+    private int pendingShift(int changeIdx) {
+        return changeIdx >= shiftIndex ? shiftDelta : 0;
+    }
+
+    /**
+     * Moves the add/remove changes from the given index on by delta.
+     */
+    private void shiftAddRemoveChanges(int changeIdx, int delta) {
+        final int size = addRemoveChanges.size();
+        if (changeIdx >= size || delta == 0) {
+            return;
+        }
+        if (shiftIndex >= size) {
+            shiftIndex = changeIdx;
+            shiftDelta = delta;
+        } else if (changeIdx <= shiftIndex) {
+            moveAddRemoveChanges(changeIdx, shiftIndex, delta);
+            shiftDelta += delta;
+        } else {
+            moveAddRemoveChanges(shiftIndex, changeIdx, shiftDelta);
+            shiftIndex = changeIdx;
+            shiftDelta += delta;
+        }
+    }
+
+    private void moveAddRemoveChanges(int fromIdx, int toIdx, int delta) {
+        for (int i = fromIdx; i < toIdx; ++i) {
+            SubChange<E> change = addRemoveChanges.get(i);
+            change.from += delta;
+            change.to += delta;
+        }
+    }
+
+    private void applyShift() {
+        if (shiftIndex < addRemoveChanges.size()) {
+            moveAddRemoveChanges(shiftIndex, addRemoveChanges.size(), shiftDelta);
+        }
+        shiftIndex = Integer.MAX_VALUE;
+        shiftDelta = 0;
+    }
+
+    private void addAddRemoveChange(int changeIdx, SubChange<E> change) {
+        if (changeIdx > shiftIndex) {
+            change.from -= shiftDelta;
+            change.to -= shiftDelta;
+        } else if (shiftIndex != Integer.MAX_VALUE) {
+            shiftIndex++;
+        }
+        addRemoveChanges.add(changeIdx, change);
+    }
+
+    private void removeAddRemoveChange(int changeIdx) {
+        addRemoveChanges.remove(changeIdx);
+        if (changeIdx < shiftIndex && shiftIndex != Integer.MAX_VALUE) {
+            shiftIndex--;
+        }
+        if (shiftIndex >= addRemoveChanges.size()) {
+            shiftIndex = Integer.MAX_VALUE;
+            shiftDelta = 0;
+        }
+    }
+
     private void insertUpdate(int pos) {
         int idx = findSubChange(pos, updateChanges);
         if (idx < 0) { //If not found
@@ -92,61 +172,54 @@ final class ListChangeBuilder<E> {
     }
 
     private void insertRemoved(int pos, final E removed) {
-        int idx = findSubChange(pos, addRemoveChanges);
+        int idx = findAddRemoveChange(pos);
         if (idx < 0) { // Not found
             idx = ~idx;
             SubChange<E> change;
 
-            if (idx > 0 && (change = addRemoveChanges.get(idx - 1)).to == pos) {
+            if (idx > 0 && (change = addRemoveChanges.get(idx - 1)).to + pendingShift(idx - 1) == pos) {
                 change.removed.add(removed);
                 --idx; // Idx index will be used as a starting point for update
-            } else if (idx < addRemoveChanges.size() && (change = addRemoveChanges.get(idx)).from == pos + 1) {
+            } else if (idx < addRemoveChanges.size() && (change = addRemoveChanges.get(idx)).from + pendingShift(idx) == pos + 1) {
                 change.from--;
                 change.to--;
                 change.removed.add(0, removed);
             } else {
                 ArrayList<E> removedList = new ArrayList<E>();
                 removedList.add(removed);
-                addRemoveChanges.add(idx, new SubChange<E>(pos, pos, removedList, EMPTY_PERM, false));
+                addAddRemoveChange(idx, new SubChange<E>(pos, pos, removedList, EMPTY_PERM, false));
             }
         } else {
             SubChange<E> change = addRemoveChanges.get(idx);
             change.to--; // Removed one element from the previously added list
             if (change.from == change.to && (change.removed == null || change.removed.isEmpty())) {
-                    addRemoveChanges.remove(idx);
+                    removeAddRemoveChange(idx);
+                    --idx;
             }
         }
-        for (int i = idx + 1; i < addRemoveChanges.size(); ++i) {
-            SubChange<E> change = addRemoveChanges.get(i);
-            change.from--;
-            change.to--;
-        }
+        shiftAddRemoveChanges(idx + 1, -1);
     }
 
     private void insertAdd(int from, int to) {
-        int idx = findSubChange(from, addRemoveChanges);
+        int idx = findAddRemoveChange(from);
         final int numberOfAdded = to - from;
 
         if (idx < 0) { // Not found
             idx = ~idx;
 
             SubChange<E> change;
-            if (idx > 0 && (change = addRemoveChanges.get(idx - 1)).to == from) {
-                change.to = to;
+            if (idx > 0 && (change = addRemoveChanges.get(idx - 1)).to + pendingShift(idx - 1) == from) {
+                change.to += numberOfAdded;
                 --idx;
             } else {
-                addRemoveChanges.add(idx, new SubChange<E>(from, to, new ArrayList<E>(), EMPTY_PERM, false));
+                addAddRemoveChange(idx, new SubChange<E>(from, to, new ArrayList<E>(), EMPTY_PERM, false));
             }
         } else {
             SubChange<E> change = addRemoveChanges.get(idx);
             change.to += numberOfAdded;
         }
 
-        for (int i = idx + 1; i < addRemoveChanges.size(); ++i) {
-            SubChange<E> change = addRemoveChanges.get(i);
-            change.from += numberOfAdded;
-            change.to += numberOfAdded;
-        }
+        shiftAddRemoveChanges(idx + 1, numberOfAdded);
     }
 
     private int compress(List<SubChange<E>> list) {
@@ -197,12 +270,14 @@ final class ListChangeBuilder<E> {
         checkState();
         checkAddRemoveList();
 
-        final SubChange<E> last = addRemoveChanges.isEmpty() ? null
-                : addRemoveChanges.get(addRemoveChanges.size() - 1);
+        final int lastIdx = addRemoveChanges.size() - 1;
+        final SubChange<E> last = lastIdx < 0 ? null : addRemoveChanges.get(lastIdx);
+        final int lastShift = pendingShift(lastIdx);
 
-        if (last != null && last.to == idx) {
+        if (last != null && last.to + lastShift == idx) {
             last.removed.add(removed);
-        } else if (last != null && last.from == idx + 1) {
+        } else if (last != null && last.from + lastShift == idx + 1
+                && (lastIdx == 0 || addRemoveChanges.get(lastIdx - 1).to + pendingShift(lastIdx - 1) <= idx)) {
             last.from--;
             last.to--;
             last.removed.add(0, removed);
@@ -242,13 +317,14 @@ final class ListChangeBuilder<E> {
     public void nextAdd(int from, int to) {
         checkState();
         checkAddRemoveList();
-        final SubChange<E> last = addRemoveChanges.isEmpty() ? null :
-                addRemoveChanges.get(addRemoveChanges.size() - 1);
+        final int lastIdx = addRemoveChanges.size() - 1;
+        final SubChange<E> last = lastIdx < 0 ? null : addRemoveChanges.get(lastIdx);
+        final int lastShift = pendingShift(lastIdx);
         final int numberOfAdded = to - from;
 
-        if (last != null && last.to == from) {
-            last.to = to;
-        } else if (last != null && from >= last.from && from < last.to) { // Adding to the middle
+        if (last != null && last.to + lastShift == from) {
+            last.to += numberOfAdded;
+        } else if (last != null && from >= last.from + lastShift && from < last.to + lastShift) { // Adding to the middle
             last.to += numberOfAdded;
         } else {
             insertAdd(from, to);
@@ -258,7 +334,7 @@ final class ListChangeBuilder<E> {
             int uPos = findSubChange(from, updateChanges);
             if (uPos < 0) {
                 uPos = ~uPos;
-            } else {
+            } else if (updateChanges.get(uPos).from < from) {
                 // We have to split the change into 2
                 SubChange<E> change = updateChanges.get(uPos);
                 updateChanges.add(uPos + 1, new SubChange<E>(to, change.to + to - from, null, EMPTY_PERM, true));
@@ -281,6 +357,7 @@ final class ListChangeBuilder<E> {
         int[] prePerm = perm;
 
         if ((addRemoveChanges != null && !addRemoveChanges.isEmpty())) {
+            applyShift();
             //Because there were already some changes to the list, we need
             // to "reconstruct" the original list and create a permutation
             // as-if there were no changes to the list. We can then
@@ -450,9 +527,52 @@ final class ListChangeBuilder<E> {
     }
 
     public void nextSet(int idx, E old) {
-        nextRemove(idx, old);
-        nextAdd(idx, idx + 1);
+        checkState();
+        checkAddRemoveList();
+
+        // Same as nextRemove(idx, old) followed by nextAdd(idx, idx + 1),
+        // but as the size of the list does not change no sub change has
+        // to be moved.
+        int cIdx = findAddRemoveChange(idx);
+        if (cIdx < 0) {
+            cIdx = ~cIdx;
+            SubChange<E> change;
+            if (cIdx > 0 && (change = addRemoveChanges.get(cIdx - 1)).to + pendingShift(cIdx - 1) == idx) {
+                change.to++;
+                addRemoved(change, change.removed == null ? 0 : change.removed.size(), old);
+            } else if (cIdx < addRemoveChanges.size() && (change = addRemoveChanges.get(cIdx)).from + pendingShift(cIdx) == idx + 1) {
+                change.from--;
+                addRemoved(change, 0, old);
+            } else {
+                ArrayList<E> removedList = new ArrayList<E>();
+                removedList.add(old);
+                addAddRemoveChange(cIdx, new SubChange<E>(idx, idx + 1, removedList, EMPTY_PERM, false));
+            }
+        } // If found, the element was added by this change and is still reported as added
 
+        if (updateChanges != null && !updateChanges.isEmpty()) {
+            final int uPos = findSubChange(idx, updateChanges);
+            if (uPos >= 0) {
+                final SubChange<E> change = updateChanges.get(uPos);
+                if (change.from == change.to - 1) {
+                    updateChanges.remove(uPos);
+                } else if (change.from == idx) {
+                    change.from++;
+                } else if (change.to == idx + 1) {
+                    change.to--;
+                } else {
+                    updateChanges.add(uPos + 1, new SubChange<E>(idx + 1, change.to, null, EMPTY_PERM, true));
+                    change.to = idx;
+                }
+            }
+        }
+    }
+
+    private static <E> void addRemoved(SubChange<E> change, int pos, E removed) {
+        if (change.removed == null) {
+            change.removed = new ArrayList<E>();
+        }
+        change.removed.add(pos, removed);
     }
 
     public void nextUpdate(int idx) {
@@ -475,6 +595,9 @@ final class ListChangeBuilder<E> {
                 && (addRemoveNotEmpty
                 || updateNotEmpty
                 || permutationChange != null)) {
+            if (addRemoveNotEmpty) {
+                applyShift();
+            }
             int totalSize = (updateChanges != null ? updateChanges.size() : 0) +
                     (addRemoveChanges != null ? addRemoveChanges.size() : 0) + (permutationChange != null ? 1 : 0);
             if (totalSize == 1) {
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.function.IntConsumer;
+import javafx.beans.Observable;
+
+/**
+ * {@code ObservableIntegerMap} is a map with {@code int} keys that allows
+ * listeners to track changes when they occur. The keys are stored unboxed,
+ * so no {@code Integer} object is created to put, look up or remove a value.
+ * Like an {@link ObservableMap}, it notifies its
+ * {@link IntegerMapChangeListener}s once for every key that is put or removed.
+ *
+ * @param <V> the value type
+ * @see IntegerMapChangeListener
+ * @see FXCollections#observableIntegerMap()
+ * @since JavaFX 8u202
+ */
+public interface ObservableIntegerMap<V> extends Observable {
+
+    /**
+     * Add a listener to this observable map.
+     * @param listener the listener for listening to the map changes
+     */
+    public void addListener(IntegerMapChangeListener<? super V> listener);
+
+    /**
+     * Tries to remove a listener from this observable map. If the listener is not
+     * attached to this map, nothing happens.
+     * @param listener a listener to remove
+     */
+    public void removeListener(IntegerMapChangeListener<? super V> listener);
+
+    /**
+     * Returns the number of keys in this map.
+     * @return the number of keys in this map
+     */
+    public int size();
+
+    /**
+     * Returns true if this map holds no key.
+     * @return true if this map is empty
+     */
+    public boolean isEmpty();
+
+    /**
+     * Returns true if this map holds a value for the given key.
+     * @param key the key
+     * @return true if the key is in this map
+     */
+    public boolean containsKey(int key);
+
+    /**
+     * Returns the value of the given key, or null if the key is not in this
+     * map.
+     * @param key the key
+     * @return the value of the key
+     */
+    public V get(int key);
+
+    /**
+     * Associates the value with the key, replacing its previous value.
+     * @param key the key
+     * @param value the new value of the key
+     * @return the previous value of the key, or null if it was not in this
+     * map
+     */
+    public V put(int key, V value);
+
+    /**
+     * Removes the key from this map.
+     * @param key the key
+     * @return the value of the removed key, or null if it was not in this
+     * map
+     */
+    public V remove(int key);
+
+    /**
+     * Removes all the keys from this map. Listeners are notified once for
+     * every removed key, after all of them have been removed.
+     */
+    public void clear();
+
+    /**
+     * Returns the keys of this map, in no particular order.
+     * @return a new array holding the keys
+     */
+    public int[] keys();
+
+    /**
+     * Calls the action with every key of this map, in no particular order.
+     * The map must not be modified by the action.
+     * @param action the action to call
+     */
+    public void forEachKey(IntConsumer action);
+}
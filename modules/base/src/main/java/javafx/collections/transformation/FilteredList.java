@@ -25,10 +25,10 @@
 
 package javafx.collections.transformation;
 
+import com.sun.javafx.collections.ChunkedIntList;
 import com.sun.javafx.collections.NonIterableChange.GenericAddRemoveChange;
 import com.sun.javafx.collections.SortHelper;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
@@ -49,8 +49,8 @@ import javafx.collections.ObservableList;
  */
 public final class FilteredList<E> extends TransformationList<E, E>{
 
-    private int[] filtered;
-    private int size;
+    // The source indexes of the elements of this list, in ascending order
+    private final ChunkedIntList filtered = new ChunkedIntList();
 
     private SortHelper helper;
     private static final Predicate ALWAYS_TRUE = t -> true;
@@ -64,13 +64,14 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     public FilteredList(@NamedArg("source") ObservableList<E> source, @NamedArg("predicate") Predicate<? super E> predicate) {
         super(source);
-        filtered = new int[source.size() * 3 / 2  + 1];
         if (predicate != null) {
             setPredicate(predicate);
         } else {
-            for (size = 0; size < source.size(); size++) {
-                filtered[size] = size;
+            final int[] indexes = new int[source.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
             }
+            filtered.setAll(indexes, indexes.length);
         }
     }
 
@@ -154,7 +155,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return filtered.size();
     }
 
     /**
@@ -166,18 +167,18 @@ public final class FilteredList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= filtered.size()) {
             throw new IndexOutOfBoundsException();
         }
-        return getSource().get(filtered[index]);
+        return getSource().get(filtered.get(index));
     }
 
     @Override
     public int getSourceIndex(int index) {
-        if (index >= size) {
+        if (index >= filtered.size()) {
             throw new IndexOutOfBoundsException();
         }
-        return filtered[index];
+        return filtered.get(index);
     }
 
     private SortHelper getSortHelper() {
@@ -188,62 +189,46 @@ public final class FilteredList<E> extends TransformationList<E, E>{
     }
 
     private int findPosition(int p) {
-        if (filtered.length == 0) {
-            return 0;
-        }
         if (p == 0) {
             return 0;
         }
-        int pos = Arrays.binarySearch(filtered, 0, size, p);
+        int pos = filtered.binarySearch(p);
         if (pos < 0 ) {
             pos = ~pos;
         }
         return pos;
     }
 
-
-    @SuppressWarnings("unchecked")
-    private void ensureSize(int size) {
-        if (filtered.length < size) {
-            int[] replacement = new int[size * 3/2 + 1];
-            System.arraycopy(filtered, 0, replacement, 0, this.size);
-            filtered = replacement;
-        }
-    }
-
-    private void updateIndexes(int from, int delta) {
-        for (int i = from; i < size; ++i) {
-            filtered[i] += delta;
-        }
-    }
-
     private void permutate(Change<? extends E> c) {
         int from = findPosition(c.getFrom());
         int to = findPosition(c.getTo());
 
         if (to > from) {
+            final int[] indexes = new int[to - from];
             for (int i = from; i < to; ++i) {
-                filtered[i] = c.getPermutation(filtered[i]);
+                indexes[i - from] = c.getPermutation(filtered.get(i));
             }
 
-            int[] perm = getSortHelper().sort(filtered, from, to);
+            int[] perm = getSortHelper().sort(indexes, 0, indexes.length);
+            for (int i = from; i < to; ++i) {
+                filtered.set(i, indexes[i - from]);
+            }
             nextPermutation(from, to, perm);
         }
     }
 
     private void addRemove(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
         final int from = findPosition(c.getFrom());
         final int to = findPosition(c.getFrom() + c.getRemovedSize());
 
         // Mark the nodes that are going to be removed
         for (int i = from; i < to; ++i) {
-            nextRemove(from, c.getRemoved().get(filtered[i] - c.getFrom()));
+            nextRemove(from, c.getRemoved().get(filtered.get(i) - c.getFrom()));
         }
 
         // Update indexes of the sublist following the last element that was removed
-        updateIndexes(to, c.getAddedSize() - c.getRemovedSize());
+        filtered.addToTail(to, c.getAddedSize() - c.getRemovedSize());
 
         // Replace as many removed elements as possible
         int fpos = from;
@@ -252,7 +237,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         ListIterator<? extends E> it = getSource().listIterator(pos);
         for (; fpos < to && it.nextIndex() < c.getTo();) {
             if (pred.test(it.next())) {
-                filtered[fpos] = it.previousIndex();
+                filtered.set(fpos, it.previousIndex());
                 nextAdd(fpos, fpos + 1);
                 ++fpos;
             }
@@ -260,17 +245,14 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
         if (fpos < to) {
             // If there were more removed elements than added
-            System.arraycopy(filtered, to, filtered, fpos, size - to);
-            size -= to - fpos;
+            filtered.removeRange(fpos, to);
         } else {
             // Add the remaining elements
             while (it.nextIndex() < c.getTo()) {
                 if (pred.test(it.next())) {
-                    System.arraycopy(filtered, fpos, filtered, fpos + 1, size - fpos);
-                    filtered[fpos] = it.previousIndex();
+                    filtered.add(fpos, it.previousIndex());
                     nextAdd(fpos, fpos + 1);
                     ++fpos;
-                    ++size;
                 }
                 ++pos;
             }
@@ -279,7 +261,6 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     private void update(Change<? extends E> c) {
         Predicate<? super E> pred = getPredicateImpl();
-        ensureSize(getSource().size());
         int sourceFrom = c.getFrom();
         int sourceTo = c.getTo();
         int filterFrom = findPosition(sourceFrom);
@@ -288,11 +269,10 @@ public final class FilteredList<E> extends TransformationList<E, E>{
         int pos = filterFrom;
         while (pos < filterTo || sourceFrom < sourceTo) {
             E el = it.next();
-            if (pos < size && filtered[pos] == sourceFrom) {
+            if (pos < filtered.size() && filtered.get(pos) == sourceFrom) {
                 if (!pred.test(el)) {
                     nextRemove(pos, el);
-                    System.arraycopy(filtered, pos + 1, filtered, pos, size - pos - 1);
-                    --size;
+                    filtered.remove(pos);
                     --filterTo;
                 } else {
                     nextUpdate(pos);
@@ -301,9 +281,7 @@ public final class FilteredList<E> extends TransformationList<E, E>{
             } else {
                 if (pred.test(el)) {
                     nextAdd(pos, pos + 1);
-                    System.arraycopy(filtered, pos, filtered, pos + 1, size - pos);
-                    filtered[pos] = sourceFrom;
-                    ++size;
+                    filtered.add(pos, sourceFrom);
                     ++pos;
                     ++filterTo;
                 }
@@ -314,21 +292,22 @@ public final class FilteredList<E> extends TransformationList<E, E>{
 
     @SuppressWarnings("unchecked")
     private void refilter() {
-        ensureSize(getSource().size());
         List<E> removed = null;
         if (hasListeners()) {
             removed = new ArrayList<>(this);
         }
-        size = 0;
+        final int[] indexes = new int[getSource().size()];
+        int size = 0;
         int i = 0;
         Predicate<? super E> pred = getPredicateImpl();
         for (Iterator<? extends E> it = getSource().iterator();it.hasNext(); ) {
             final E next = it.next();
             if (pred.test(next)) {
-                filtered[size++] = i;
+                indexes[size++] = i;
             }
             ++i;
         }
+        filtered.setAll(indexes, size);
         if (hasListeners()) {
             fireChange(new GenericAddRemoveChange<>(0, size, removed, this));
         }
@@ -25,12 +25,12 @@
 
 package javafx.collections.transformation;
 
+import com.sun.javafx.collections.ChunkedList;
 import com.sun.javafx.collections.NonIterableChange.SimplePermutationChange;
 import com.sun.javafx.collections.SortHelper;
 import com.sun.javafx.collections.SourceAdapterChange;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -54,13 +54,22 @@ import javafx.collections.ObservableList;
 public final class SortedList<E> extends TransformationList<E, E>{
 
     private Comparator<Element<E>> elementComparator;
-    private Element<E>[] sorted;
-    private int[] perm;
-    private int size;
+    // The elements in the order of this list and in the order of the source
+    // list. Both lists hold the same elements, so mapping an index from one
+    // order to the other doesn't need to renumber the elements on every
+    // change of the source list.
+    private final ChunkedList<Element<E>> sorted = new ChunkedList<>(new ChunkedList.Locator<Element<E>>() {
+        @Override public Object getChunk(Element<E> e) { return e.sortedChunk; }
+        @Override public void setChunk(Element<E> e, Object chunk) { e.sortedChunk = chunk; }
+    });
+    private final ChunkedList<Element<E>> unsorted = new ChunkedList<>(new ChunkedList.Locator<Element<E>>() {
+        @Override public Object getChunk(Element<E> e) { return e.sourceChunk; }
+        @Override public void setChunk(Element<E> e, Object chunk) { e.sourceChunk = chunk; }
+    });
 
     private final SortHelper helper = new SortHelper();
 
-    private final Element<E> tempElement = new Element<>(null, -1);
+    private final Element<E> tempElement = new Element<>(null);
 
 
     /**
@@ -70,16 +79,14 @@ public final class SortedList<E> extends TransformationList<E, E>{
      * @param source a list to wrap
      * @param comparator a comparator to use or null for unordered List
      */
-    @SuppressWarnings("unchecked")
     public SortedList(@NamedArg("source") ObservableList<? extends E> source, @NamedArg("comparator") Comparator<? super E> comparator) {
         super(source);
-        sorted = (Element<E>[]) new Element[source.size() *3/2 + 1];
-        perm = new int[sorted.length];
-        size = source.size();
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = new Element<E>(source.get(i), i);
-            perm[i] = i;
+        final Element<E>[] elements = newElementArray(source.size());
+        for (int i = 0; i < elements.length; ++i) {
+            elements[i] = new Element<E>(source.get(i));
         }
+        unsorted.setAll(elements, elements.length);
+        sorted.setAll(elements, elements.length);
         if (comparator != null) {
             setComparator(comparator);
         }
@@ -164,10 +171,10 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public E get(int index) {
-        if (index >= size) {
+        if (index >= sorted.size()) {
             throw new IndexOutOfBoundsException();
         }
-        return sorted[index].e;
+        return sorted.get(index).e;
     }
 
     /**
@@ -177,43 +184,31 @@ public final class SortedList<E> extends TransformationList<E, E>{
      */
     @Override
     public int size() {
-        return size;
+        return sorted.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Element<E>[] newElementArray(int size) {
+        return (Element<E>[]) new Element[size];
     }
 
     private void doSortWithPermutationChange() {
+        final int size = sorted.size();
         if (elementComparator != null) {
-            int[] perm = helper.sort(sorted, 0, size, elementComparator);
-            for (int i = 0; i < size; i++) {
-                this.perm[sorted[i].index] = i;
-            }
+            final Element<E>[] elements = sorted.toArray(newElementArray(size));
+            int[] perm = helper.sort(elements, 0, size, elementComparator);
+            sorted.setAll(elements, size);
             fireChange(new SimplePermutationChange<>(0, size, perm, this));
         } else {
+            // Go back to the order of the source list
             int[] perm = new int[size];
-            int[] rperm = new int[size];
-            for (int i = 0; i < size; ++i) {
-                perm[i] = rperm[i] = i;
-            }
             boolean changed = false;
-            int idx = 0;
-            while (idx < size) {
-                final int otherIdx = sorted[idx].index;
-                if (otherIdx == idx) {
-                    ++idx;
-                    continue;
-                }
-                Element<E> other = sorted[otherIdx];
-                sorted[otherIdx] = sorted[idx];
-                sorted[idx] = other;
-                this.perm[idx] = idx;
-                this.perm[otherIdx] = otherIdx;
-                perm[rperm[idx]] = otherIdx;
-                perm[rperm[otherIdx]] = idx;
-                int tp = rperm[idx];
-                rperm[idx] = rperm[otherIdx];
-                rperm[otherIdx] = tp;
-                changed = true;
+            for (int i = 0; i < size; ++i) {
+                perm[i] = unsorted.indexOf(sorted.get(i));
+                changed |= perm[i] != i;
             }
             if (changed) {
+                sorted.setAll(unsorted.toArray(newElementArray(size)), size);
                 fireChange(new SimplePermutationChange<>(0, size, perm, this));
             }
         }
@@ -221,49 +216,43 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     @Override
     public int getSourceIndex(int index) {
-        return sorted[index].index;
+        // The element records its chunk in the source order, so this only
+        // scans that chunk; it compares identities, so equal elements are
+        // told apart.
+        return unsorted.indexOf(sorted.get(index));
     }
 
     private void updatePermutationIndexes(Change<? extends E> change) {
-        for (int i = 0; i < size; ++i) {
-            int p = change.getPermutation(sorted[i].index);
-            sorted[i].index = p;
-            perm[p] = i;
+        permutateUnsorted(change);
+    }
+
+    private void permutateUnsorted(Change<? extends E> c) {
+        final int from = c.getFrom();
+        final Element<E>[] elements = newElementArray(c.getTo() - from);
+        for (int i = from; i < c.getTo(); ++i) {
+            elements[c.getPermutation(i) - from] = unsorted.get(i);
+        }
+        for (int i = 0; i < elements.length; ++i) {
+            unsorted.set(from + i, elements[i]);
         }
     }
 
     private void updateUnsorted(Change<? extends E> c) {
         while (c.next()) {
             if (c.wasPermutated()) {
-                Element[] sortedTmp = new Element[sorted.length];
-                for (int i = 0; i < size; ++i) {
-                    if (i >= c.getFrom() && i < c.getTo()) {
-                        int p = c.getPermutation(i);
-                        sortedTmp[p] = sorted[i];
-                        sortedTmp[p].index = p;
-                        perm[i] = i;
-                    } else {
-                        sortedTmp[i] = sorted[i];
-                    }
-                }
-                sorted = sortedTmp;
+                permutateUnsorted(c);
+                sorted.setAll(unsorted.toArray(newElementArray(unsorted.size())), unsorted.size());
             }
             if (c.wasRemoved()) {
                 final int removedTo = c.getFrom() + c.getRemovedSize();
-                System.arraycopy(sorted, removedTo, sorted, c.getFrom(), size - removedTo);
-                System.arraycopy(perm, removedTo, perm, c.getFrom(), size - removedTo);
-                size -= c.getRemovedSize();
-                updateIndices(removedTo, removedTo, -c.getRemovedSize());
+                unsorted.removeRange(c.getFrom(), removedTo);
+                sorted.removeRange(c.getFrom(), removedTo);
             }
             if (c.wasAdded()) {
-                ensureSize(size + c.getAddedSize());
-                updateIndices(c.getFrom(), c.getFrom(), c.getAddedSize());
-                System.arraycopy(sorted, c.getFrom(), sorted, c.getTo(), size - c.getFrom());
-                System.arraycopy(perm, c.getFrom(), perm, c.getTo(), size - c.getFrom());
-                size += c.getAddedSize();
                 for (int i = c.getFrom(); i < c.getTo(); ++i) {
-                    sorted[i] = new Element<E>(c.getList().get(i), i);
-                    perm[i] = i;
+                    final Element<E> element = new Element<E>(c.getList().get(i));
+                    unsorted.add(i, element);
+                    sorted.add(i, element);
                 }
             }
         }
@@ -271,13 +260,13 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     private static class Element<E> {
 
-        public Element(E e, int index) {
+        public Element(E e) {
             this.e = e;
-            this.index = index;
         }
 
         private E e;
-        private int index;
+        private Object sortedChunk;
+        private Object sourceChunk;
     }
 
     private static class ElementComparator<E> implements Comparator<Element<E>> {
@@ -296,34 +285,9 @@ public final class SortedList<E> extends TransformationList<E, E>{
 
     }
 
-    private void ensureSize(int size) {
-        if (sorted.length < size) {
-            Element<E>[] replacement = new Element[size * 3/2 + 1];
-            System.arraycopy(sorted, 0, replacement, 0, this.size);
-            sorted = replacement;
-            int[] replacementPerm = new int[size * 3/2 + 1];
-            System.arraycopy(perm, 0, replacementPerm, 0, this.size);
-            perm = replacementPerm;
-        }
-    }
-
-    private void updateIndices(int from, int viewFrom, int difference) {
-        for (int i = 0 ; i < size; ++i) {
-            if (sorted[i].index >= from) {
-                sorted[i].index += difference;
-            }
-            if (perm[i] >= viewFrom) {
-                perm[i] += difference;
-            }
-        }
-    }
-
     private int findPosition(E e) {
-        if (sorted.length == 0) {
-            return 0;
-        }
         tempElement.e = e;
-        int pos = Arrays.binarySearch(sorted, 0, size, tempElement, elementComparator);
+        int pos = sorted.binarySearch(tempElement, elementComparator);
         return pos;
     }
 
@@ -332,68 +296,59 @@ public final class SortedList<E> extends TransformationList<E, E>{
         if (pos < 0) {
             pos = ~pos;
         }
-        ensureSize(size + 1);
-        updateIndices(idx, pos, 1);
-        System.arraycopy(sorted, pos, sorted, pos + 1, size - pos);
-        sorted[pos] = new Element<>(e, idx);
-        System.arraycopy(perm, idx, perm, idx + 1, size - idx);
-        perm[idx] = pos;
-        ++size;
+        final Element<E> element = new Element<>(e);
+        unsorted.add(idx, element);
+        sorted.add(pos, element);
         nextAdd(pos, pos + 1);
 
     }
 
     private void setAllToMapping(List<? extends E> list, int to) {
-        ensureSize(to);
-        size = to;
+        final Element<E>[] elements = newElementArray(to);
         for (int i = 0; i < to; ++i) {
-            sorted[i] = new Element<E>(list.get(i), i);
+            elements[i] = new Element<E>(list.get(i));
         }
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        System.arraycopy(perm, 0, this.perm, 0, size);
-        nextAdd(0, size);
+        unsorted.setAll(elements, to);
+        helper.sort(elements, 0, to, elementComparator);
+        sorted.setAll(elements, to);
+        nextAdd(0, to);
     }
 
     private void removeFromMapping(int idx, E e) {
-        int pos = perm[idx];
-        System.arraycopy(sorted, pos + 1, sorted, pos, size - pos - 1);
-        System.arraycopy(perm, idx + 1, perm, idx, size - idx - 1);
-        --size;
-        sorted[size] = null;
-        updateIndices(idx + 1, pos, - 1);
+        final Element<E> element = unsorted.remove(idx);
+        int pos = sorted.indexOf(element);
+        sorted.remove(pos);
 
         nextRemove(pos, e);
     }
 
     private void removeAllFromMapping() {
         List<E> removed = new ArrayList(this);
-        for (int i = 0; i < size; ++i) {
-            sorted[i] = null;
-        }
-        size = 0;
+        sorted.clear();
+        unsorted.clear();
         nextRemove(0, removed);
     }
 
     private void update(Change<? extends E> c) {
-        int[] perm = helper.sort(sorted, 0, size, elementComparator);
-        for (int i = 0; i < size; i++) {
-            this.perm[sorted[i].index] = i;
-        }
+        final int size = sorted.size();
+        final Element<E>[] elements = sorted.toArray(newElementArray(size));
+        int[] perm = helper.sort(elements, 0, size, elementComparator);
+        sorted.setAll(elements, size);
         nextPermutation(0, size, perm);
         for (int i = c.getFrom(), to = c.getTo(); i < to; ++i) {
-            nextUpdate(this.perm[i]);
+            nextUpdate(sorted.indexOf(unsorted.get(i)));
         }
     }
 
     private void addRemove(Change<? extends E> c) {
-        if (c.getFrom() == 0 && c.getRemovedSize() == size) {
+        if (c.getFrom() == 0 && c.getRemovedSize() == sorted.size()) {
             removeAllFromMapping();
         } else {
             for (int i = 0, sz = c.getRemovedSize(); i < sz; ++i) {
                 removeFromMapping(c.getFrom(), c.getRemoved().get(i));
             }
         }
-        if (size == 0) {
+        if (sorted.size() == 0) {
             setAllToMapping(c.getList(), c.getTo()); // This is basically equivalent to getAddedSubList
                                                      // as size is 0, only valid "from" is also 0
         } else {
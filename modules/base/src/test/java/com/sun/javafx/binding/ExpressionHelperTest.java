@@ -643,4 +643,60 @@ public class ExpressionHelperTest {
         assertEquals(4, called.get());
     }
 
+    @Test
+    public void testRemoveAfterNestedEventDoesNotAffectCurrentEvent() {
+        final AtomicInteger calls = new AtomicInteger();
+        final InvalidationListener[] listeners = new InvalidationListener[3];
+        listeners[0] = o -> {
+            if (calls.getAndIncrement() == 0) {
+                helper.fireValueChangedEvent();
+                helper = ExpressionHelper.removeListener(helper, listeners[1]);
+            }
+        };
+        listeners[1] = o -> calls.incrementAndGet();
+        listeners[2] = o -> calls.incrementAndGet();
+        for (InvalidationListener listener : listeners) {
+            helper = ExpressionHelper.addListener(helper, observable, listener);
+        }
+
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> { throw new AssertionError(e); });
+        helper.fireValueChangedEvent();
+        // outer event: all three listeners, nested event: all three listeners
+        assertEquals(6, calls.get());
+
+        calls.set(1);
+        helper.fireValueChangedEvent();
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void testManyModificationsDuringEvent() {
+        final InvalidationListenerMock[] added = new InvalidationListenerMock[100];
+        for (int i = 0; i < added.length; i++) {
+            added[i] = new InvalidationListenerMock();
+        }
+        final AtomicBoolean first = new AtomicBoolean(true);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, (InvalidationListener) o -> {
+            if (first.getAndSet(false)) {
+                for (InvalidationListenerMock listener : added) {
+                    helper = ExpressionHelper.addListener(helper, observable, listener);
+                }
+                helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+            }
+        });
+
+        helper.fireValueChangedEvent();
+        invalidationListener[0].check(observable, 1);
+        for (InvalidationListenerMock listener : added) {
+            listener.check(null, 0);
+        }
+
+        helper.fireValueChangedEvent();
+        invalidationListener[0].check(null, 0);
+        for (InvalidationListenerMock listener : added) {
+            listener.check(observable, 1);
+        }
+    }
+
 }
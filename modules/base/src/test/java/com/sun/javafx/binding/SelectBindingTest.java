@@ -39,6 +39,8 @@ import javafx.beans.binding.IntegerBinding;
 import javafx.beans.binding.LongBinding;
 import javafx.beans.binding.ObjectBinding;
 import javafx.beans.binding.StringBinding;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.binding.Variable;
 import javafx.collections.ObservableList;
 import sun.util.logging.PlatformLogger.Level;
@@ -96,6 +98,20 @@ public class SelectBindingTest {
 
     }
 
+    public static class OtherNamed {
+
+        private final StringProperty name = new SimpleStringProperty();
+
+        public OtherNamed(String name) {
+            this.name.set(name);
+        }
+
+        public StringProperty nameProperty() {
+            return name;
+        }
+
+    }
+
     private Variable a;
     private Variable b;
     private Variable c;
@@ -646,6 +662,39 @@ public class SelectBindingTest {
         Logging.getLogger().setLevel(logLevel);
     }
 
+    @Test
+    public void testStepAccessorIsSharedBetweenBindings() {
+        if (System.getSecurityManager() != null) {
+            return;
+        }
+        final SelectBinding.StepAccessor accessor = SelectBinding.StepAccessor.get(Variable.class, "next");
+        assertSame(accessor, SelectBinding.StepAccessor.get(Variable.class, "next"));
+        assertNotSame(accessor, SelectBinding.StepAccessor.get(Variable.class, "name"));
+        assertNotSame(accessor, SelectBinding.StepAccessor.get(OtherNamed.class, "next"));
+    }
+
+    @Test
+    public void testStepResolvedAgainWhenTheClassOfTheBeanChanges() {
+        final StringBinding name = Bindings.selectString(a.nextProperty(), "name");
+        a.setNext(c);
+        assertEquals("c", name.get());
+
+        final OtherNamed other = new OtherNamed("other");
+        a.setNext(other);
+        assertEquals("other", name.get());
+        other.nameProperty().set("renamed");
+        assertFalse(name.isValid());
+        assertEquals("renamed", name.get());
+
+        a.setNext(new POJOPerson("pojo"));
+        assertEquals("pojo", name.get());
+
+        a.setNext(d);
+        assertEquals("d", name.get());
+        d.setName("d2");
+        assertEquals("d2", name.get());
+    }
+
     private void printSteps(int iteration, List<String> steps) {
         System.err.println("Failed on iteration " + iteration + " for the following observableArrayList of changes");
         for (String s : steps) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ChunkedIntListTest {
+
+    private ChunkedIntList list;
+    private List<Integer> model;
+
+    @Before
+    public void setUp() {
+        list = new ChunkedIntList(4);
+        model = new ArrayList<>();
+    }
+
+    private void assertContent() {
+        assertEquals(model.size(), list.size());
+        for (int i = 0; i < model.size(); i++) {
+            assertEquals((int) model.get(i), list.get(i));
+        }
+    }
+
+    private void add(int index, int value) {
+        list.add(index, value);
+        model.add(index, value);
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        for (int i = 0; i < 20; i++) {
+            add(i, i);
+        }
+        add(0, -1);
+        add(10, -2);
+        assertContent();
+        assertEquals((int) model.remove(10), list.remove(10));
+        assertEquals((int) model.remove(0), list.remove(0));
+        assertContent();
+    }
+
+    @Test
+    public void testRemoveRange() {
+        for (int i = 0; i < 30; i++) {
+            add(i, i);
+        }
+        list.removeRange(2, 19);
+        model.subList(2, 19).clear();
+        assertContent();
+    }
+
+    @Test
+    public void testAddToTail() {
+        for (int i = 0; i < 30; i++) {
+            add(i, i);
+        }
+        list.addToTail(7, 100);
+        for (int i = 7; i < model.size(); i++) {
+            model.set(i, model.get(i) + 100);
+        }
+        assertContent();
+        add(12, 5);
+        list.set(3, 50);
+        model.set(3, 50);
+        assertContent();
+    }
+
+    @Test
+    public void testSetAll() {
+        final int[] values = new int[25];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i * 3;
+            model.add(i * 3);
+        }
+        list.setAll(values, values.length);
+        assertContent();
+        list.clear();
+        model.clear();
+        assertContent();
+    }
+
+    @Test
+    public void testBinarySearchMatchesCollections() {
+        for (int i = 0; i < 40; i++) {
+            add(i, i * 2);
+        }
+        list.addToTail(20, 10);
+        for (int i = 20; i < model.size(); i++) {
+            model.set(i, model.get(i) + 10);
+        }
+        for (int v = -2; v < 95; v++) {
+            assertEquals(Collections.binarySearch(model, v), list.binarySearch(v));
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final int size = model.size();
+            final int op = random.nextInt(7);
+            if (op < 3 || size == 0) {
+                add(random.nextInt(size + 1), random.nextInt(1000));
+            } else if (op == 3) {
+                final int index = random.nextInt(size);
+                assertEquals((int) model.remove(index), list.remove(index));
+            } else if (op == 4) {
+                final int from = random.nextInt(size);
+                final int to = Math.min(size, from + random.nextInt(10));
+                list.removeRange(from, to);
+                model.subList(from, to).clear();
+            } else if (op == 5) {
+                final int from = random.nextInt(size + 1);
+                final int delta = random.nextInt(21) - 10;
+                list.addToTail(from, delta);
+                for (int j = from; j < size; j++) {
+                    model.set(j, model.get(j) + delta);
+                }
+            } else {
+                final int index = random.nextInt(size);
+                final int value = random.nextInt(1000);
+                list.set(index, value);
+                model.set(index, value);
+            }
+            if (i % 100 == 0) {
+                assertContent();
+            }
+        }
+        assertContent();
+    }
+}
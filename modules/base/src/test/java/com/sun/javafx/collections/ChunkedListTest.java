@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ChunkedListTest {
+
+    private static class Item {
+        final int value;
+        Object chunk;
+
+        Item(int value) {
+            this.value = value;
+        }
+    }
+
+    private static final ChunkedList.Locator<Item> LOCATOR = new ChunkedList.Locator<Item>() {
+        @Override
+        public Object getChunk(Item item) {
+            return item.chunk;
+        }
+
+        @Override
+        public void setChunk(Item item, Object chunk) {
+            item.chunk = chunk;
+        }
+    };
+
+    private static final Comparator<Item> COMPARATOR = (a, b) -> Integer.compare(a.value, b.value);
+
+    private ChunkedList<Item> list;
+    private List<Item> model;
+
+    @Before
+    public void setUp() {
+        list = new ChunkedList<>(LOCATOR, 4);
+        model = new ArrayList<>();
+    }
+
+    private void assertContent() {
+        assertEquals(model.size(), list.size());
+        for (int i = 0; i < model.size(); i++) {
+            assertSame(model.get(i), list.get(i));
+            assertEquals(i, list.indexOf(model.get(i)));
+        }
+    }
+
+    private void add(int index, int value) {
+        final Item item = new Item(value);
+        list.add(index, item);
+        model.add(index, item);
+    }
+
+    @Test
+    public void testAddAcrossChunks() {
+        for (int i = 0; i < 20; i++) {
+            add(i, i);
+        }
+        assertContent();
+        add(0, -1);
+        add(10, -2);
+        add(list.size(), -3);
+        assertContent();
+    }
+
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < 20; i++) {
+            add(i, i);
+        }
+        final Item removed = model.remove(5);
+        assertSame(removed, list.remove(5));
+        assertNull(removed.chunk);
+        assertEquals(-1, list.indexOf(removed));
+        assertContent();
+        while (!model.isEmpty()) {
+            assertSame(model.remove(0), list.remove(0));
+            assertContent();
+        }
+    }
+
+    @Test
+    public void testRemoveRange() {
+        for (int i = 0; i < 30; i++) {
+            add(i, i);
+        }
+        list.removeRange(3, 17);
+        model.subList(3, 17).clear();
+        assertContent();
+        list.removeRange(0, list.size());
+        model.clear();
+        assertContent();
+    }
+
+    @Test
+    public void testSetAll() {
+        final Item[] items = new Item[25];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(i);
+        }
+        list.setAll(items, 23);
+        for (int i = 0; i < 23; i++) {
+            model.add(items[i]);
+        }
+        assertContent();
+        assertEquals(model, Arrays.asList(list.toArray(new Item[list.size()])));
+        list.clear();
+        model.clear();
+        assertContent();
+    }
+
+    @Test
+    public void testIndexOfForeignElement() {
+        add(0, 1);
+        assertEquals(-1, list.indexOf(new Item(1)));
+    }
+
+    @Test
+    public void testBinarySearchMatchesCollections() {
+        for (int i = 0; i < 40; i++) {
+            add(i, i * 2);
+        }
+        for (int v = -1; v < 82; v++) {
+            final Item key = new Item(v);
+            assertEquals(Collections.binarySearch(model, key, COMPARATOR), list.binarySearch(key, COMPARATOR));
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            final int size = model.size();
+            final int op = random.nextInt(6);
+            if (op < 3 || size == 0) {
+                add(random.nextInt(size + 1), i);
+            } else if (op == 3) {
+                final int index = random.nextInt(size);
+                assertSame(model.remove(index), list.remove(index));
+            } else if (op == 4) {
+                final int from = random.nextInt(size);
+                final int to = Math.min(size, from + random.nextInt(10));
+                list.removeRange(from, to);
+                model.subList(from, to).clear();
+            } else {
+                final int index = random.nextInt(size);
+                final Item item = new Item(i);
+                list.set(index, item);
+                model.set(index, item);
+            }
+            if (i % 100 == 0) {
+                assertContent();
+            }
+        }
+        assertContent();
+    }
+}
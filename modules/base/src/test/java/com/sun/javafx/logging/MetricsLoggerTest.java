@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging;
+
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class MetricsLoggerTest {
+
+    private MetricsLogger logger;
+
+    @Before
+    public void setUp() {
+        logger = new MetricsLogger(100);
+    }
+
+    @Test
+    public void testPhasesAreRecorded() {
+        logger.pulseStart();
+        logger.newPhase("CSS Pass");
+        logger.newPhase("Layout Pass");
+        logger.pulseEnd();
+
+        assertEquals(1, logger.getPulseCount());
+        assertEquals(1, logger.getHistogram("CSS Pass").getCount());
+        assertEquals(1, logger.getHistogram("Layout Pass").getCount());
+        assertEquals(1, logger.getHistogram(MetricsLogger.PULSE).getCount());
+        assertNull(logger.getHistogram("Painting"));
+    }
+
+    @Test
+    public void testRenderIsRecorded() {
+        logger.pulseStart();
+        logger.renderStart();
+        logger.pulseEnd();
+        assertEquals(0, logger.getHistogram(MetricsLogger.RENDER).getCount());
+        logger.renderEnd();
+        assertEquals(1, logger.getHistogram(MetricsLogger.RENDER).getCount());
+        logger.renderEnd();
+        assertEquals(1, logger.getHistogram(MetricsLogger.RENDER).getCount());
+    }
+
+    @Test
+    public void testCounters() {
+        logger.incrementCounter("Region image cache flushed");
+        logger.incrementCounter("Region image cache flushed");
+        logger.incrementCounter("Nodes rendered");
+
+        Map<String,Long> counters = logger.getCounters();
+        assertEquals(2, counters.size());
+        assertEquals(Long.valueOf(2), counters.get("Region image cache flushed"));
+        assertEquals(Long.valueOf(1), counters.get("Nodes rendered"));
+
+        logger.reset();
+        assertEquals(Long.valueOf(0), logger.getCounters().get("Nodes rendered"));
+    }
+
+    @Test
+    public void testPercentiles() {
+        MetricsLogger.Histogram histogram = new MetricsLogger.Histogram("test", 100);
+        for (int i = 100; i >= 1; i--) {
+            histogram.record(i);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100, histogram.getMax());
+        assertEquals(50, histogram.getMean());
+        assertArrayEquals(new long[] {50, 99, 100, 1}, histogram.getPercentiles(50, 99, 100, 0));
+    }
+
+    @Test
+    public void testRingBufferKeepsMostRecentSamples() {
+        MetricsLogger.Histogram histogram = new MetricsLogger.Histogram("test", 10);
+        histogram.record(1000);
+        for (int i = 0; i < 10; i++) {
+            histogram.record(1);
+        }
+        assertEquals(11, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(1, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        MetricsLogger.Histogram histogram = new MetricsLogger.Histogram("test", 10);
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(50));
+        histogram.record(5);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+}
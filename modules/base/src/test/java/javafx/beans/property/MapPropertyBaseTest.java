@@ -152,6 +152,22 @@ public class MapPropertyBaseTest {
         invalidationListener.check(null, 0);
     }
 
+    @Test
+    public void testRemoveOneOfManyInvalidationListeners() {
+        final InvalidationListenerMock[] listeners = {
+                new InvalidationListenerMock(), new InvalidationListenerMock(), new InvalidationListenerMock()
+        };
+        for (InvalidationListenerMock listener : listeners) {
+            property.addListener(listener);
+        }
+        property.get();
+        property.removeListener(listeners[2]);
+        property.set(VALUE_2a);
+        listeners[0].check(property, 1);
+        listeners[1].check(property, 1);
+        listeners[2].check(null, 0);
+    }
+
     @Test
     public void testChangeListener() {
         attachChangeListener();
@@ -33,8 +33,10 @@ import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import com.sun.javafx.binding.ErrorLoggingUtiltity;
+import javafx.collections.ObservableDoubleArray;
 import javafx.collections.ObservableFloatArray;
 import javafx.collections.ObservableIntegerArray;
+import javafx.collections.ObservableLongArray;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -1235,5 +1237,65 @@ public class BindingsArrayTest {
         Bindings.stringValueAt(localProperty, null);
     }
 
+    @Test
+    public void testDoubleArrayValueAt() {
+        final ObservableDoubleArray array = FXCollections.observableDoubleArray(Math.PI, -Math.E);
+        final DoubleBinding binding0 = Bindings.doubleArrayValueAt(array, 0);
+        final DoubleBinding binding2 = Bindings.doubleArrayValueAt(array, 2);
+        final DoubleBinding binding = Bindings.doubleArrayValueAt(array, index);
+        DependencyUtils.checkDependencies(binding0.getDependencies(), array);
+        DependencyUtils.checkDependencies(binding.getDependencies(), array, index);
+        assertEquals(Math.PI, binding0.get(), EPSILON_DOUBLE);
+        assertEquals(0.0, binding2.get(), EPSILON_DOUBLE);
+        log.checkFine(ArrayIndexOutOfBoundsException.class);
+        index.set(1);
+        assertEquals(-Math.E, binding.get(), EPSILON_DOUBLE);
+
+        array.set(0, 1.5);
+        array.addAll(2.5);
+        assertEquals(1.5, binding0.get(), EPSILON_DOUBLE);
+        assertEquals(2.5, binding2.get(), EPSILON_DOUBLE);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDoubleArrayValueAt_Null() {
+        Bindings.doubleArrayValueAt(null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDoubleArrayValueAt_NegativeIndex() {
+        Bindings.doubleArrayValueAt(FXCollections.observableDoubleArray(), -1);
+    }
+
+    @Test
+    public void testLongArrayValueAt() {
+        final ObservableLongArray array = FXCollections.observableLongArray(7L, -3L);
+        final LongBinding binding0 = Bindings.longArrayValueAt(array, 0);
+        final LongBinding binding2 = Bindings.longArrayValueAt(array, 2);
+        final LongBinding binding = Bindings.longArrayValueAt(array, index);
+        DependencyUtils.checkDependencies(binding0.getDependencies(), array);
+        DependencyUtils.checkDependencies(binding.getDependencies(), array, index);
+        assertEquals(7L, binding0.get());
+        assertEquals(0L, binding2.get());
+        log.checkFine(ArrayIndexOutOfBoundsException.class);
+        index.set(1);
+        assertEquals(-3L, binding.get());
+
+        array.set(0, 11L);
+        array.addAll(13L);
+        assertEquals(11L, binding0.get());
+        assertEquals(13L, binding2.get());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testLongArrayValueAt_Null() {
+        Bindings.longArrayValueAt(null, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLongArrayValueAt_NegativeIndex() {
+        Bindings.longArrayValueAt(FXCollections.observableLongArray(), -1);
+    }
+
 
 }
@@ -207,6 +207,64 @@ public class FXCollectionsTest {
         FXCollections.sort(seq);
     }
 
+    @Test
+    public void batchTest() {
+        ObservableList<String> seq = FXCollections.observableArrayList("a", "b", "c", "d", "e");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+
+        FXCollections.batch(seq, () -> {
+            seq.set(3, "dd");
+            seq.set(0, "aa");
+            seq.add("f");
+            seq.remove(1);
+            FXCollections.batch(seq, () -> seq.set(2, "ddd"));
+            observer.check0();
+        });
+
+        assertArrayEquals(new String[] {"aa", "c", "ddd", "e", "f"}, seq.toArray(new String[0]));
+        observer.checkAddRemove(0, seq, Arrays.asList("a", "b"), 0, 1);
+        observer.checkAddRemove(1, seq, Arrays.asList("d"), 2, 3);
+        observer.checkAddRemove(2, seq, null, 4, 5);
+    }
+
+    @Test
+    public void batchTest_exception() {
+        ObservableList<String> seq = FXCollections.observableArrayList("a", "b");
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        seq.addListener(observer);
+
+        try {
+            FXCollections.batch(seq, () -> {
+                seq.add("c");
+                seq.get(5);
+            });
+            fail();
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+        observer.check1AddRemove(seq, null, 2, 3);
+    }
+
+    @Test
+    public void batchTest_wrappers() {
+        ObservableList<String> seq = FXCollections.observableArrayList("a", "b", "c");
+        ObservableList<String> sync = FXCollections.synchronizedObservableList(seq);
+        ObservableList<String> checked = FXCollections.checkedObservableList(sync, String.class);
+        ObservableList<String> unmodifiable = FXCollections.unmodifiableObservableList(checked);
+        final MockListObserver<String> observer = new MockListObserver<String>();
+        unmodifiable.addListener(observer);
+
+        FXCollections.batch(unmodifiable, () -> {
+            checked.remove(2);
+            checked.remove(0);
+        });
+
+        assertArrayEquals(new String[] {"b"}, unmodifiable.toArray(new String[0]));
+        observer.checkAddRemove(0, unmodifiable, Arrays.asList("a"), 0, 0);
+        observer.checkAddRemove(1, unmodifiable, Arrays.asList("c"), 1, 1);
+    }
+
     @Test
     public void emptyObservableListTest() {
         ObservableList<String> seq = FXCollections.<String>emptyObservableList();
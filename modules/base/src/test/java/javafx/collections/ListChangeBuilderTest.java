@@ -237,6 +237,100 @@ public class ListChangeBuilderTest {
         observer.checkUpdate(0, observableList, 0, 4);
     }
 
+    @Test
+    public void testSet_Scattered() {
+        builder.beginChange();
+        list.set(3, "dd");
+        builder.nextSet(3, "d");
+        list.set(0, "aa");
+        builder.nextSet(0, "a");
+        list.set(2, "cc");
+        builder.nextSet(2, "c");
+        builder.endChange();
+
+        observer.checkAddRemove(0, observableList, Arrays.asList("a"), 0, 1);
+        observer.checkAddRemove(1, observableList, Arrays.asList("c", "d"), 2, 4);
+    }
+
+    @Test
+    public void testSet_InsideUpdate() {
+        builder.beginChange();
+        builder.nextUpdate(0);
+        builder.nextUpdate(1);
+        builder.nextUpdate(2);
+        list.set(1, "bb");
+        builder.nextSet(1, "b");
+        builder.endChange();
+
+        observer.checkAddRemove(0, observableList, Arrays.asList("b"), 1, 2);
+        observer.checkUpdate(1, observableList, 0, 1);
+        observer.checkUpdate(2, observableList, 2, 3);
+    }
+
+    @Test
+    public void testRemoveAdded_MovesFollowingChanges() {
+        builder.beginChange();
+        list.add(1, "x");
+        builder.nextAdd(1, 2);
+        list.add(4, "y");
+        builder.nextAdd(4, 5);
+        list.remove(1);
+        builder.nextRemove(1, "x");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("a", "b", "c", "y", "d"), list);
+        observer.check1AddRemove(observableList, null, 3, 4);
+    }
+
+    @Test
+    public void testRemoveAdded_BeforeRemoved() {
+        builder.beginChange();
+        list.add(1, "x");
+        builder.nextAdd(1, 2);
+        list.remove(3);
+        builder.nextRemove(3, "c");
+        list.remove(2);
+        builder.nextRemove(2, "b");
+        list.remove(1);
+        builder.nextRemove(1, "x");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("a", "d"), list);
+        observer.check1AddRemove(observableList, Arrays.asList("b", "c"), 1, 1);
+    }
+
+    @Test
+    public void testRemove_Descending() {
+        builder.beginChange();
+        list.remove(3);
+        builder.nextRemove(3, "d");
+        list.remove(1);
+        builder.nextRemove(1, "b");
+        list.add(0, "z");
+        builder.nextAdd(0, 1);
+        list.remove(1);
+        builder.nextRemove(1, "a");
+        builder.endChange();
+
+        assertEquals(Arrays.asList("z", "c"), list);
+        observer.checkAddRemove(0, observableList, Arrays.asList("a", "b"), 0, 1);
+        observer.checkAddRemove(1, observableList, Arrays.asList("d"), 2, 2);
+    }
+
+    @Test
+    public void testUpdateAndAdd_AtStartOfUpdate() {
+        builder.beginChange();
+        builder.nextUpdate(1);
+        builder.nextUpdate(2);
+        list.add(1, "x");
+        builder.nextAdd(1, 2);
+        builder.endChange();
+
+        observer.checkAddRemove(0, observableList, null, 1, 2);
+        observer.checkUpdate(1, observableList, 2, 4);
+        assertEquals(2, observer.calls.size());
+    }
+
     @Test
     public void testPermutation() {
         builder.beginChange();
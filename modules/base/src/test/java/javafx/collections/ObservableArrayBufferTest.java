@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.nio.DoubleBuffer;
+import java.nio.LongBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservableArrayBufferTest {
+
+    @Test
+    public void testDoubleArraySetAllFromBuffer() {
+        ObservableDoubleArray array = FXCollections.observableDoubleArray(1, 2);
+        MockArrayObserver<ObservableDoubleArray> observer = new MockArrayObserver<>();
+        array.addListener(observer);
+        DoubleBuffer buffer = DoubleBuffer.wrap(new double[] {0, 3, 4, 5});
+        buffer.position(1);
+
+        array.setAll(buffer);
+
+        assertArrayEquals(new double[] {3, 4, 5}, array.toArray(null), 0);
+        assertEquals(1, buffer.position());
+        observer.check(array, true, 0, 3);
+    }
+
+    @Test
+    public void testDoubleArrayAddAllFromBuffer() {
+        ObservableDoubleArray array = FXCollections.observableDoubleArray(1, 2);
+        MockArrayObserver<ObservableDoubleArray> observer = new MockArrayObserver<>();
+        array.addListener(observer);
+        DoubleBuffer buffer = DoubleBuffer.allocate(3).put(3).put(4);
+        buffer.flip();
+
+        array.addAll(buffer);
+
+        assertArrayEquals(new double[] {1, 2, 3, 4}, array.toArray(null), 0);
+        assertEquals(0, buffer.position());
+        observer.check(array, true, 2, 4);
+    }
+
+    @Test
+    public void testLongArraySetAllFromBuffer() {
+        ObservableLongArray array = FXCollections.observableLongArray(1, 2, 3);
+        MockArrayObserver<ObservableLongArray> observer = new MockArrayObserver<>();
+        array.addListener(observer);
+
+        array.setAll(LongBuffer.wrap(new long[] {Long.MAX_VALUE, 5, 6}));
+
+        assertArrayEquals(new long[] {Long.MAX_VALUE, 5, 6}, array.toArray(null));
+        observer.check(array, false, 0, 3);
+    }
+
+    @Test
+    public void testLongArrayAddAllFromEmptyBuffer() {
+        ObservableLongArray array = FXCollections.observableLongArray(1, 2);
+        MockArrayObserver<ObservableLongArray> observer = new MockArrayObserver<>();
+        array.addListener(observer);
+
+        array.addAll(LongBuffer.allocate(0));
+
+        assertArrayEquals(new long[] {1, 2}, array.toArray(null));
+        observer.check0();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testDoubleArraySetAllFromNullBuffer() {
+        FXCollections.observableDoubleArray().setAll((DoubleBuffer) null);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javafx.beans.InvalidationListener;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ObservablePrimitiveMapTest {
+
+    private final List<String> changes = new ArrayList<>();
+
+    private <V> LongMapChangeListener<V> longObserver() {
+        return c -> changes.add((c.wasAdded() ? "+" : "") + (c.wasRemoved() ? "-" : "")
+                + c.getKey() + ":" + c.getValueRemoved() + ">" + c.getValueAdded());
+    }
+
+    @Test
+    public void testLongMapPutGetRemove() {
+        ObservableLongMap<String> map = FXCollections.observableLongMap();
+        map.addListener(this.<String>longObserver());
+
+        assertNull(map.put(Long.MAX_VALUE, "a"));
+        assertNull(map.put(-1, "b"));
+        assertEquals("a", map.put(Long.MAX_VALUE, "c"));
+        assertNull(map.put(0, null));
+        assertEquals(3, map.size());
+        assertEquals("c", map.get(Long.MAX_VALUE));
+        assertTrue(map.containsKey(0));
+        assertNull(map.get(0));
+        assertFalse(map.containsKey(1));
+
+        assertEquals("b", map.remove(-1));
+        assertNull(map.remove(-1));
+        assertEquals(2, map.size());
+
+        assertEquals(Arrays.asList(
+                "+" + Long.MAX_VALUE + ":null>a",
+                "+-1:null>b",
+                "+-" + Long.MAX_VALUE + ":a>c",
+                "+0:null>null",
+                "--1:b>null"), changes);
+    }
+
+    @Test
+    public void testLongMapPutOfEqualValueIsNotReported() {
+        ObservableLongMap<String> map = FXCollections.observableLongMap();
+        map.put(1, "a");
+        map.addListener(this.<String>longObserver());
+        map.put(1, new String("a"));
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testLongMapClearReportsEveryKey() {
+        ObservableLongMap<String> map = FXCollections.observableLongMap();
+        map.put(1, "a");
+        map.put(2, "b");
+        final int[] invalidations = new int[1];
+        InvalidationListener invalidationListener = o -> invalidations[0]++;
+        map.addListener(invalidationListener);
+        map.addListener(this.<String>longObserver());
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.keys().length);
+        assertEquals(2, invalidations[0]);
+        assertEquals(2, changes.size());
+        assertTrue(changes.contains("-1:a>null"));
+        assertTrue(changes.contains("-2:b>null"));
+    }
+
+    @Test
+    public void testLongMapRemovedListenerIsNotCalled() {
+        ObservableLongMap<String> map = FXCollections.observableLongMap();
+        LongMapChangeListener<String> listener = longObserver();
+        map.addListener(listener);
+        map.removeListener(listener);
+        map.put(1, "a");
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    public void testLongMapMatchesHashMap() {
+        // Colliding keys, growth and removals that move entries back
+        ObservableLongMap<Integer> map = FXCollections.observableLongMap();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 20000; i++) {
+            long key = (random.nextInt(500) << 32) | random.nextInt(4);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        long[] keys = map.keys();
+        assertEquals(expected.size(), keys.length);
+        for (long key : keys) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        final int[] count = new int[1];
+        map.forEachKey(key -> {
+            assertTrue(expected.containsKey(key));
+            count[0]++;
+        });
+        assertEquals(expected.size(), count[0]);
+    }
+
+    @Test
+    public void testIntegerMap() {
+        ObservableIntegerMap<String> map = FXCollections.observableIntegerMap();
+        MockIntegerObserver observer = new MockIntegerObserver();
+        map.addListener(observer);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(300) * 64;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key : map.keys()) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.size(), observer.size);
+    }
+
+    private static class MockIntegerObserver implements IntegerMapChangeListener<String> {
+        int size;
+
+        @Override
+        public void onChanged(Change<? extends String> c) {
+            // Tracks the size through the reported changes only
+            if (c.wasAdded() && !c.wasRemoved()) {
+                size++;
+            } else if (c.wasRemoved() && !c.wasAdded()) {
+                size--;
+            }
+            assertEquals(size, c.getMap().size());
+        }
+    }
+}
@@ -110,6 +110,50 @@ public class SortedListTest {
         compareIndices(sortedList);
     }
 
+    @Test
+    public void testSourceIndexAfterChanges() {
+        assertEquals(3, sortedList.getSourceIndex(2));
+        list.add(0, "c");
+        assertEquals(Arrays.asList("a", "c", "c", "c", "d"), sortedList);
+        assertEquals(1, sortedList.getSourceIndex(0));
+        assertEquals(4, sortedList.getSourceIndex(3));
+        list.remove(1);
+        assertEquals(3, sortedList.getSourceIndex(2));
+
+        compareIndices();
+    }
+
+    @Test(timeout = 5000)
+    public void testSourceIndexDuringInterleavedChanges() {
+        final int size = 200000;
+        final Integer[] values = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            values[i] = new Integer((i * 7919) % 1000);
+        }
+        final ObservableList<Integer> source = FXCollections.observableArrayList(values);
+        final SortedList<Integer> sorted = source.sorted(Comparator.<Integer>naturalOrder());
+        // Like a selection model, map every changed row back to the source
+        // while the change is being reported
+        sorted.addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                for (int i = c.getFrom(); i < c.getTo(); ++i) {
+                    assertSame(sorted.get(i), source.get(sorted.getSourceIndex(i)));
+                }
+            }
+        });
+        for (int i = 0; i < 5000; ++i) {
+            final int pos = (i * 104729) % source.size();
+            switch (i % 3) {
+                case 0: source.set(pos, new Integer(i % 1000)); break;
+                case 1: source.add(pos, new Integer(i % 1000)); break;
+                default: source.remove(pos); break;
+            }
+        }
+        for (int i = 0; i < sorted.size(); i += 997) {
+            assertSame(sorted.get(i), source.get(sorted.getSourceIndex(i)));
+        }
+    }
+
     @Test
     public void testAddSingle() {
         list.add("b");
@@ -60,6 +60,8 @@ import javafx.scene.shape.PathElement;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
 import java.util.List;
 
 /**
@@ -72,12 +74,41 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     // *** NOTE: Multiple node mode is not yet fully implemented *** //
     private final boolean USE_MULTIPLE_NODES = false;
 
+    /**
+     * Key in the properties of the TextArea that, when set to Boolean.TRUE
+     * before the skin is created, makes the skin virtualized: the text node
+     * then only holds the paragraphs around the viewport instead of the
+     * whole text, and the height of the other paragraphs is estimated until
+     * they have been shown. The default is taken from the
+     * com.sun.javafx.scene.control.skin.TextAreaSkin.virtualized system
+     * property.
+     */
+    public static final String VIRTUALIZED_KEY = "TextAreaSkin.virtualized";
+
+    private static final boolean VIRTUALIZED_DEFAULT =
+            AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("com.sun.javafx.scene.control.skin.TextAreaSkin.virtualized"));
+
+    private final boolean virtualized;
+    // the paragraphs of the text area, only used when virtualized
+    private VirtualParagraphs virtualParagraphs;
+    // the paragraphs [windowStart, windowEnd) are held by the text node; its
+    // text starts at document offset windowOffset and is windowLength long.
+    // When not virtualized the text node holds the whole text.
+    private int windowStart;
+    private int windowEnd;
+    private int windowOffset;
+    private int windowLength;
+    private boolean windowInvalid = true;
+    // set when the caret moved, so the next layout brings it into view
+    private boolean revealCaret;
+
     private double computedMinWidth = Double.NEGATIVE_INFINITY;
     private double computedMinHeight = Double.NEGATIVE_INFINITY;
     private double computedPrefWidth = Double.NEGATIVE_INFINITY;
     private double computedPrefHeight = Double.NEGATIVE_INFINITY;
     private double widthForComputedPrefHeight = Double.NEGATIVE_INFINITY;
     private double characterWidth;
+    private double averageCharacterWidth;
     private double lineHeight;
 
     @Override protected void invalidateMetrics() {
@@ -126,6 +157,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                                     paragraphNode.getText(), 0));
                 }
 
+                if (virtualized && !getSkinnable().isWrapText()) {
+                    // paragraphs that are not shown are not measured
+                    prefWidth = Math.max(prefWidth,
+                            virtualParagraphs.getMaxLength() * averageCharacterWidth);
+                }
+
                 prefWidth += snappedLeftInset() + snappedRightInset();
 
                 Bounds viewPortBounds = scrollPane.getViewportBounds();
@@ -151,13 +188,20 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
 
                 double prefHeight = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefHeight += Utils.computeTextHeight(
-                            paragraphNode.getFont(),
-                            paragraphNode.getText(),
-                            wrappingWidth,
-                            paragraphNode.getBoundsType());
+                if (virtualized) {
+                    if (width != -1) {
+                        updateVirtualMetrics(wrappingWidth);
+                    }
+                    prefHeight = virtualParagraphs.getHeight();
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefHeight += Utils.computeTextHeight(
+                                paragraphNode.getFont(),
+                                paragraphNode.getText(),
+                                wrappingWidth,
+                                paragraphNode.getBoundsType());
+                    }
                 }
 
                 prefHeight += snappedTopInset() + snappedBottomInset();
@@ -199,16 +243,20 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
 
             final List<Node> paragraphNodesChildren = paragraphNodes.getChildren();
 
-            for (int i = 0; i < paragraphNodesChildren.size(); i++) {
-                Node node = paragraphNodesChildren.get(i);
-                Text paragraphNode = (Text)node;
-                paragraphNode.setWrappingWidth(wrappingWidth);
+            if (virtualized) {
+                layoutWindow(wrappingWidth);
+            } else {
+                for (int i = 0; i < paragraphNodesChildren.size(); i++) {
+                    Node node = paragraphNodesChildren.get(i);
+                    Text paragraphNode = (Text)node;
+                    paragraphNode.setWrappingWidth(wrappingWidth);
 
-                Bounds bounds = paragraphNode.getBoundsInLocal();
-                paragraphNode.setLayoutX(leftPadding);
-                paragraphNode.setLayoutY(y);
+                    Bounds bounds = paragraphNode.getBoundsInLocal();
+                    paragraphNode.setLayoutX(leftPadding);
+                    paragraphNode.setLayoutY(y);
 
-                y += bounds.getHeight();
+                    y += bounds.getHeight();
+                }
             }
 
             if (promptNode != null) {
@@ -240,9 +288,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
 
                 // Position the handle for the anchor. This could be handle1 or handle2.
                 // Do this before positioning the actual caret.
-                if (selection.getLength() > 0) {
+                if (selection.getLength() > 0 && isShown(anchorPos)) {
                     int paragraphIndex = paragraphNodesChildren.size();
-                    int paragraphOffset = textArea.getLength() + 1;
+                    int paragraphOffset = getShownTextEnd() + 1;
                     Text paragraphNode = null;
                     do {
                         paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
@@ -266,10 +314,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                 }
             }
 
-            {
+            if (isShown(caretPos)) {
                 // Position caret
                 int paragraphIndex = paragraphNodesChildren.size();
-                int paragraphOffset = textArea.getLength() + 1;
+                int paragraphOffset = getShownTextEnd() + 1;
 
                 Text paragraphNode = null;
                 do {
@@ -288,14 +336,25 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                 paragraphNode.setLayoutX(2 * paragraphNode.getLayoutX() - paragraphNode.getBoundsInParent().getMinX());
 
                 caretPath.setLayoutY(paragraphNode.getLayoutY());
-                if (oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent())) {
+                if (virtualized) {
+                    // The caret bounds also change when the window moves
+                    // or paragraph heights are measured, so only follow
+                    // the caret when it has moved.
+                    if (revealCaret) {
+                        scrollCaretToVisible();
+                    }
+                } else if (oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent())) {
                     scrollCaretToVisible();
                 }
+            } else {
+                // The caret is in a paragraph that is not shown
+                caretPath.getElements().clear();
             }
+            revealCaret = false;
 
             // Update selection fg and bg
-            int start = selection.getStart();
-            int end = selection.getEnd();
+            int start = Math.max(0, selection.getStart() - windowOffset);
+            int end = Math.max(0, selection.getEnd() - windowOffset);
             for (int i = 0, max = paragraphNodesChildren.size(); i < max; i++) {
                 Node paragraphNode = paragraphNodesChildren.get(i);
                 Text textNode = (Text)paragraphNode;
@@ -369,6 +428,61 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                 getParent().requestLayout();
             }
         }
+
+        /**
+         * Fills the text node with the paragraphs around the viewport, plus
+         * one viewport height above and below, and positions it at the y of
+         * its first paragraph.
+         */
+        private void layoutWindow(double wrappingWidth) {
+            final TextArea textArea = getSkinnable();
+            final Text textNode = getTextNode();
+            updateVirtualMetrics(wrappingWidth);
+
+            final double viewportHeight = getViewportHeight();
+            double top = textArea.getScrollTop() - snappedTopInset();
+            int first = virtualParagraphs.getParagraphAtY(top);
+            int last = virtualParagraphs.getParagraphAtY(top + viewportHeight);
+
+            if (revealCaret) {
+                final int caretParagraph = virtualParagraphs.getParagraphAtOffset(textArea.getCaretPosition());
+                if (caretParagraph < first || caretParagraph > last) {
+                    // Center the window on the caret; scrollCaretToVisible()
+                    // scrolls the viewport there after the caret is laid out.
+                    top = virtualParagraphs.getY(caretParagraph) - viewportHeight / 2;
+                    first = last = caretParagraph;
+                }
+            }
+
+            if (windowInvalid || first < windowStart || last >= windowEnd) {
+                windowStart = Math.min(first, virtualParagraphs.getParagraphAtY(top - viewportHeight));
+                windowEnd = Math.max(last, virtualParagraphs.getParagraphAtY(top + 2 * viewportHeight)) + 1;
+                windowOffset = virtualParagraphs.getOffset(windowStart);
+                windowLength = virtualParagraphs.getOffset(windowEnd) - windowOffset - 1;
+
+                final List<CharSequence> paragraphs = textArea.getParagraphs();
+                final StringBuilder text = new StringBuilder(windowLength);
+                for (int i = windowStart; i < windowEnd; i++) {
+                    if (i > windowStart) {
+                        text.append('\n');
+                    }
+                    text.append(paragraphs.get(i));
+                }
+                textNode.setText(text.toString());
+                windowInvalid = false;
+            }
+
+            textNode.setWrappingWidth(virtualParagraphs.getWrappingWidth());
+            if (virtualParagraphs.setMeasuredHeight(windowStart, windowEnd, textNode.getBoundsInLocal().getHeight())) {
+                // the content height changed
+                invalidateMetrics();
+                if (getParent() != null) {
+                    getParent().requestLayout();
+                }
+            }
+            textNode.setLayoutX(snappedLeftInset());
+            textNode.setLayoutY(snappedTopInset() + virtualParagraphs.getY(windowStart));
+        }
     }
 
     private ContentView contentView = new ContentView();
@@ -412,6 +526,13 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         getBehavior().setTextAreaSkin(this);
         this.textArea = textArea;
 
+        Object virtualizedValue = textArea.getProperties().get(VIRTUALIZED_KEY);
+        virtualized = (virtualizedValue instanceof Boolean) ? (Boolean) virtualizedValue : VIRTUALIZED_DEFAULT;
+        if (virtualized) {
+            virtualParagraphs = new VirtualParagraphs();
+            virtualParagraphs.reset(textArea.getParagraphs());
+        }
+
         caretPosition = new IntegerBinding() {
             { bind(textArea.caretPositionProperty()); }
             @Override protected int computeValue() {
@@ -423,11 +544,15 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             if (newValue.intValue() > oldValue.intValue()) {
                 setForwardBias(true);
             }
+            if (virtualized) {
+                revealCaret = true;
+                contentView.requestLayout();
+            }
         });
 
         forwardBiasProperty().addListener(observable -> {
-            if (textArea.getWidth() > 0) {
-                updateTextNodeCaretPos(textArea.getCaretPosition());
+            if (textArea.getWidth() > 0 && isShown(textArea.getCaretPosition())) {
+                updateTextNodeCaretPos(textArea.getCaretPosition() - windowOffset);
             }
         });
 
@@ -488,9 +613,14 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         scrollSelectionFrames.add(new KeyFrame(Duration.millis(350), scrollSelectionHandler));
 
         // Add initial text content
-        for (int i = 0, n = USE_MULTIPLE_NODES ? textArea.getParagraphs().size() : 1; i < n; i++) {
-            CharSequence paragraph = (n == 1) ? textArea.textProperty().getValueSafe() : textArea.getParagraphs().get(i);
-            addParagraphNode(i, paragraph.toString());
+        if (virtualized) {
+            // the text node is filled on layout
+            addParagraphNode(0, "");
+        } else {
+            for (int i = 0, n = USE_MULTIPLE_NODES ? textArea.getParagraphs().size() : 1; i < n; i++) {
+                CharSequence paragraph = (n == 1) ? textArea.textProperty().getValueSafe() : textArea.getParagraphs().get(i);
+                addParagraphNode(i, paragraph.toString());
+            }
         }
 
         textArea.selectionProperty().addListener((observable, oldValue, newValue) -> {
@@ -553,6 +683,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             scrollPane.setHvalue(hValue);
         });
 
+        if (virtualized) {
+            textArea.scrollTopProperty().addListener(observable -> {
+                // Scrolling only needs a new layout when the viewport
+                // leaves the paragraphs held by the text node
+                double top = textArea.getScrollTop() - contentView.snappedTopInset();
+                if (virtualParagraphs.getParagraphAtY(top) < windowStart
+                        || virtualParagraphs.getParagraphAtY(top + getViewportHeight()) >= windowEnd) {
+                    contentView.requestLayout();
+                }
+            });
+        }
+
         if (USE_MULTIPLE_NODES) {
             textArea.getParagraphs().addListener((ListChangeListener.Change<? extends CharSequence> change) -> {
                 while (change.next()) {
@@ -580,6 +722,16 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                     }
                 }
             });
+        } else if (virtualized) {
+            textArea.getParagraphs().addListener((ListChangeListener.Change<? extends CharSequence> change) -> {
+                while (change.next()) {
+                    virtualParagraphs.replace(change.getFrom(), change.getRemovedSize(),
+                            change.getList(), change.getFrom(), change.getTo());
+                }
+                invalidateMetrics();
+                windowInvalid = true;
+                contentView.requestLayout();
+            });
         } else {
             textArea.textProperty().addListener(observable -> {
                 invalidateMetrics();
@@ -591,9 +743,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         usePromptText = new BooleanBinding() {
             { bind(textArea.textProperty(), textArea.promptTextProperty()); }
             @Override protected boolean computeValue() {
-                String txt = textArea.getText();
+                // the length is known without building the text
                 String promptTxt = textArea.getPromptText();
-                return ((txt == null || txt.isEmpty()) &&
+                return (textArea.getLength() == 0 &&
                         promptTxt != null && !promptTxt.isEmpty());
             }
         };
@@ -645,11 +797,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                     int oldPos = textNode.getImpl_caretPosition();
                     textNode.setImpl_caretPosition(pos);
                     PathElement element = textNode.getImpl_caretShape()[0];
-                    if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - getTextTranslateY()) {
+                    if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - textNode.getLayoutY()) {
                         hit.setCharIndex(pos - 1);
                     }
                     textNode.setImpl_caretPosition(oldPos);
                 }
+                hit.setCharIndex(hit.getCharIndex() + windowOffset);
                 positionCaret(hit, false, false);
                 e.consume();
             });
@@ -668,17 +821,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                         textArea.selectRange(textArea.getCaretPosition(), textArea.getAnchor());
                     }
                     if (pos > 0) {
-                        if (pos >= textArea.getAnchor()) {
-                            pos = textArea.getAnchor();
+                        if (pos + windowOffset >= textArea.getAnchor()) {
+                            pos = textArea.getAnchor() - windowOffset;
                         }
                         int oldPos = textNode.getImpl_caretPosition();
                         textNode.setImpl_caretPosition(pos);
                         PathElement element = textNode.getImpl_caretShape()[0];
-                        if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - getTextTranslateY()) {
+                        if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - textNode.getLayoutY()) {
                             hit.setCharIndex(pos - 1);
                         }
                         textNode.setImpl_caretPosition(oldPos);
                     }
+                    hit.setCharIndex(hit.getCharIndex() + windowOffset);
                     positionCaret(hit, true, false);
                     e.consume();
                 }
@@ -698,16 +852,17 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                         textArea.selectRange(textArea.getCaretPosition(), textArea.getAnchor());
                     }
                     if (pos > 0) {
-                        if (pos <= textArea.getAnchor() + 1) {
-                            pos = Math.min(textArea.getAnchor() + 2, textArea.getLength());
+                        if (pos + windowOffset <= textArea.getAnchor() + 1) {
+                            pos = Math.min(textArea.getAnchor() + 2, textArea.getLength()) - windowOffset;
                         }
                         int oldPos = textNode.getImpl_caretPosition();
                         textNode.setImpl_caretPosition(pos);
                         PathElement element = textNode.getImpl_caretShape()[0];
-                        if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - getTextTranslateY()) {
+                        if (element instanceof MoveTo && ((MoveTo)element).getY() > e.getY() - textNode.getLayoutY()) {
                             hit.setCharIndex(pos - 1);
                         }
                         textNode.setImpl_caretPosition(oldPos);
+                        hit.setCharIndex(hit.getCharIndex() + windowOffset);
                         positionCaret(hit, true, false);
                     }
                     e.consume();
@@ -766,6 +921,13 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
 
     @Override
     public char getCharacter(int index) {
+        if (virtualized) {
+            int paragraphIndex = virtualParagraphs.getParagraphAtOffset(index);
+            CharSequence paragraph = getSkinnable().getParagraphs().get(paragraphIndex);
+            int offset = index - virtualParagraphs.getOffset(paragraphIndex);
+            return offset == paragraph.length() ? '\n' : paragraph.charAt(offset);
+        }
+
         int n = paragraphNodes.getChildren().size();
 
         int paragraphIndex = 0;
@@ -806,10 +968,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
                 Text lastParagraphView = (Text)paragraphNodes.getChildren().get(lastParagraphIndex);
 
                 index = getNextInsertionPoint(lastParagraphView, x, -1, VerticalDirection.UP)
-                    + (textArea.getLength() - lastParagraphView.getText().length());
+                    + (getShownTextEnd() - lastParagraphView.getText().length());
             } else {
                 // Select the character at x in the row at y
-                int paragraphOffset = 0;
+                int paragraphOffset = windowOffset;
                 for (int i = 0; i < n; i++) {
                     Text paragraphNode = (Text)paragraphNodes.getChildren().get(i);
 
@@ -832,11 +994,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     }
 
     public void positionCaret(HitInfo hit, boolean select, boolean extendSelection) {
-        int pos = Utils.getHitInsertionIndex(hit, getSkinnable().getText());
+        int pos = getHitInsertionIndex(hit);
         boolean isNewLine =
                (pos > 0 &&
                 pos <= getSkinnable().getLength() &&
-                getSkinnable().getText().codePointAt(pos-1) == 0x0a);
+                (virtualized ? getCharacter(pos - 1) == '\n'
+                             : getSkinnable().getText().codePointAt(pos-1) == 0x0a));
 
         // special handling for a new line
         if (!hit.isLeading() && isNewLine) {
@@ -857,6 +1020,21 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         setForwardBias(hit.isLeading());
     }
 
+    /**
+     * Returns the insertion index for a hit returned by
+     * {@link #getIndex(double, double)}.
+     */
+    public int getHitInsertionIndex(HitInfo hit) {
+        if (virtualized && isShown(hit.getCharIndex())) {
+            // Finding the next grapheme boundary only needs the shown text
+            HitInfo shownHit = new HitInfo();
+            shownHit.setCharIndex(hit.getCharIndex() - windowOffset);
+            shownHit.setLeading(hit.isLeading());
+            return Utils.getHitInsertionIndex(shownHit, getTextNode().getText()) + windowOffset;
+        }
+        return Utils.getHitInsertionIndex(hit, getSkinnable().getText());
+    }
+
     private double getScrollTopMax() {
         return Math.max(0, contentView.getHeight() - scrollPane.getViewportBounds().getHeight());
     }
@@ -885,8 +1063,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     public Rectangle2D getCharacterBounds(int index) {
         TextArea textArea = getSkinnable();
 
+        if (!isShown(index)) {
+            // Estimate the bounds from the paragraph geometry
+            int p = virtualParagraphs.getParagraphAtOffset(index);
+            double x = contentView.snappedLeftInset() - textArea.getScrollLeft();
+            if (!textArea.isWrapText()) {
+                x += (index - virtualParagraphs.getOffset(p)) * averageCharacterWidth;
+            }
+            double y = contentView.snappedTopInset() + virtualParagraphs.getY(p) - textArea.getScrollTop();
+            return new Rectangle2D(x, y, averageCharacterWidth, lineHeight);
+        }
+
         int paragraphIndex = paragraphNodes.getChildren().size();
-        int paragraphOffset = textArea.getLength() + 1;
+        int paragraphOffset = getShownTextEnd() + 1;
 
         Text paragraphNode = null;
         do {
@@ -942,7 +1131,8 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         TextArea textArea = getSkinnable();
         Bounds bounds = caretPath.getLayoutBounds();
         double x = bounds.getMinX() - textArea.getScrollLeft();
-        double y = bounds.getMinY() - textArea.getScrollTop();
+        // the text node is not at the top when virtualized
+        double y = bounds.getMinY() + caretPath.getLayoutY() - getTextTranslateY() - textArea.getScrollTop();
         double w = bounds.getWidth();
         double h = bounds.getHeight();
 
@@ -1018,6 +1208,59 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         Text firstParagraph = (Text)paragraphNodes.getChildren().get(0);
         lineHeight = Utils.getLineHeight(getSkinnable().getFont(),firstParagraph.getBoundsType());
         characterWidth = fontMetrics.get().computeStringWidth("W");
+        averageCharacterWidth = fontMetrics.get().computeStringWidth(AVERAGE_WIDTH_SAMPLE) / AVERAGE_WIDTH_SAMPLE.length();
+    }
+
+    private static final String AVERAGE_WIDTH_SAMPLE = "The quick brown fox jumps over the lazy dog 0123456789";
+
+    private void updateVirtualMetrics(double wrappingWidth) {
+        virtualParagraphs.setMetrics(lineHeight, averageCharacterWidth,
+                getSkinnable().isWrapText() ? wrappingWidth : 0);
+    }
+
+    private double getViewportHeight() {
+        Bounds viewportBounds = scrollPane.getViewportBounds();
+        double height = (viewportBounds != null) ? viewportBounds.getHeight() : 0;
+        return (height > 0) ? height : getSkinnable().getPrefRowCount() * lineHeight;
+    }
+
+    /**
+     * Returns the document offset just after the text held by the
+     * paragraph nodes.
+     */
+    private int getShownTextEnd() {
+        return virtualized ? windowOffset + windowLength : getSkinnable().getLength();
+    }
+
+    /**
+     * Returns true if the given document offset is held by the paragraph
+     * nodes, which is always the case when the skin is not virtualized.
+     */
+    private boolean isShown(int index) {
+        return !virtualized || (!windowInvalid && index >= windowOffset && index <= windowOffset + windowLength);
+    }
+
+    /**
+     * Makes sure the paragraph with the caret is held by the text node, so
+     * that keyboard navigation can use its caret shape.
+     */
+    private void ensureCaretShown() {
+        if (!isShown(getSkinnable().getCaretPosition())) {
+            revealCaret = true;
+            contentView.layoutChildren();
+        }
+    }
+
+    /**
+     * Returns true if the given document offset is held by the paragraph
+     * nodes, first rebuilding the window around the caret if an edit
+     * invalidated it since the last layout.
+     */
+    private boolean ensureShown(int index) {
+        if (virtualized && windowInvalid) {
+            ensureCaretShown();
+        }
+        return isShown(index);
     }
 
     @Override
@@ -1071,18 +1314,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         // adjust the event to be in the same coordinate space as the
         // text content of the textInputControl
         Text textNode = getTextNode();
-        Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY());
+        Point2D p = new Point2D(x - textNode.getLayoutX(), y - textNode.getLayoutY());
         HitInfo hit = textNode.impl_hitTestChar(translateCaretPosition(p));
         int pos = hit.getCharIndex();
         if (pos > 0) {
             int oldPos = textNode.getImpl_caretPosition();
             textNode.setImpl_caretPosition(pos);
             PathElement element = textNode.getImpl_caretShape()[0];
-            if (element instanceof MoveTo && ((MoveTo)element).getY() > y - getTextTranslateY()) {
+            if (element instanceof MoveTo && ((MoveTo)element).getY() > y - textNode.getLayoutY()) {
                 hit.setCharIndex(pos - 1);
             }
             textNode.setImpl_caretPosition(oldPos);
         }
+        hit.setCharIndex(hit.getCharIndex() + windowOffset);
         return hit;
     };
 
@@ -1097,6 +1341,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             moveRight = !moveRight;
         }
 
+        ensureCaretShown();
         Text textNode = getTextNode();
         Bounds caretBounds = caretPath.getLayoutBounds();
         if (caretPath.getElements().size() == 4) {
@@ -1113,6 +1358,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         if ((moveRight && charShape.getLayoutBounds().getMaxX() > caretBounds.getMaxX()) ||
             (!moveRight && charShape.getLayoutBounds().getMinX() < caretBounds.getMinX())) {
             hit.setLeading(!hit.isLeading());
+            hit.setCharIndex(hit.getCharIndex() + windowOffset);
             positionCaret(hit, false, false);
         } else {
             // We're at beginning or end of line. Try moving up / down.
@@ -1135,6 +1381,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     private static final Path tmpCaretPath = new Path();
 
     protected void downLines(int nLines, boolean select, boolean extendSelection) {
+        ensureCaretShown();
         Text textNode = getTextNode();
         Bounds caretBounds = caretPath.getLayoutBounds();
 
@@ -1167,6 +1414,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         textNode.setImpl_caretBias(oldBias);
         textNode.setImpl_caretPosition(oldPos);
 
+        pos += windowOffset;
+        hit.setCharIndex(pos);
+
         if (pos > 0) {
             if (nLines > 0 && foundLineMidY > targetLineMidY) {
                 // We went too far and ended up after a newline.
@@ -1222,6 +1472,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
 
 
     public void paragraphStart(boolean previousIfAtStart, boolean select) {
+        if (virtualized) {
+            virtualParagraphStart(previousIfAtStart, select);
+            return;
+        }
         TextArea textArea = getSkinnable();
         String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
@@ -1245,6 +1499,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     }
 
     public void paragraphEnd(boolean goPastInitialNewline, boolean goPastTrailingNewline, boolean select) {
+        if (virtualized) {
+            virtualParagraphEnd(goPastInitialNewline, goPastTrailingNewline, select);
+            return;
+        }
         TextArea textArea = getSkinnable();
         String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
@@ -1277,6 +1535,62 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
         }
     }
 
+    // The paragraph moves of a virtualized skin use the paragraph offsets
+    // rather than scanning the text for newlines.
+
+    private void virtualParagraphStart(boolean previousIfAtStart, boolean select) {
+        TextArea textArea = getSkinnable();
+        int pos = textArea.getCaretPosition();
+
+        if (pos > 0) {
+            int paragraphIndex = virtualParagraphs.getParagraphAtOffset(pos);
+            if (previousIfAtStart && paragraphIndex > 0 && pos == virtualParagraphs.getOffset(paragraphIndex)) {
+                // We are at the beginning of a paragraph.
+                // Back up to the previous paragraph.
+                paragraphIndex--;
+            }
+            pos = virtualParagraphs.getOffset(paragraphIndex);
+            if (select) {
+                textArea.selectPositionCaret(pos);
+            } else {
+                textArea.positionCaret(pos);
+            }
+        }
+    }
+
+    private void virtualParagraphEnd(boolean goPastInitialNewline, boolean goPastTrailingNewline, boolean select) {
+        TextArea textArea = getSkinnable();
+        int pos = textArea.getCaretPosition();
+        int len = textArea.getLength();
+        boolean wentPastInitialNewline = false;
+
+        if (pos < len) {
+            int paragraphIndex = virtualParagraphs.getParagraphAtOffset(pos);
+            int paragraphEnd = virtualParagraphs.getOffset(paragraphIndex) + virtualParagraphs.getLength(paragraphIndex);
+            if (goPastInitialNewline && pos == paragraphEnd) {
+                // We are at the end of a paragraph, start by moving to the
+                // next paragraph.
+                pos++;
+                paragraphIndex++;
+                wentPastInitialNewline = true;
+            }
+            if (!(goPastTrailingNewline && wentPastInitialNewline)) {
+                // Go to the end of this paragraph
+                pos = virtualParagraphs.getOffset(paragraphIndex) + virtualParagraphs.getLength(paragraphIndex);
+                if (goPastTrailingNewline && pos < len) {
+                    // We are at the end of a paragraph, finish by moving to
+                    // the beginning of the next paragraph (Windows behavior).
+                    pos++;
+                }
+            }
+            if (select) {
+                textArea.selectPositionCaret(pos);
+            } else {
+                textArea.positionCaret(pos);
+            }
+        }
+    }
+
     private void updateTextNodeCaretPos(int pos) {
         Text textNode = getTextNode();
         if (isForwardBias()) {
@@ -1288,7 +1602,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
     }
 
     @Override protected PathElement[] getUnderlineShape(int start, int end) {
-        int pStart = 0;
+        if (!ensureShown(start)) {
+            return new PathElement[0];
+        }
+        end = Math.min(end, getShownTextEnd());
+        int pStart = windowOffset;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -1297,11 +1615,15 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             }
             pStart = pEnd + 1;
         }
-        return null;
+        return new PathElement[0];
     }
 
     @Override protected PathElement[] getRangeShape(int start, int end) {
-        int pStart = 0;
+        if (!ensureShown(start)) {
+            return new PathElement[0];
+        }
+        end = Math.min(end, getShownTextEnd());
+        int pStart = windowOffset;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -1310,11 +1632,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             }
             pStart = pEnd + 1;
         }
-        return null;
+        return new PathElement[0];
     }
 
     @Override protected void addHighlight(List<? extends Node> nodes, int start) {
-        int pStart = 0;
+        int pStart = windowOffset;
         Text paragraphNode = null;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
@@ -1380,9 +1702,42 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea, TextAreaBehavio
             case LINE_END:
             case BOUNDS_FOR_RANGE:
             case OFFSET_AT_POINT:
+                if (virtualized) {
+                    return queryVirtualAccessibleAttribute(attribute, parameters);
+                }
                 Text text = getTextNode();
                 return text.queryAccessibleAttribute(attribute, parameters);
             default: return super.queryAccessibleAttribute(attribute, parameters);
         }
     }
+
+    /**
+     * Answers the line queries of a virtualized skin, where only part of the
+     * text is held by the text node. Lines are reported per paragraph.
+     */
+    private Object queryVirtualAccessibleAttribute(AccessibleAttribute attribute, Object... parameters) {
+        switch (attribute) {
+            case LINE_FOR_OFFSET:
+                return virtualParagraphs.getParagraphAtOffset((Integer)parameters[0]);
+            case LINE_START:
+                return virtualParagraphs.getOffset((Integer)parameters[0]);
+            case LINE_END: {
+                int line = (Integer)parameters[0];
+                return virtualParagraphs.getOffset(line) + virtualParagraphs.getLength(line);
+            }
+            case BOUNDS_FOR_RANGE: {
+                int start = (Integer)parameters[0];
+                int end = (Integer)parameters[1];
+                if (!isShown(start) || !isShown(end)) {
+                    return null;
+                }
+                return getTextNode().queryAccessibleAttribute(attribute, start - windowOffset, end - windowOffset);
+            }
+            case OFFSET_AT_POINT: {
+                Object offset = getTextNode().queryAccessibleAttribute(attribute, parameters);
+                return (offset instanceof Integer) ? (Integer)offset + windowOffset : offset;
+            }
+            default: return null;
+        }
+    }
 }
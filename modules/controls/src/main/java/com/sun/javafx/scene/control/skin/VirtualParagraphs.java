@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control.skin;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The paragraph geometry used by a virtualized {@link TextAreaSkin}. For each
+ * paragraph it keeps the length and, once the paragraph has been laid out,
+ * its height; paragraphs that have never been shown get an estimated height
+ * from the line height and an average character width. Start offsets and y
+ * positions are prefix sums that are only recomputed from the first changed
+ * paragraph onwards, so appending to a large document stays cheap.
+ */
+final class VirtualParagraphs {
+
+    private int size;
+    private int[] lengths = new int[16];
+    // a negative value means that the paragraph has not been measured yet
+    private double[] heights = new double[16];
+
+    // offsets[i] and ys[i] are valid for i <= validOffsets and i <= validYs
+    private int[] offsets = new int[17];
+    private double[] ys = new double[17];
+    private int validOffsets;
+    private int validYs;
+
+    private int maxLength;
+    private boolean maxLengthValid = true;
+
+    private double lineHeight;
+    private double charWidth;
+    private double wrappingWidth;
+
+    /**
+     * Replaces all paragraphs.
+     */
+    void reset(List<? extends CharSequence> paragraphs) {
+        size = 0;
+        validOffsets = 0;
+        validYs = 0;
+        maxLength = 0;
+        maxLengthValid = true;
+        replace(0, 0, paragraphs, 0, paragraphs.size());
+    }
+
+    /**
+     * Replaces {@code removedSize} paragraphs starting at {@code from} with
+     * the paragraphs {@code addedFrom} (inclusive) to {@code addedTo}
+     * (exclusive) of {@code paragraphs}.
+     */
+    void replace(int from, int removedSize, List<? extends CharSequence> paragraphs, int addedFrom, int addedTo) {
+        final int addedSize = addedTo - addedFrom;
+        for (int i = from; i < from + removedSize; i++) {
+            if (lengths[i] == maxLength) {
+                maxLengthValid = false;
+            }
+        }
+
+        final int newSize = size - removedSize + addedSize;
+        if (newSize > lengths.length) {
+            final int capacity = Math.max(newSize, lengths.length * 3 / 2 + 1);
+            lengths = Arrays.copyOf(lengths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+            offsets = Arrays.copyOf(offsets, capacity + 1);
+            ys = Arrays.copyOf(ys, capacity + 1);
+        }
+        final int tail = size - (from + removedSize);
+        if (tail > 0 && removedSize != addedSize) {
+            System.arraycopy(lengths, from + removedSize, lengths, from + addedSize, tail);
+            System.arraycopy(heights, from + removedSize, heights, from + addedSize, tail);
+        }
+        for (int i = 0; i < addedSize; i++) {
+            final int length = paragraphs.get(addedFrom + i).length();
+            lengths[from + i] = length;
+            heights[from + i] = -1;
+            maxLength = Math.max(maxLength, length);
+        }
+        size = newSize;
+        validOffsets = Math.min(validOffsets, from);
+        validYs = Math.min(validYs, from);
+    }
+
+    /**
+     * Sets the metrics used to estimate the height of paragraphs that have
+     * not been measured. A {@code wrappingWidth} of zero means that each
+     * paragraph is a single line. Measured heights are forgotten when the
+     * metrics change.
+     *
+     * @return true if the metrics changed
+     */
+    boolean setMetrics(double lineHeight, double charWidth, double wrappingWidth) {
+        if (lineHeight == this.lineHeight && charWidth == this.charWidth
+                && wrappingWidth == this.wrappingWidth) {
+            return false;
+        }
+        this.lineHeight = lineHeight;
+        this.charWidth = charWidth;
+        this.wrappingWidth = wrappingWidth;
+        Arrays.fill(heights, 0, size, -1);
+        validYs = 0;
+        return true;
+    }
+
+    double getWrappingWidth() {
+        return wrappingWidth;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int getLength(int paragraph) {
+        return lengths[paragraph];
+    }
+
+    int getMaxLength() {
+        if (!maxLengthValid) {
+            maxLength = 0;
+            for (int i = 0; i < size; i++) {
+                maxLength = Math.max(maxLength, lengths[i]);
+            }
+            maxLengthValid = true;
+        }
+        return maxLength;
+    }
+
+    /**
+     * Returns the document offset of the first character of the given
+     * paragraph; {@code getOffset(size())} is one past the end of the text
+     * plus one.
+     */
+    int getOffset(int paragraph) {
+        for (int i = validOffsets; i < paragraph; i++) {
+            offsets[i + 1] = offsets[i] + lengths[i] + 1;
+        }
+        validOffsets = Math.max(validOffsets, paragraph);
+        return offsets[paragraph];
+    }
+
+    /**
+     * Returns the y coordinate of the top of the given paragraph, relative
+     * to the top of the first one; {@code getY(size())} is the height of all
+     * paragraphs.
+     */
+    double getY(int paragraph) {
+        for (int i = validYs; i < paragraph; i++) {
+            ys[i + 1] = ys[i] + getHeight(i);
+        }
+        validYs = Math.max(validYs, paragraph);
+        return ys[paragraph];
+    }
+
+    double getHeight() {
+        return getY(size);
+    }
+
+    /**
+     * Returns the measured height of the given paragraph, or an estimate if
+     * it has not been measured.
+     */
+    double getHeight(int paragraph) {
+        final double height = heights[paragraph];
+        return height >= 0 ? height : getEstimatedHeight(paragraph);
+    }
+
+    private double getEstimatedHeight(int paragraph) {
+        if (wrappingWidth <= 0) {
+            return lineHeight;
+        }
+        final double lines = Math.ceil(lengths[paragraph] * charWidth / wrappingWidth);
+        return Math.max(1, lines) * lineHeight;
+    }
+
+    /**
+     * Returns the paragraph containing the given document offset. An offset
+     * at the end of a paragraph (the position of its newline) belongs to
+     * that paragraph.
+     */
+    int getParagraphAtOffset(int offset) {
+        getOffset(size);
+        int i = Arrays.binarySearch(offsets, 0, size, offset);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        return Math.max(0, Math.min(i, size - 1));
+    }
+
+    /**
+     * Returns the paragraph at the given y coordinate, clamped to the first
+     * and last paragraph.
+     */
+    int getParagraphAtY(double y) {
+        getY(size);
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (ys[mid] <= y) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Records that the paragraphs {@code from} (inclusive) to {@code to}
+     * (exclusive) were laid out together with the given total height. The
+     * part of the height not taken by already measured paragraphs is shared
+     * among the others in proportion to their estimates.
+     *
+     * @return true if the height of the paragraphs changed
+     */
+    boolean setMeasuredHeight(int from, int to, double height) {
+        double measured = 0;
+        double estimated = 0;
+        for (int i = from; i < to; i++) {
+            if (heights[i] >= 0) {
+                measured += heights[i];
+            } else {
+                estimated += getEstimatedHeight(i);
+            }
+        }
+        if (estimated == 0) {
+            return false;
+        }
+        final double scale = Math.max(0, height - measured) / estimated;
+        for (int i = from; i < to; i++) {
+            if (heights[i] < 0) {
+                heights[i] = getEstimatedHeight(i) * scale;
+            }
+        }
+        validYs = Math.min(validYs, from);
+        return Math.abs(height - measured - estimated) >= 0.5;
+    }
+}
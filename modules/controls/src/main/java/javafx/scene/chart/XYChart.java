@@ -26,6 +26,7 @@
 package javafx.scene.chart;
 
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
@@ -35,6 +36,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.IntFunction;
 
 import javafx.animation.Interpolator;
 import javafx.animation.KeyFrame;
@@ -49,10 +51,14 @@ import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.StringProperty;
 import javafx.beans.property.StringPropertyBase;
 import javafx.beans.value.WritableValue;
+import javafx.collections.ArrayChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ListChangeListener.Change;
+import javafx.collections.ObservableArray;
+import javafx.collections.ObservableDoubleArray;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableLongArray;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.css.StyleableBooleanProperty;
@@ -1630,6 +1636,43 @@ public abstract class XYChart<X,Y> extends Chart {
             setName(name);
         }
 
+        /**
+         * Creates a series whose data items follow the given arrays: the item
+         * at index i takes its x value from {@code xValues} and its y value from
+         * {@code yValues}, and there are as many items as the shorter array
+         * holds. When an array changes, only the items in the changed range
+         * are updated and items are only created or removed at the end, so
+         * the values are kept unboxed in the arrays and only boxed once for
+         * each displayed data item. The arrays keep no strong reference to
+         * the series.
+         *
+         * @param xValues the x values of the data items
+         * @param yValues the y values of the data items
+         * @return a new series following the arrays
+         * @since JavaFX 8u202
+         */
+        public static Series<Number,Number> forArrays(ObservableDoubleArray xValues, ObservableDoubleArray yValues) {
+            final Series<Number,Number> series = new Series<>();
+            new ArraySeriesUpdater(series, xValues, xValues::get, yValues, yValues::get);
+            return series;
+        }
+
+        /**
+         * Creates a series whose data items follow the given arrays, like
+         * {@link #forArrays(ObservableDoubleArray, ObservableDoubleArray)},
+         * with {@code long} x values such as time stamps.
+         *
+         * @param xValues the x values of the data items
+         * @param yValues the y values of the data items
+         * @return a new series following the arrays
+         * @since JavaFX 8u202
+         */
+        public static Series<Number,Number> forArrays(ObservableLongArray xValues, ObservableDoubleArray yValues) {
+            final Series<Number,Number> series = new Series<>();
+            new ArraySeriesUpdater(series, xValues, xValues::get, yValues, yValues::get);
+            return series;
+        }
+
         // -------------- PUBLIC METHODS ----------------------------------------------
 
         /**
@@ -1664,4 +1707,60 @@ public abstract class XYChart<X,Y> extends Chart {
         }
     }
 
+    /**
+     * Keeps the data items of a series in step with a pair of primitive
+     * arrays. The listener only holds the series weakly and removes itself
+     * from the arrays once the series has been collected.
+     */
+    private static final class ArraySeriesUpdater implements ArrayChangeListener {
+
+        private final WeakReference<Series<Number,Number>> seriesRef;
+        private final ObservableArray<?> xValues;
+        private final IntFunction<Number> xValue;
+        private final ObservableArray<?> yValues;
+        private final IntFunction<Number> yValue;
+
+        ArraySeriesUpdater(Series<Number,Number> series,
+                           ObservableArray<?> xValues, IntFunction<Number> xValue,
+                           ObservableArray<?> yValues, IntFunction<Number> yValue) {
+            this.seriesRef = new WeakReference<>(series);
+            this.xValues = xValues;
+            this.xValue = xValue;
+            this.yValues = yValues;
+            this.yValue = yValue;
+            update(series, 0, 0);
+            xValues.addListener(this);
+            yValues.addListener(this);
+        }
+
+        @Override public void onChanged(ObservableArray array, boolean sizeChanged, int from, int to) {
+            final Series<Number,Number> series = seriesRef.get();
+            if (series == null) {
+                xValues.removeListener(this);
+                yValues.removeListener(this);
+            } else {
+                update(series, from, to);
+            }
+        }
+
+        private void update(Series<Number,Number> series, int from, int to) {
+            final ObservableList<Data<Number,Number>> data = series.getData();
+            final int size = Math.min(xValues.size(), yValues.size());
+            if (data.size() > size) {
+                data.remove(size, data.size());
+            }
+            for (int i = from, end = Math.min(to, data.size()); i < end; i++) {
+                final Data<Number,Number> item = data.get(i);
+                item.setXValue(xValue.apply(i));
+                item.setYValue(yValue.apply(i));
+            }
+            if (data.size() < size) {
+                final List<Data<Number,Number>> added = new ArrayList<>(size - data.size());
+                for (int i = data.size(); i < size; i++) {
+                    added.add(new Data<Number,Number>(xValue.apply(i), yValue.apply(i)));
+                }
+                data.addAll(added);
+            }
+        }
+    }
 }
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.scene.Node;
+import javafx.util.Callback;
+
+/**
+ * A TreeItem subclass whose children are not created until the TreeItem is
+ * expanded for the first time. This makes it possible to browse very large
+ * hierarchical data sources in a {@link TreeView} or {@link TreeTableView}
+ * without building the whole tree up front.
+ *
+ * <p>The children are created by the loader callback given to the
+ * constructor, which is called with the {@link #valueProperty() value} of the
+ * TreeItem. Until the children have been loaded, the LazyTreeItem claims not
+ * to be a leaf, so that it can be expanded. Once loaded, it is a leaf if the
+ * loader returned no children. The loader is free to return plain TreeItem
+ * instances for items that are known to be leaves, and LazyTreeItem instances
+ * for branches.
+ *
+ * <p>By default the loader is called on the JavaFX Application Thread as soon
+ * as the TreeItem is expanded. If an {@link #executorProperty() executor} is
+ * set, the loader is instead run as a {@link Task} on that executor, and the
+ * {@link #placeholderProperty() placeholder} is shown as the only child until
+ * the loader has finished. If the loader throws an exception, the TreeItem is
+ * collapsed again and the children will be loaded again the next time it is
+ * expanded.
+ *
+ * <p>If {@link #releaseOnCollapseProperty() releaseOnCollapse} is set, the
+ * children are removed when the TreeItem is collapsed, and only kept softly
+ * reachable. Expanding the TreeItem again restores the same children if they
+ * are still in memory, or calls the loader again if they have been garbage
+ * collected.
+ *
+ * <p>A simple example of browsing the file system is shown below:
+ *
+ * <pre><code>
+ * Executor executor = Executors.newFixedThreadPool(2, r -&gt; {
+ *     Thread t = new Thread(r);
+ *     t.setDaemon(true);
+ *     return t;
+ * });
+ *
+ * Callback&lt;Path, List&lt;TreeItem&lt;Path&gt;&gt;&gt; loader = new Callback&lt;Path, List&lt;TreeItem&lt;Path&gt;&gt;&gt;() {
+ *     &#064;Override public List&lt;TreeItem&lt;Path&gt;&gt; call(Path dir) {
+ *         List&lt;TreeItem&lt;Path&gt;&gt; children = new ArrayList&lt;&gt;();
+ *         try (DirectoryStream&lt;Path&gt; stream = Files.newDirectoryStream(dir)) {
+ *             for (Path path : stream) {
+ *                 if (Files.isDirectory(path)) {
+ *                     LazyTreeItem&lt;Path&gt; item = new LazyTreeItem&lt;&gt;(path, this);
+ *                     item.setExecutor(executor);
+ *                     children.add(item);
+ *                 } else {
+ *                     children.add(new TreeItem&lt;&gt;(path));
+ *                 }
+ *             }
+ *         } catch (IOException e) {
+ *             throw new UncheckedIOException(e);
+ *         }
+ *         return children;
+ *     }
+ * };
+ *
+ * LazyTreeItem&lt;Path&gt; root = new LazyTreeItem&lt;&gt;(Paths.get("/"), loader);
+ * root.setExecutor(executor);
+ * TreeView&lt;Path&gt; treeView = new TreeView&lt;&gt;(root);</code></pre>
+ *
+ * <p>Note that when an executor is used, the loader is called on a
+ * background thread, and must therefore not access the scene graph or any of
+ * the TreeItems that are already part of the tree.
+ *
+ * @param <T> The type of the value property within this TreeItem.
+ * @see TreeItem
+ * @since JavaFX 8u202
+ */
+public class LazyTreeItem<T> extends TreeItem<T> {
+
+    /***************************************************************************
+     *                                                                         *
+     * Constructors                                                            *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Creates a LazyTreeItem with the value property set to the provided
+     * object.
+     *
+     * @param value The object to be stored as the value of this TreeItem.
+     * @param loader The callback used to create the children of this TreeItem
+     *      from its value.
+     * @throws NullPointerException if the loader is null
+     */
+    public LazyTreeItem(T value, Callback<T, ? extends Collection<? extends TreeItem<T>>> loader) {
+        this(value, null, loader);
+    }
+
+    /**
+     * Creates a LazyTreeItem with the value property set to the provided
+     * object, and the graphic set to the provided Node.
+     *
+     * @param value The object to be stored as the value of this TreeItem.
+     * @param graphic The Node to show in the TreeView next to this TreeItem.
+     * @param loader The callback used to create the children of this TreeItem
+     *      from its value.
+     * @throws NullPointerException if the loader is null
+     */
+    public LazyTreeItem(T value, Node graphic, Callback<T, ? extends Collection<? extends TreeItem<T>>> loader) {
+        super(value, graphic);
+        if (loader == null) {
+            throw new NullPointerException("loader can not be null");
+        }
+        this.loader = loader;
+
+        expandedProperty().addListener(expandedListener);
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Instance Variables                                                      *
+     *                                                                         *
+     **************************************************************************/
+
+    private final Callback<T, ? extends Collection<? extends TreeItem<T>>> loader;
+
+    // true once the children returned by the loader have been installed
+    private boolean loaded = false;
+
+    // the task that is currently loading the children, if any
+    private Task<Collection<? extends TreeItem<T>>> loadTask;
+
+    // the children that were removed when this TreeItem was last collapsed
+    private SoftReference<List<TreeItem<T>>> releasedChildren;
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Callbacks                                                               *
+     *                                                                         *
+     **************************************************************************/
+
+    private final ChangeListener<Boolean> expandedListener = (ov, wasExpanded, expanded) -> {
+        if (expanded) {
+            if (! loaded && loadTask == null) {
+                loadChildren();
+            }
+        } else if (isReleaseOnCollapse()) {
+            releaseChildren();
+        }
+    };
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Properties                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    // --- Executor
+    private ObjectProperty<Executor> executor;
+
+    /**
+     * Sets the executor used to load the children of this TreeItem.
+     */
+    public final void setExecutor(Executor value) { executorProperty().set(value); }
+
+    /**
+     * Returns the executor used to load the children of this TreeItem.
+     */
+    public final Executor getExecutor() { return executor == null ? null : executor.get(); }
+
+    /**
+     * The executor on which the loader is run. If null, which is the default,
+     * the loader is called on the JavaFX Application Thread when this TreeItem
+     * is expanded.
+     */
+    public final ObjectProperty<Executor> executorProperty() {
+        if (executor == null) {
+            executor = new SimpleObjectProperty<>(this, "executor");
+        }
+        return executor;
+    }
+
+
+    // --- Placeholder
+    private ObjectProperty<TreeItem<T>> placeholder;
+
+    /**
+     * Sets the TreeItem shown while the children are being loaded.
+     */
+    public final void setPlaceholder(TreeItem<T> value) { placeholderProperty().set(value); }
+
+    /**
+     * Returns the TreeItem shown while the children are being loaded.
+     */
+    public final TreeItem<T> getPlaceholder() { return placeholder == null ? null : placeholder.get(); }
+
+    /**
+     * The TreeItem that is shown as the only child of this TreeItem while the
+     * children are loaded on the {@link #executorProperty() executor}, for
+     * example a TreeItem with a "Loading..." value. If null, which is the
+     * default, an empty TreeItem is shown.
+     */
+    public final ObjectProperty<TreeItem<T>> placeholderProperty() {
+        if (placeholder == null) {
+            placeholder = new SimpleObjectProperty<>(this, "placeholder");
+        }
+        return placeholder;
+    }
+
+
+    // --- Release on collapse
+    private BooleanProperty releaseOnCollapse;
+
+    /**
+     * Sets whether the children are released when this TreeItem is collapsed.
+     */
+    public final void setReleaseOnCollapse(boolean value) { releaseOnCollapseProperty().set(value); }
+
+    /**
+     * Returns whether the children are released when this TreeItem is collapsed.
+     */
+    public final boolean isReleaseOnCollapse() { return releaseOnCollapse == null ? false : releaseOnCollapse.get(); }
+
+    /**
+     * Specifies whether the children of this TreeItem are removed when it is
+     * collapsed. The removed children are only kept softly reachable, so that
+     * they can be garbage collected when memory runs low. The default value
+     * is false.
+     */
+    public final BooleanProperty releaseOnCollapseProperty() {
+        if (releaseOnCollapse == null) {
+            releaseOnCollapse = new SimpleBooleanProperty(this, "releaseOnCollapse", false);
+        }
+        return releaseOnCollapse;
+    }
+
+
+    // --- Loading
+    private ReadOnlyBooleanWrapper loading;
+    private void setLoading(boolean value) {
+        if (loading != null || value) {
+            loadingPropertyImpl().set(value);
+        }
+    }
+
+    /**
+     * Returns true while the children of this TreeItem are being loaded on
+     * the executor.
+     */
+    public final boolean isLoading() { return loading == null ? false : loading.get(); }
+
+    /**
+     * Indicates whether the children of this TreeItem are currently being
+     * loaded on the {@link #executorProperty() executor}.
+     */
+    public final ReadOnlyBooleanProperty loadingProperty() {
+        return loadingPropertyImpl().getReadOnlyProperty();
+    }
+
+    private ReadOnlyBooleanWrapper loadingPropertyImpl() {
+        if (loading == null) {
+            loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+        }
+        return loading;
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Public API                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * A LazyTreeItem is never a leaf until its children have been loaded, so
+     * that it can be expanded. After that, it is a leaf if it has no children.
+     */
+    @Override public boolean isLeaf() {
+        return loaded && super.isLeaf();
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Private Implementation                                                  *
+     *                                                                         *
+     **************************************************************************/
+
+    private void loadChildren() {
+        // reuse the children from the last collapse if they are still around
+        List<TreeItem<T>> released = releasedChildren == null ? null : releasedChildren.get();
+        releasedChildren = null;
+        if (released != null) {
+            setChildren(released);
+            return;
+        }
+
+        final T value = getValue();
+        final Executor executor = getExecutor();
+        if (executor == null) {
+            final Collection<? extends TreeItem<T>> children;
+            try {
+                children = loader.call(value);
+            } catch (RuntimeException e) {
+                // the exception is reported by the expanded property
+                loadFailed();
+                throw e;
+            }
+            setChildren(children);
+            return;
+        }
+
+        final Task<Collection<? extends TreeItem<T>>> task = new Task<Collection<? extends TreeItem<T>>>() {
+            @Override protected Collection<? extends TreeItem<T>> call() throws Exception {
+                return loader.call(value);
+            }
+        };
+        task.setOnSucceeded(e -> {
+            if (loadTask != task) return;
+            loadTask = null;
+            setLoading(false);
+            setChildren(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            if (loadTask != task) return;
+            loadFailed();
+
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, task.getException());
+        });
+
+        loadTask = task;
+        setLoading(true);
+
+        TreeItem<T> placeholder = getPlaceholder();
+        getChildren().setAll(Collections.singletonList(placeholder == null ? new TreeItem<T>() : placeholder));
+
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            loadFailed();
+            throw e;
+        }
+    }
+
+    /**
+     * Collapses this TreeItem without any children after its children could
+     * not be loaded, so that the next expansion tries again.
+     */
+    private void loadFailed() {
+        loadTask = null;
+        setLoading(false);
+        getChildren().clear();
+        setExpanded(false);
+    }
+
+    private void setChildren(Collection<? extends TreeItem<T>> children) {
+        // loaded is set first so that this TreeItem becomes a leaf straight
+        // away if there are no children
+        loaded = true;
+        if (children == null) {
+            getChildren().clear();
+        } else {
+            getChildren().setAll(children);
+        }
+    }
+
+    private void releaseChildren() {
+        if (loadTask != null) {
+            Task<?> task = loadTask;
+            loadTask = null;
+            setLoading(false);
+            task.cancel();
+            getChildren().clear();
+        } else if (loaded) {
+            // loaded is cleared first so that this TreeItem does not become a
+            // leaf when its children are removed
+            loaded = false;
+            releasedChildren = new SoftReference<>(new ArrayList<>(getChildren()));
+            getChildren().clear();
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+/**
+ * An immutable sequence of characters stored as a balanced tree of string
+ * chunks. Inserting or deleting text copies only the nodes on the path to
+ * the edit, so an edit costs O(log n) regardless of the length of the text,
+ * and a sub-sequence is a cheap view that shares its chunks with the rope it
+ * was taken from. The tree also counts line feeds, which lets TextArea map
+ * between paragraphs and offsets without scanning the text.
+ */
+final class Rope implements CharSequence {
+
+    /**
+     * The maximum number of characters held by a single leaf. Small edits
+     * within a leaf copy at most this many characters.
+     */
+    static final int MAX_LEAF_LENGTH = 512;
+
+    static final Rope EMPTY = new Rope(Leaf.EMPTY);
+
+    private final Node root;
+
+    // The string form, computed on first use
+    private String string;
+
+    // The leaf last visited by charAt(), so that sequential access does not
+    // descend the tree for every character
+    private Cursor cursor;
+
+    private Rope(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Returns a rope holding the given characters.
+     */
+    static Rope valueOf(CharSequence text) {
+        if (text instanceof Rope) {
+            return (Rope) text;
+        }
+        return text.length() == 0 ? EMPTY : new Rope(build(text.toString(), 0, text.length()));
+    }
+
+    @Override public int length() {
+        return root.length;
+    }
+
+    @Override public char charAt(int index) {
+        if (index < 0 || index >= root.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + root.length);
+        }
+
+        Cursor c = cursor;
+        if (c == null || index < c.start || index >= c.start + c.leaf.length) {
+            Node node = root;
+            int start = 0;
+            while (node instanceof Branch) {
+                Branch branch = (Branch) node;
+                if (index < start + branch.left.length) {
+                    node = branch.left;
+                } else {
+                    start += branch.left.length;
+                    node = branch.right;
+                }
+            }
+            c = cursor = new Cursor((Leaf) node, start);
+        }
+        return c.leaf.text.charAt(index - c.start);
+    }
+
+    /**
+     * Returns the characters between {@code start} and {@code end} as a rope
+     * that shares its chunks with this one.
+     */
+    @Override public Rope subSequence(int start, int end) {
+        checkRange(start, end);
+        if (start == 0 && end == root.length) {
+            return this;
+        }
+        return end == start ? EMPTY : new Rope(suffix(prefix(root, end), start));
+    }
+
+    /**
+     * Returns the characters between {@code start} and {@code end} as a
+     * string.
+     */
+    String substring(int start, int end) {
+        checkRange(start, end);
+        if (start == 0 && end == root.length) {
+            return toString();
+        }
+        char[] chars = new char[end - start];
+        getChars(root, start, end, chars, 0);
+        return new String(chars);
+    }
+
+    @Override public String toString() {
+        String s = string;
+        if (s == null) {
+            char[] chars = new char[root.length];
+            getChars(root, 0, root.length, chars, 0);
+            s = string = new String(chars);
+        }
+        return s;
+    }
+
+    /**
+     * Returns a rope with the given text inserted at {@code index}.
+     */
+    Rope insert(int index, CharSequence text) {
+        if (index < 0 || index > root.length) {
+            throw new IndexOutOfBoundsException("index: " + index + ", length: " + root.length);
+        }
+        if (text.length() == 0) {
+            return this;
+        }
+
+        if (text.length() <= MAX_LEAF_LENGTH) {
+            // Most edits are small; try to apply them within a single leaf
+            Node node = insertIntoLeaf(root, index, text.toString());
+            if (node != null) {
+                return new Rope(node);
+            }
+        }
+
+        Node node = valueOf(text).root;
+        return new Rope(concat(concat(prefix(root, index), node), suffix(root, index)));
+    }
+
+    /**
+     * Returns a rope with the given text appended.
+     */
+    Rope append(CharSequence text) {
+        return insert(root.length, text);
+    }
+
+    /**
+     * Returns a rope without the characters between {@code start} and
+     * {@code end}.
+     */
+    Rope delete(int start, int end) {
+        checkRange(start, end);
+        if (start == end) {
+            return this;
+        }
+        Node node = concat(prefix(root, start), suffix(root, end));
+        return node.length == 0 ? EMPTY : new Rope(node);
+    }
+
+    /**
+     * Returns the number of lines, which is one more than the number of line
+     * feeds.
+     */
+    int getLineCount() {
+        return root.breaks + 1;
+    }
+
+    /**
+     * Returns the offset of the first character of the given line.
+     */
+    int getLineStart(int line) {
+        if (line < 0 || line > root.breaks) {
+            throw new IndexOutOfBoundsException("line: " + line + ", count: " + getLineCount());
+        }
+        if (line == 0) {
+            return 0;
+        }
+
+        // Find the offset following the line'th line feed
+        Node node = root;
+        int offset = 0;
+        int remaining = line;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            if (remaining <= branch.left.breaks) {
+                node = branch.left;
+            } else {
+                remaining -= branch.left.breaks;
+                offset += branch.left.length;
+                node = branch.right;
+            }
+        }
+
+        String text = ((Leaf) node).text;
+        int i = -1;
+        while (remaining-- > 0) {
+            i = text.indexOf('\n', i + 1);
+        }
+        return offset + i + 1;
+    }
+
+    /**
+     * Returns the offset following the last character of the given line,
+     * not including its line feed.
+     */
+    int getLineEnd(int line) {
+        return line == root.breaks ? root.length : getLineStart(line + 1) - 1;
+    }
+
+    /**
+     * Returns the line containing the given offset, that is, the number of
+     * line feeds that precede it.
+     */
+    int getLineAtOffset(int offset) {
+        if (offset < 0 || offset > root.length) {
+            throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + root.length);
+        }
+
+        Node node = root;
+        int line = 0;
+        int remaining = offset;
+        while (node instanceof Branch) {
+            Branch branch = (Branch) node;
+            if (remaining <= branch.left.length) {
+                node = branch.left;
+            } else {
+                remaining -= branch.left.length;
+                line += branch.left.breaks;
+                node = branch.right;
+            }
+        }
+        return line + countBreaks(((Leaf) node).text, 0, remaining);
+    }
+
+    /**
+     * Returns the given line, not including its line feed.
+     */
+    Rope getLine(int line) {
+        return subSequence(getLineStart(line), getLineEnd(line));
+    }
+
+    /**
+     * Returns the height of the tree; used by tests to check that it stays
+     * balanced.
+     */
+    int getDepth() {
+        return root.height;
+    }
+
+    private void checkRange(int start, int end) {
+        if (start < 0 || end > root.length || start > end) {
+            throw new IndexOutOfBoundsException("start: " + start + ", end: " + end + ", length: " + root.length);
+        }
+    }
+
+    /***************************************************************************
+     *                                                                         *
+     * Tree operations                                                         *
+     *                                                                         *
+     **************************************************************************/
+
+    private static Node build(String text, int start, int end) {
+        int length = end - start;
+        if (length <= MAX_LEAF_LENGTH) {
+            return new Leaf(text.substring(start, end));
+        }
+
+        // Halve the number of leaves, so that sibling heights differ by at
+        // most one
+        int leaves = (length + MAX_LEAF_LENGTH - 1) / MAX_LEAF_LENGTH;
+        int middle = start + (leaves / 2) * MAX_LEAF_LENGTH;
+        return new Branch(build(text, start, middle), build(text, middle, end));
+    }
+
+    private static Node concat(Node left, Node right) {
+        if (left.length == 0) {
+            return right;
+        }
+        if (right.length == 0) {
+            return left;
+        }
+
+        if (left instanceof Leaf && right instanceof Leaf
+                && left.length + right.length <= MAX_LEAF_LENGTH) {
+            return new Leaf(((Leaf) left).text + ((Leaf) right).text);
+        }
+
+        // Descend the spine of the taller tree until the heights match, then
+        // restore the balance on the way back up
+        if (left.height > right.height + 1) {
+            Branch branch = (Branch) left;
+            return balance(branch.left, concat(branch.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Branch branch = (Branch) right;
+            return balance(concat(left, branch.left), branch.right);
+        }
+        return new Branch(left, right);
+    }
+
+    private static Node balance(Node left, Node right) {
+        if (left.height > right.height + 1) {
+            Branch l = (Branch) left;
+            if (l.left.height >= l.right.height) {
+                return new Branch(l.left, new Branch(l.right, right));
+            }
+            Branch lr = (Branch) l.right;
+            return new Branch(new Branch(l.left, lr.left), new Branch(lr.right, right));
+        }
+        if (right.height > left.height + 1) {
+            Branch r = (Branch) right;
+            if (r.right.height >= r.left.height) {
+                return new Branch(new Branch(left, r.left), r.right);
+            }
+            Branch rl = (Branch) r.left;
+            return new Branch(new Branch(left, rl.left), new Branch(rl.right, r.right));
+        }
+        return new Branch(left, right);
+    }
+
+    private static Node prefix(Node node, int end) {
+        if (end <= 0) {
+            return Leaf.EMPTY;
+        }
+        if (end >= node.length) {
+            return node;
+        }
+        if (node instanceof Leaf) {
+            return new Leaf(((Leaf) node).text.substring(0, end));
+        }
+
+        Branch branch = (Branch) node;
+        if (end <= branch.left.length) {
+            return prefix(branch.left, end);
+        }
+        return concat(branch.left, prefix(branch.right, end - branch.left.length));
+    }
+
+    private static Node suffix(Node node, int start) {
+        if (start <= 0) {
+            return node;
+        }
+        if (start >= node.length) {
+            return Leaf.EMPTY;
+        }
+        if (node instanceof Leaf) {
+            return new Leaf(((Leaf) node).text.substring(start));
+        }
+
+        Branch branch = (Branch) node;
+        if (start >= branch.left.length) {
+            return suffix(branch.right, start - branch.left.length);
+        }
+        return concat(suffix(branch.left, start), branch.right);
+    }
+
+    /**
+     * Inserts the text into the leaf holding the index, copying the path to
+     * it. Returns null if the leaf would grow beyond MAX_LEAF_LENGTH.
+     */
+    private static Node insertIntoLeaf(Node node, int index, String text) {
+        if (node instanceof Leaf) {
+            String s = ((Leaf) node).text;
+            if (s.length() + text.length() > MAX_LEAF_LENGTH) {
+                return null;
+            }
+            return new Leaf(s.substring(0, index) + text + s.substring(index));
+        }
+
+        // Prefer the left child at a boundary, so that appending to a
+        // paragraph extends its leaf rather than the next one
+        Branch branch = (Branch) node;
+        if (index <= branch.left.length) {
+            Node left = insertIntoLeaf(branch.left, index, text);
+            return left == null ? null : new Branch(left, branch.right);
+        }
+        Node right = insertIntoLeaf(branch.right, index - branch.left.length, text);
+        return right == null ? null : new Branch(branch.left, right);
+    }
+
+    private static void getChars(Node node, int start, int end, char[] dst, int dstBegin) {
+        if (node instanceof Leaf) {
+            ((Leaf) node).text.getChars(start, end, dst, dstBegin);
+            return;
+        }
+
+        Branch branch = (Branch) node;
+        int split = branch.left.length;
+        if (start < split) {
+            getChars(branch.left, start, Math.min(end, split), dst, dstBegin);
+        }
+        if (end > split) {
+            int from = Math.max(start, split);
+            getChars(branch.right, from - split, end - split, dst, dstBegin + from - start);
+        }
+    }
+
+    private static int countBreaks(String text, int start, int end) {
+        int count = 0;
+        for (int i = start; i < end; i++) {
+            if (text.charAt(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static abstract class Node {
+        final int length;
+        final int breaks;
+        final int height;
+
+        Node(int length, int breaks, int height) {
+            this.length = length;
+            this.breaks = breaks;
+            this.height = height;
+        }
+    }
+
+    private static final class Leaf extends Node {
+        static final Leaf EMPTY = new Leaf("");
+
+        final String text;
+
+        Leaf(String text) {
+            super(text.length(), countBreaks(text, 0, text.length()), 0);
+            this.text = text;
+        }
+    }
+
+    private static final class Branch extends Node {
+        final Node left;
+        final Node right;
+
+        Branch(Node left, Node right) {
+            super(left.length + right.length, left.breaks + right.breaks,
+                    Math.max(left.height, right.height) + 1);
+            this.left = left;
+            this.right = right;
+        }
+    }
+
+    private static final class Cursor {
+        final Leaf leaf;
+        final int start;
+
+        Cursor(Leaf leaf, int start) {
+            this.leaf = leaf;
+            this.start = start;
+        }
+    }
+}
@@ -76,63 +76,23 @@ public class TextArea extends TextInputControl {
     // Text area content model
     private static final class TextAreaContent implements Content {
         private ExpressionHelper<String> helper = null;
-        private ArrayList<StringBuilder> paragraphs = new ArrayList<StringBuilder>();
-        private int contentLength = 0;
+        private Rope text = Rope.EMPTY;
         private ParagraphList paragraphList = new ParagraphList();
         private ListListenerHelper<CharSequence> listenerHelper;
 
         private TextAreaContent() {
-            paragraphs.add(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
             paragraphList.content = this;
         }
 
         @Override public String get(int start, int end) {
-            int length = end - start;
-            StringBuilder textBuilder = new StringBuilder(length);
-
-            int paragraphCount = paragraphs.size();
-
-            int paragraphIndex = 0;
-            int offset = start;
-
-            while (paragraphIndex < paragraphCount) {
-                StringBuilder paragraph = paragraphs.get(paragraphIndex);
-                int count = paragraph.length() + 1;
-
-                if (offset < count) {
-                    break;
-                }
-
-                offset -= count;
-                paragraphIndex++;
-            }
-
-            // Read characters until end is reached, appending to text builder
-            // and moving to next paragraph as needed
-            StringBuilder paragraph = paragraphs.get(paragraphIndex);
-
-            int i = 0;
-            while (i < length) {
-                if (offset == paragraph.length()
-                    && i < contentLength) {
-                    textBuilder.append('\n');
-                    paragraph = paragraphs.get(++paragraphIndex);
-                    offset = 0;
-                } else {
-                    textBuilder.append(paragraph.charAt(offset++));
-                }
-
-                i++;
-            }
-
-            return textBuilder.toString();
+            return text.substring(start, end);
         }
 
         @Override
         @SuppressWarnings("unchecked")
         public void insert(int index, String text, boolean notifyListeners) {
             if (index < 0
-                || index > contentLength) {
+                || index > this.text.length()) {
                 throw new IndexOutOfBoundsException();
             }
 
@@ -142,67 +102,20 @@ public class TextArea extends TextInputControl {
             text = TextInputControl.filterInput(text, false, false);
             int length = text.length();
             if (length > 0) {
-                // Split the text into lines
-                ArrayList<StringBuilder> lines = new ArrayList<StringBuilder>();
-
-                StringBuilder line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
-                for (int i = 0; i < length; i++) {
-                    char c = text.charAt(i);
-
-                    if (c == '\n') {
-                        lines.add(line);
-                        line = new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY);
-                    } else {
-                        line.append(c);
-                    }
-                }
-
-                lines.add(line);
-
-                // Merge the text into the existing content
-                // Merge the text into the existing content
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (index < offset);
-
-                int start = index - offset;
-
-                int n = lines.size();
-                if (n == 1) {
-                    // The text contains only a single line; insert it into the
-                    // intersecting paragraph
-                    paragraph.insert(start, line);
-                    fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
-                        Collections.singletonList((CharSequence)paragraph));
-                } else {
-                    // The text contains multiple line; split the intersecting
-                    // paragraph
-                    int end = paragraph.length();
-                    CharSequence trailingText = paragraph.subSequence(start, end);
-                    paragraph.delete(start, end);
-
-                    // Append the first line to the intersecting paragraph and
-                    // append the trailing text to the last line
-                    StringBuilder first = lines.get(0);
-                    paragraph.insert(start, first);
-                    line.append(trailingText);
-                    fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
-                        Collections.singletonList((CharSequence)paragraph));
-
-                    // Insert the remaining lines into the paragraph list
-                    paragraphs.addAll(paragraphIndex + 1, lines.subList(1, n));
+                Rope oldText = this.text;
+                int paragraphIndex = oldText.getLineAtOffset(index);
+                this.text = oldText.insert(index, text);
+
+                // The intersecting paragraph is updated, and any further lines
+                // of the text are added after it
+                int n = this.text.getLineCount() - oldText.getLineCount() + 1;
+                fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
+                    Collections.singletonList((CharSequence)oldText.getLine(paragraphIndex)));
+                if (n > 1) {
                     fireParagraphListChangeEvent(paragraphIndex + 1, paragraphIndex + n,
                         Collections.EMPTY_LIST);
                 }
 
-                // Update content length
-                contentLength += length;
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
@@ -215,77 +128,27 @@ public class TextArea extends TextInputControl {
             }
 
             if (start < 0
-                || end > contentLength) {
+                || end > text.length()) {
                 throw new IndexOutOfBoundsException();
             }
 
             int length = end - start;
 
             if (length > 0) {
-                // Identify the trailing paragraph index
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (end < offset);
-
-                int trailingParagraphIndex = paragraphIndex;
-                int trailingOffset = offset;
-                StringBuilder trailingParagraph = paragraph;
-
-                // Identify the leading paragraph index
-                paragraphIndex++;
-                offset += paragraph.length() + 1;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (start < offset);
-
-                int leadingParagraphIndex = paragraphIndex;
-                int leadingOffset = offset;
-                StringBuilder leadingParagraph = paragraph;
-
-                // Remove the text
-                if (leadingParagraphIndex == trailingParagraphIndex) {
-                    // The removal affects only a single paragraph
-                    leadingParagraph.delete(start - leadingOffset,
-                        end - leadingOffset);
-
-                    fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
-                        Collections.singletonList((CharSequence)leadingParagraph));
-                } else {
-                    // The removal spans paragraphs; remove any intervening paragraphs and
-                    // merge the leading and trailing segments
-                    CharSequence leadingSegment = leadingParagraph.subSequence(0,
-                        start - leadingOffset);
-                    int trailingSegmentLength = (start + length) - trailingOffset;
-
-                    trailingParagraph.delete(0, trailingSegmentLength);
-                    fireParagraphListChangeEvent(trailingParagraphIndex, trailingParagraphIndex + 1,
-                        Collections.singletonList((CharSequence)trailingParagraph));
-
-                    if (trailingParagraphIndex - leadingParagraphIndex > 0) {
-                        List<CharSequence> removed = new ArrayList<CharSequence>(paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex));
-                        paragraphs.subList(leadingParagraphIndex,
-                            trailingParagraphIndex).clear();
-                        fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
-                            removed);
-                    }
-
-                    // Trailing paragraph is now at the former leading paragraph's index
-                    trailingParagraph.insert(0, leadingSegment);
-                    fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
-                        Collections.singletonList((CharSequence)leadingParagraph));
+                Rope oldText = text;
+                int leadingParagraphIndex = oldText.getLineAtOffset(start);
+                int trailingParagraphIndex = oldText.getLineAtOffset(end);
+                text = oldText.delete(start, end);
+
+                // The leading paragraph is updated, and if the removal spans
+                // paragraphs, the ones it was merged with are removed
+                fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
+                    Collections.singletonList((CharSequence)oldText.getLine(leadingParagraphIndex)));
+                if (trailingParagraphIndex > leadingParagraphIndex) {
+                    fireParagraphListChangeEvent(leadingParagraphIndex + 1, leadingParagraphIndex + 1,
+                        new RemovedParagraphs(oldText, leadingParagraphIndex + 1, trailingParagraphIndex + 1));
                 }
 
-                // Update content length
-                contentLength -= length;
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
@@ -293,11 +156,11 @@ public class TextArea extends TextInputControl {
         }
 
         @Override public int length() {
-            return contentLength;
+            return text.length();
         }
 
         @Override public String get() {
-            return get(0, length());
+            return text.toString();
         }
 
         @Override public void addListener(ChangeListener<? super String> changeListener) {
@@ -334,7 +197,7 @@ public class TextArea extends TextInputControl {
 
         @Override
         public CharSequence get(int index) {
-            return content.paragraphs.get(index);
+            return content.text.getLine(index);
         }
 
         @Override
@@ -359,7 +222,7 @@ public class TextArea extends TextInputControl {
 
         @Override
         public int size() {
-            return content.paragraphs.size();
+            return content.text.getLineCount();
         }
 
         @Override
@@ -398,6 +261,33 @@ public class TextArea extends TextInputControl {
         }
     }
 
+    // The paragraphs of a previous version of the content, materialized only
+    // when a listener asks for them
+    private static final class RemovedParagraphs extends AbstractList<CharSequence> {
+        private final Rope text;
+        private final int from;
+        private final int to;
+
+        private RemovedParagraphs(Rope text, int from, int to) {
+            this.text = text;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public CharSequence get(int index) {
+            if (index < 0 || index >= to - from) {
+                throw new IndexOutOfBoundsException();
+            }
+            return text.getLine(from + index);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
     private static final class ParagraphListChange extends NonIterableChange<CharSequence>  {
 
         private List<CharSequence> removed;
@@ -73,7 +73,7 @@ public class TextField extends TextInputControl {
     // Text field content
     private static final class TextFieldContent implements Content {
         private ExpressionHelper<String> helper = null;
-        private StringBuilder characters = new StringBuilder();
+        private Rope characters = Rope.EMPTY;
 
         @Override public String get(int start, int end) {
             return characters.substring(start, end);
@@ -82,7 +82,7 @@ public class TextField extends TextInputControl {
         @Override public void insert(int index, String text, boolean notifyListeners) {
             text = TextInputControl.filterInput(text, true, true);
             if (!text.isEmpty()) {
-                characters.insert(index, text);
+                characters = characters.insert(index, text);
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
@@ -91,7 +91,7 @@ public class TextField extends TextInputControl {
 
         @Override public void delete(int start, int end, boolean notifyListeners) {
             if (end > start) {
-                characters.delete(start, end);
+                characters = characters.delete(start, end);
                 if (notifyListeners) {
                     ExpressionHelper.fireValueChangedEvent(helper);
                 }
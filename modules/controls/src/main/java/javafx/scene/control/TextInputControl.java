@@ -139,12 +139,13 @@ public abstract class TextInputControl extends Control {
             text.controlContentHasChanged();
         });
 
-        // Bind the length to be based on the length of the text property
+        // Bind the length to be based on the length of the text property.
+        // Both this and the selected text are read from the content, so that
+        // edits do not require the whole text to be materialized.
         length.bind(new IntegerBinding() {
             { bind(text); }
             @Override protected int computeValue() {
-                String txt = text.get();
-                return txt == null ? 0 : txt.length();
+                return text.textIsNull ? 0 : content.length();
             }
         });
 
@@ -152,16 +153,15 @@ public abstract class TextInputControl extends Control {
         selectedText.bind(new StringBinding() {
             { bind(selection, text); }
             @Override protected String computeValue() {
-                String txt = text.get();
                 IndexRange sel = selection.get();
-                if (txt == null || sel == null) return "";
+                if (text.textIsNull || sel == null) return "";
 
                 int start = sel.getStart();
                 int end = sel.getEnd();
-                int length = txt.length();
+                int length = content.length();
                 if (end > start + length) end = length;
                 if (start > length-1) start = end = 0;
-                return txt.substring(start, end);
+                return content.get(start, end);
             }
         });
 
@@ -568,22 +568,22 @@ public abstract class TextInputControl extends Control {
         } else if (change.start != change.end && change.text.isEmpty()) {
             // I know I am deleting, and am located at the end of the range of the current undo record
             if (undoChange.newText.length() > 0) {
-                undoChange.newText = undoChange.newText.substring(0, change.start - undoChange.start);
-                if (undoChange.newText.isEmpty()) {
+                undoChange.newText = undoChange.newText.subSequence(0, change.start - undoChange.start);
+                if (undoChange.newText.length() == 0) {
                     // throw away this undo change record
                     undoChange = undoChange.discard();
                 }
             } else {
                 if (change.start == endOfUndoChange) {
-                    undoChange.oldText += oldText;
+                    undoChange.oldText = undoChange.oldText.append(oldText);
                 } else { // end == endOfUndoChange
-                    undoChange.oldText = oldText + undoChange.oldText;
+                    undoChange.oldText = undoChange.oldText.insert(0, oldText);
                     undoChange.start--;
                 }
             }
         } else {
             // I know I am adding, and am located at the end of the range of the current undo record
-            undoChange.newText += newText;
+            undoChange.newText = undoChange.newText.append(newText);
         }
         updateUndoRedoState();
     }
@@ -1093,15 +1093,15 @@ public abstract class TextInputControl extends Control {
         if (isUndoable()) {
             // Apply reverse change here
             final int start = undoChange.start;
-            final String newText = undoChange.newText;
-            final String oldText = undoChange.oldText;
+            final Rope newText = undoChange.newText;
+            final Rope oldText = undoChange.oldText;
 
             if (newText != null) {
-                getContent().delete(start, start + newText.length(), oldText.isEmpty());
+                getContent().delete(start, start + newText.length(), oldText.length() == 0);
             }
 
             if (oldText != null) {
-                getContent().insert(start, oldText, true);
+                getContent().insert(start, oldText.toString(), true);
                 doSelectRange(start, start + oldText.length());
             } else {
                 doSelectRange(start, start + newText.length());
@@ -1122,15 +1122,15 @@ public abstract class TextInputControl extends Control {
             // Apply change here
             undoChange = undoChange.next;
             final int start = undoChange.start;
-            final String newText = undoChange.newText;
-            final String oldText = undoChange.oldText;
+            final Rope newText = undoChange.newText;
+            final Rope oldText = undoChange.oldText;
 
             if (oldText != null) {
-                getContent().delete(start, start + oldText.length(), newText.isEmpty());
+                getContent().delete(start, start + oldText.length(), newText.length() == 0);
             }
 
             if (newText != null) {
-                getContent().insert(start, newText, true);
+                getContent().insert(start, newText.toString(), true);
                 doSelectRange(start + newText.length(), start + newText.length());
             } else {
                 doSelectRange(start, start);
@@ -1445,8 +1445,10 @@ public abstract class TextInputControl extends Control {
      */
     static class UndoRedoChange {
         int start;
-        String oldText;
-        String newText;
+        // Ropes, so that runs of typing or streamed appends that are merged
+        // into one record do not copy the text accumulated so far
+        Rope oldText;
+        Rope newText;
         UndoRedoChange prev;
         UndoRedoChange next;
 
@@ -1455,8 +1457,8 @@ public abstract class TextInputControl extends Control {
         public UndoRedoChange add(int start, String oldText, String newText) {
             UndoRedoChange c = new UndoRedoChange();
             c.start = start;
-            c.oldText = oldText;
-            c.newText = newText;
+            c.oldText = Rope.valueOf(oldText);
+            c.newText = Rope.valueOf(newText);
             c.prev = this;
             next = c;
             return c;
@@ -1485,9 +1487,9 @@ public abstract class TextInputControl extends Control {
             if (oldText == null && newText == null) {
                 return "head";
             }
-            if (oldText.isEmpty() && !newText.isEmpty()) {
+            if (oldText.length() == 0 && newText.length() != 0) {
                 return "added '" + newText + "' at index " + start;
-            } else if (!oldText.isEmpty() && !newText.isEmpty()) {
+            } else if (oldText.length() != 0 && newText.length() != 0) {
                 return "replaced '" + oldText + "' with '" + newText + "' at index " + start;
             } else {
                 return "deleted '" + oldText + "' at index " + start;
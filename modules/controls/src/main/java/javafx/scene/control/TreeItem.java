@@ -353,6 +353,7 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         new EventHandler<TreeModificationEvent<Object>>() {
             @Override public void handle(TreeModificationEvent<Object> event) {
                 expandedDescendentCountDirty = true;
+                markChildCountDirty(event.getTreeItem());
             }
     };
 
@@ -391,6 +392,22 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // when all children are collapsed.
     int previousExpandedDescendentCount = 1;
 
+    // To map between rows and TreeItems without visiting every sibling, each
+    // TreeItem keeps the expanded descendent counts of its children in a
+    // binary indexed (Fenwick) tree. This gives the number of rows taken by
+    // the first n children, and the child containing a given row, in
+    // O(log children). When only a few children change their count (as is the
+    // case when a descendant is expanded or collapsed) they are recorded in
+    // dirtyChildren and updated in place, otherwise the index is rebuilt.
+    private int[] childCountIndex;
+    private int childCountTotal;
+    private boolean childCountIndexDirty = true;
+    private List<TreeItem<T>> dirtyChildren;
+
+    // The last known position of this TreeItem in the children list of its
+    // parent. This is only a hint, and must be checked before it is used.
+    private int indexInParent = -1;
+
     Comparator<TreeItem<T>> lastComparator = null;
     TreeSortMode lastSortMode = null;
 
@@ -409,6 +426,7 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // called whenever the contents of the children sequence changes
     private ListChangeListener<TreeItem<T>> childrenListener = c -> {
         expandedDescendentCountDirty = true;
+        childCountIndexDirty = true;
         updateChildren(c);
     };
 
@@ -875,26 +893,159 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     }
 
     // This value is package accessible so that it may be retrieved from TreeView.
-    int getExpandedDescendentCount(boolean reset) {
-        if (reset || expandedDescendentCountDirty) {
-            updateExpandedDescendentCount(reset);
+    int getExpandedDescendentCount() {
+        if (expandedDescendentCountDirty) {
+            updateExpandedDescendentCount();
             expandedDescendentCountDirty = false;
         }
         return expandedDescendentCount;
     }
 
-    private void updateExpandedDescendentCount(boolean reset) {
+    private void updateExpandedDescendentCount() {
         previousExpandedDescendentCount = expandedDescendentCount;
         expandedDescendentCount = 1;
 
-        ignoreSortUpdate = true;
         if (!isLeaf() && isExpanded()) {
-            for (TreeItem<T> child : getChildren()) {
-                if (child == null) continue;
-                expandedDescendentCount += child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+            // calling getChildren() gives subclasses the chance to lazily
+            // populate the children before they are counted
+            ignoreSortUpdate = true;
+            getChildren();
+            ignoreSortUpdate = false;
+
+            expandedDescendentCount += validateChildCountIndex();
+        }
+    }
+
+    // Returns the number of rows taken by the children before the child at
+    // the given index, assuming that this TreeItem is expanded.
+    int getExpandedChildOffset(int childIndex) {
+        validateChildCountIndex();
+        return getChildCountPrefix(childIndex);
+    }
+
+    // Returns the index of the child whose rows contain the given row, where
+    // row 0 is the first child of this TreeItem, or -1 if the row is beyond
+    // the last child.
+    int getExpandedChildIndex(int row) {
+        validateChildCountIndex();
+        if (row < 0 || row >= childCountTotal) return -1;
+
+        final int size = childCountIndex.length - 1;
+        int pos = 0;
+        for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && childCountIndex[next] <= row) {
+                pos = next;
+                row -= childCountIndex[next];
+            }
+        }
+        return pos;
+    }
+
+    // Returns the position of the given child in the children list, using the
+    // hint recorded on the child where possible.
+    int indexOfChild(TreeItem<T> child) {
+        return indexOfChild(children, child);
+    }
+
+    private static <T> int indexOfChild(List<TreeItem<T>> children, TreeItem<T> child) {
+        if (children == null || child == null) return -1;
+
+        int hint = child.indexInParent;
+        if (hint >= 0 && hint < children.size() && children.get(hint) == child) {
+            return hint;
+        }
+
+        int index = children.indexOf(child);
+        if (index >= 0) {
+            child.indexInParent = index;
+        }
+        return index;
+    }
+
+    private void markChildCountDirty(TreeItem<?> source) {
+        if (source == this || childCountIndexDirty) return;
+
+        // find the child of this TreeItem that the event passed through
+        TreeItem<?> child = source;
+        while (child != null && child.getParent() != this) {
+            child = child.getParent();
+        }
+
+        if (child == null || children == null || dirtyChildren != null && dirtyChildren.size() >= children.size()) {
+            // the event did not come from one of our children, or so many
+            // children changed that rebuilding the index is as cheap
+            childCountIndexDirty = true;
+            dirtyChildren = null;
+            return;
+        }
+
+        if (dirtyChildren == null) {
+            dirtyChildren = new ArrayList<>();
+        }
+        dirtyChildren.add((TreeItem<T>) child);
+    }
+
+    // Brings the child count index up to date, and returns the total number
+    // of rows taken by the children of this TreeItem. Note that this goes
+    // directly to the children list rather than via getChildren(), as the
+    // latter may populate or sort the children.
+    private int validateChildCountIndex() {
+        List<TreeItem<T>> children = this.children == null ?
+                Collections.<TreeItem<T>>emptyList() : this.children;
+        final int size = children.size();
+
+        if (childCountIndexDirty || childCountIndex == null || childCountIndex.length != size + 1) {
+            int[] index = new int[size + 1];
+            int total = 0;
+            for (int i = 1; i <= size; i++) {
+                TreeItem<T> child = children.get(i - 1);
+                if (child != null) child.indexInParent = i - 1;
+
+                int count = getChildCount(child);
+                total += count;
+                index[i] += count;
+                int parent = i + (i & -i);
+                if (parent <= size) {
+                    index[parent] += index[i];
+                }
+            }
+            childCountIndex = index;
+            childCountTotal = total;
+            childCountIndexDirty = false;
+            dirtyChildren = null;
+        } else if (dirtyChildren != null) {
+            List<TreeItem<T>> dirty = dirtyChildren;
+            dirtyChildren = null;
+
+            for (int c = 0, max = dirty.size(); c < max; c++) {
+                TreeItem<T> child = dirty.get(c);
+                int i = indexOfChild(children, child);
+                if (i < 0) continue;
+
+                int delta = getChildCount(child) - (getChildCountPrefix(i + 1) - getChildCountPrefix(i));
+                if (delta == 0) continue;
+
+                for (int j = i + 1; j <= size; j += j & -j) {
+                    childCountIndex[j] += delta;
+                }
+                childCountTotal += delta;
             }
         }
-        ignoreSortUpdate = false;
+        return childCountTotal;
+    }
+
+    private int getChildCountPrefix(int childIndex) {
+        int prefix = 0;
+        for (int i = childIndex; i > 0; i -= i & -i) {
+            prefix += childCountIndex[i];
+        }
+        return prefix;
+    }
+
+    private static int getChildCount(TreeItem<?> child) {
+        if (child == null) return 0;
+        return child.isExpanded() ? child.getExpandedDescendentCount() : 1;
     }
 
     private void updateChildren(ListChangeListener.Change<? extends TreeItem<T>> c) {
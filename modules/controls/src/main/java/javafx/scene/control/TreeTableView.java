@@ -1586,7 +1586,7 @@ public class TreeTableView<S> extends Control {
      *      collapsed).
      */
     public int getRow(TreeItem<S> item) {
-        return TreeUtil.getRow(item, getRoot(), expandedItemCountDirty, isShowRoot());
+        return TreeUtil.getRow(item, getRoot(), isShowRoot());
     }
 
     /**
@@ -1613,7 +1613,7 @@ public class TreeTableView<S> extends Control {
             }
         }
 
-        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row, expandedItemCountDirty);
+        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row);
         treeItemCacheMap.put(_row, new SoftReference<>(treeItem));
         return treeItem;
     }
@@ -1858,7 +1858,7 @@ public class TreeTableView<S> extends Control {
     }
 
     private void updateExpandedItemCount(TreeItem<S> treeItem) {
-        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, expandedItemCountDirty, isShowRoot()));
+        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, isShowRoot()));
 
         if (expandedItemCountDirty) {
             // this is a very inefficient thing to do, but for now having a cache
@@ -2391,13 +2391,13 @@ public class TreeTableView<S> extends Control {
 
                     if (e.wasExpanded()) {
                         // need to shuffle selection by the number of visible children
-                        shift += treeItem.getExpandedDescendentCount(false) - 1;
+                        shift += treeItem.getExpandedDescendentCount() - 1;
                         startRow++;
                     } else if (e.wasCollapsed()) {
                         // remove selection from any child treeItem, and also determine
                         // if any child item was selected (in which case the parent
                         // takes the selection on collapse)
-                        treeItem.getExpandedDescendentCount(false);
+                        treeItem.getExpandedDescendentCount();
                         final int count = treeItem.previousExpandedDescendentCount;
 
                         final int selectedIndex = getSelectedIndex();
@@ -3429,7 +3429,7 @@ public class TreeTableView<S> extends Control {
                     if (e.wasExpanded()) {
                         if (row < getFocusedIndex()) {
                             // need to shuffle selection by the number of visible children
-                            shift += e.getTreeItem().getExpandedDescendentCount(false) - 1;
+                            shift += e.getTreeItem().getExpandedDescendentCount() - 1;
                         }
                     } else if (e.wasCollapsed()) {
                         if (row < getFocusedIndex()) {
@@ -3448,7 +3448,7 @@ public class TreeTableView<S> extends Control {
                                 row = treeTableView.getRow(item);
 
                                 if (item != null && row <= getFocusedIndex()) {
-                                    shift += item.getExpandedDescendentCount(false);
+                                    shift += item.getExpandedDescendentCount();
                                 }
                             }
                         }
@@ -33,67 +33,57 @@ import java.util.List;
  */
 class TreeUtil {
 
-    static <T> int getExpandedDescendantCount(TreeItem<T> node, boolean treeItemCountDirty) {
+    static <T> int getExpandedDescendantCount(TreeItem<T> node) {
         if (node == null) return 0;
         if (node.isLeaf()) return 1;
 
-        return node.getExpandedDescendentCount(treeItemCountDirty);
+        return node.getExpandedDescendentCount();
     }
 
-    static int updateExpandedItemCount(TreeItem treeItem, boolean treeItemCountDirty, boolean isShowRoot) {
+    static int updateExpandedItemCount(TreeItem treeItem, boolean isShowRoot) {
         if (treeItem == null) {
             return 0;
         } else if (! treeItem.isExpanded()) {
             return 1;
         } else {
-            int count = getExpandedDescendantCount(treeItem, treeItemCountDirty);
+            int count = getExpandedDescendantCount(treeItem);
             if (! isShowRoot) count--;
 
             return count;
         }
     }
 
-    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex, boolean treeItemCountDirty) {
+    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex) {
         if (parent == null) return null;
 
         // if itemIndex is 0 then our parent is what we were looking for
         if (itemIndex == 0) return parent;
 
         // if itemIndex is > the total item count, then it is out of range
-        if (itemIndex >= getExpandedDescendantCount(parent, treeItemCountDirty)) return null;
+        if (itemIndex >= getExpandedDescendantCount(parent)) return null;
 
-        // if we got here, then one of our descendants is the item we're after
-        List<TreeItem<T>> children = parent.getChildren();
-        if (children == null) return null;
+        // if we got here, then one of our descendants is the item we're after.
+        // Rather than walk all children, we ask each expanded TreeItem on the
+        // way down which of its children contains the row.
+        TreeItem<T> item = parent;
+        int idx = itemIndex;
+        while (idx > 0) {
+            // getChildren() may sort the children, so it is called first
+            final List<TreeItem<T>> children = item.getChildren();
+            if (children == null) return null;
 
-        int idx = itemIndex - 1;
+            final int childIndex = item.getExpandedChildIndex(idx - 1);
+            if (childIndex < 0) return null;
 
-        TreeItem<T> child;
-        for (int i = 0, max = children.size(); i < max; i++) {
-            child = children.get(i);
-            if (idx == 0) return child;
+            idx -= item.getExpandedChildOffset(childIndex) + 1;
+            item = children.get(childIndex);
 
-            if (child.isLeaf() || ! child.isExpanded()) {
-                idx--;
-                continue;
-            }
-
-            int expandedChildCount = getExpandedDescendantCount(child, treeItemCountDirty);
-            if (idx >= expandedChildCount) {
-                idx -= expandedChildCount;
-                continue;
-            }
-
-            TreeItem<T> result = getItem(child, idx, treeItemCountDirty);
-            if (result != null) return result;
-            idx--;
+            if (idx > 0 && (item.isLeaf() || ! item.isExpanded())) return null;
         }
-
-        // We might get here if getItem(0) is called on an empty tree
-        return null;
+        return item;
     }
 
-    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean treeItemCountDirty, boolean isShowRoot) {
+    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean isShowRoot) {
         if (item == null) {
             return -1;
         } else if (isShowRoot && item.equals(root)) {
@@ -104,8 +94,6 @@ class TreeUtil {
         TreeItem<T> i = item;
         TreeItem<T> p = item.getParent();
 
-        TreeItem<T> sibling;
-        List<TreeItem<T>> siblings;
         boolean parentIsCollapsed = false;
 
         while (!i.equals(root) && p != null) {
@@ -114,24 +102,22 @@ class TreeUtil {
                 break;
             }
 
-            siblings = p.children;
-
-            // work up each sibling, from the current item
-            int itemIndex = siblings.indexOf(i);
-            for (int pos = itemIndex - 1; pos > -1; pos--) {
-                sibling = siblings.get(pos);
-                if (sibling == null) continue;
-
-                row += getExpandedDescendantCount(sibling, treeItemCountDirty);
-
-                if (sibling.equals(root)) {
-                    if (! isShowRoot) {
-                        // special case: we've found out that our sibling is
-                        // actually the root node AND we aren't showing root nodes.
-                        // This means that the item shouldn't actually be shown.
-                        return -1;
+            // count the rows of all siblings before the current item
+            int itemIndex = p.indexOfChild(i);
+            if (itemIndex > 0) {
+                row += p.getExpandedChildOffset(itemIndex);
+
+                if (root != null && root.getParent() == p) {
+                    int rootIndex = p.indexOfChild(root);
+                    if (rootIndex >= 0 && rootIndex < itemIndex) {
+                        if (! isShowRoot) {
+                            // special case: we've found out that our sibling is
+                            // actually the root node AND we aren't showing root nodes.
+                            // This means that the item shouldn't actually be shown.
+                            return -1;
+                        }
+                        return row - p.getExpandedChildOffset(rootIndex);
                     }
-                    return row;
                 }
             }
 
@@ -948,7 +948,7 @@ public class TreeView<T> extends Control {
      *      collapsed).
      */
     public int getRow(TreeItem<T> item) {
-        return TreeUtil.getRow(item, getRoot(), expandedItemCountDirty, isShowRoot());
+        return TreeUtil.getRow(item, getRoot(), isShowRoot());
     }
 
     /**
@@ -975,7 +975,7 @@ public class TreeView<T> extends Control {
             }
         }
 
-        TreeItem<T> treeItem = TreeUtil.getItem(getRoot(), _row, expandedItemCountDirty);
+        TreeItem<T> treeItem = TreeUtil.getItem(getRoot(), _row);
         treeItemCacheMap.put(_row, new SoftReference<>(treeItem));
         return treeItem;
     }
@@ -1039,7 +1039,7 @@ public class TreeView<T> extends Control {
      **************************************************************************/
 
     private void updateExpandedItemCount(TreeItem<T> treeItem) {
-        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, expandedItemCountDirty, isShowRoot()));
+        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, isShowRoot()));
 
         if (expandedItemCountDirty) {
             // this is a very inefficient thing to do, but for now having a cache
@@ -1300,13 +1300,13 @@ public class TreeView<T> extends Control {
 
                 if (e.wasExpanded()) {
                     // need to shuffle selection by the number of visible children
-                    shift += treeItem.getExpandedDescendentCount(false) - 1;
+                    shift += treeItem.getExpandedDescendentCount() - 1;
                     startRow++;
                 } else if (e.wasCollapsed()) {
                     // remove selection from any child treeItem, and also determine
                     // if any child item was selected (in which case the parent
                     // takes the selection on collapse)
-                    treeItem.getExpandedDescendentCount(false);
+                    treeItem.getExpandedDescendentCount();
                     final int count = treeItem.previousExpandedDescendentCount;
 
                     final int selectedIndex = getSelectedIndex();
@@ -1593,7 +1593,7 @@ public class TreeView<T> extends Control {
                     if (e.wasExpanded()) {
                         if (row < getFocusedIndex()) {
                             // need to shuffle selection by the number of visible children
-                            shift += e.getTreeItem().getExpandedDescendentCount(false) - 1;
+                            shift += e.getTreeItem().getExpandedDescendentCount() - 1;
                         }
                     } else if (e.wasCollapsed()) {
                         if (row < getFocusedIndex()) {
@@ -1612,7 +1612,7 @@ public class TreeView<T> extends Control {
                                 row = treeView.getRow(item);
 
                                 if (item != null && row <= getFocusedIndex()) {
-                                    shift += item.getExpandedDescendentCount(false);
+                                    shift += item.getExpandedDescendentCount();
                                 }
                             }
                         }
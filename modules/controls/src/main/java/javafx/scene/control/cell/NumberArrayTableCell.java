@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.cell;
+
+import java.lang.ref.WeakReference;
+import java.text.NumberFormat;
+import java.util.function.IntFunction;
+import javafx.collections.ArrayChangeListener;
+import javafx.collections.ObservableArray;
+import javafx.collections.ObservableDoubleArray;
+import javafx.collections.ObservableLongArray;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.util.Callback;
+
+/**
+ * A class containing a {@link TableCell} implementation that shows the value
+ * of an {@link ObservableDoubleArray} or {@link ObservableLongArray} at the
+ * index of its row. The value is read from the array and formatted without
+ * being boxed, so a column can show millions of numbers that are only held
+ * in a primitive array. The item of the cell is not used: the TableView
+ * items only decide the number of rows.
+ *
+ * <p>The cell is refreshed when the array changes at its index. The array
+ * only holds the cell weakly.
+ *
+ * @param <S> The type of the elements contained within the TableView.
+ * @param <T> The type of the elements contained within the TableColumn.
+ * @since JavaFX 8u202
+ */
+public class NumberArrayTableCell<S,T> extends TableCell<S,T> {
+
+    /***************************************************************************
+     *                                                                         *
+     * Static cell factories                                                   *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Provides cells that show the values of the array with
+     * {@link Double#toString(double)}.
+     *
+     * @param array the values of the rows
+     * @return A {@link Callback} that can be inserted into the
+     *      {@link TableColumn#cellFactoryProperty() cell factory property} of a
+     *      TableColumn.
+     */
+    public static <S,T> Callback<TableColumn<S,T>, TableCell<S,T>> forDoubleArray(
+            final ObservableDoubleArray array) {
+        return forDoubleArray(array, null);
+    }
+
+    /**
+     * Provides cells that show the values of the array with the given format.
+     *
+     * @param array the values of the rows
+     * @param format the format of the values, or null to use
+     *      {@link Double#toString(double)}
+     * @return A {@link Callback} that can be inserted into the
+     *      {@link TableColumn#cellFactoryProperty() cell factory property} of a
+     *      TableColumn.
+     */
+    public static <S,T> Callback<TableColumn<S,T>, TableCell<S,T>> forDoubleArray(
+            final ObservableDoubleArray array, final NumberFormat format) {
+        if (array == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        final IntFunction<String> text = format == null
+                ? i -> Double.toString(array.get(i))
+                : i -> format.format(array.get(i));
+        return column -> new NumberArrayTableCell<S,T>(array, text);
+    }
+
+    /**
+     * Provides cells that show the values of the array with
+     * {@link Long#toString(long)}.
+     *
+     * @param array the values of the rows
+     * @return A {@link Callback} that can be inserted into the
+     *      {@link TableColumn#cellFactoryProperty() cell factory property} of a
+     *      TableColumn.
+     */
+    public static <S,T> Callback<TableColumn<S,T>, TableCell<S,T>> forLongArray(
+            final ObservableLongArray array) {
+        return forLongArray(array, null);
+    }
+
+    /**
+     * Provides cells that show the values of the array with the given format.
+     *
+     * @param array the values of the rows
+     * @param format the format of the values, or null to use
+     *      {@link Long#toString(long)}
+     * @return A {@link Callback} that can be inserted into the
+     *      {@link TableColumn#cellFactoryProperty() cell factory property} of a
+     *      TableColumn.
+     */
+    public static <S,T> Callback<TableColumn<S,T>, TableCell<S,T>> forLongArray(
+            final ObservableLongArray array, final NumberFormat format) {
+        if (array == null) {
+            throw new NullPointerException("Array cannot be null");
+        }
+        final IntFunction<String> text = format == null
+                ? i -> Long.toString(array.get(i))
+                : i -> format.format(array.get(i));
+        return column -> new NumberArrayTableCell<S,T>(array, text);
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Fields                                                                  *
+     *                                                                         *
+     **************************************************************************/
+
+    private final ObservableArray<?> array;
+
+    private final IntFunction<String> text;
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Constructors                                                            *
+     *                                                                         *
+     **************************************************************************/
+
+    private NumberArrayTableCell(ObservableArray<?> array, IntFunction<String> text) {
+        this.getStyleClass().add("number-array-table-cell");
+        this.array = array;
+        this.text = text;
+        array.addListener(new ArrayListener(this));
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Public API                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Returns the array the values are read from.
+     * @return the array the values are read from
+     */
+    public final ObservableArray<?> getArray() {
+        return array;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        setGraphic(null);
+        final int index = getIndex();
+        if (empty || index < 0 || index >= array.size()) {
+            setText(null);
+        } else {
+            setText(text.apply(index));
+        }
+    }
+
+
+
+    /***************************************************************************
+     *                                                                         *
+     * Private implementation                                                  *
+     *                                                                         *
+     **************************************************************************/
+
+    private void arrayChanged(boolean sizeChanged, int from, int to) {
+        final int index = getIndex();
+        if (sizeChanged || index >= from && index < to) {
+            updateItem(getItem(), isEmpty());
+        }
+    }
+
+    private static final class ArrayListener implements ArrayChangeListener {
+
+        private final WeakReference<NumberArrayTableCell<?,?>> cellRef;
+
+        ArrayListener(NumberArrayTableCell<?,?> cell) {
+            this.cellRef = new WeakReference<>(cell);
+        }
+
+        @Override public void onChanged(ObservableArray array, boolean sizeChanged, int from, int to) {
+            final NumberArrayTableCell<?,?> cell = cellRef.get();
+            if (cell == null) {
+                array.removeListener(this);
+            } else {
+                cell.arrayChanged(sizeChanged, from, to);
+            }
+        }
+    }
+}
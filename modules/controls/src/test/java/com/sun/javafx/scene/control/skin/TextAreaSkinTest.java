@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control.skin;
+
+import com.sun.javafx.scene.control.infrastructure.StageLoader;
+import com.sun.javafx.tk.Toolkit;
+import java.util.Arrays;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.event.Event;
+import javafx.scene.control.TextArea;
+import javafx.scene.input.InputMethodEvent;
+import javafx.scene.input.InputMethodHighlight;
+import javafx.scene.input.InputMethodTextRun;
+import javafx.scene.layout.Region;
+import javafx.scene.text.Text;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextAreaSkinTest {
+
+    private static final int PARAGRAPH_COUNT = 10000;
+
+    private TextArea textArea;
+    private TextAreaSkin skin;
+    private StageLoader stageLoader;
+
+    @Before public void setup() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < PARAGRAPH_COUNT; i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            text.append("line ").append(i);
+        }
+        textArea = new TextArea(text.toString());
+        textArea.getProperties().put(TextAreaSkin.VIRTUALIZED_KEY, Boolean.TRUE);
+        stageLoader = new StageLoader(textArea);
+        skin = (TextAreaSkin) textArea.getSkin();
+        Toolkit.getToolkit().firePulse();
+    }
+
+    @After public void cleanup() {
+        stageLoader.dispose();
+    }
+
+    private Text getTextNode() {
+        for (Node node : textArea.lookupAll(".text")) {
+            // the prompt text node is not in the group of paragraph nodes
+            if (node instanceof Text && node.getParent() instanceof Group) {
+                return (Text)node;
+            }
+        }
+        fail("No text node");
+        return null;
+    }
+
+    private String[] getShownParagraphs() {
+        return getTextNode().getText().split("\n", -1);
+    }
+
+    private int getOffset(int paragraph) {
+        int offset = 0;
+        for (int i = 0; i < paragraph; i++) {
+            offset += textArea.getParagraphs().get(i).length() + 1;
+        }
+        return offset;
+    }
+
+    @Test public void textNodeOnlyHoldsTheParagraphsAroundTheViewport() {
+        String[] shown = getShownParagraphs();
+        assertEquals("line 0", shown[0]);
+        assertTrue(shown.length > textArea.getPrefRowCount());
+        assertTrue(shown.length < PARAGRAPH_COUNT / 10);
+    }
+
+    @Test public void scrollingFillsTheTextNodeWithTheParagraphsInView() {
+        Text textNode = getTextNode();
+        double lineHeight = textNode.getBoundsInLocal().getHeight() / getShownParagraphs().length;
+        textArea.setScrollTop(5000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        String[] shown = getShownParagraphs();
+        assertTrue(getTextNode().getText().contains("line 5000\n"));
+        assertTrue(shown.length < PARAGRAPH_COUNT / 10);
+        // the text node is placed at the y of its first paragraph
+        int first = Integer.parseInt(shown[0].substring("line ".length()));
+        Region content = (Region) getTextNode().getParent().getParent();
+        assertEquals(first * lineHeight, getTextNode().getLayoutY() - content.snappedTopInset(), 0.01);
+    }
+
+    @Test public void movingTheCaretToAParagraphThatIsNotShownShowsIt() {
+        textArea.positionCaret(getOffset(9000) + 2);
+        Toolkit.getToolkit().firePulse();
+
+        // the text node is centered on the caret, scrolling to it needs
+        // the caret shape, which the stub toolkit does not provide
+        String[] shown = getShownParagraphs();
+        assertTrue(getTextNode().getText().contains("line 9000\n"));
+        assertTrue(shown.length < PARAGRAPH_COUNT / 10);
+        assertEquals(getOffset(9000) + 2, textArea.getCaretPosition());
+    }
+
+    @Test public void editsAreShownInTheTextNode() {
+        textArea.insertText(0, "first\n");
+        Toolkit.getToolkit().firePulse();
+        assertEquals("first", getShownParagraphs()[0]);
+        assertEquals("line 0", getShownParagraphs()[1]);
+
+        textArea.deleteText(0, 6);
+        Toolkit.getToolkit().firePulse();
+        assertEquals("line 0", getShownParagraphs()[0]);
+    }
+
+    @Test public void charactersAreReadFromTheParagraphs() {
+        String text = textArea.getText();
+        for (int offset : new int[] { 0, 5, 6, 7, getOffset(7777) - 1, getOffset(7777), text.length() - 1 }) {
+            assertEquals(text.charAt(offset), skin.getCharacter(offset));
+        }
+    }
+
+    @Test public void paragraphStartAndEndUseTheParagraphOffsets() {
+        int start = getOffset(8000);
+        int end = start + "line 8000".length();
+        textArea.positionCaret(start + 3);
+
+        skin.paragraphEnd(false, false, false);
+        assertEquals(end, textArea.getCaretPosition());
+
+        skin.paragraphStart(false, false);
+        assertEquals(start, textArea.getCaretPosition());
+
+        // at the start already, so move to the previous paragraph
+        skin.paragraphStart(true, false);
+        assertEquals(getOffset(7999), textArea.getCaretPosition());
+
+        textArea.positionCaret(end);
+        skin.paragraphEnd(true, true, true);
+        assertEquals(getOffset(8001), textArea.getCaretPosition());
+        assertEquals(end, textArea.getAnchor());
+    }
+
+    @Test public void inputMethodTextIsShownRightAfterAnEdit() {
+        int start = getOffset(20) + 2;
+        textArea.positionCaret(start);
+        Toolkit.getToolkit().firePulse();
+
+        InputMethodEvent event = new InputMethodEvent(InputMethodEvent.INPUT_METHOD_TEXT_CHANGED,
+                Arrays.asList(new InputMethodTextRun("ab", InputMethodHighlight.SELECTED_RAW),
+                              new InputMethodTextRun("cd", InputMethodHighlight.UNSELECTED_CONVERTED)),
+                "", 0);
+        // the edit invalidates the text node before the shapes of the
+        // composed text are computed
+        Event.fireEvent(textArea, event);
+        assertEquals("liabcdne 20", textArea.getParagraphs().get(20).toString());
+        assertTrue(getTextNode().getText().contains("liabcdne 20\n"));
+    }
+
+    @Test public void shapesAreNeverNull() {
+        textArea.insertText(0, "first\n");
+        assertNotNull(skin.getRangeShape(0, 3));
+        assertNotNull(skin.getUnderlineShape(0, 3));
+        // past the end of the window
+        int end = textArea.getLength();
+        assertNotNull(skin.getRangeShape(2, end));
+        assertNotNull(skin.getUnderlineShape(2, end));
+        assertNotNull(skin.getRangeShape(end - 1, end));
+    }
+
+    @Test public void textNodeHoldsAllTextWhenNotVirtualized() {
+        TextArea plain = new TextArea("a\nb\nc");
+        StageLoader loader = new StageLoader(plain);
+        try {
+            Toolkit.getToolkit().firePulse();
+            boolean found = false;
+            for (Node node : plain.lookupAll(".text")) {
+                if (node instanceof Text && "a\nb\nc".equals(((Text)node).getText())) {
+                    found = true;
+                }
+            }
+            assertTrue(found);
+        } finally {
+            loader.dispose();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control.skin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class VirtualParagraphsTest {
+
+    private static final double EPSILON = 1e-9;
+
+    private List<CharSequence> paragraphs;
+    private VirtualParagraphs virtualParagraphs;
+
+    @Before public void setup() {
+        paragraphs = new ArrayList<CharSequence>(Arrays.asList("abc", "", "defgh", "ij"));
+        virtualParagraphs = new VirtualParagraphs();
+        virtualParagraphs.reset(paragraphs);
+        virtualParagraphs.setMetrics(10, 2, 0);
+    }
+
+    @Test public void offsetsIncludeTheNewlines() {
+        assertEquals(4, virtualParagraphs.size());
+        assertEquals(0, virtualParagraphs.getOffset(0));
+        assertEquals(4, virtualParagraphs.getOffset(1));
+        assertEquals(5, virtualParagraphs.getOffset(2));
+        assertEquals(11, virtualParagraphs.getOffset(3));
+        assertEquals(14, virtualParagraphs.getOffset(4));
+    }
+
+    @Test public void newlineBelongsToItsParagraph() {
+        assertEquals(0, virtualParagraphs.getParagraphAtOffset(0));
+        assertEquals(0, virtualParagraphs.getParagraphAtOffset(3));
+        assertEquals(1, virtualParagraphs.getParagraphAtOffset(4));
+        assertEquals(2, virtualParagraphs.getParagraphAtOffset(5));
+        assertEquals(2, virtualParagraphs.getParagraphAtOffset(10));
+        assertEquals(3, virtualParagraphs.getParagraphAtOffset(11));
+        assertEquals(3, virtualParagraphs.getParagraphAtOffset(13));
+    }
+
+    @Test public void unwrappedParagraphsAreOneLineHigh() {
+        assertEquals(40, virtualParagraphs.getHeight(), EPSILON);
+        assertEquals(20, virtualParagraphs.getY(2), EPSILON);
+        assertEquals(0, virtualParagraphs.getParagraphAtY(-5));
+        assertEquals(1, virtualParagraphs.getParagraphAtY(10));
+        assertEquals(1, virtualParagraphs.getParagraphAtY(19.9));
+        assertEquals(3, virtualParagraphs.getParagraphAtY(1000));
+    }
+
+    @Test public void wrappedParagraphHeightIsEstimatedFromItsLength() {
+        // 4 characters of width 2 per line
+        virtualParagraphs.setMetrics(10, 2, 8);
+        assertEquals(10, virtualParagraphs.getHeight(0), EPSILON);
+        assertEquals(10, virtualParagraphs.getHeight(1), EPSILON);
+        assertEquals(20, virtualParagraphs.getHeight(2), EPSILON);
+        assertEquals(50, virtualParagraphs.getHeight(), EPSILON);
+    }
+
+    @Test public void measuredHeightIsSharedAmongUnmeasuredParagraphs() {
+        virtualParagraphs.setMetrics(10, 2, 8);
+        assertTrue(virtualParagraphs.setMeasuredHeight(1, 3, 60));
+        assertEquals(20, virtualParagraphs.getHeight(1), EPSILON);
+        assertEquals(40, virtualParagraphs.getHeight(2), EPSILON);
+        assertEquals(70, virtualParagraphs.getY(3), EPSILON);
+
+        // Measuring the same paragraphs again keeps their heights
+        assertFalse(virtualParagraphs.setMeasuredHeight(1, 3, 60));
+        assertEquals(80, virtualParagraphs.getHeight(), EPSILON);
+
+        // Only the unmeasured paragraph takes up the rest
+        assertTrue(virtualParagraphs.setMeasuredHeight(1, 4, 90));
+        assertEquals(30, virtualParagraphs.getHeight(3), EPSILON);
+    }
+
+    @Test public void matchingMeasurementIsNotAChange() {
+        assertFalse(virtualParagraphs.setMeasuredHeight(0, 4, 40));
+        assertEquals(40, virtualParagraphs.getHeight(), EPSILON);
+    }
+
+    @Test public void changingTheMetricsForgetsMeasuredHeights() {
+        virtualParagraphs.setMeasuredHeight(0, 1, 30);
+        assertEquals(30, virtualParagraphs.getHeight(0), EPSILON);
+        assertFalse(virtualParagraphs.setMetrics(10, 2, 0));
+        assertEquals(30, virtualParagraphs.getHeight(0), EPSILON);
+        assertTrue(virtualParagraphs.setMetrics(12, 2, 0));
+        assertEquals(12, virtualParagraphs.getHeight(0), EPSILON);
+    }
+
+    @Test public void replacingAParagraphUpdatesTheFollowingOffsets() {
+        virtualParagraphs.setMeasuredHeight(0, 4, 40);
+        paragraphs.set(1, "xyz");
+        virtualParagraphs.replace(1, 1, paragraphs, 1, 2);
+        assertEquals(4, virtualParagraphs.size());
+        assertEquals(3, virtualParagraphs.getLength(1));
+        assertEquals(8, virtualParagraphs.getOffset(2));
+        assertEquals(17, virtualParagraphs.getOffset(4));
+    }
+
+    @Test public void insertingAndRemovingParagraphsShiftsTheRest() {
+        virtualParagraphs.setMeasuredHeight(3, 4, 25);
+
+        paragraphs.addAll(1, Arrays.asList("k", "lm"));
+        virtualParagraphs.replace(1, 0, paragraphs, 1, 3);
+        assertEquals(6, virtualParagraphs.size());
+        assertEquals(2, virtualParagraphs.getLength(2));
+        assertEquals(10, virtualParagraphs.getOffset(4));
+        assertEquals(25, virtualParagraphs.getHeight(5), EPSILON);
+        assertEquals(75, virtualParagraphs.getHeight(), EPSILON);
+
+        paragraphs.subList(0, 3).clear();
+        virtualParagraphs.replace(0, 3, paragraphs, 0, 0);
+        assertEquals(3, virtualParagraphs.size());
+        assertEquals(0, virtualParagraphs.getLength(0));
+        assertEquals(7, virtualParagraphs.getOffset(2));
+        assertEquals(45, virtualParagraphs.getHeight(), EPSILON);
+    }
+
+    @Test public void appendingGrowsBeyondTheInitialCapacity() {
+        for (int i = 0; i < 1000; i++) {
+            paragraphs.add("line " + i);
+            virtualParagraphs.replace(paragraphs.size() - 1, 0, paragraphs, paragraphs.size() - 1, paragraphs.size());
+        }
+        assertEquals(1004, virtualParagraphs.size());
+        int offset = 0;
+        for (int i = 0; i < paragraphs.size(); i++) {
+            assertEquals(offset, virtualParagraphs.getOffset(i));
+            assertEquals(i, virtualParagraphs.getParagraphAtOffset(offset));
+            offset += paragraphs.get(i).length() + 1;
+        }
+        assertEquals(10040, virtualParagraphs.getHeight(), EPSILON);
+        assertEquals(500, virtualParagraphs.getParagraphAtY(5005));
+    }
+
+    @Test public void maxLengthIsRecomputedWhenTheLongestParagraphIsRemoved() {
+        assertEquals(5, virtualParagraphs.getMaxLength());
+        paragraphs.remove(2);
+        virtualParagraphs.replace(2, 1, paragraphs, 2, 2);
+        assertEquals(3, virtualParagraphs.getMaxLength());
+        paragraphs.add(0, "0123456789");
+        virtualParagraphs.replace(0, 0, paragraphs, 0, 1);
+        assertEquals(10, virtualParagraphs.getMaxLength());
+    }
+}
@@ -27,12 +27,15 @@ package javafx.scene.chart;
 
 import java.util.Comparator;
 import javafx.collections.FXCollections;
+import javafx.collections.ObservableDoubleArray;
 import javafx.collections.ObservableList;
+import javafx.collections.ObservableLongArray;
 import javafx.scene.Scene;
 import org.junit.Ignore;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  */
@@ -57,6 +60,40 @@ public class XYChartDataTest {
         assertEquals(200, data.getCurrentY().longValue());
     }
 
+    @Test public void seriesForArraysFollowsTheArrays() {
+        ObservableDoubleArray x = FXCollections.observableDoubleArray(1, 2, 3);
+        ObservableDoubleArray y = FXCollections.observableDoubleArray(10, 20);
+        XYChart.Series<Number,Number> series = XYChart.Series.forArrays(x, y);
+        ObservableList<XYChart.Data<Number,Number>> data = series.getData();
+        assertEquals(2, data.size());
+        assertEquals(2.0, data.get(1).getXValue());
+        assertEquals(20.0, data.get(1).getYValue());
+
+        XYChart.Data<Number,Number> first = data.get(0);
+        y.addAll(30, 40);
+        assertEquals(3, data.size());
+        assertSame(first, data.get(0));
+        assertEquals(30.0, data.get(2).getYValue());
+
+        y.set(0, 15);
+        assertSame(first, data.get(0));
+        assertEquals(15.0, first.getYValue());
+
+        x.resize(1);
+        assertEquals(1, data.size());
+        assertSame(first, data.get(0));
+    }
+
+    @Test public void seriesForLongArraysFollowsTheArrays() {
+        ObservableLongArray x = FXCollections.observableLongArray(Long.MAX_VALUE);
+        ObservableDoubleArray y = FXCollections.observableDoubleArray(0.5);
+        XYChart.Series<Number,Number> series = XYChart.Series.forArrays(x, y);
+        assertEquals(1, series.getData().size());
+        assertEquals(Long.MAX_VALUE, series.getData().get(0).getXValue());
+        x.set(0, 5);
+        assertEquals(5L, series.getData().get(0).getXValue());
+    }
+
     @Test public void testSortXYChartData() {
         NumberAxis xAxis = new NumberAxis();
         NumberAxis yAxis = new NumberAxis();
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import com.sun.javafx.tk.Toolkit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.util.Callback;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class LazyTreeItemTest {
+
+    private AtomicInteger loadCount;
+    private Callback<String, List<TreeItem<String>>> loader;
+    private List<Runnable> pending;
+    private Executor queuedExecutor;
+
+    @BeforeClass public static void initToolKit() {
+        // tasks report their results through Platform.runLater
+        Toolkit.getToolkit();
+    }
+
+    @Before public void setup() {
+        loadCount = new AtomicInteger();
+        loader = value -> {
+            loadCount.incrementAndGet();
+            if (value.length() >= 3) {
+                return Collections.emptyList();
+            }
+            List<TreeItem<String>> children = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                children.add(new LazyTreeItem<>(value + i, loader));
+            }
+            return children;
+        };
+        pending = new ArrayList<>();
+        queuedExecutor = pending::add;
+    }
+
+    private static List<String> values(List<TreeItem<String>> items) {
+        List<String> values = new ArrayList<>();
+        for (TreeItem<String> item : items) {
+            values.add(item.getValue());
+        }
+        return values;
+    }
+
+    @Test public void testChildrenNotLoadedUntilExpanded() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        assertFalse(item.isLeaf());
+        assertTrue(item.getChildren().isEmpty());
+        assertEquals(0, loadCount.get());
+
+        item.setExpanded(true);
+        assertEquals(1, loadCount.get());
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+        assertSame(item, item.getChildren().get(0).getParent());
+        assertFalse(item.isLeaf());
+    }
+
+    @Test public void testChildrenLoadedOnlyOnce() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        item.setExpanded(true);
+        TreeItem<String> child = item.getChildren().get(0);
+
+        item.setExpanded(false);
+        item.setExpanded(true);
+        assertEquals(1, loadCount.get());
+        assertSame(child, item.getChildren().get(0));
+    }
+
+    @Test public void testBecomesLeafWhenNoChildrenLoaded() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("abc", loader);
+        assertFalse(item.isLeaf());
+
+        item.setExpanded(true);
+        assertTrue(item.isLeaf());
+        assertTrue(item.getChildren().isEmpty());
+    }
+
+    @Test public void testNullChildrenTreatedAsEmpty() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", value -> null);
+        item.setExpanded(true);
+        assertTrue(item.isLeaf());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullLoader() {
+        new LazyTreeItem<String>("a", null);
+    }
+
+    @Test public void testPlaceholderShownWhileLoading() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        TreeItem<String> placeholder = new TreeItem<>("Loading...");
+        item.setPlaceholder(placeholder);
+        item.setExecutor(queuedExecutor);
+
+        item.setExpanded(true);
+        assertTrue(item.isLoading());
+        assertEquals(1, item.getChildren().size());
+        assertSame(placeholder, item.getChildren().get(0));
+        assertEquals(0, loadCount.get());
+
+        pending.remove(0).run();
+        assertFalse(item.isLoading());
+        assertEquals(1, loadCount.get());
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+        assertNull(placeholder.getParent());
+    }
+
+    @Test public void testDefaultPlaceholder() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        item.setExecutor(queuedExecutor);
+
+        item.setExpanded(true);
+        assertEquals(1, item.getChildren().size());
+        assertNull(item.getChildren().get(0).getValue());
+    }
+
+    @Test public void testLoadFailureCollapses() {
+        final boolean[] fail = { true };
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", value -> {
+            if (fail[0]) throw new IllegalStateException("expected");
+            return loader.call(value);
+        });
+        item.setExecutor(queuedExecutor);
+
+        final List<Throwable> errors = new ArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            item.setExpanded(true);
+            pending.remove(0).run();
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+        assertFalse(item.isExpanded());
+        assertFalse(item.isLoading());
+        assertFalse(item.isLeaf());
+        assertTrue(item.getChildren().isEmpty());
+
+        // the next expansion tries again
+        fail[0] = false;
+        item.setExpanded(true);
+        pending.remove(0).run();
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+    }
+
+    @Test public void testSynchronousLoadFailureCollapses() {
+        final boolean[] fail = { true };
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", value -> {
+            if (fail[0]) throw new IllegalStateException("expected");
+            return loader.call(value);
+        });
+
+        final List<Throwable> errors = new ArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            item.setExpanded(true);
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IllegalStateException);
+        assertFalse(item.isExpanded());
+        assertFalse(item.isLeaf());
+        assertTrue(item.getChildren().isEmpty());
+
+        // the next expansion tries again
+        fail[0] = false;
+        item.setExpanded(true);
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+    }
+
+    @Test public void testRejectedLoadCollapses() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        item.setExecutor(command -> {
+            throw new RejectedExecutionException("expected");
+        });
+
+        final List<Throwable> errors = new ArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            item.setExpanded(true);
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+
+        assertEquals(1, errors.size());
+        assertFalse(item.isExpanded());
+        assertFalse(item.isLoading());
+        assertTrue(item.getChildren().isEmpty());
+
+        item.setExecutor(queuedExecutor);
+        item.setExpanded(true);
+        pending.remove(0).run();
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+    }
+
+    @Test public void testReleaseOnCollapse() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        item.setReleaseOnCollapse(true);
+        item.setExpanded(true);
+        List<TreeItem<String>> children = new ArrayList<>(item.getChildren());
+
+        item.setExpanded(false);
+        assertTrue(item.getChildren().isEmpty());
+        assertFalse(item.isLeaf());
+        assertNull(children.get(0).getParent());
+
+        // the children are still reachable, so they are reused
+        item.setExpanded(true);
+        assertEquals(1, loadCount.get());
+        assertEquals(children, item.getChildren());
+        assertSame(item, children.get(0).getParent());
+    }
+
+    @Test public void testCollapseWhileLoadingCancelsLoad() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("a", loader);
+        item.setReleaseOnCollapse(true);
+        item.setExecutor(queuedExecutor);
+
+        item.setExpanded(true);
+        item.setExpanded(false);
+        assertFalse(item.isLoading());
+        assertTrue(item.getChildren().isEmpty());
+
+        // the cancelled task does not install its children
+        pending.remove(0).run();
+        assertTrue(item.getChildren().isEmpty());
+
+        item.setExpanded(true);
+        pending.remove(0).run();
+        assertEquals(Arrays.asList("a0", "a1", "a2"), values(item.getChildren()));
+    }
+
+    @Test public void testTreeViewExpandedItemCount() {
+        LazyTreeItem<String> root = new LazyTreeItem<>("a", loader);
+        TreeView<String> treeView = new TreeView<>(root);
+        assertEquals(1, treeView.getExpandedItemCount());
+
+        root.setExpanded(true);
+        assertEquals(4, treeView.getExpandedItemCount());
+
+        root.getChildren().get(1).setExpanded(true);
+        assertEquals(7, treeView.getExpandedItemCount());
+        assertEquals("a10", treeView.getTreeItem(3).getValue());
+        assertEquals("a2", treeView.getTreeItem(6).getValue());
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RopeTest {
+
+    private static String repeat(String s, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+
+    @Test public void emptyRope() {
+        assertEquals(0, Rope.EMPTY.length());
+        assertEquals("", Rope.EMPTY.toString());
+        assertEquals(1, Rope.EMPTY.getLineCount());
+        assertEquals(0, Rope.EMPTY.getLineEnd(0));
+    }
+
+    @Test public void valueOfKeepsTheCharacters() {
+        String text = repeat("abcdefghij", 1000);
+        Rope rope = Rope.valueOf(text);
+        assertEquals(text.length(), rope.length());
+        assertEquals(text, rope.toString());
+        for (int i = 0; i < text.length(); i += 97) {
+            assertEquals(text.charAt(i), rope.charAt(i));
+        }
+    }
+
+    @Test public void ropeIsImmutable() {
+        Rope rope = Rope.valueOf("hello");
+        Rope other = rope.insert(5, " world").delete(0, 1);
+        assertEquals("hello", rope.toString());
+        assertEquals("ello world", other.toString());
+    }
+
+    @Test public void subSequenceSharesNoStateWithLaterEdits() {
+        String text = repeat("0123456789", 200);
+        Rope rope = Rope.valueOf(text);
+        Rope sub = rope.subSequence(505, 1517);
+        rope = rope.delete(500, 1600);
+        assertEquals(text.substring(505, 1517), sub.toString());
+        assertEquals(text.substring(505, 1517), Rope.valueOf(text).substring(505, 1517));
+    }
+
+    @Test public void lines() {
+        Rope rope = Rope.valueOf("one\ntwo\n\nfour");
+        assertEquals(4, rope.getLineCount());
+        assertEquals(0, rope.getLineStart(0));
+        assertEquals(4, rope.getLineStart(1));
+        assertEquals(8, rope.getLineStart(2));
+        assertEquals(9, rope.getLineStart(3));
+        assertEquals(7, rope.getLineEnd(1));
+        assertEquals(8, rope.getLineEnd(2));
+        assertEquals("", rope.getLine(2).toString());
+        assertEquals("four", rope.getLine(3).toString());
+        assertEquals(0, rope.getLineAtOffset(3));
+        assertEquals(1, rope.getLineAtOffset(4));
+        assertEquals(3, rope.getLineAtOffset(13));
+    }
+
+    @Test public void linesAcrossLeaves() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i).append('\n');
+        }
+        Rope rope = Rope.valueOf(sb);
+        assertEquals(5001, rope.getLineCount());
+        for (int i = 0; i < 5000; i += 37) {
+            assertEquals(String.valueOf(i), rope.getLine(i).toString());
+            assertEquals(i, rope.getLineAtOffset(rope.getLineStart(i)));
+        }
+        assertEquals("", rope.getLine(5000).toString());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insertBeyondTheEndFails() {
+        Rope.valueOf("abc").insert(4, "d");
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void charAtTheEndFails() {
+        Rope.valueOf("abc").charAt(3);
+    }
+
+    @Test public void manySmallAppendsStayBalanced() {
+        Rope rope = Rope.EMPTY;
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            String s = i + "\n";
+            rope = rope.append(s);
+            expected.append(s);
+        }
+        assertEquals(expected.toString(), rope.toString());
+        assertEquals(100001, rope.getLineCount());
+        int leaves = expected.length() / (Rope.MAX_LEAF_LENGTH / 2) + 1;
+        assertTrue("depth " + rope.getDepth(),
+                rope.getDepth() <= 2 * (32 - Integer.numberOfLeadingZeros(leaves)));
+    }
+
+    @Test public void randomEditsMatchStringBuilder() {
+        Random random = new Random(20180214);
+        Rope rope = Rope.EMPTY;
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            int length = expected.length();
+            if (length > 0 && random.nextInt(3) == 0) {
+                int start = random.nextInt(length);
+                int end = start + random.nextInt(Math.min(length - start, 2000) + 1);
+                rope = rope.delete(start, end);
+                expected.delete(start, end);
+            } else {
+                int index = random.nextInt(length + 1);
+                String s = repeat(random.nextBoolean() ? "x\n" : "yz", random.nextInt(random.nextBoolean() ? 10 : 800));
+                rope = rope.insert(index, s);
+                expected.insert(index, s);
+            }
+
+            assertEquals(expected.length(), rope.length());
+            if (i % 100 == 0) {
+                assertEquals(expected.toString(), rope.toString());
+                int lines = 1;
+                for (int j = 0; j < expected.length(); j++) {
+                    if (expected.charAt(j) == '\n') lines++;
+                }
+                assertEquals(lines, rope.getLineCount());
+                if (expected.length() > 0) {
+                    int index = random.nextInt(expected.length());
+                    assertEquals(expected.charAt(index), rope.charAt(index));
+                }
+            }
+        }
+        assertEquals(expected.toString(), rope.toString());
+    }
+}
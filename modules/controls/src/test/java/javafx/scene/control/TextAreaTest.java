@@ -31,11 +31,15 @@ import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
+import javafx.collections.ListChangeListener;
 import javafx.scene.Scene;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.sun.javafx.scene.control.infrastructure.ControlTestUtils.*;
 import static org.junit.Assert.*;
 
@@ -484,4 +488,52 @@ public class TextAreaTest {
         dummyTxtArea.deleteText(0,6);
         assertEquals(dummyTxtArea.getParagraphs().get(0).toString(), "another");
     }
+
+    @Test public void insertParaTextReportsUpdatedAndAddedParagraphs() {
+        List<String> changes = new ArrayList<>();
+        dummyTxtArea.getParagraphs().addListener((ListChangeListener<CharSequence>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + " " + c.getRemoved());
+            }
+        });
+        dummyTxtArea.insertText(2, "a\nb\nc");
+        assertEquals("[0-1 [dummy], 1-3 []]", changes.toString());
+        assertEquals("dua", dummyTxtArea.getParagraphs().get(0).toString());
+        assertEquals("b", dummyTxtArea.getParagraphs().get(1).toString());
+        assertEquals("cmmy", dummyTxtArea.getParagraphs().get(2).toString());
+    }
+
+    @Test public void deleteAcrossParagraphsReportsUpdatedAndRemovedParagraphs() {
+        dummyTxtArea.setText("one\ntwo\nthree\nfour");
+        List<String> changes = new ArrayList<>();
+        dummyTxtArea.getParagraphs().addListener((ListChangeListener<CharSequence>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + " " + c.getRemoved());
+            }
+        });
+        dummyTxtArea.deleteText(2, 10);
+        assertEquals("[0-1 [one], 1-1 [two, three]]", changes.toString());
+        assertEquals(2, dummyTxtArea.getParagraphs().size());
+        assertEquals("onree", dummyTxtArea.getParagraphs().get(0).toString());
+        assertEquals("four", dummyTxtArea.getParagraphs().get(1).toString());
+    }
+
+    @Test public void paragraphsAreNotChangedByLaterEdits() {
+        dummyTxtArea.setText("one\ntwo");
+        CharSequence paragraph = dummyTxtArea.getParagraphs().get(1);
+        dummyTxtArea.appendText("three");
+        assertEquals("two", paragraph.toString());
+        assertEquals("twothree", dummyTxtArea.getParagraphs().get(1).toString());
+    }
+
+    @Test public void undoAfterManyAppendsRestoresText() {
+        for (int i = 0; i < 1000; i++) {
+            dummyTxtArea.appendText(i + "\n");
+        }
+        dummyTxtArea.undo();
+        assertEquals("dummy", dummyTxtArea.getText());
+        dummyTxtArea.redo();
+        assertEquals(1001, dummyTxtArea.getParagraphs().size());
+        assertEquals("999", dummyTxtArea.getParagraphs().get(1000 - 1).toString());
+    }
 }
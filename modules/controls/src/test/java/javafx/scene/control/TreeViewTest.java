@@ -3373,4 +3373,72 @@ public class TreeViewTest {
         sm.getSelectedIndices().addListener(l);
         sm.selectIndices(indices[0], indices);
     }
+
+    @Test public void testRowLookupAfterRandomChanges() {
+        final Random random = new Random(1234);
+        final TreeItem<Integer> root = new TreeItem<>(0);
+        root.setExpanded(true);
+        final List<TreeItem<Integer>> items = new ArrayList<>();
+        items.add(root);
+
+        final TreeView<Integer> view = new TreeView<>(root);
+        int nextValue = 1;
+
+        for (int round = 0; round < 500; round++) {
+            TreeItem<Integer> item = items.get(random.nextInt(items.size()));
+            switch (random.nextInt(5)) {
+                case 0:
+                case 1: {
+                    int count = 1 + random.nextInt(3);
+                    for (int i = 0; i < count; i++) {
+                        TreeItem<Integer> child = new TreeItem<>(nextValue++);
+                        item.getChildren().add(random.nextInt(item.getChildren().size() + 1), child);
+                        items.add(child);
+                    }
+                    break;
+                }
+                case 2:
+                    if (item != root && item.getParent() != null) {
+                        item.getParent().getChildren().remove(item);
+                        removeSubtree(items, item);
+                    }
+                    break;
+                default:
+                    if (item != root) {
+                        item.setExpanded(! item.isExpanded());
+                    }
+                    break;
+            }
+
+            final boolean showRoot = random.nextBoolean();
+            view.setShowRoot(showRoot);
+
+            final List<TreeItem<Integer>> rows = new ArrayList<>();
+            collectExpandedItems(root, rows);
+            if (! showRoot) rows.remove(0);
+
+            assertEquals(rows.size(), view.getExpandedItemCount());
+            for (int row = 0; row < rows.size(); row++) {
+                assertSame(rows.get(row), view.getTreeItem(row));
+                assertEquals(row, view.getRow(rows.get(row)));
+            }
+            assertNull(view.getTreeItem(rows.size()));
+        }
+    }
+
+    private static <T> void collectExpandedItems(TreeItem<T> item, List<TreeItem<T>> rows) {
+        rows.add(item);
+        if (item.isExpanded()) {
+            for (TreeItem<T> child : item.getChildren()) {
+                collectExpandedItems(child, rows);
+            }
+        }
+    }
+
+    private static <T> void removeSubtree(List<TreeItem<T>> items, TreeItem<T> item) {
+        items.remove(item);
+        for (TreeItem<T> child : item.getChildren()) {
+            removeSubtree(items, child);
+        }
+    }
 }
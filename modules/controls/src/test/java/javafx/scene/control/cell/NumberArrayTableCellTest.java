@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.cell;
+
+import java.text.NumberFormat;
+import java.util.Locale;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableDoubleArray;
+import javafx.collections.ObservableLongArray;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NumberArrayTableCellTest {
+
+    private TableView<Object> tableView;
+    private TableColumn<Object, Object> tableColumn;
+    private ObservableDoubleArray doubles;
+    private ObservableLongArray longs;
+
+    @Before public void setup() {
+        tableView = new TableView<>(FXCollections.observableArrayList(new Object(), new Object(), new Object()));
+        tableColumn = new TableColumn<>();
+        tableView.getColumns().add(tableColumn);
+        doubles = FXCollections.observableDoubleArray(0.5, 1.5, 2.5);
+        longs = FXCollections.observableLongArray(Long.MAX_VALUE, 2, 3);
+    }
+
+    private TableCell<Object, Object> createCell(Callback<TableColumn<Object, Object>, TableCell<Object, Object>> cellFactory, int index) {
+        TableCell<Object, Object> cell = cellFactory.call(tableColumn);
+        cell.updateTableView(tableView);
+        cell.updateTableColumn(tableColumn);
+        cell.updateIndex(index);
+        return cell;
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testStatic_forDoubleArray_nullArray() {
+        NumberArrayTableCell.forDoubleArray(null);
+    }
+
+    @Test public void testConstructor_defaultStyleClass() {
+        TableCell<Object, Object> cell = createCell(NumberArrayTableCell.forDoubleArray(doubles), 0);
+        assertTrue(cell.getStyleClass().contains("number-array-table-cell"));
+        assertSame(doubles, ((NumberArrayTableCell<Object, Object>) cell).getArray());
+    }
+
+    @Test public void test_updateIndex_showsArrayValue() {
+        assertEquals("1.5", createCell(NumberArrayTableCell.forDoubleArray(doubles), 1).getText());
+        assertEquals(Long.toString(Long.MAX_VALUE), createCell(NumberArrayTableCell.forLongArray(longs), 0).getText());
+    }
+
+    @Test public void test_updateIndex_usesFormat() {
+        NumberFormat format = NumberFormat.getNumberInstance(Locale.US);
+        format.setMinimumFractionDigits(2);
+        assertEquals("2.50", createCell(NumberArrayTableCell.forDoubleArray(doubles, format), 2).getText());
+        assertEquals("3.00", createCell(NumberArrayTableCell.forLongArray(longs, format), 2).getText());
+    }
+
+    @Test public void test_updateIndex_beyondArrayShowsNoText() {
+        doubles.resize(2);
+        assertNull(createCell(NumberArrayTableCell.forDoubleArray(doubles), 2).getText());
+    }
+
+    @Test public void test_arrayChange_refreshesCellAtChangedIndex() {
+        TableCell<Object, Object> cell = createCell(NumberArrayTableCell.forDoubleArray(doubles), 1);
+        doubles.set(0, 7);
+        assertEquals("1.5", cell.getText());
+        doubles.set(1, 8);
+        assertEquals("8.0", cell.getText());
+        doubles.resize(1);
+        assertNull(cell.getText());
+    }
+}
@@ -37,6 +37,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -72,7 +73,10 @@ public class PlatformImpl {
     private static AtomicBoolean reallyIdle = new AtomicBoolean(false);
     private static Set<FinishListener> finishListeners =
             new CopyOnWriteArraySet<FinishListener>();
-    private final static Object runLaterLock = new Object();
+    private static final RunLaterQueue runLaterQueue = new RunLaterQueue(
+            r -> Toolkit.getToolkit().defer(r),
+            TimeUnit.MILLISECONDS.toNanos(AccessController.doPrivileged((PrivilegedAction<Integer>) () ->
+                    Integer.getInteger("javafx.runLater.budget", 10))));
     private static Boolean isGraphicsSupported;
     private static Boolean isControlsSupported;
     private static Boolean isMediaSupported;
@@ -269,6 +273,27 @@ public class PlatformImpl {
     }
 
     private static void runLater(final Runnable r, boolean exiting) {
+        try {
+            runLater(r, exiting, 0);
+        } catch (InterruptedException ex) {
+            // Cannot happen, we never wait for space in the queue
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Same as {@link #runLater(Runnable)}, but when called from a thread other
+     * than the FX application thread, first waits while <code>maxPending</code>
+     * or more runnables are waiting to be run.
+     */
+    public static void runLater(final Runnable r, int maxPending) throws InterruptedException {
+        if (maxPending <= 0) {
+            throw new IllegalArgumentException("maxPending must be positive: " + maxPending);
+        }
+        runLater(r, false, maxPending);
+    }
+
+    private static void runLater(final Runnable r, boolean exiting, int maxPending) throws InterruptedException {
         if (!initialized.get()) {
             throw new IllegalStateException("Toolkit not initialized");
         }
@@ -280,29 +305,45 @@ public class PlatformImpl {
             Toolkit.getToolkit().pauseCurrentThread();
         }
 
-        synchronized (runLaterLock) {
-            if (!exiting && toolkitExit.get()) {
-                // Don't schedule a runnable after we have exited the toolkit
+        if (!exiting && toolkitExit.get()) {
+            // Don't schedule a runnable after we have exited the toolkit
+            pendingRunnables.decrementAndGet();
+            return;
+        }
+
+        final AccessControlContext acc = AccessController.getContext();
+        // Don't catch exceptions, they are handled by Toolkit.defer()
+        final Runnable runnable = () -> {
+            try {
+                AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+                    r.run();
+                    return null;
+                }, acc);
+            } finally {
                 pendingRunnables.decrementAndGet();
-                return;
+                checkIdle();
             }
-
-            final AccessControlContext acc = AccessController.getContext();
-            // Don't catch exceptions, they are handled by Toolkit.defer()
-            Toolkit.getToolkit().defer(() -> {
-                try {
-                    AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
-                        r.run();
-                        return null;
-                    }, acc);
-                } finally {
-                    pendingRunnables.decrementAndGet();
-                    checkIdle();
-                }
-            });
+        };
+        if (maxPending > 0) {
+            try {
+                runLaterQueue.post(runnable, maxPending, !isFxApplicationThread());
+            } catch (InterruptedException ex) {
+                pendingRunnables.decrementAndGet();
+                throw ex;
+            }
+        } else {
+            runLaterQueue.post(runnable);
         }
     }
 
+    /**
+     * Returns the number of runnables passed to runLater that have not been
+     * run yet.
+     */
+    public static int getPendingRunLaterCount() {
+        return runLaterQueue.size();
+    }
+
     public static void runAndWait(final Runnable r) {
         runAndWait(r, false);
     }
@@ -441,6 +482,7 @@ public class PlatformImpl {
         if (toolkitExit.getAndSet(true)) {
             return;
         }
+        runLaterQueue.close();
 
         if (initialized.get()) {
             // Always call toolkit exit on FX app thread
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.application;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * The queue behind {@link PlatformImpl#runLater}. Any number of threads may
+ * post runnables without taking a lock; they are run in the order they were
+ * posted by a single drain runnable that is handed to the toolkit. Only one
+ * drain runnable is waiting in the toolkit at any time, so a burst of
+ * runLater calls costs one or two toolkit events instead of one each.
+ *
+ * A drain stops after the given time budget, so that input events and
+ * pulses queued in the toolkit behind it are not starved, and the rest of
+ * the runnables are left to the next drain. Whenever runnables are left in
+ * the queue while one of them runs, a drain is waiting in the toolkit, so
+ * that runnables are still run when one of them enters a nested event loop.
+ */
+final class RunLaterQueue {
+
+    private static final class Node {
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        private Runnable runnable;
+        private volatile Node next;
+
+        Node(Runnable runnable) {
+            this.runnable = runnable;
+        }
+    }
+
+    private final Consumer<Runnable> defer;
+    private final long budget;
+
+    // Producers swap the tail and then link the previous node to the new one.
+    // Only the drain, which runs on a single thread, moves the head.
+    private final AtomicReference<Node> tail;
+    private Node head;
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final Object spaceLock = new Object();
+    private volatile int spaceWaiters;
+    private volatile boolean closed;
+
+    // Set while the drain hands itself to the toolkit ahead of the runnable
+    // it is about to run. A toolkit that runs deferred runnables immediately
+    // must not let that drain overtake the runnable.
+    private boolean rescheduling;
+
+    private final Runnable drain = this::drain;
+
+    /**
+     * Creates a queue.
+     *
+     * @param defer hands a runnable to the toolkit, to be run later on the
+     *      FX application thread
+     * @param budget the time in nanoseconds after which a drain yields to the
+     *      toolkit, or zero for no limit
+     */
+    RunLaterQueue(Consumer<Runnable> defer, long budget) {
+        this.defer = defer;
+        this.budget = budget;
+        this.head = new Node(null);
+        this.tail = new AtomicReference<>(head);
+    }
+
+    /**
+     * Posts a runnable, which will be run on the FX application thread after
+     * all runnables posted before it.
+     */
+    void post(Runnable runnable) {
+        final Node node = new Node(runnable);
+        size.incrementAndGet();
+        final Node prev = tail.getAndSet(node);
+        Node.NEXT.lazySet(prev, node);
+        scheduleDrain();
+    }
+
+    /**
+     * Posts a runnable, first waiting while the queue holds
+     * <code>maxSize</code> or more runnables. Callers on the FX application
+     * thread never wait, as they are the ones draining the queue.
+     */
+    void post(Runnable runnable, int maxSize, boolean mayWait) throws InterruptedException {
+        if (mayWait && size.get() >= maxSize) {
+            synchronized (spaceLock) {
+                spaceWaiters++;
+                try {
+                    while (!closed && size.get() >= maxSize) {
+                        spaceLock.wait();
+                    }
+                } finally {
+                    spaceWaiters--;
+                }
+            }
+        }
+        post(runnable);
+    }
+
+    /**
+     * Returns the number of runnables that were posted and have not yet been
+     * run.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Releases the threads waiting for space in the queue, and stops them
+     * from waiting from now on. Called when the toolkit exits.
+     */
+    void close() {
+        closed = true;
+        signalSpace();
+    }
+
+    private void scheduleDrain() {
+        if (drainScheduled.compareAndSet(false, true)) {
+            defer.accept(drain);
+        }
+    }
+
+    private void signalSpace() {
+        if (spaceWaiters > 0) {
+            synchronized (spaceLock) {
+                spaceLock.notifyAll();
+            }
+        }
+    }
+
+    private void drain() {
+        if (rescheduling) {
+            // The toolkit ran the drain we just handed it straight away; the
+            // outer drain is still going and will run everything in order
+            drainScheduled.set(false);
+            return;
+        }
+        drainScheduled.set(false);
+
+        final long deadline = budget > 0 ? System.nanoTime() + budget : 0;
+        boolean done = false;
+        try {
+            while (true) {
+                final Node next = head.next;
+                if (next == null) {
+                    done = true;
+                    break;
+                }
+                final Runnable runnable = next.runnable;
+                next.runnable = null;
+                head = next;
+                size.decrementAndGet();
+                // Release the producers waiting for space right away rather
+                // than after the drain, which may run for its whole budget
+                signalSpace();
+
+                if (next.next != null && !drainScheduled.get()) {
+                    // Keep a drain waiting in the toolkit, in case this runnable
+                    // enters a nested event loop
+                    rescheduling = true;
+                    try {
+                        scheduleDrain();
+                    } finally {
+                        rescheduling = false;
+                    }
+                }
+
+                runnable.run();
+
+                if (deadline != 0 && System.nanoTime() - deadline >= 0) {
+                    break;
+                }
+            }
+        } finally {
+            if (!done && head.next != null) {
+                // Out of budget, or a runnable threw
+                scheduleDrain();
+            }
+        }
+    }
+}
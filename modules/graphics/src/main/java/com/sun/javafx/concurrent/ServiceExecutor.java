@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.concurrent;
+
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import sun.util.logging.PlatformLogger;
+
+/**
+ * The executor used by {@link javafx.concurrent.Service} when no executor has
+ * been set on the Service.
+ *
+ * The strategy used to run the tasks is chosen with the
+ * <code>javafx.concurrent.executor</code> system property:
+ * <ul>
+ * <li><code>threadPool</code> (the default) runs the tasks on a pool of
+ * daemon threads that grows up to <code>javafx.concurrent.poolSize</code>
+ * (32 by default) threads before tasks are queued. Queued tasks are started
+ * in order of priority, and in the order they were submitted for the same
+ * priority.
+ * <li><code>forkJoin</code> runs the tasks on a work stealing
+ * {@link ForkJoinPool} with a parallelism of
+ * <code>javafx.concurrent.poolSize</code>.
+ * <li><code>virtual</code> runs every task on a new virtual thread, when the
+ * JVM supports them, and falls back to <code>threadPool</code> otherwise.
+ * </ul>
+ *
+ * Every task runs on a thread with the priority it was submitted with
+ * (virtual threads ignore priorities). The number of queued, active and
+ * completed tasks, and the time tasks spent waiting for a thread, are
+ * recorded for all strategies.
+ */
+public final class ServiceExecutor implements Executor {
+
+    private static final PlatformLogger LOG = PlatformLogger.getLogger(ServiceExecutor.class.getName());
+
+    public static final String THREAD_POOL = "threadPool";
+    public static final String FORK_JOIN = "forkJoin";
+    public static final String VIRTUAL = "virtual";
+
+    private static final int DEFAULT_POOL_SIZE = 32;
+    private static final long THREAD_TIME_OUT = 1000;
+
+    // Addition of doPrivileged added due to RT-19580
+    private static final ThreadGroup THREAD_GROUP = AccessController.doPrivileged((PrivilegedAction<ThreadGroup>) () -> new ThreadGroup("javafx concurrent thread pool"));
+    private static final Thread.UncaughtExceptionHandler UNCAUGHT_HANDLER = (thread, throwable) -> {
+        // Ignore IllegalMonitorStateException, these are thrown from the ThreadPoolExecutor
+        // when a browser navigates away from a page hosting an applet that uses
+        // asynchronous tasks. These exceptions generally do not cause loss of functionality.
+        if (!(throwable instanceof IllegalMonitorStateException)) {
+            LOG.warning("Uncaught throwable in " + THREAD_GROUP.getName(), throwable);
+        }
+    };
+
+    // Addition of doPrivileged added due to RT-19580
+    private static final ThreadFactory THREAD_FACTORY = run -> AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
+        final Thread th = new Thread(THREAD_GROUP, run);
+        th.setUncaughtExceptionHandler(UNCAUGHT_HANDLER);
+        th.setPriority(Thread.MIN_PRIORITY);
+        th.setDaemon(true);
+        return th;
+    });
+
+    private static ServiceExecutor defaultExecutor;
+
+    /**
+     * Returns the executor shared by all Services that have no executor set,
+     * configured from the system properties when it is first used.
+     *
+     * @return the default executor
+     */
+    public static synchronized ServiceExecutor getDefault() {
+        if (defaultExecutor == null) {
+            String strategy = AccessController.doPrivileged((PrivilegedAction<String>) () ->
+                    System.getProperty("javafx.concurrent.executor", THREAD_POOL));
+            int poolSize = AccessController.doPrivileged((PrivilegedAction<Integer>) () ->
+                    Integer.getInteger("javafx.concurrent.poolSize", DEFAULT_POOL_SIZE));
+            defaultExecutor = new ServiceExecutor(strategy, poolSize);
+        }
+        return defaultExecutor;
+    }
+
+    private final String strategy;
+    private final int poolSize;
+    private final ExecutorService executor;
+    private final ThreadPoolExecutor threadPool;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger queuedCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maximumWaitTime = new AtomicLong();
+
+    /**
+     * Creates an executor using the given strategy.
+     *
+     * @param strategy one of {@link #THREAD_POOL}, {@link #FORK_JOIN} or
+     *      {@link #VIRTUAL}; unknown strategies fall back to THREAD_POOL
+     * @param poolSize the maximum number of threads of the pool
+     */
+    public ServiceExecutor(String strategy, int poolSize) {
+        this.poolSize = Math.max(1, poolSize);
+
+        ExecutorService virtualExecutor = null;
+        if (VIRTUAL.equals(strategy)) {
+            virtualExecutor = createVirtualThreadExecutor();
+            if (virtualExecutor == null) {
+                LOG.warning("Virtual threads are not supported, using the " + THREAD_POOL + " strategy");
+            }
+        } else if (!FORK_JOIN.equals(strategy) && !THREAD_POOL.equals(strategy)) {
+            LOG.warning("Unknown executor strategy " + strategy + ", using the " + THREAD_POOL + " strategy");
+        }
+
+        if (virtualExecutor != null) {
+            this.strategy = VIRTUAL;
+            this.executor = virtualExecutor;
+            this.threadPool = null;
+        } else if (FORK_JOIN.equals(strategy)) {
+            this.strategy = FORK_JOIN;
+            this.executor = AccessController.doPrivileged((PrivilegedAction<ForkJoinPool>) () ->
+                    new ForkJoinPool(this.poolSize, pool -> {
+                        ForkJoinWorkerThread th = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                        th.setPriority(Thread.MIN_PRIORITY);
+                        th.setDaemon(true);
+                        return th;
+                    }, UNCAUGHT_HANDLER, true));
+            this.threadPool = null;
+        } else {
+            this.strategy = THREAD_POOL;
+            final JobQueue queue = new JobQueue();
+            this.threadPool = new ThreadPoolExecutor(
+                    Math.min(2, this.poolSize), this.poolSize,
+                    THREAD_TIME_OUT, TimeUnit.MILLISECONDS,
+                    queue, THREAD_FACTORY, (r, e) -> queue.enqueue(r));
+            this.threadPool.allowCoreThreadTimeOut(true);
+            this.executor = threadPool;
+        }
+    }
+
+    private static ExecutorService createVirtualThreadExecutor() {
+        return AccessController.doPrivileged((PrivilegedAction<ExecutorService>) () -> {
+            try {
+                Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (Exception e) {
+                // not available on this JVM, or only as a preview feature
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Because the ThreadPoolExecutor works completely backwards from what we want (ie:
+     * it doesn't increase thread count beyond the core pool size unless the queue is full),
+     * our queue has to be smart in that it will REJECT an item in the queue unless the
+     * thread size in the pool has reached the pool size, in which case we will queue up.
+     * Tasks the pool rejects because it lost the race for the last thread are queued
+     * as well, rather than failing.
+     */
+    private final class JobQueue extends PriorityBlockingQueue<Runnable> {
+        @Override public boolean offer(Runnable runnable) {
+            if (threadPool.getPoolSize() < poolSize) {
+                return false;
+            }
+            return super.offer(runnable);
+        }
+
+        void enqueue(Runnable runnable) {
+            super.offer(runnable);
+        }
+    }
+
+    private final class Job implements Runnable, Comparable<Job> {
+        private final Runnable runnable;
+        private final int priority;
+        private final long sequence;
+        private final long submitTime = System.nanoTime();
+
+        Job(Runnable runnable, int priority, long sequence) {
+            this.runnable = runnable;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override public void run() {
+            final long waitTime = System.nanoTime() - submitTime;
+            queuedCount.decrementAndGet();
+            activeCount.incrementAndGet();
+            startedCount.incrementAndGet();
+            totalWaitTime.addAndGet(waitTime);
+            long max;
+            while (waitTime > (max = maximumWaitTime.get()) && !maximumWaitTime.compareAndSet(max, waitTime)) { }
+
+            final Thread thread = Thread.currentThread();
+            final int oldPriority = thread.getPriority();
+            if (oldPriority != priority) {
+                thread.setPriority(priority);
+            }
+            try {
+                runnable.run();
+            } finally {
+                if (oldPriority != priority) {
+                    thread.setPriority(oldPriority);
+                }
+                activeCount.decrementAndGet();
+                completedCount.incrementAndGet();
+            }
+        }
+
+        @Override public int compareTo(Job other) {
+            if (priority != other.priority) {
+                return priority > other.priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Runs the given runnable with {@link Thread#MIN_PRIORITY}.
+     *
+     * @param runnable the runnable to run
+     */
+    @Override public void execute(Runnable runnable) {
+        execute(runnable, Thread.MIN_PRIORITY);
+    }
+
+    /**
+     * Runs the given runnable with the given priority. The priority is
+     * clamped to the range of valid thread priorities.
+     *
+     * @param runnable the runnable to run
+     * @param priority the priority of the runnable
+     */
+    public void execute(Runnable runnable, int priority) {
+        if (runnable == null) throw new NullPointerException();
+
+        priority = Math.max(Thread.MIN_PRIORITY, Math.min(Thread.MAX_PRIORITY, priority));
+        final Job job = new Job(runnable, priority, sequence.getAndIncrement());
+        submittedCount.incrementAndGet();
+        queuedCount.incrementAndGet();
+        executor.execute(job);
+    }
+
+    /**
+     * @return the strategy used by this executor
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return the maximum number of threads (or the parallelism) of this
+     *      executor; unbounded for virtual threads
+     */
+    public int getPoolSize() {
+        return VIRTUAL.equals(strategy) ? Integer.MAX_VALUE : poolSize;
+    }
+
+    /**
+     * @return the number of threads currently in the pool, or the number of
+     *      active tasks for virtual threads
+     */
+    public int getThreadCount() {
+        if (threadPool != null) {
+            return threadPool.getPoolSize();
+        } else if (executor instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executor).getPoolSize();
+        }
+        return activeCount.get();
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * @return the number of tasks currently running
+     */
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    /**
+     * @return the number of tasks submitted since the last reset
+     */
+    public long getSubmittedCount() {
+        return submittedCount.get();
+    }
+
+    /**
+     * @return the number of tasks that finished since the last reset
+     */
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * @return the average time in nanoseconds that the tasks started since
+     *      the last reset waited for a thread
+     */
+    public long getAverageWaitTime() {
+        long started = startedCount.get();
+        return started == 0 ? 0 : totalWaitTime.get() / started;
+    }
+
+    /**
+     * @return the longest time in nanoseconds that a task started since the
+     *      last reset waited for a thread
+     */
+    public long getMaximumWaitTime() {
+        return maximumWaitTime.get();
+    }
+
+    /**
+     * Clears the submitted and completed counts and the wait times. The
+     * queued and active counts are not affected.
+     */
+    public void resetStatistics() {
+        submittedCount.set(0);
+        completedCount.set(0);
+        startedCount.set(0);
+        totalWaitTime.set(0);
+        maximumWaitTime.set(0);
+    }
+}
@@ -76,6 +76,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
@@ -251,6 +252,51 @@ final public class StyleManager {
     //
     ////////////////////////////////////////////////////////////////////////////
 
+    /** The style class appears in the right-most simple selector of a selector */
+    public static final int SUBJECT_DEPENDENCY = 1;
+    /** The style class appears in a simple selector left of a combinator */
+    public static final int ANCESTOR_DEPENDENCY = 2;
+
+    /*
+     * The style classes used by the selectors of every stylesheet loaded so far,
+     * mapped to a mask of SUBJECT_DEPENDENCY and ANCESTOR_DEPENDENCY. Adding or
+     * removing a style class that is not in this map cannot change which
+     * selectors match a node or its descendants. The map is filled as
+     * stylesheets are partitioned and never shrinks, which errs on the side of
+     * reapplying CSS.
+     */
+    private static final Map<String,Integer> styleClassDependencies = new ConcurrentHashMap<>();
+
+    /**
+     * Returns where the given style class appears in the selectors of the
+     * loaded stylesheets, as a mask of {@link #SUBJECT_DEPENDENCY} and
+     * {@link #ANCESTOR_DEPENDENCY}, or 0 if no selector uses it.
+     */
+    public static int getStyleClassDependency(String styleClass) {
+        final Integer mask = styleClass != null ? styleClassDependencies.get(styleClass) : null;
+        return mask != null ? mask : 0;
+    }
+
+    private static void addStyleClassDependencies(Selector selector) {
+        if (selector instanceof CompoundSelector) {
+            final List<SimpleSelector> selectors = ((CompoundSelector)selector).getSelectors();
+            final int last = selectors.size()-1;
+            for (int n=0; n<=last; n++) {
+                addStyleClassDependencies(selectors.get(n),
+                        n == last ? SUBJECT_DEPENDENCY : ANCESTOR_DEPENDENCY);
+            }
+        } else if (selector instanceof SimpleSelector) {
+            addStyleClassDependencies((SimpleSelector)selector, SUBJECT_DEPENDENCY);
+        }
+    }
+
+    private static void addStyleClassDependencies(SimpleSelector selector, int dependency) {
+        final List<String> styleClasses = selector.getStyleClasses();
+        for (int n=0, nMax=styleClasses.size(); n<nMax; n++) {
+            styleClassDependencies.merge(styleClasses.get(n), dependency, (a, b) -> a | b);
+        }
+    }
+
     /*
      * A container for stylesheets and the Parents or Scenes that use them.
      * If a stylesheet is removed, then all other Parents or Scenes
@@ -310,6 +356,7 @@ final public class StyleManager {
 
                         final Selector selector = selectors.get(s);
                         selectorPartitioning.partition(selector);
+                        addStyleClassDependencies(selector);
 
                     }
                 }
@@ -28,34 +28,74 @@ package com.sun.javafx.font;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.security.PrivilegedActionException;
 
 /*
  * Utility class to read font files.
+ *
+ * Unless disabled, the file of a font is memory mapped when the font is
+ * first used after it was initialized, see {@link #map}; fonts that are only
+ * opened to read their names while enumerating the installed fonts are not
+ * mapped. Blocks of a mapped file are returned as views of the mapping,
+ * without copying and without locking, which matters for large CJK fonts
+ * whose tables are read repeatedly. A mapping cannot be released before it
+ * is garbage collected, so the file stays mapped for the life of the font,
+ * which on Windows means it cannot be deleted or replaced meanwhile. Files
+ * that are deleted while the font is in use (embedded fonts and decoded WOFF
+ * fonts are temporary copies) are therefore never mapped; these, like all
+ * files while they are not mapped, are read through a RandomAccessFile
+ * which is opened and closed around each use.
  */
 class FontFileReader implements FontConstants {
+    /* Memory mapping can be turned off with -Dprism.mapfonts=false */
+    private static final boolean mapFontFiles =
+        AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            !"false".equals(System.getProperty("prism.mapfonts")));
+
     String filename;
     long filesize;
     RandomAccessFile raFile;
+    private final boolean mapFile;
+    private volatile ByteBuffer mappedFile;
 
     public FontFileReader(String filename) {
+        this(filename, true);
+    }
+
+    /**
+     * @param mapFile false if the file is temporary and must not be memory
+     *  mapped.
+     */
+    public FontFileReader(String filename, boolean mapFile) {
         this.filename = filename;
+        this.mapFile = mapFile && mapFontFiles;
     }
 
     public String getFilename() {
         return filename;
     }
 
+    /**
+     * Returns true if the file is memory mapped, in which case it does not
+     * need to be opened before reading blocks.
+     */
+    boolean isMapped() {
+        return mappedFile != null;
+    }
+
     /**
      * Opens the file.
      * @return returns true if the file opened, false if the file was opened
-     *  already or if it failed to open the file.
+     *  already or if it failed to open the file. A memory mapped file is
+     *  always open.
      * @throws PrivilegedActionException
      */
     public synchronized boolean openFile() throws PrivilegedActionException {
-        if (raFile != null) {
+        if (raFile != null || mappedFile != null) {
             return false;
         }
         raFile = AccessController.doPrivileged(
@@ -70,13 +110,58 @@ class FontFileReader implements FontConstants {
         if (raFile != null) {
             try {
                 filesize = raFile.length();
-                return true;
             } catch (IOException e) {
+                return false;
             }
+            return true;
         }
         return false;
     }
 
+    /**
+     * Memory maps the file, unless mapping is disabled for it or it is open.
+     * @return true if the file is mapped.
+     */
+    synchronized boolean map() {
+        if (mappedFile != null) {
+            return true;
+        }
+        if (!mapFile || raFile != null) {
+            return false;
+        }
+        final RandomAccessFile file = AccessController.doPrivileged(
+                (PrivilegedAction<RandomAccessFile>) () -> {
+                    try {
+                        return new RandomAccessFile(filename, "r");
+                    } catch (FileNotFoundException fnfe) {
+                        return null;
+                    }
+                }
+        );
+        if (file == null) {
+            return false;
+        }
+        try {
+            final long length = file.length();
+            if (length <= Integer.MAX_VALUE) {
+                /* The mapping remains valid after the file is closed */
+                mappedFile = file.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                                                   0, length);
+                filesize = length;
+            }
+        } catch (IOException e) {
+            if (PrismFontFactory.debugFonts) {
+                e.printStackTrace();
+            }
+        } finally {
+            try {
+                file.close();
+            } catch (IOException e) {
+            }
+        }
+        return mappedFile != null;
+    }
+
     public synchronized void closeFile() throws IOException {
         if (raFile != null) {
             raFile.close();
@@ -96,73 +181,55 @@ class FontFileReader implements FontConstants {
     }
 
     static class Buffer {
-        byte[] data;
+        ByteBuffer data;
         int pos;
         int orig;
 
         /**
-         * @param data the buffer
-         * @param bufStart the starting position within the data array.
+         * @param data the buffer, read with absolute methods only so that it
+         * can be shared between threads.
+         * @param bufStart the starting position within the data buffer.
          * {@code pos} is considered to be the start of this Buffer object.
          * There is no protection against reading past the end, caller is
          * assumed to be careful.
          */
-        Buffer(byte[] data, int bufStart) {
+        Buffer(ByteBuffer data, int bufStart) {
             this.orig = this.pos = bufStart;
             this.data = data;
         }
 
+        Buffer(byte[] data, int bufStart) {
+            this(ByteBuffer.wrap(data), bufStart);
+        }
+
         int getInt(int tpos) {
-            tpos += orig;
-            int val = data[tpos++]&0xff;
-            val <<= 8;
-            val |= data[tpos++]&0xff;
-            val <<= 8;
-            val |= data[tpos++]&0xff;
-            val <<= 8;
-            val |= data[tpos++]&0xff;
-            return val;
+            return data.getInt(orig + tpos);
         }
 
         int getInt() {
-            int val = data[pos++]&0xff;
-            val <<= 8;
-            val |= data[pos++]&0xff;
-            val <<= 8;
-            val |= data[pos++]&0xff;
-            val <<= 8;
-            val |= data[pos++]&0xff;
+            int val = data.getInt(pos);
+            pos += 4;
             return val;
         }
 
         short getShort(int tpos) {
-            tpos += orig;
-            int val = data[tpos++]&0xff;
-            val <<= 8;
-            val |= data[tpos++]&0xff;
-            return (short)val;
+            return data.getShort(orig + tpos);
         }
 
         short getShort() {
-            int val = data[pos++]&0xff;
-            val <<= 8;
-            val |= data[pos++]&0xff;
-            return (short)val;
+            short val = data.getShort(pos);
+            pos += 2;
+            return val;
         }
 
         char getChar(int tpos) {
-            tpos += orig;
-            int val = data[tpos++]&0xff;
-            val <<= 8;
-            val |= data[tpos++]&0xff;
-            return (char)val;
+            return data.getChar(orig + tpos);
         }
 
         char getChar() {
-            int val = data[pos++]&0xff;
-            val <<= 8;
-            val |= data[pos++]&0xff;
-            return (char)(val);
+            char val = data.getChar(pos);
+            pos += 2;
+            return val;
         }
 
         void position(int newPos) {
@@ -170,16 +237,15 @@ class FontFileReader implements FontConstants {
         }
 
         int capacity() {
-            return data.length-orig;
+            return data.capacity()-orig;
         }
 
         byte get() {
-            return data[pos++];
+            return data.get(pos++);
         }
 
         byte get(int tpos) {
-            tpos += orig;
-            return data[tpos];
+            return data.get(orig + tpos);
         }
 
         void skip(int nbytes) {
@@ -187,7 +253,9 @@ class FontFileReader implements FontConstants {
         }
 
         void get(int startPos, byte[] dest, int destPos, int destLen) {
-            System.arraycopy(data, orig+startPos, dest, destPos, destLen);
+            ByteBuffer src = data.duplicate();
+            src.position(orig + startPos);
+            src.get(dest, destPos, destLen);
         }
     }
 
@@ -229,7 +297,27 @@ class FontFileReader implements FontConstants {
     private byte[] readBuffer;
     private int readBufferLen;
     private int readBufferStart;
-    synchronized public Buffer readBlock(int offset, int len) {
+    /**
+     * Reads a block of the file.
+     * @return the block, or null if the file is mapped and the block is
+     *  not within the file.
+     */
+    public Buffer readBlock(int offset, int len) {
+        ByteBuffer mapped = mappedFile;
+        if (mapped != null) {
+            /* A view of the mapped file; no copy or lock is needed */
+            if (offset < 0 || len < 0 || offset > mapped.capacity() - len) {
+                return null;
+            }
+            ByteBuffer view = mapped.duplicate();
+            view.limit(offset + len);
+            view.position(offset);
+            return new Buffer(view.slice(), 0);
+        }
+        return readBlockFromFile(offset, len);
+    }
+
+    synchronized private Buffer readBlockFromFile(int offset, int len) {
         if (readBuffer == null) {
             readBuffer = new byte[READBUFFERSIZE];
             readBufferLen = 0; // length of valid contents.
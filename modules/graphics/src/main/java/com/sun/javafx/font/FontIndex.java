@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.font;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * A persistent index of the fonts found in a font directory, so the files
+ * don't all have to be opened and parsed to learn their names every time
+ * an application starts.
+ *
+ * For each directory the index records the directory's modification time
+ * together with the full name, family name, file and collection index of
+ * each font it holds. The entries for a directory are only used if its
+ * modification time is unchanged, which is the case until a font file is
+ * added to, removed from or renamed in that directory.
+ *
+ * The index file is read lazily on the first lookup and written on a
+ * background thread after a directory has been (re)scanned. The file is
+ * versioned, and any file which can't be read or was written by another
+ * version is ignored and will be replaced.
+ *
+ * The index is only used when it is turned on, with -Dprism.fontindex=true
+ * to keep it in the user's home directory or -Dprism.fontindex=<file> to
+ * keep it in the given file. It is never used when a security manager is
+ * installed, so that sandboxed code can't cause the file to be written.
+ *
+ * Only the directories scanned by PrismFontFactory are indexed: the JRE
+ * font directory, and the system font directory on Android. The fonts
+ * found through fontconfig on Linux, the registry on Windows and CoreText
+ * on Mac are enumerated natively and are not sped up by the index.
+ */
+class FontIndex {
+
+    static final int MAGIC = 0x4a464649; // "JFFI"
+    static final int VERSION = 1;
+
+    private static final boolean debugFonts =
+        AccessController.doPrivileged((PrivilegedAction<Boolean>) () ->
+            "true".equals(System.getProperty("prism.debugfonts")));
+
+    static final class Entry {
+        final String fullName;
+        final String familyName;
+        final String file;
+        final int index;
+
+        Entry(String fullName, String familyName, String file, int index) {
+            this.fullName = fullName;
+            this.familyName = familyName;
+            this.file = file;
+            this.index = index;
+        }
+    }
+
+    private static final class Directory {
+        final long lastModified;
+        final List<Entry> entries;
+
+        Directory(long lastModified, List<Entry> entries) {
+            this.lastModified = lastModified;
+            this.entries = entries;
+        }
+    }
+
+    private static FontIndex defaultIndex;
+    private static boolean defaultIndexInitialized;
+
+    /**
+     * Returns the index shared by the font factory, or null if the index
+     * has not been turned on.
+     */
+    static synchronized FontIndex getDefault() {
+        if (!defaultIndexInitialized) {
+            defaultIndexInitialized = true;
+            if (System.getSecurityManager() == null) {
+                File file = AccessController.doPrivileged(
+                        (PrivilegedAction<File>) () -> getIndexFile(
+                                System.getProperty("prism.fontindex"),
+                                System.getProperty("user.home"))
+                );
+                if (file != null) {
+                    defaultIndex = new FontIndex(file);
+                }
+            }
+        }
+        return defaultIndex;
+    }
+
+    /**
+     * Returns the file named by the value of the prism.fontindex property,
+     * or null if the index is not turned on.
+     */
+    static File getIndexFile(String value, String home) {
+        if (value == null || value.isEmpty() || "false".equals(value)) {
+            return null;
+        }
+        if (!"true".equals(value)) {
+            return new File(value);
+        }
+        if (home == null) {
+            return null;
+        }
+        return new File(home, ".openjfx" + File.separator +
+                        "cache" + File.separator +
+                        "fontindex");
+    }
+
+    private final File indexFile;
+    private HashMap<String, Directory> directories;
+    private boolean saveScheduled;
+
+    FontIndex(File indexFile) {
+        this.indexFile = indexFile;
+    }
+
+    File getFile() {
+        return indexFile;
+    }
+
+    /**
+     * Returns the fonts indexed for the directory, or null if the directory
+     * is not in the index or has been modified since it was indexed.
+     */
+    synchronized List<Entry> get(String dir, long lastModified) {
+        if (directories == null) {
+            directories = load();
+        }
+        Directory d = directories.get(dir);
+        if (d == null || d.lastModified != lastModified || lastModified == 0) {
+            return null;
+        }
+        return d.entries;
+    }
+
+    /**
+     * Records the fonts found in the directory. The modification time
+     * should be read before the directory is scanned, so that a change made
+     * during the scan is picked up the next time.
+     */
+    synchronized void put(String dir, long lastModified, List<Entry> entries) {
+        if (directories == null) {
+            directories = load();
+        }
+        directories.put(dir, new Directory(lastModified,
+                Collections.unmodifiableList(new ArrayList<Entry>(entries))));
+    }
+
+    /**
+     * Writes the index on a daemon thread. Requests made while a write is
+     * pending are folded into that write.
+     */
+    void saveInBackground() {
+        synchronized (this) {
+            if (saveScheduled) {
+                return;
+            }
+            saveScheduled = true;
+        }
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            Thread t = new Thread(() -> {
+                synchronized (FontIndex.this) {
+                    saveScheduled = false;
+                }
+                save();
+            }, "Prism Font Index Writer");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            t.start();
+            return null;
+        });
+    }
+
+    /**
+     * Writes the index to its file, returning false if it could not be
+     * written. The file is replaced atomically where the platform allows,
+     * so a concurrent reader sees either the old or the new index.
+     */
+    boolean save() {
+        final HashMap<String, Directory> snapshot;
+        synchronized (this) {
+            if (directories == null) {
+                return false;
+            }
+            snapshot = new HashMap<String, Directory>(directories);
+        }
+        Boolean saved = AccessController.doPrivileged(
+                (PrivilegedAction<Boolean>) () -> write(snapshot));
+        return saved;
+    }
+
+    private boolean write(HashMap<String, Directory> snapshot) {
+        File dir = indexFile.getAbsoluteFile().getParentFile();
+        File tmpFile = null;
+        try {
+            if (dir != null && !dir.isDirectory() && !dir.mkdirs()) {
+                return false;
+            }
+            tmpFile = File.createTempFile("fontindex", ".tmp", dir);
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<String, Directory> e : snapshot.entrySet()) {
+                    Directory d = e.getValue();
+                    out.writeUTF(e.getKey());
+                    out.writeLong(d.lastModified);
+                    out.writeInt(d.entries.size());
+                    for (Entry entry : d.entries) {
+                        out.writeUTF(entry.fullName);
+                        out.writeUTF(entry.familyName);
+                        out.writeUTF(entry.file);
+                        out.writeInt(entry.index);
+                    }
+                }
+            }
+            if (!tmpFile.renameTo(indexFile)) {
+                indexFile.delete();
+                if (!tmpFile.renameTo(indexFile)) {
+                    return false;
+                }
+            }
+            tmpFile = null;
+            return true;
+        } catch (IOException | SecurityException e) {
+            if (debugFonts) {
+                System.err.println("Cannot write font index " + indexFile);
+                e.printStackTrace();
+            }
+            return false;
+        } finally {
+            if (tmpFile != null) {
+                tmpFile.delete();
+            }
+        }
+    }
+
+    private HashMap<String, Directory> load() {
+        HashMap<String, Directory> map = AccessController.doPrivileged(
+                (PrivilegedAction<HashMap<String, Directory>>) () -> read());
+        return map != null ? map : new HashMap<String, Directory>();
+    }
+
+    private HashMap<String, Directory> read() {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int dirCount = in.readInt();
+            if (dirCount < 0) {
+                return null;
+            }
+            HashMap<String, Directory> map = new HashMap<String, Directory>();
+            for (int i = 0; i < dirCount; i++) {
+                String dir = in.readUTF();
+                long lastModified = in.readLong();
+                int count = in.readInt();
+                if (count < 0) {
+                    return null;
+                }
+                ArrayList<Entry> entries = new ArrayList<Entry>(Math.min(count, 1024));
+                for (int j = 0; j < count; j++) {
+                    String fullName = in.readUTF();
+                    String familyName = in.readUTF();
+                    String file = in.readUTF();
+                    int index = in.readInt();
+                    entries.add(new Entry(fullName, familyName, file, index));
+                }
+                map.put(dir, new Directory(lastModified,
+                        Collections.unmodifiableList(entries)));
+            }
+            return map;
+        } catch (IOException | SecurityException e) {
+            if (debugFonts) {
+                System.err.println("Ignoring unreadable font index " + indexFile);
+            }
+            return null;
+        }
+    }
+}
@@ -40,6 +40,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Locale;
+import java.util.List;
 
 import com.sun.glass.ui.Screen;
 import com.sun.glass.utils.NativeLibLoader;
@@ -269,6 +270,10 @@ public abstract class PrismFontFactory implements FontFactory {
             return fr;
         }
 
+        if (!registerIndexedFont(filename)) {
+            return null;
+        }
+
         try {
             fr = createFontFile(null, filename, index, register,
                                 embedded, copy, tracked);
@@ -313,6 +318,8 @@ public abstract class PrismFontFactory implements FontFactory {
                                 // its not the one we are looking for.
                                 continue;
                             }
+                        } else if (!registerIndexedFont(filename)) {
+                            return null;
                         } else {
                             fr = createFontFile(name, filename, index,
                                                 register, embedded,
@@ -1835,8 +1842,10 @@ public abstract class PrismFontFactory implements FontFactory {
             return;
         }
 
-        String fullName = fr.getFullName();
-        String familyName = fr.getFamilyName();
+        addToMaps(fr.getFullName(), fr.getFamilyName(), fr.getFileName());
+    }
+
+    private void addToMaps(String fullName, String familyName, String file) {
 
         if (fullName == null || familyName == null) {
             return;
@@ -1845,7 +1854,7 @@ public abstract class PrismFontFactory implements FontFactory {
         String lcFullName = fullName.toLowerCase();
         String lcFamilyName = familyName.toLowerCase();
 
-        fontToFileMap.put(lcFullName, fr.getFileName());
+        fontToFileMap.put(lcFullName, file);
         fontToFamilyNameMap.put(lcFullName, familyName);
         ArrayList<String> familyList = familyToFontListMap.get(lcFamilyName);
         if (familyList == null) {
@@ -1855,20 +1864,43 @@ public abstract class PrismFontFactory implements FontFactory {
         familyList.add(fullName);
     }
 
+    /*
+     * Adds the fonts in the directory to the maps. Finding their names
+     * means opening and parsing every file, so the results are kept in the
+     * persistent FontIndex, when it is turned on, and reused for as long as
+     * the directory is not modified. The files of fonts found in the index
+     * are only registered with the rasterizer once a font is created from
+     * them.
+     */
     void populateFontFileNameMapGeneric(String fontDir) {
         final File dir = new File(fontDir);
+        final FontIndex fontIndex = FontIndex.getDefault();
+        final long lastModified;
         String[] files = null;
         try {
+            lastModified = AccessController.doPrivileged(
+                    (PrivilegedExceptionAction<Long>) () -> dir.lastModified()
+            );
+            if (fontIndex != null) {
+                List<FontIndex.Entry> entries =
+                    fontIndex.get(dir.getPath(), lastModified);
+                if (entries != null) {
+                    addToMaps(entries);
+                    return;
+                }
+            }
             files = AccessController.doPrivileged(
                     (PrivilegedExceptionAction<String[]>) () -> dir.list(TTFilter.getInstance())
             );
         } catch (Exception e) {
+            return;
         }
 
         if (files == null) {
             return;
         }
 
+        ArrayList<FontIndex.Entry> entries = new ArrayList<FontIndex.Entry>();
         for (int i=0;i<files.length;i++) {
             try {
                 String path = fontDir+File.separator+files[i];
@@ -1884,18 +1916,63 @@ public abstract class PrismFontFactory implements FontFactory {
                 if (fr == null) {
                     continue;
                 }
-                addToMaps(fr);
+                addToMaps(fr, entries);
                 while (index < fr.getFontCount()) {
                     fr = createFontResource(path, index++);
                     if (fr == null) {
                         break;
                     }
-                    addToMaps(fr);
+                    addToMaps(fr, entries);
                 }
             } catch (Exception e) {
                 /* Keep going if anything bad happens with a font */
             }
         }
+
+        if (fontIndex != null) {
+            fontIndex.put(dir.getPath(), lastModified, entries);
+            fontIndex.saveInBackground();
+        }
+    }
+
+    private void addToMaps(PrismFontFile fr, List<FontIndex.Entry> entries) {
+        addToMaps(fr);
+        if (fr.getFullName() != null && fr.getFamilyName() != null) {
+            entries.add(new FontIndex.Entry(fr.getFullName(),
+                                            fr.getFamilyName(),
+                                            fr.getFileName(),
+                                            fr.getFontIndex()));
+        }
+    }
+
+    /* Files of indexed fonts that are not registered with the rasterizer
+     * yet, and those the rasterizer turned down.
+     */
+    private final HashSet<String> unregisteredIndexedFiles = new HashSet<String>();
+    private final HashSet<String> unusableIndexedFiles = new HashSet<String>();
+
+    private void addToMaps(List<FontIndex.Entry> entries) {
+        for (FontIndex.Entry entry : entries) {
+            /* The files are registered when a font is first created from
+             * them, rather than all of them on every start-up.
+             */
+            unregisteredIndexedFiles.add(entry.file);
+            addToMaps(entry.fullName, entry.familyName, entry.file);
+        }
+    }
+
+    /*
+     * Registers the file of an indexed font with the rasterizer, the first
+     * time a font is created from it.
+     * @return false if the rasterizer can't use the file.
+     */
+    private synchronized boolean registerIndexedFont(String filename) {
+        if (unregisteredIndexedFiles.remove(filename)) {
+            if (!registerEmbeddedFont(filename)) {
+                unusableIndexedFiles.add(filename);
+            }
+        }
+        return !unusableIndexedFiles.contains(filename);
     }
 
     static native int getLCDContrastWin32();
@@ -84,6 +84,8 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
     boolean isTracked = false;
     boolean isDecoded = false;
     boolean isRegistered = true;
+    // Set once init() is done, from then on the font is in use
+    private boolean initialized;
 
     /* The glyph image data is stored only in a texture, and we
      * manage how much of that is kept around. We clearly want
@@ -101,6 +103,7 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
         this.isCopy = copy;
         this.isTracked = tracked;
         init(name, fIndex);
+        initialized = true;
     }
 
     WeakReference<PrismFontFile> createFileDisposer(PrismFontFactory factory) {
@@ -341,7 +344,21 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
         this.peer = peer;
     }
 
-    synchronized Buffer readTable(int tag) {
+    Buffer readTable(int tag) {
+        /* The file is mapped on the first read after init(), so fonts that
+         * are only created to enumerate their names are never mapped.
+         */
+        if (filereader.isMapped() || (initialized && filereader.map())) {
+            /* Mapped files need neither opening nor locking */
+            DirectoryEntry tagDE = getDirectoryEntry(tag);
+            return tagDE != null ? filereader.readBlock(tagDE.offset, tagDE.length) : null;
+        }
+        synchronized (this) {
+            return readTableFromFile(tag);
+        }
+    }
+
+    private Buffer readTableFromFile(int tag) {
         Buffer buffer = null;
         boolean openedFile = false;
         try {
@@ -397,7 +414,8 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
      * Throws an exception if it doesn't like what it finds.
      */
     private void init(String name, int fIndex) throws Exception {
-        filereader = new FontFileReader(filename);
+        /* Temporary copies are not mapped, so that they can be deleted */
+        filereader = new FontFileReader(filename, !isCopy);
         WoffDecoder decoder = null;
         try {
             if (!filereader.openFile()) {
@@ -416,7 +434,7 @@ public abstract class PrismFontFile implements FontResource, FontConstants {
 
                 /* Create a new reader with the decoded file */
                 filereader.closeFile();
-                filereader = new FontFileReader(file.getPath());
+                filereader = new FontFileReader(file.getPath(), false);
                 if (!filereader.openFile()) {
                     throw new FileNotFoundException("Unable to create "
                             + "FontResource for file " + filename);
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio;
+
+import com.sun.javafx.iio.ImageStorage.ImageType;
+import com.sun.javafx.iio.common.ImageTools;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.AccessController;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivilegedAction;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.jar.JarEntry;
+
+/**
+ * A persistent, content addressed cache of decoded and scaled image frames.
+ * The cache is disabled unless the {@code javafx.imageCache.dir} system
+ * property names a directory to store the entries in. Only images loaded
+ * from local files or jar entries are cached, as only those have a cheap and
+ * reliable modification stamp.
+ * <p>
+ * Each entry is keyed by the image URL, the modification stamp of the
+ * resource, the requested size and the scaling options, and is stored in a
+ * file named after the SHA-1 hash of that key. The pixels of every frame are
+ * stored uncompressed and 8 byte aligned so that a cache hit maps the file
+ * and hands out slices of the mapping instead of decoding the image again.
+ * The mapping is private (copy-on-write) because the frames are converted in
+ * place when they are turned into prism images.
+ * <p>
+ * The total size of the cache directory is bounded by
+ * {@code javafx.imageCache.maxSize} megabytes (256 by default); the least
+ * recently used entries are deleted when the bound is exceeded.
+ */
+final class ImageFrameCache {
+
+    private static final int MAGIC = 0x4A465849; // "JFXI"
+    private static final int VERSION = 1;
+    private static final String SUFFIX = ".frames";
+
+    private static final ImageFrameCache instance;
+
+    static {
+        final String dir = AccessController.doPrivileged(
+                (PrivilegedAction<String>) () -> System.getProperty("javafx.imageCache.dir"));
+        final int maxSize = AccessController.doPrivileged(
+                (PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.imageCache.maxSize", 256));
+        instance = (dir == null || dir.isEmpty() || maxSize <= 0)
+                ? null
+                : new ImageFrameCache(new File(dir), maxSize * 1024L * 1024L);
+    }
+
+    /**
+     * Returns the shared cache, or null if the cache is disabled.
+     */
+    static ImageFrameCache getInstance() {
+        return instance;
+    }
+
+    private final File directory;
+    private final long maxBytes;
+    private long totalBytes = -1;
+
+    ImageFrameCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Computes the cache key for an image loaded through
+     * {@link ImageStorage#loadAll(String, ImageLoadListener, int, int, boolean, float, boolean)},
+     * or returns null if the image cannot be cached.
+     */
+    String getKey(String input, int width, int height,
+                  boolean preserveAspectRatio, float devPixelScale, boolean smooth) {
+        String stamp = null;
+        String name = input;
+        if (devPixelScale >= 1.5f) {
+            // Mirror the @2x lookup done by ImageStorage
+            String name2x = ImageTools.getScaledImageName(input);
+            stamp = getStamp(name2x);
+            if (stamp != null) {
+                name = name2x;
+            }
+        }
+        if (stamp == null) {
+            stamp = getStamp(input);
+            if (stamp == null) {
+                return null;
+            }
+        }
+
+        String key = VERSION + "|" + name + "|" + stamp + "|" + width + "x" + height
+                + "|" + preserveAspectRatio + "|" + smooth;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"));
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xf, 16));
+                sb.append(Character.forDigit(b & 0xf, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a modification stamp for the given image location, or null if
+     * it does not exist or is not a local file or jar entry.
+     */
+    private static String getStamp(String input) {
+        try {
+            File file = new File(input);
+            if (file.exists()) {
+                return file.lastModified() + ":" + file.length();
+            }
+        } catch (Exception e) {
+            // ignore exception and try as url.
+        }
+        try {
+            URL url = new URL(input);
+            String protocol = url.getProtocol();
+            if ("file".equals(protocol)) {
+                File file = new File(url.toURI());
+                return file.exists() ? file.lastModified() + ":" + file.length() : null;
+            }
+            if ("jar".equals(protocol)) {
+                URLConnection conn = url.openConnection();
+                if (conn instanceof JarURLConnection) {
+                    JarEntry entry = ((JarURLConnection) conn).getJarEntry();
+                    if (entry != null) {
+                        return entry.getTime() + ":" + entry.getSize() + ":" + entry.getCrc();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // not cacheable
+        }
+        return null;
+    }
+
+    /**
+     * Returns the frames stored for the given key, or null on a cache miss.
+     */
+    ImageFrame[] get(String key) {
+        return AccessController.doPrivileged((PrivilegedAction<ImageFrame[]>) () -> {
+            File file = new File(directory, key + SUFFIX);
+            if (!file.isFile()) {
+                return null;
+            }
+            try {
+                ImageFrame[] frames = read(file);
+                file.setLastModified(System.currentTimeMillis());
+                return frames;
+            } catch (IOException | RuntimeException e) {
+                // Corrupt or stale entry, drop it and decode again
+                file.delete();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Stores the frames under the given key. Frames with a palette are not
+     * cached. Failures are silently ignored.
+     */
+    void put(String key, ImageFrame[] frames) {
+        if (frames == null || frames.length == 0) {
+            return;
+        }
+        for (ImageFrame frame : frames) {
+            if (frame.getPalette() != null || !(frame.getImageData() instanceof ByteBuffer)) {
+                return;
+            }
+        }
+        AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
+            File tmp = null;
+            try {
+                if (!directory.isDirectory() && !directory.mkdirs()) {
+                    return null;
+                }
+                tmp = File.createTempFile(key, ".tmp", directory);
+                long size = write(tmp, frames);
+                File file = new File(directory, key + SUFFIX);
+                try {
+                    Files.move(tmp.toPath(), file.toPath(),
+                               StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                tmp = null;
+                added(size);
+            } catch (IOException | RuntimeException e) {
+                // caching is best effort
+            } finally {
+                if (tmp != null) {
+                    tmp.delete();
+                }
+            }
+            return null;
+        });
+    }
+
+    private static ImageFrame[] read(File file) throws IOException {
+        // A private mapping needs a channel opened for writing even though
+        // the changes are never written back to the file
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+            if (map.getInt() != MAGIC || map.getInt() != VERSION) {
+                throw new IOException("Invalid image cache entry");
+            }
+            ImageType[] types = ImageType.values();
+            ImageFrame[] frames = new ImageFrame[map.getInt()];
+            for (int i = 0; i < frames.length; i++) {
+                ImageType type = types[map.getInt()];
+                int width = map.getInt();
+                int height = map.getInt();
+                int stride = map.getInt();
+                float pixelScale = map.getFloat();
+                ImageMetadata metadata = readMetadata(map);
+                long offset = map.getLong();
+                int length = map.getInt();
+                if (offset < 0 || offset + length > map.capacity()) {
+                    throw new IOException("Truncated image cache entry");
+                }
+                ByteBuffer data = map.duplicate();
+                data.limit((int) offset + length).position((int) offset);
+                frames[i] = new ImageFrame(type, data.slice(), width, height, stride,
+                                           null, pixelScale, metadata);
+            }
+            return frames;
+        }
+    }
+
+    private static long write(File file, ImageFrame[] frames) throws IOException {
+        // The header has a fixed size for a given set of frames, so write it
+        // once to find out where the pixel data starts.
+        long dataStart = align(header(frames, 0).length);
+        byte[] header = header(frames, dataStart);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+             FileChannel channel = raf.getChannel()) {
+            channel.write(ByteBuffer.wrap(header));
+            long offset = dataStart;
+            for (ImageFrame frame : frames) {
+                ByteBuffer data = ((ByteBuffer) frame.getImageData()).duplicate();
+                data.rewind();
+                long pos = offset;
+                while (data.hasRemaining()) {
+                    pos += channel.write(data, pos);
+                }
+                offset = align(pos);
+            }
+            raf.setLength(offset);
+            channel.force(false);
+            return offset;
+        }
+    }
+
+    private static byte[] header(ImageFrame[] frames, long dataStart) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(frames.length);
+        long offset = dataStart;
+        for (ImageFrame frame : frames) {
+            int length = frame.getImageData().limit();
+            out.writeInt(frame.getImageType().ordinal());
+            out.writeInt(frame.getWidth());
+            out.writeInt(frame.getHeight());
+            out.writeInt(frame.getStride());
+            out.writeFloat(frame.getPixelScale());
+            writeMetadata(out, frame.getMetadata());
+            out.writeLong(offset);
+            out.writeInt(length);
+            offset = align(offset + length);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static void writeMetadata(DataOutputStream out, ImageMetadata md) throws IOException {
+        if (md == null) {
+            out.writeInt(-1);
+            return;
+        }
+        Integer[] ints = metadataInts(md);
+        int mask = 0;
+        if (md.gamma != null) mask |= 1;
+        if (md.blackIsZero != null) mask |= 2;
+        for (int i = 0; i < ints.length; i++) {
+            if (ints[i] != null) mask |= 4 << i;
+        }
+        out.writeInt(mask);
+        if (md.gamma != null) out.writeFloat(md.gamma);
+        if (md.blackIsZero != null) out.writeBoolean(md.blackIsZero);
+        for (Integer value : ints) {
+            if (value != null) out.writeInt(value);
+        }
+    }
+
+    private static ImageMetadata readMetadata(ByteBuffer in) {
+        int mask = in.getInt();
+        if (mask == -1) {
+            return null;
+        }
+        Float gamma = (mask & 1) != 0 ? in.getFloat() : null;
+        Boolean blackIsZero = (mask & 2) != 0 ? in.get() != 0 : null;
+        Integer[] ints = new Integer[10];
+        for (int i = 0; i < ints.length; i++) {
+            if ((mask & (4 << i)) != 0) ints[i] = in.getInt();
+        }
+        return new ImageMetadata(gamma, blackIsZero, ints[0], ints[1], ints[2],
+                                 ints[3], ints[4], ints[5], ints[6], ints[7],
+                                 ints[8], ints[9]);
+    }
+
+    private static Integer[] metadataInts(ImageMetadata md) {
+        // Same order as the ImageMetadata constructor
+        return new Integer[] {
+            md.backgroundIndex, md.backgroundColor, md.transparentIndex,
+            md.delayTime, md.loopCount, md.imageWidth, md.imageHeight,
+            md.imageLeftPosition, md.imageTopPosition, md.disposalMethod
+        };
+    }
+
+    private synchronized void added(long size) {
+        if (totalBytes < 0) {
+            totalBytes = 0;
+            File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+            if (files != null) {
+                for (File f : files) {
+                    totalBytes += f.length();
+                }
+            }
+        } else {
+            totalBytes += size;
+        }
+        if (totalBytes > maxBytes) {
+            trim();
+        }
+    }
+
+    /**
+     * Deletes the least recently used entries until the cache is back to
+     * three quarters of its maximum size.
+     */
+    private void trim() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SUFFIX));
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        long target = maxBytes / 4 * 3;
+        for (File f : files) {
+            if (totalBytes <= target) {
+                break;
+            }
+            long length = f.length();
+            if (f.delete()) {
+                totalBytes -= length;
+            }
+        }
+    }
+}
@@ -291,6 +291,19 @@ public class ImageStorage {
             throw new ImageStorageException("URL can't be null or empty");
         }
 
+        ImageFrameCache cache = isIOS ? null : ImageFrameCache.getInstance();
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = cache.getKey(input, width, height, preserveAspectRatio,
+                                    devPixelScale, smooth);
+            if (cacheKey != null) {
+                ImageFrame[] cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+        }
+
         ImageFrame[] images = null;
         InputStream theStream = null;
         ImageLoader loader = null;
@@ -334,6 +347,10 @@ public class ImageStorage {
             }
         }
 
+        if (cacheKey != null) {
+            cache.put(cacheKey, images);
+        }
+
         return images;
     }
 
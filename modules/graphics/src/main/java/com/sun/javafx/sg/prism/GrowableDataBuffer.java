@@ -280,6 +280,28 @@ public class GrowableDataBuffer {
         }
     }
 
+    /**
+     * Discards the data and objects written after the indicated write
+     * positions, so that the next values and objects are written there.
+     * The discarded objects are cleared to nulls so that they can be
+     * collected.
+     *
+     * @param valpos the new write position of the byte-encoding buffer
+     * @param objpos the new write position of the {@code Object} buffer
+     * @throws IndexOutOfBoundsException if either position is before the
+     *         current read position or after the current write position
+     */
+    public void truncate(int valpos, int objpos) {
+        if (valpos < readvalpos || valpos > writevalpos ||
+            objpos < readobjpos || objpos > writeobjpos)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        writevalpos = valpos;
+        Arrays.fill(objs, objpos, writeobjpos, null);
+        writeobjpos = objpos;
+    }
+
     /**
      * Appends the contents of both the byte and {@code Object} buffers in
      * the indicated {@code GrowableDataBuffer} to this object.
@@ -46,6 +46,7 @@ import com.sun.javafx.geom.Shape;
 import com.sun.javafx.geom.transform.Affine2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.NoninvertibleTransformException;
+import com.sun.javafx.logging.PulseLogger;
 import com.sun.javafx.text.PrismTextLayout;
 import com.sun.javafx.tk.RenderJob;
 import com.sun.javafx.tk.ScreenConfigurationAccessor;
@@ -73,6 +74,7 @@ import com.sun.scenario.effect.impl.prism.PrDrawable;
 import com.sun.scenario.effect.impl.prism.PrFilterContext;
 import com.sun.scenario.effect.impl.prism.PrTexture;
 import javafx.scene.text.FontSmoothingType;
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
 
 /**
  */
@@ -804,6 +806,28 @@ public class NGCanvas extends NGNode {
     };
     private static final Affine2D TEMP_TX = new Affine2D();
     private void renderStream(GrowableDataBuffer buf) {
+        long startTime = 0L;
+        int startpos = 0;
+        if (PULSE_LOGGING_ENABLED) {
+            startTime = System.nanoTime();
+            startpos = buf.readValuePosition();
+            opsRendered = opsBatched = 0;
+        }
+        renderStreamOps(buf);
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("NGCanvas bytes replayed",
+                                         buf.readValuePosition() - startpos);
+            PulseLogger.incrementCounter("NGCanvas ops replayed", opsRendered);
+            PulseLogger.incrementCounter("NGCanvas ops batched", opsBatched);
+            PulseLogger.incrementCounter("NGCanvas replay time (us)",
+                                         (int) ((System.nanoTime() - startTime) / 1000L));
+        }
+    }
+
+    // Statistics for the pulse logger, only maintained while it is enabled
+    private int opsRendered, opsBatched;
+
+    private void renderStreamOps(GrowableDataBuffer buf) {
         while (buf.hasValues()) {
             int token = buf.getByte();
             switch (token) {
@@ -1050,6 +1074,9 @@ public class NGCanvas extends NGNode {
                 case FILL_TEXT:
                 case STROKE_TEXT:
                 {
+                    if (PULSE_LOGGING_ENABLED) {
+                        opsRendered++;
+                    }
                     RenderBuf dest;
                     boolean tempvalidated;
                     boolean clipvalidated = initClip();
@@ -1095,6 +1122,13 @@ public class NGCanvas extends NGNode {
                         RectBounds optSaveBounds =
                             (dest != cv) ? TEMP_RECTBOUNDS : null;
                         handleRenderOp(token, buf, g, optSaveBounds);
+                        if (dest == cv) {
+                            int batched = renderBatch(token, buf, g);
+                            if (PULSE_LOGGING_ENABLED) {
+                                opsRendered += batched;
+                                opsBatched += batched;
+                            }
+                        }
                         g.setClipRect(null);
                     }
                     if (clipvalidated) {
@@ -1159,6 +1193,110 @@ public class NGCanvas extends NGNode {
         }
     }
 
+    private static boolean nextTokenIs(GrowableDataBuffer buf, int token) {
+        return buf.hasValues() && buf.peekByte(buf.readValuePosition()) == token;
+    }
+
+    /**
+     * Renders the run of operations following an operation that was just
+     * rendered directly onto the canvas, for as long as they can share all
+     * of the state already set up on the Graphics. Consecutive FILL_RECT
+     * operations (optionally separated by fill paint changes) and consecutive
+     * DRAW_IMAGE and DRAW_SUBIMAGE operations on the same image are thus
+     * rendered without revalidating the clip, composite and transform for
+     * every operation, and end up as a single run of quads in the vertex
+     * buffer of the Graphics.
+     *
+     * @param token the stream token for the rendering op that was just rendered
+     * @param buf the GrowableDataBuffer positioned after that rendering op
+     * @param gr the Graphics of the canvas, set up for the rendering op
+     * @return the number of additional rendering ops that were consumed
+     */
+    private int renderBatch(int token, GrowableDataBuffer buf, Graphics gr) {
+        int count = 0;
+        switch (token) {
+            case FILL_RECT:
+                while (buf.hasValues()) {
+                    int next = buf.peekByte(buf.readValuePosition());
+                    if (next == FILL_PAINT) {
+                        // A paint change is only absorbed into the batch if
+                        // it is directly followed by another fill
+                        if (buf.readValuePosition() + 1 >= buf.writeValuePosition() ||
+                            buf.peekByte(buf.readValuePosition() + 1) != FILL_RECT)
+                        {
+                            break;
+                        }
+                        buf.getByte();
+                        fillPaint = (Paint) buf.getObject();
+                        setupFill(gr);
+                    } else if (next == FILL_RECT) {
+                        buf.getByte();
+                        float x = buf.getFloat();
+                        float y = buf.getFloat();
+                        float w = buf.getFloat();
+                        float h = buf.getFloat();
+                        gr.fillRect(x, y, w, h);
+                        count++;
+                    } else {
+                        break;
+                    }
+                }
+                break;
+            case DRAW_IMAGE:
+            case DRAW_SUBIMAGE:
+            {
+                Texture tex = null;
+                Image teximg = null;
+                while (nextTokenIs(buf, DRAW_IMAGE) || nextTokenIs(buf, DRAW_SUBIMAGE)) {
+                    Image img = (Image) buf.peekObject(buf.readObjectPosition());
+                    if (tex == null) {
+                        ResourceFactory factory = gr.getResourceFactory();
+                        tex = factory.getCachedTexture(img, Texture.WrapMode.CLAMP_TO_EDGE);
+                        if (tex == null) {
+                            break;
+                        }
+                        teximg = img;
+                    } else if (img != teximg) {
+                        break;
+                    }
+                    int imgtoken = buf.getByte();
+                    float dx = buf.getFloat();
+                    float dy = buf.getFloat();
+                    float dw = buf.getFloat();
+                    float dh = buf.getFloat();
+                    buf.getObject();
+                    float sx, sy, sw, sh;
+                    if (imgtoken == DRAW_IMAGE) {
+                        sx = sy = 0f;
+                        sw = img.getWidth();
+                        sh = img.getHeight();
+                    } else {
+                        sx = buf.getFloat();
+                        sy = buf.getFloat();
+                        sw = buf.getFloat();
+                        sh = buf.getFloat();
+                        float ps = img.getPixelScale();
+                        if (ps != 1.0f) {
+                            sx *= ps;
+                            sy *= ps;
+                            sw *= ps;
+                            sh *= ps;
+                        }
+                    }
+                    gr.drawTexture(tex,
+                                   dx, dy, dx+dw, dy+dh,
+                                   sx, sy, sx+sw, sy+sh);
+                    count++;
+                }
+                if (tex != null) {
+                    tex.unlock();
+                }
+                break;
+            }
+        }
+        return count;
+    }
+
     /**
      * Calculate bounds and/or render one single rendering operation.
      * All of the data for the rendering operation should be consumed
@@ -1540,6 +1678,9 @@ public class NGCanvas extends NGNode {
         } else {
             this.thebuf.append(buf);
             retbuf = buf;
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("NGCanvas buffer appended while rendering behind");
+            }
         }
         geometryChanged();
         if (retbuf != null) {
@@ -26,7 +26,9 @@
 package com.sun.javafx.sg.prism;
 
 import javafx.scene.layout.Background;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.logging.PulseLogger;
@@ -35,12 +37,14 @@ import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.impl.packrect.RectanglePacker;
 
 /**
- * RegionImageCache - A fixed pixel count sized cache of Images keyed by arbitrary set of arguments. All images are held with
- * SoftReferences so they will be dropped by the GC if heap memory gets tight. When our size hits max pixel count least
- * recently requested images are removed first.
+ * RegionImageCache - A cache of Images keyed by arbitrary set of arguments. The images are packed in one or
+ * more backing textures (pages). Pages are added on demand until the budget given by prism.regioncachesize is
+ * reached, after that the page with the least reuse per cached pixel is flushed to make room. Reuse counts
+ * are halved every time a page is flushed so that images which are no longer drawn lose their weight.
  *
  */
 class RegionImageCache {
@@ -49,17 +53,33 @@ class RegionImageCache {
     private final static int MAX_SIZE = 300 * 300;
     private static final int WIDTH = 1024;
     private static final int HEIGHT = 1024;
+    // Each page holds two WIDTH x HEIGHT halves of 32 bit pixels
+    private static final long PAGE_BYTES = 4L * (WIDTH + WIDTH) * HEIGHT;
+    private static final int MAX_PAGES = 8;
 
+    private final ResourceFactory factory;
+    private final WrapMode mode;
+    private final int pad;
     private HashMap<Integer, CachedImage> imageMap;
-    private RTTexture backingStore;
-    private RectanglePacker hPacker;
-    private RectanglePacker vPacker;
+    private final Page[] pages;
+    private int pageCount;
+    private int maxPages;
+    private Page currentPage;
+    private long useStamp;
 
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long flushes;
 
     RegionImageCache(final ResourceFactory factory) {
+        this(factory, (int) Math.max(1, Math.min(MAX_PAGES, PrismSettings.regionCacheSize / PAGE_BYTES)));
+    }
+
+    RegionImageCache(final ResourceFactory factory, int maxPages) {
+        this.factory = factory;
         imageMap = new HashMap<>();
-        WrapMode mode;
-        int pad;
         if (factory.isWrapModeSupported(WrapMode.CLAMP_TO_ZERO)) {
             mode = WrapMode.CLAMP_TO_ZERO;
             pad = 0;
@@ -67,19 +87,11 @@ class RegionImageCache {
             mode = WrapMode.CLAMP_NOT_NEEDED;
             pad = 1;
         }
-        backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
-        backingStore.contentsUseful();
-        backingStore.makePermanent();
-        factory.setRegionTexture(backingStore);
-        // Subdivide the texture in two halves where on half is used to store
-        // horizontal regions and the other vertical regions. Otherwise, mixing
-        // horizontal and vertical regions on the same area, would result in
-        // a lot of waste texture space.
-        // Note that requests are already padded on the right and bottom edges
-        // (and that includes the gap between the caches) so we only have to
-        // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
-        hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
-        vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        this.pages = new Page[maxPages];
+        this.maxPages = maxPages;
+        currentPage = addPage();
+        // Only the first page is bound by the super shader
+        factory.setRegionTexture(currentPage.backingStore);
     }
 
     /**
@@ -95,8 +107,41 @@ class RegionImageCache {
                (w * h) < MAX_SIZE;
     }
 
+    /**
+     * Returns the texture holding the image found or added by the last
+     * call to {@link #getImageLocation}.
+     */
     RTTexture getBackingStore() {
-        return backingStore;
+        return currentPage.backingStore;
+    }
+
+    boolean isSurfaceLost() {
+        for (int i = 0; i < pageCount; i++) {
+            if (pages[i].backingStore.isSurfaceLost()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getPageCount() {
+        return pageCount;
+    }
+
+    long getHitCount() {
+        return hits;
+    }
+
+    long getMissCount() {
+        return misses;
+    }
+
+    long getEvictionCount() {
+        return evictions;
+    }
+
+    long getFlushCount() {
+        return flushes;
     }
 
     /**
@@ -121,6 +166,10 @@ class RegionImageCache {
             if (cache.equals(rect.width, rect.height, background, shape)) {
                 rect.x = cache.x;
                 rect.y = cache.y;
+                currentPage = cache.page;
+                currentPage.uses++;
+                currentPage.lastUse = ++useStamp;
+                hits++;
                 return false;
             }
             // hash collision, mark rectangle empty indicates the caller to
@@ -128,31 +177,124 @@ class RegionImageCache {
             rect.width = rect.height = -1;
             return false;
         }
-        boolean vertical = rect.height > 64;
-        RectanglePacker packer = vertical ? vPacker : hPacker;
-
-        if (!packer.add(rect)) {
-            g.sync();
-
-            vPacker.clear();
-            hPacker.clear();
-            imageMap.clear();
-            packer.add(rect);
-            backingStore.createGraphics().clear();
-            if (PULSE_LOGGING_ENABLED) {
-                PulseLogger.incrementCounter("Region image cache flushed");
+        misses++;
+        final Page page = allocate(rect, g);
+        final CachedImage image = new CachedImage(key, page, rect, background, shape);
+        page.images.add(image);
+        page.pixels += (long) rect.width * rect.height;
+        page.lastUse = ++useStamp;
+        imageMap.put(key, image);
+        currentPage = page;
+        return true;
+    }
+
+    private Page allocate(Rectangle rect, Graphics g) {
+        final boolean vertical = rect.height > 64;
+        for (int i = 0; i < pageCount; i++) {
+            if (pages[i].getPacker(vertical).add(rect)) {
+                return pages[i];
             }
         }
-        imageMap.put(key, new CachedImage(rect, background, shape));
-        return true;
+        if (pageCount < maxPages) {
+            Page page = addPage();
+            if (page != null && page.getPacker(vertical).add(rect)) {
+                return page;
+            }
+        }
+
+        Page victim = pages[0];
+        for (int i = 1; i < pageCount; i++) {
+            Page page = pages[i];
+            // Compare uses per pixel, least recently used first on a tie
+            long a = (long) page.uses * victim.pixels;
+            long b = (long) victim.uses * page.pixels;
+            if (a < b || (a == b && page.lastUse < victim.lastUse)) {
+                victim = page;
+            }
+        }
+        flush(victim, g);
+        victim.getPacker(vertical).add(rect);
+        return victim;
+    }
+
+    private Page addPage() {
+        RTTexture backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
+        if (backingStore == null && pageCount > 0) {
+            // Out of texture memory, make do with the pages we have
+            maxPages = pageCount;
+            return null;
+        }
+        backingStore.contentsUseful();
+        backingStore.makePermanent();
+        Page page = new Page(backingStore, pad);
+        pages[pageCount++] = page;
+        return page;
+    }
+
+    private void flush(Page page, Graphics g) {
+        g.sync();
+
+        page.hPacker.clear();
+        page.vPacker.clear();
+        for (CachedImage image : page.images) {
+            imageMap.remove(image.key);
+        }
+        final int evicted = page.images.size();
+        page.images.clear();
+        page.pixels = 0;
+        page.uses = 0;
+        page.backingStore.createGraphics().clear();
+
+        // Age the reuse counts of the other pages
+        for (int i = 0; i < pageCount; i++) {
+            pages[i].uses >>= 1;
+        }
+
+        evictions += evicted;
+        flushes++;
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache flushed");
+            PulseLogger.incrementCounter("Region image cache evicted images", evicted);
+        }
+    }
+
+    private static class Page {
+        final RTTexture backingStore;
+        final RectanglePacker hPacker;
+        final RectanglePacker vPacker;
+        final List<CachedImage> images = new ArrayList<>();
+        long pixels;
+        int uses;
+        long lastUse;
+
+        Page(RTTexture backingStore, int pad) {
+            this.backingStore = backingStore;
+            // Subdivide the texture in two halves where on half is used to store
+            // horizontal regions and the other vertical regions. Otherwise, mixing
+            // horizontal and vertical regions on the same area, would result in
+            // a lot of waste texture space.
+            // Note that requests are already padded on the right and bottom edges
+            // (and that includes the gap between the caches) so we only have to
+            // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
+            hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
+            vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        }
+
+        RectanglePacker getPacker(boolean vertical) {
+            return vertical ? vPacker : hPacker;
+        }
     }
 
     static class CachedImage {
+        final Integer key;
+        final Page page;
         Background background;
         Shape shape;
         int x, y, width, height;
 
-        CachedImage(Rectangle rect, Background background, Shape shape) {
+        CachedImage(Integer key, Page page, Rectangle rect, Background background, Shape shape) {
+            this.key = key;
+            this.page = page;
             this.x = rect.x;
             this.y = rect.y;
             this.width = rect.width;
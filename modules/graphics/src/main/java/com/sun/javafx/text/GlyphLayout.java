@@ -334,6 +334,66 @@ public abstract class GlyphLayout {
     public abstract void layout(TextRun run, PGFont font,
                                 FontStrike strike, char[] text);
 
+    /* Complex runs up to this length are kept in the shape cache */
+    private static final int MAX_RUN_SIZE = 256;
+    private static final TextCache<ShapedRun> shapeCache =
+            PrismFontFactory.cacheLayoutSize > 0 ?
+            new TextCache<>(PrismFontFactory.cacheLayoutSize) : null;
+
+    /**
+     * Returns the cache of shaped complex runs shared by all instances, so
+     * that its hit rate can be monitored, or null if caching is disabled.
+     */
+    public static TextCache<?> getShapeCache() {
+        return shapeCache;
+    }
+
+    /**
+     * Shapes the run, reusing the glyphs of an identical run that was
+     * shaped before with the same font, level and script.
+     */
+    public void shape(TextRun run, PGFont font, FontStrike strike, char[] text) {
+        int length = run.getLength();
+        if (shapeCache == null || length > MAX_RUN_SIZE) {
+            layout(run, font, strike, text);
+            return;
+        }
+
+        int mask = TextRun.FLAGS_NO_LINK_BEFORE | TextRun.FLAGS_NO_LINK_AFTER |
+                   TextRun.FLAGS_CANONICAL;
+        long attributes = (run.level & 0xFF) | (run.flags & mask) << 8 |
+                          (long)run.script << 32 | (long)run.slot << 48;
+        TextCache.Key key = new TextCache.Key(text, run.getStart(), length, font, attributes);
+        ShapedRun shaped = shapeCache.get(key);
+        if (shaped != null) {
+            /* The positions are modified by justification */
+            run.shape(shaped.glyphCount, shaped.glyphs, shaped.positions.clone(),
+                      shaped.charIndices);
+            return;
+        }
+
+        layout(run, font, strike, text);
+        if (run.positions != null) {
+            shapeCache.put(key.copy(), new ShapedRun(run.glyphCount, run.gids,
+                                                     run.positions.clone(),
+                                                     run.charIndices));
+        }
+    }
+
+    private static final class ShapedRun {
+        final int glyphCount;
+        final int[] glyphs;
+        final float[] positions;
+        final int[] charIndices;
+
+        ShapedRun(int glyphCount, int[] glyphs, float[] positions, int[] charIndices) {
+            this.glyphCount = glyphCount;
+            this.glyphs = glyphs;
+            this.positions = positions;
+            this.charIndices = charIndices;
+        }
+    }
+
     protected int getInitialSlot(FontResource fr) {
         /* For some reason, DirectWrite and CoreText do not work with the JRE
          * fonts (Lucida Sans). For example, with Arabic text the glyphs
@@ -50,8 +50,6 @@ import com.sun.javafx.scene.text.TextSpan;
 import java.text.Bidi;
 import java.text.BreakIterator;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Hashtable;
 
 public class PrismTextLayout implements TextLayout {
     private static final BaseTransform IDENTITY = BaseTransform.IDENTITY_TRANSFORM;
@@ -60,17 +58,15 @@ public class PrismTextLayout implements TextLayout {
     private static final int X_MAX_INDEX = 2;
     private static final int Y_MAX_INDEX = 3;
 
-    private static final Hashtable<Integer, LayoutCache> stringCache = new Hashtable<>();
-    private static final Object  CACHE_SIZE_LOCK = new Object();
-    private static int cacheSize = 0;
     private static final int MAX_STRING_SIZE = 256;
     private static final int MAX_CACHE_SIZE = PrismFontFactory.cacheLayoutSize;
+    private static final TextCache<LayoutCache> stringCache = new TextCache<>(MAX_CACHE_SIZE);
 
     private char[] text;
     private TextSpan[] spans;   /* Rich text  (null for single font text) */
     private PGFont font;        /* Single font text (null for rich text) */
     private FontStrike strike;  /* cached strike of font (identity) */
-    private Integer cacheKey;
+    private TextCache.Key cacheKey;
     private TextLine[] lines;
     private TextRun[] runs;
     private int runCount;
@@ -87,6 +83,14 @@ public class PrismTextLayout implements TextLayout {
         flags = ALIGN_LEFT;
     }
 
+    /**
+     * Returns the cache of layouts shared by all instances, so that its hit
+     * rate can be monitored.
+     */
+    public static TextCache<?> getLayoutCache() {
+        return stringCache;
+    }
+
     private void reset() {
         layoutCache = null;
         runs = null;
@@ -140,7 +144,7 @@ public class PrismTextLayout implements TextLayout {
         if (MAX_CACHE_SIZE > 0) {
             int length = text.length();
             if (0 < length && length <= MAX_STRING_SIZE) {
-                cacheKey = text.hashCode() * strike.hashCode();
+                cacheKey = new TextCache.Key(this.text, 0, length, this.font, flags & DIRECTION_MASK);
             }
         }
         return true;
@@ -150,6 +154,10 @@ public class PrismTextLayout implements TextLayout {
         if ((flags & DIRECTION_MASK) == direction) return false;
         flags &= ~DIRECTION_MASK;
         flags |= (direction & DIRECTION_MASK);
+        if (cacheKey != null) {
+            /* The runs depend on the direction */
+            cacheKey = new TextCache.Key(text, 0, text.length, font, flags & DIRECTION_MASK);
+        }
         reset();
         return true;
     }
@@ -677,7 +685,7 @@ public class PrismTextLayout implements TextLayout {
         if (cacheKey != null) {
             if (layoutCache == null) {
                 LayoutCache cache = stringCache.get(cacheKey);
-                if (cache != null && cache.font.equals(font) && Arrays.equals(cache.text, text)) {
+                if (cache != null) {
                     layoutCache = cache;
                     runs = cache.runs;
                     runCount = cache.runCount;
@@ -831,7 +839,7 @@ public class PrismTextLayout implements TextLayout {
         if (run.getGlyphCount() > 0) return;
         if (run.isComplex()) {
             /* Use GlyphLayout to shape complex text */
-            layout.layout(run, font, strike, chars);
+            layout.shape(run, font, strike, chars);
         } else {
             FontResource fr = strike.getFontResource();
             int start = run.getStart();
@@ -1283,23 +1291,13 @@ public class PrismTextLayout implements TextLayout {
                  * be immutable. See copyCache() for the cases where the entire
                  * layout is immutable.
                  */
-                layoutCache.font = font;
-                layoutCache.text = text;
                 layoutCache.runs = runs;
                 layoutCache.runCount = runCount;
                 layoutCache.lines = lines;
                 layoutCache.layoutWidth = layoutWidth;
                 layoutCache.layoutHeight = layoutHeight;
                 layoutCache.analysis = flags & ANALYSIS_MASK;
-                synchronized (CACHE_SIZE_LOCK) {
-                    int charCount = chars.length;
-                    if (cacheSize + charCount > MAX_CACHE_SIZE) {
-                        stringCache.clear();
-                        cacheSize = 0;
-                    }
-                    stringCache.put(cacheKey, layoutCache);
-                    cacheSize += charCount;
-                }
+                stringCache.put(cacheKey, layoutCache);
             }
             layoutCache.valid = true;
         }
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sun.javafx.font.PGFont;
+
+/**
+ * A bounded cache of text layout results shared by all threads. Entries are
+ * keyed by the characters, the font and the attributes that affect the
+ * result, and are weighted by their number of characters. When the total
+ * weight exceeds the capacity the least recently used entries are evicted.
+ * The values must not be modified once they are added, as they can be
+ * handed to several layouts at the same time.
+ */
+public final class TextCache<V> {
+
+    private final LinkedHashMap<Key, Entry<V>> map = new LinkedHashMap<>(256, 0.75f, true);
+    private final int capacity;
+    private int weight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    TextCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the value for the given key, or null if it is not cached.
+     */
+    synchronized V get(Key key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * Adds a value to the cache. The key must not share its characters with
+     * anything that can be modified later.
+     */
+    synchronized void put(Key key, V value) {
+        int length = key.length;
+        if (length > capacity) {
+            return;
+        }
+        Entry<V> old = map.put(key, new Entry<>(value, length));
+        if (old != null) {
+            weight -= old.weight;
+        }
+        weight += length;
+
+        Iterator<Entry<V>> iterator = map.values().iterator();
+        while (weight > capacity && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of characters held by the cached entries.
+     */
+    public synchronized int getWeight() {
+        return weight;
+    }
+
+    public synchronized int size() {
+        return map.size();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that found a cached entry.
+     */
+    public synchronized double getHitRate() {
+        long count = hitCount + missCount;
+        return count == 0 ? 0 : (double) hitCount / count;
+    }
+
+    public synchronized void resetStatistics() {
+        hitCount = missCount = evictionCount = 0;
+    }
+
+    @Override public synchronized String toString() {
+        return "TextCache[entries=" + map.size() + ", weight=" + weight + "/" + capacity
+                + ", hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final int weight;
+
+        Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Identifies a range of characters laid out with a font and a set of
+     * attributes, such as the direction or the bidi level.
+     */
+    static final class Key {
+        private final char[] text;
+        private final int start;
+        private final int length;
+        private final PGFont font;
+        private final long attributes;
+        private final int hash;
+
+        Key(char[] text, int start, int length, PGFont font, long attributes) {
+            this.text = text;
+            this.start = start;
+            this.length = length;
+            this.font = font;
+            this.attributes = attributes;
+
+            int h = 1;
+            for (int i = start, end = start + length; i < end; i++) {
+                h = 31 * h + text[i];
+            }
+            h = 31 * h + font.hashCode();
+            h = 31 * h + (int)(attributes ^ (attributes >>> 32));
+            this.hash = h;
+        }
+
+        /**
+         * Returns an equal key that owns a copy of its characters.
+         */
+        Key copy() {
+            if (start == 0 && length == text.length) {
+                return this;
+            }
+            char[] chars = new char[length];
+            System.arraycopy(text, start, chars, 0, length);
+            return new Key(chars, 0, length, font, attributes, hash);
+        }
+
+        private Key(char[] text, int start, int length, PGFont font, long attributes, int hash) {
+            this.text = text;
+            this.start = start;
+            this.length = length;
+            this.font = font;
+            this.attributes = attributes;
+            this.hash = hash;
+        }
+
+        @Override public int hashCode() {
+            return hash;
+        }
+
+        @Override public boolean equals(Object obj) {
+            if (obj == this) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key)obj;
+            if (hash != other.hash || length != other.length ||
+                attributes != other.attributes || !font.equals(other.font)) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (text[start + i] != other.text[other.start + i]) return false;
+            }
+            return true;
+        }
+    }
+}
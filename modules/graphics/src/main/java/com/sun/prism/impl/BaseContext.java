@@ -178,6 +178,20 @@ public abstract class BaseContext {
         return getGlyphCache(strike, glyphCaches);
     }
 
+    /**
+     * Removes the glyph cache of the strike once all of its glyphs have been
+     * evicted from the glyph atlas.
+     */
+    void removeGlyphCache(FontStrike strike, GlyphCache glyphCache) {
+        Map<FontStrike, GlyphCache> glyphCaches =
+            (strike.getAAMode() == FontResource.AA_LCD)
+            ? lcdGlyphCaches : greyGlyphCaches;
+        if (glyphCaches.get(strike) == glyphCache) {
+            glyphCaches.remove(strike);
+            strike.clearDesc();
+        }
+    }
+
     public boolean isSuperShaderEnabled() {
         return false;
     }
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.ResourceFactory;
+import com.sun.prism.Texture;
+import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.GlyphCache.GlyphData;
+import com.sun.prism.impl.packrect.RectanglePacker;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
+import com.sun.javafx.logging.PulseLogger;
+
+/**
+ * The mask textures holding the rasterized glyphs of all the GlyphCaches of
+ * a context. The atlas starts with a single page and grows up to
+ * {@code prism.glyphCachePages} pages. Once all pages are full the least
+ * recently used page is compacted: its least recently used glyphs are
+ * evicted from their GlyphCache and the remaining ones are packed again.
+ * Only when a glyph cannot be placed even after compaction, because the
+ * glyphs needed by the current draw fill the page, is the whole atlas
+ * cleared, and the GlyphCache then caches the glyphs of its string again.
+ * <p>
+ * Glyph use is tracked with a stamp that GlyphCache advances for every
+ * string it draws, so glyphs needed by the string being drawn are never
+ * evicted by a compaction. A GlyphCache left without any glyph on the atlas
+ * is released at the start of the next use, never while it is drawing.
+ */
+class GlyphAtlas {
+
+    static final class Page {
+        final int index;
+        final Texture texture;
+        final RectanglePacker packer;
+        List<GlyphData> glyphs = new ArrayList<GlyphData>();
+        long lastUse;
+
+        Page(int index, Texture texture, int width, int height) {
+            this.index = index;
+            this.texture = texture;
+            this.packer = new RectanglePacker(texture, width, height);
+        }
+    }
+
+    private final BaseContext context;
+    private final boolean isLCD;
+    private final int width;
+    private final int height;
+    private final Page[] pages;
+    private int pageCount;
+    private long useStamp;
+    private final List<GlyphCache> emptyCaches = new ArrayList<GlyphCache>();
+
+    // Statistics
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long compactions;
+    private long clears;
+
+    GlyphAtlas(BaseContext context, boolean isLCD,
+               int width, int height, int maxPages) {
+        this.context = context;
+        this.isLCD = isLCD;
+        this.width = width;
+        this.height = height;
+        this.pages = new Page[maxPages];
+    }
+
+    int getPageCount() {
+        return pageCount;
+    }
+
+    Page getPage(int index) {
+        if (index == 0 && pageCount == 0) {
+            addPage();
+        }
+        return pages[index];
+    }
+
+    /**
+     * Starts a new use of the atlas, glyphs touched from now on are not
+     * evicted until the next call.
+     */
+    void nextUse() {
+        nextUse(null);
+    }
+
+    /**
+     * Starts a new use of the atlas by the given cache, and releases the
+     * other caches whose glyphs have all been evicted since.
+     */
+    void nextUse(GlyphCache user) {
+        useStamp++;
+        if (!emptyCaches.isEmpty()) {
+            for (GlyphCache cache : emptyCaches) {
+                if (cache != user) {
+                    cache.releaseIfEmpty();
+                }
+            }
+            emptyCaches.clear();
+        }
+    }
+
+    /**
+     * Called when the last glyph of the cache has been evicted.
+     */
+    void cacheEmptied(GlyphCache cache) {
+        emptyCaches.add(cache);
+    }
+
+    void touch(GlyphData data) {
+        data.lastUse = useStamp;
+        data.page.lastUse = useStamp;
+    }
+
+    void addStatistics(int hitCount, int missCount) {
+        hits += hitCount;
+        misses += missCount;
+        if (PULSE_LOGGING_ENABLED) {
+            if (hitCount > 0) {
+                PulseLogger.incrementCounter("Font Glyph Cache hits", hitCount);
+            }
+            if (missCount > 0) {
+                PulseLogger.incrementCounter("Font Glyph Cache misses", missCount);
+            }
+        }
+    }
+
+    long getHitCount() {
+        return hits;
+    }
+
+    long getMissCount() {
+        return misses;
+    }
+
+    long getEvictionCount() {
+        return evictions;
+    }
+
+    long getCompactionCount() {
+        return compactions;
+    }
+
+    long getClearCount() {
+        return clears;
+    }
+
+    /**
+     * Places the rectangle of the given glyph on a page, compacting the
+     * least recently used page when all pages are full. If there is no room
+     * for the glyph without evicting glyphs of the current use, the whole
+     * atlas is cleared first, which the caller can detect with
+     * {@link #getClearCount}. Returns false if the glyph does not fit even
+     * on an empty page.
+     */
+    boolean allocate(GlyphData data) {
+        final Rectangle rect = data.getRect();
+        for (int i = 0; i < pageCount; i++) {
+            if (pages[i].packer.add(rect)) {
+                return place(pages[i], data);
+            }
+        }
+        if (pageCount < pages.length) {
+            Page page = addPage();
+            return page.packer.add(rect) && place(page, data);
+        }
+
+        Page victim = pages[0];
+        for (int i = 1; i < pageCount; i++) {
+            if (pages[i].lastUse < victim.lastUse) {
+                victim = pages[i];
+            }
+        }
+        if (compact(victim) && victim.packer.add(rect)) {
+            return place(victim, data);
+        }
+
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Font Glyph Cache Cleared");
+        }
+        clear();
+        return pages[0].packer.add(rect) && place(pages[0], data);
+    }
+
+    private boolean place(Page page, GlyphData data) {
+        data.page = page;
+        page.glyphs.add(data);
+        touch(data);
+        return true;
+    }
+
+    /**
+     * Evicts the older half of the glyphs on the page, except those of the
+     * current use, and packs the remaining ones again. Returns false, with
+     * the remaining glyphs left on the page unpacked, if the glyphs of the
+     * current use do not fit; the page must then be cleared.
+     */
+    private boolean compact(Page page) {
+        // Pending vertices may sample the glyphs which are about to move
+        flush();
+
+        List<GlyphData> glyphs = page.glyphs;
+        glyphs.sort((a, b) -> Long.compare(b.lastUse, a.lastUse));
+        page.packer.clear();
+        page.glyphs = new ArrayList<GlyphData>(glyphs.size());
+        page.lastUse = 0;
+
+        final long budget = (long) width * height / 2;
+        long used = 0;
+        int evicted = 0;
+        boolean packed = true;
+        List<GlyphData> moved = new ArrayList<GlyphData>();
+        for (GlyphData data : glyphs) {
+            if (!packed) {
+                page.glyphs.add(data);
+                continue;
+            }
+            Rectangle rect = data.getRect();
+            long area = (long) rect.width * rect.height;
+            boolean current = data.lastUse == useStamp;
+            if ((current || used + area <= budget) && page.packer.add(rect)) {
+                used += area;
+                page.glyphs.add(data);
+                page.lastUse = Math.max(page.lastUse, data.lastUse);
+                moved.add(data);
+            } else if (current) {
+                // Glyphs are sorted most recent first, so the rest of
+                // the glyphs of the current use would not fit either
+                packed = false;
+                page.glyphs.add(data);
+            } else {
+                data.page = null;
+                evict(data);
+                evicted++;
+            }
+        }
+        if (packed) {
+            for (GlyphData data : moved) {
+                upload(data);
+            }
+        }
+
+        evictions += evicted;
+        compactions++;
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Font Glyph Cache page compacted");
+            PulseLogger.incrementCounter("Font Glyph Cache evictions", evicted);
+        }
+        return packed;
+    }
+
+    /**
+     * Removes every glyph from the atlas.
+     */
+    void clear() {
+        // Pending vertices may sample the glyphs which are about to go
+        flush();
+        for (int i = 0; i < pageCount; i++) {
+            Page page = pages[i];
+            for (GlyphData data : page.glyphs) {
+                data.page = null;
+                evict(data);
+            }
+            page.glyphs.clear();
+            page.packer.clear();
+            page.lastUse = 0;
+        }
+        clears++;
+    }
+
+    private Page addPage() {
+        Page page = new Page(pageCount, createTexture(pageCount), width, height);
+        pages[pageCount++] = page;
+        return page;
+    }
+
+    protected Texture createTexture(int index) {
+        ResourceFactory factory = context.getResourceFactory();
+        Texture tex = factory.createMaskTexture(width, height,
+                                                WrapMode.CLAMP_NOT_NEEDED);
+        tex.contentsUseful();
+        tex.makePermanent();
+        if (!isLCD && index == 0) {
+            // Only the first page is bound by the super shader
+            factory.setGlyphTexture(tex);
+        }
+        tex.setLinearFiltering(false);
+        return tex;
+    }
+
+    protected void flush() {
+        context.flushVertexBuffer();
+    }
+
+    protected void evict(GlyphData data) {
+        data.owner.evict(data);
+    }
+
+    protected void upload(GlyphData data) {
+        data.owner.upload(data);
+    }
+}
@@ -35,7 +35,6 @@ import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Point2D;
 import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.scene.text.GlyphList;
-import com.sun.prism.impl.packrect.RectanglePacker;
 import com.sun.prism.Texture;
 import com.sun.prism.impl.shape.MaskData;
 import com.sun.prism.paint.Color;
@@ -44,11 +43,6 @@ import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.WeakHashMap;
 
-import static com.sun.javafx.logging.PulseLogger.PULSE_LOGGING_ENABLED;
-import com.sun.javafx.logging.PulseLogger;
-
-import com.sun.prism.ResourceFactory;
-import com.sun.prism.Texture.WrapMode;
 
 public class GlyphCache {
 
@@ -76,18 +70,21 @@ public class GlyphCache {
     // Using them for subpixel
     private static final int SUBPIXEL_SHIFT = 27;
 
-    private RectanglePacker packer;
+    private final GlyphAtlas atlas;
 
     private boolean isLCDCache;
 
-    /* Share a RectanglePacker and its associated texture cache
+    // The number of glyphs of this strike which are on an atlas page
+    private int residentGlyphs;
+
+    /* Share a GlyphAtlas and its associated textures
      * for all uses on a particular screen.
      */
-    static WeakHashMap<BaseContext, RectanglePacker> greyPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> greyAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
-    static WeakHashMap<BaseContext, RectanglePacker> lcdPackerMap =
-        new WeakHashMap<BaseContext, RectanglePacker>();
+    static WeakHashMap<BaseContext, GlyphAtlas> lcdAtlasMap =
+        new WeakHashMap<BaseContext, GlyphAtlas>();
 
     public GlyphCache(BaseContext context, FontStrike strike) {
         this.context = context;
@@ -96,27 +93,75 @@ public class GlyphCache {
         //int numSegments = (numGlyphs + SEGSIZE-1)/SEGSIZE;
         //this.glyphs = new GlyphData[numSegments][];
         isLCDCache = strike.getAAMode() == FontResource.AA_LCD;
-        WeakHashMap<BaseContext, RectanglePacker>
-            packerMap = isLCDCache ? lcdPackerMap : greyPackerMap;
-        packer = packerMap.get(context);
-        if (packer == null) {
-            ResourceFactory factory = context.getResourceFactory();
-            Texture tex = factory.createMaskTexture(WIDTH, HEIGHT,
-                                                    WrapMode.CLAMP_NOT_NEEDED);
-            tex.contentsUseful();
-            tex.makePermanent();
-            if (!isLCDCache) {
-                factory.setGlyphTexture(tex);
+        WeakHashMap<BaseContext, GlyphAtlas>
+            atlasMap = isLCDCache ? lcdAtlasMap : greyAtlasMap;
+        GlyphAtlas a = atlasMap.get(context);
+        if (a == null) {
+            a = new GlyphAtlas(context, isLCDCache, WIDTH, HEIGHT,
+                               PrismSettings.glyphCachePages);
+            atlasMap.put(context, a);
+        }
+        atlas = a;
+    }
+
+    /**
+     * Makes sure the glyphs of the list which are to be rendered by
+     * {@link #render} are in the glyph atlas and returns a bit mask of the
+     * atlas pages holding them. Each of these pages must then be rendered
+     * with its own backing store.
+     */
+    public int prepare(GlyphList gl, float x, float y, BaseBounds clip) {
+        int pages = 0;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            atlas.nextUse(this);
+            long clears = atlas.getClearCount();
+            int hits = 0;
+            int misses = 0;
+            pages = 0;
+            int len = gl.getGlyphCount();
+            Point2D pt = new Point2D();
+            for (int gi = 0; gi < len; gi++) {
+                int gc = gl.getGlyphCode(gi);
+                if ((gc & CompositeGlyphMapper.GLYPHMASK) == CharToGlyphMapper.INVISIBLE_GLYPH_ID) {
+                    continue;
+                }
+                pt.setLocation(x + gl.getPosX(gi), y + gl.getPosY(gi));
+                int subPixel = strike.getQuantizedPosition(pt);
+                GlyphData data = lookupGlyph(gc, subPixel);
+                if (data != null) {
+                    hits++;
+                } else {
+                    misses++;
+                    data = getCachedGlyph(gc, subPixel);
+                }
+                if (data != null) {
+                    if (clip != null) {
+                        if (x + gl.getPosX(gi) > clip.getMaxX()) break;
+                        if (x + gl.getPosX(gi + 1) < clip.getMinX()) continue;
+                    }
+                    if (data.page != null) {
+                        atlas.touch(data);
+                        pages |= 1 << data.page.index;
+                    }
+                }
+            }
+            atlas.addStatistics(hits, misses);
+            if (atlas.getClearCount() == clears) {
+                break;
             }
-            tex.setLinearFiltering(false);
-            packer = new RectanglePacker(tex, WIDTH, HEIGHT);
-            packerMap.put(context, packer);
+            // The atlas was cleared while caching the glyphs, so the glyphs
+            // cached before that are gone. Try once more.
         }
+        return pages;
     }
 
+    /**
+     * Renders the glyphs of the list which are on the given atlas page. The
+     * glyphs must have been cached by {@link #prepare}.
+     */
     public void render(BaseContext ctx, GlyphList gl, float x, float y,
                        int start, int end, Color rangeColor, Color textColor,
-                       BaseTransform xform, BaseBounds clip) {
+                       BaseTransform xform, BaseBounds clip, int page) {
 
         int dstw, dsth;
         if (isLCDCache) {
@@ -126,7 +171,7 @@ public class GlyphCache {
             dstw = 1;
             dsth = 1;
         }
-        Texture tex = getBackingStore();
+        Texture tex = getBackingStore(page);
         VertexBuffer vb = ctx.getVertexBuffer();
 
         int len = gl.getGlyphCount();
@@ -144,13 +189,18 @@ public class GlyphCache {
             }
             pt.setLocation(x + gl.getPosX(gi), y + gl.getPosY(gi));
             int subPixel = strike.getQuantizedPosition(pt);
-            GlyphData data = getCachedGlyph(gc, subPixel);
+            GlyphData data = lookupGlyph(gc, subPixel);
             if (data != null) {
                 if (clip != null) {
                     // Always check clipping using user space.
                     if (x + gl.getPosX(gi) > clip.getMaxX()) break;
                     if (x + gl.getPosX(gi + 1) < clip.getMinX()) continue;
                 }
+                if (data.page == null || data.page.index != page) {
+                    // Glyph with no visual representation (whitespace)
+                    // or on another page
+                    continue;
+                }
                 /* Will not render selected text for complex
                  * paints such as gradient.
                  */
@@ -222,25 +272,114 @@ public class GlyphCache {
     }
 
     public Texture getBackingStore() {
-        return packer.getBackingStore();
+        return getBackingStore(0);
+    }
+
+    public Texture getBackingStore(int page) {
+        return atlas.getPage(page).texture;
     }
 
     public void clear() {
         glyphDataMap.clear();
+        residentGlyphs = 0;
+    }
+
+    private static int segmentIndex(int glyphCode, int subPixel) {
+        return (glyphCode >> SEGSHIFT) | (subPixel << SUBPIXEL_SHIFT);
+    }
+
+    private GlyphData lookupGlyph(int glyphCode, int subPixel) {
+        GlyphData[] segment = glyphDataMap.get(segmentIndex(glyphCode, subPixel));
+        return segment != null ? segment[glyphCode % SEGSIZE] : null;
+    }
+
+    /**
+     * Called by the atlas when the glyph is evicted from its page.
+     */
+    void evict(GlyphData data) {
+        GlyphData[] segment = glyphDataMap.get(segmentIndex(data.glyphCode, data.subPixel));
+        int subIndex = data.glyphCode % SEGSIZE;
+        if (segment != null && segment[subIndex] == data) {
+            segment[subIndex] = null;
+            if (--residentGlyphs == 0) {
+                // Nothing of this strike is left in the atlas, let it go
+                // once the atlas is done with the current draw
+                atlas.cacheEmptied(this);
+            }
+        }
+    }
+
+    /**
+     * Called by the atlas at the start of a use, after all the glyphs of
+     * this cache have been evicted.
+     */
+    void releaseIfEmpty() {
+        if (residentGlyphs == 0) {
+            context.removeGlyphCache(strike, this);
+        }
     }
 
-    private void clearAll() {
-        // flush any pending vertices that may depend on the current state
-        // of the glyph cache texture.
-        context.flushVertexBuffer();
-        context.clearGlyphCaches();
-        packer.clear();
+    /**
+     * Called by the atlas when the glyph has been moved to another place
+     * on its page.
+     */
+    void upload(GlyphData data) {
+        Glyph glyph = strike.getGlyph(data.glyphCode);
+        byte[] glyphImage = glyph != null ? glyph.getPixelData(data.subPixel) : null;
+        if (glyphImage == null || glyphImage.length == 0) {
+            return;
+        }
+        MaskData maskData = MaskData.create(glyphImage,
+                                            glyph.getOriginX(),
+                                            glyph.getOriginY(),
+                                            glyph.getWidth(),
+                                            glyph.getHeight());
+        upload(data, maskData);
+    }
+
+    private boolean upload(GlyphData data, MaskData maskData) {
+        // We always pass skipFlush=true to backingStore.update()
+        // since we are in control of the contents of the backingStore
+        // texture and explicitly flush the vertex buffer only when
+        // it is truly needed.
+        boolean skipFlush = true;
+
+        // Upload the an empty byte array to ensure the boundary
+        // area is filled with zeros. Note that the rectangle
+        // is already padded on each edge.
+        Rectangle rect = data.getRect();
+        Texture backingStore = data.page.texture;
+        int emw = rect.width;
+        int emh = rect.height;
+        int bpp = backingStore.getPixelFormat().getBytesPerPixelUnit();
+        int stride = emw * bpp;
+        int size = stride * emh;
+        if (emptyMask == null || size > emptyMask.capacity()) {
+            emptyMask = BufferUtil.newByteBuffer(size);
+        }
+        // try/catch is a precaution against not fitting into the store.
+        try {
+            backingStore.update(emptyMask,
+                                backingStore.getPixelFormat(),
+                                rect.x, rect.y,
+                                0, 0, emw, emh, stride,
+                                skipFlush);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+        // Upload the glyph
+        int border = data.getBlankBoundary();
+        maskData.uploadToTexture(backingStore,
+                                 border + rect.x,
+                                 border + rect.y,
+                                 skipFlush);
+        return true;
     }
 
     private GlyphData getCachedGlyph(int glyphCode, int subPixel) {
-        int segIndex = glyphCode >> SEGSHIFT;
+        int segIndex = segmentIndex(glyphCode, subPixel);
         int subIndex = glyphCode % SEGSIZE;
-        segIndex |= (subPixel << SUBPIXEL_SHIFT);
         GlyphData[] segment = glyphDataMap.get(segIndex);
         if (segment != null) {
             if (segment[subIndex] != null) {
@@ -278,56 +417,36 @@ public class GlyphCache {
                 int rectH = maskData.getHeight() + (2 * border);
                 int originX = maskData.getOriginX();
                 int originY = maskData.getOriginY();
+                if (rectW > WIDTH || rectH > HEIGHT) {
+                    // Will never fit in the atlas, do not draw it rather
+                    // than trying again for every string.
+                    segment[subIndex] = new GlyphData(0, 0, 0,
+                                                      glyph.getPixelXAdvance(),
+                                                      glyph.getPixelYAdvance(),
+                                                      null);
+                    return segment[subIndex];
+                }
                 Rectangle rect = new Rectangle(0, 0, rectW, rectH);
                 data = new GlyphData(originX, originY, border,
                                      glyph.getPixelXAdvance(),
                                      glyph.getPixelYAdvance(),
                                      rect);
 
-                if (!packer.add(rect)) {
-                    if (PULSE_LOGGING_ENABLED) {
-                        PulseLogger.incrementCounter("Font Glyph Cache Cleared");
-                    }
-                    // If add fails,clear up the cache. Try add again.
-                    clearAll();
-                    packer.add(rect);
-                }
+                data.owner = this;
+                data.glyphCode = glyphCode;
+                data.subPixel = subPixel;
 
-                // We always pass skipFlush=true to backingStore.update()
-                // since we are in control of the contents of the backingStore
-                // texture and explicitly flush the vertex buffer only when
-                // it is truly needed.
-                boolean skipFlush = true;
-
-                // Upload the an empty byte array to ensure the boundary
-                // area is filled with zeros. Note that the rectangle
-                // is already padded on each edge.
-                Texture backingStore = getBackingStore();
-                int emw = rect.width;
-                int emh = rect.height;
-                int bpp = backingStore.getPixelFormat().getBytesPerPixelUnit();
-                int stride = emw * bpp;
-                int size = stride * emh;
-                if (emptyMask == null || size > emptyMask.capacity()) {
-                    emptyMask = BufferUtil.newByteBuffer(size);
-                }
-                // try/catch is a precaution against not fitting into the store.
-                try {
-                    backingStore.update(emptyMask,
-                                        backingStore.getPixelFormat(),
-                                        rect.x, rect.y,
-                                        0, 0, emw, emh, stride,
-                                        skipFlush);
-                } catch (Exception e) {
-                    e.printStackTrace();
+                // If there is no room even after compacting a page, the
+                // atlas is cleared, and prepare() tries the string again
+                if (!atlas.allocate(data)) {
+                    // Does not fit on an empty page either
                     return null;
                 }
-                // Upload the glyph
-                maskData.uploadToTexture(backingStore,
-                                         border + rect.x,
-                                         border + rect.y,
-                                         skipFlush);
 
+                if (!upload(data, maskData)) {
+                    return null;
+                }
+                residentGlyphs++;
             }
             segment[subIndex] = data;
         }
@@ -354,6 +473,14 @@ public class GlyphCache {
         // The rectangle on the backing store corresponding to this glyph
         private final Rectangle rect;
 
+        // Atlas bookkeeping: the cache and key of this glyph, the page it
+        // is on and the last use stamp, see GlyphAtlas.
+        GlyphCache owner;
+        int glyphCode;
+        int subPixel;
+        GlyphAtlas.Page page;
+        long lastUse;
+
         GlyphData(int originX, int originY, int blankBoundary,
                   float xAdvance, float yAdvance, Rectangle rect)
         {
@@ -74,11 +74,13 @@ public final class PrismSettings {
     public static final boolean allowHiDPIScaling;
     public static final long maxVram;
     public static final long targetVram;
+    public static final long regionCacheSize;
     public static final boolean poolStats;
     public static final boolean poolDebug;
     public static final boolean disableEffects;
     public static final int glyphCacheWidth;
     public static final int glyphCacheHeight;
+    public static final int glyphCachePages;
     public static final String perfLog;
     public static final boolean perfLogExitFlush;
     public static final boolean perfLogFirstPaintFlush;
@@ -88,6 +90,8 @@ public final class PrismSettings {
     public static final boolean forceUploadingPainter;
     public static final boolean forceAlphaTestShader;
     public static final boolean forceNonAntialiasedShape;
+    public static final int swTileThreads;
+    public static final int swTileMinArea;
 
 
     private PrismSettings() {
@@ -251,6 +255,8 @@ public final class PrismSettings {
                           "Try -Dprism.maxvram=<long>[kKmMgG]");
         targetVram = getLong(systemProperties, "prism.targetvram", maxVram / 8, maxVram,
                              "Try -Dprism.targetvram=<long>[kKmMgG]|<double(0,100)>%");
+        regionCacheSize = getLong(systemProperties, "prism.regioncachesize", targetVram / 4, targetVram,
+                                  "Try -Dprism.regioncachesize=<long>[kKmMgG]|<double(0,100)>%");
         poolStats = getBoolean(systemProperties, "prism.poolstats", false);
         poolDebug = getBoolean(systemProperties, "prism.pooldebug", false);
 
@@ -313,6 +319,9 @@ public final class PrismSettings {
                 "Try -Dprism.glyphCacheWidth=<number>");
         glyphCacheHeight = getInt(systemProperties, "prism.glyphCacheHeight", 1024,
                 "Try -Dprism.glyphCacheHeight=<number>");
+        glyphCachePages = Math.max(1, Math.min(32,
+                getInt(systemProperties, "prism.glyphCachePages", 4,
+                       "Try -Dprism.glyphCachePages=<number>")));
 
         /*
          * Performance Logger flags
@@ -334,6 +343,20 @@ public final class PrismSettings {
         // Force non anti-aliasing (not smooth) shape rendering
         forceNonAntialiasedShape = getBoolean(systemProperties, "prism.forceNonAntialiasedShape", false);
 
+        /*
+         * Number of threads used by the SW pipeline to rasterize large
+         * primitives in horizontal bands. A value of <= 1 (the default)
+         * keeps all rasterization on the render thread; "true" uses one
+         * thread per available processor.
+         */
+        swTileThreads = getInt(systemProperties, "prism.sw.tilethreads",
+                0, Runtime.getRuntime().availableProcessors(),
+                "Try -Dprism.sw.tilethreads=<true or number>");
+
+        /* Minimum number of covered pixels for a primitive to be split */
+        swTileMinArea = getInt(systemProperties, "prism.sw.tileminarea",
+                128 * 128, "Try -Dprism.sw.tileminarea=<number>");
+
     }
 
     private static int parseInt(String s, int dflt, int trueDflt,
@@ -2033,11 +2033,31 @@ public abstract class BaseShaderGraphics
          * description.
          */
         GlyphCache glyphCache = context.getGlyphCache(strike);
-        Texture cacheTex = glyphCache.getBackingStore();
+
+        if (isSimpleTranslate) {
+            // Applying this rounding allows for smoother text animation,
+            // when animating simple translated text.
+            // Asking glyph textures to be rendered at non-integral
+            // locations produces very poor text. This doesn't solve
+            // the problem for scaled (etc) cases, but addresses a
+            // common case.
+            p2d.y = Math.round(p2d.y);
+            p2d.x = Math.round(p2d.x);
+        }
+
+        // The glyphs may be spread over several pages of the glyph atlas,
+        // which are rendered one after the other.
+        int pages = glyphCache.prepare(gl, p2d.x, p2d.y, clip);
+        if (pages == 0) {
+            return;
+        }
 
         //Since we currently cannot support LCD text on transparant surfaces, we
         //verify that we are drawing to an opaque surface.
-        if (strike.getAAMode() == FontResource.AA_LCD) {
+        boolean isLCD = strike.getAAMode() == FontResource.AA_LCD;
+        float gamma = 1.0f;
+        float invgamma = 1.0f;
+        if (isLCD) {
             if (nodeBounds == null) {
                 // If drawString is called directly without using
                 // setNodeBounds then we must determine the bounds of the str,
@@ -2058,8 +2078,8 @@ public abstract class BaseShaderGraphics
             } else {
                 initLCDSampleRT();
             }
-            float invgamma = PrismFontFactory.getLCDContrast();
-            float gamma = 1.0f/invgamma;
+            invgamma = PrismFontFactory.getLCDContrast();
+            gamma = 1.0f/invgamma;
             textColor = new Color((float)Math.pow(textColor.getRed(),   invgamma),
                                   (float)Math.pow(textColor.getGreen(), invgamma),
                                   (float)Math.pow(textColor.getBlue(),  invgamma),
@@ -2071,35 +2091,33 @@ public abstract class BaseShaderGraphics
                         (float)Math.pow(selectColor.getBlue(),  invgamma),
                         (float)Math.pow(selectColor.getAlpha(), invgamma));
             }
-
-            // In order to handle transparency, the LCD shader need to manually
-            // composite source with destination. Thus, SRC_OVER compositing
-            // needs to be set to SRC, while shader is active.
-            setCompositeMode(CompositeMode.SRC);
-
-            //set our 2nd LCD shader.
-            Shader shader = context.validateLCDOp(this, IDENT,
-                                                context.getLCDBuffer(),
-                                                cacheTex, false, textColor);
-
-            float unitXCoord = 1.0f/((float)cacheTex.getPhysicalWidth());
-            shader.setConstant("gamma", gamma, invgamma, unitXCoord);
-            setCompositeMode(blendMode); // Restore composite mode
-        } else {
-            context.validatePaintOp(this, IDENT, cacheTex, bx, by, bw, bh);
         }
-        if (isSimpleTranslate) {
-            // Applying this rounding allows for smoother text animation,
-            // when animating simple translated text.
-            // Asking glyph textures to be rendered at non-integral
-            // locations produces very poor text. This doesn't solve
-            // the problem for scaled (etc) cases, but addresses a
-            // common case.
-            p2d.y = Math.round(p2d.y);
-            p2d.x = Math.round(p2d.x);
+
+        for (int page = 0; pages != 0; page++, pages >>>= 1) {
+            if ((pages & 1) == 0) {
+                continue;
+            }
+            Texture cacheTex = glyphCache.getBackingStore(page);
+            if (isLCD) {
+                // In order to handle transparency, the LCD shader need to manually
+                // composite source with destination. Thus, SRC_OVER compositing
+                // needs to be set to SRC, while shader is active.
+                setCompositeMode(CompositeMode.SRC);
+
+                //set our 2nd LCD shader.
+                Shader shader = context.validateLCDOp(this, IDENT,
+                                                    context.getLCDBuffer(),
+                                                    cacheTex, false, textColor);
+
+                float unitXCoord = 1.0f/((float)cacheTex.getPhysicalWidth());
+                shader.setConstant("gamma", gamma, invgamma, unitXCoord);
+                setCompositeMode(blendMode); // Restore composite mode
+            } else {
+                context.validatePaintOp(this, IDENT, cacheTex, bx, by, bw, bh);
+            }
+            glyphCache.render(context, gl, p2d.x, p2d.y, selectStart, selectEnd,
+                              selectColor, textColor, xform, clip, page);
         }
-        glyphCache.render(context, gl, p2d.x, p2d.y, selectStart, selectEnd,
-                          selectColor, textColor, xform, clip);
     }
 
     //This function is used by the LCD path to render a quad into the
@@ -69,6 +69,7 @@ final class SWGraphics implements ReadbackGraphics {
     private static final Paint DEFAULT_PAINT = Color.WHITE;
 
     private final PiscesRenderer pr;
+    private final SWTileRasterizer tileRasterizer;
     private final SWContext context;
     private final SWRTTexture target;
     private final SWPaint swPaint;
@@ -76,6 +77,7 @@ final class SWGraphics implements ReadbackGraphics {
     private final BaseTransform tx = new Affine2D();
 
     private CompositeMode compositeMode = CompositeMode.SRC_OVER;
+    private int compositeRule = RendererBase.COMPOSITE_SRC_OVER;
 
     private Rectangle clip;
     private final Rectangle finalClip = new Rectangle();
@@ -109,6 +111,7 @@ final class SWGraphics implements ReadbackGraphics {
         this.target = target;
         this.context = context;
         this.pr = pr;
+        this.tileRasterizer = target.getTileRasterizer();
         this.swPaint = new SWPaint(context, pr);
 
         this.setClipRect(null);
@@ -336,6 +339,7 @@ final class SWGraphics implements ReadbackGraphics {
             default:
                 throw new InternalError("Unrecognized composite mode: "+mode);
         }
+        this.compositeRule = piscesComp;
         this.pr.setCompositeRule(piscesComp);
     }
 
@@ -447,9 +451,22 @@ final class SWGraphics implements ReadbackGraphics {
                             tex.hasAlpha());
                 }
             } else {
-                swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
-                this.pr.fillRect((int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES), (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES),
-                        (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES), (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES));
+                final int px = (int)(Math.min(p1.x, p2.x) * SWUtils.TO_PISCES);
+                final int py = (int)(Math.min(p1.y, p2.y) * SWUtils.TO_PISCES);
+                final int pw = (int)(Math.abs(p2.x - p1.x) * SWUtils.TO_PISCES);
+                final int ph = (int)(Math.abs(p2.y - p1.y) * SWUtils.TO_PISCES);
+                final int bands = (tileRasterizer == null) ? 1 : tileRasterizer.getBandCount(finalClip, px, py, pw, ph);
+                if (bands > 1) {
+                    if (PrismSettings.debug) {
+                        System.out.println("+ SWG.fillRect in " + bands + " bands");
+                    }
+                    tileRasterizer.fillRect(finalClip, bands, compositeRule, swPaint.getCompositeAlpha(),
+                            this.paint, this.tx, this.nodeBounds, x, y, width, height,
+                            px, py, pw, ph);
+                } else {
+                    swPaint.setPaintFromShape(this.paint, this.tx, null, this.nodeBounds, x, y, width, height);
+                    this.pr.fillRect(px, py, pw, ph);
+                }
             }
         } else {
             this.fillRoundRect(x, y, width, height, 0, 0);
@@ -729,16 +746,41 @@ final class SWGraphics implements ReadbackGraphics {
         final int txMax = Math.min(tex.getContentWidth() - 1, SWUtils.fastCeil(Math.max(sx1, sx2)) - 1);
         final int tyMax = Math.min(tex.getContentHeight() - 1, SWUtils.fastCeil(Math.max(sy1, sy2)) - 1);
 
-        this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
-                data, tex.getContentWidth(), tex.getContentHeight(),
-                swTex.getOffset(), tex.getPhysicalWidth(),
-                piscesTx,
-                tex.getWrapMode() == Texture.WrapMode.REPEAT,
-                (int)(SWUtils.TO_PISCES * dstBBox.getMinX()), (int)(SWUtils.TO_PISCES * dstBBox.getMinY()),
-                (int)(SWUtils.TO_PISCES * dstBBox.getWidth()), (int)(SWUtils.TO_PISCES * dstBBox.getHeight()),
-                lEdge, rEdge, tEdge, bEdge,
-                txMin, tyMin, txMax, tyMax,
-                swTex.hasAlpha());
+        final int bboxX = (int)(SWUtils.TO_PISCES * dstBBox.getMinX());
+        final int bboxY = (int)(SWUtils.TO_PISCES * dstBBox.getMinY());
+        final int bboxW = (int)(SWUtils.TO_PISCES * dstBBox.getWidth());
+        final int bboxH = (int)(SWUtils.TO_PISCES * dstBBox.getHeight());
+
+        // The multiply mode takes its color or gradient from the main
+        // renderer, which the band renderers do not share, so only
+        // plain images are split.
+        final int bands = (tileRasterizer == null || imageMode != RendererBase.IMAGE_MODE_NORMAL) ? 1 :
+                tileRasterizer.getBandCount(finalClip, bboxX, bboxY, bboxW, bboxH);
+        if (bands > 1) {
+            if (PrismSettings.debug) {
+                System.out.println("+ drawTexture in " + bands + " bands");
+            }
+            tileRasterizer.drawImage(finalClip, bands, compositeRule,
+                    RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                    data, tex.getContentWidth(), tex.getContentHeight(),
+                    swTex.getOffset(), tex.getPhysicalWidth(),
+                    piscesTx,
+                    tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                    bboxX, bboxY, bboxW, bboxH,
+                    lEdge, rEdge, tEdge, bEdge,
+                    txMin, tyMin, txMax, tyMax,
+                    swTex.hasAlpha());
+        } else {
+            this.pr.drawImage(RendererBase.TYPE_INT_ARGB_PRE, imageMode,
+                    data, tex.getContentWidth(), tex.getContentHeight(),
+                    swTex.getOffset(), tex.getPhysicalWidth(),
+                    piscesTx,
+                    tex.getWrapMode() == Texture.WrapMode.REPEAT,
+                    bboxX, bboxY, bboxW, bboxH,
+                    lEdge, rEdge, tEdge, bEdge,
+                    txMin, tyMin, txMax, tyMax,
+                    swTex.hasAlpha());
+        }
 
         if (PrismSettings.debug) {
             System.out.println("* drawTexture, DONE");
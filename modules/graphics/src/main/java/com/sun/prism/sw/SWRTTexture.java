@@ -41,6 +41,7 @@ import java.nio.IntBuffer;
 class SWRTTexture extends SWArgbPreTexture implements RTTexture {
 
     private PiscesRenderer pr;
+    private SWTileRasterizer tileRasterizer;
     private JavaSurface surface;
     private final Rectangle dimensions = new Rectangle();
     private boolean isOpaque;
@@ -119,6 +120,14 @@ class SWRTTexture extends SWArgbPreTexture implements RTTexture {
         return new SWGraphics(this, getResourceFactory().getContext(), pr);
     }
 
+    SWTileRasterizer getTileRasterizer() {
+        if (tileRasterizer == null && SWTileRasterizer.isEnabled()) {
+            tileRasterizer = new SWTileRasterizer(getResourceFactory().getContext(), this.surface,
+                                                  PrismSettings.swTileThreads);
+        }
+        return tileRasterizer;
+    }
+
     public boolean isOpaque() {
         return isOpaque;
     }
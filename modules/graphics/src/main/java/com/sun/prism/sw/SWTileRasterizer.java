@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.sw;
+
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.pisces.JavaSurface;
+import com.sun.pisces.PiscesRenderer;
+import com.sun.pisces.RendererBase;
+import com.sun.pisces.Transform6;
+import com.sun.prism.impl.PrismSettings;
+import com.sun.prism.paint.Paint;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Splits large fill and image primitives into horizontal bands of the
+ * destination surface and rasterizes the bands concurrently.
+ * Each band owns its own {@code PiscesRenderer} and its own
+ * {@code JavaSurface} over the pixel array of the destination. The native
+ * surface keeps the array reference and pointer it acquired for the current
+ * primitive, so a surface must never be used by two threads at once. The
+ * bands are clipped to disjoint rows, so they never touch the same pixels
+ * and the result is identical to a single-threaded rendering once
+ * {@link #fillRect} or {@link #drawImage} return. The render thread itself
+ * rasterizes the first band.
+ *
+ * The scene graph is still traversed on the render thread only; this class
+ * merely parallelizes the per-pixel work of a single primitive.
+ */
+final class SWTileRasterizer {
+
+    /* Bands smaller than this are not worth a thread hand-off */
+    private static final int MIN_BAND_HEIGHT = 16;
+
+    private static ExecutorService executor;
+
+    private final PiscesRenderer renderers[];
+    private final SWPaint paints[];
+    private final Future<?> pending[];
+
+    SWTileRasterizer(SWContext context, JavaSurface surface, int bandCount) {
+        renderers = new PiscesRenderer[bandCount];
+        paints = new SWPaint[bandCount];
+        pending = new Future<?>[bandCount];
+        final int data[] = surface.getDataIntBuffer().array();
+        for (int i = 0; i < bandCount; i++) {
+            final JavaSurface bandSurface = new JavaSurface(data, RendererBase.TYPE_INT_ARGB_PRE,
+                                                            surface.getWidth(), surface.getHeight());
+            renderers[i] = new PiscesRenderer(bandSurface);
+            paints[i] = new SWPaint(context, renderers[i]);
+        }
+    }
+
+    static boolean isEnabled() {
+        return PrismSettings.swTileThreads > 1;
+    }
+
+    private static synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            final AtomicInteger threadNumber = new AtomicInteger(0);
+            final ThreadFactory factory = r -> AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
+                Thread th = new Thread(r);
+                th.setName("Prism SW Rasterizer-" + threadNumber.getAndIncrement());
+                th.setDaemon(true);
+                return th;
+            });
+            executor = Executors.newFixedThreadPool(PrismSettings.swTileThreads - 1, factory);
+            if (PrismSettings.verbose) {
+                System.out.println("Using " + PrismSettings.swTileThreads + " threads for SW rasterization");
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Returns the number of bands the given primitive should be split into,
+     * or 1 if it should be rendered directly on the render thread.
+     * The primitive bounds are in pisces 16.16 fixed point.
+     */
+    int getBandCount(Rectangle clip, int x, int y, int w, int h) {
+        final int x0 = Math.max(clip.x, x >> 16);
+        final int y0 = Math.max(clip.y, y >> 16);
+        final int x1 = Math.min(clip.x + clip.width, (x + w + 0xffff) >> 16);
+        final int y1 = Math.min(clip.y + clip.height, (y + h + 0xffff) >> 16);
+        if (x1 <= x0 || y1 <= y0) {
+            return 1;
+        }
+        if ((long) (x1 - x0) * (y1 - y0) < PrismSettings.swTileMinArea) {
+            return 1;
+        }
+        return Math.max(1, Math.min(renderers.length, (y1 - y0) / MIN_BAND_HEIGHT));
+    }
+
+    void fillRect(final Rectangle clip, final int bands, final int compositeRule, final float compositeAlpha,
+                  final Paint paint, final BaseTransform tx, final RectBounds nodeBounds,
+                  final float lx, final float ly, final float lw, final float lh,
+                  final int x, final int y, final int w, final int h)
+    {
+        final int rowTop = Math.max(clip.y, y >> 16);
+        final int rowBottom = Math.min(clip.y + clip.height, (y + h + 0xffff) >> 16);
+        runBands(bands, rowTop, rowBottom, (band, pr) -> {
+            final SWPaint swPaint = paints[band];
+            pr.setCompositeRule(compositeRule);
+            swPaint.setCompositeAlpha(compositeAlpha);
+            swPaint.setPaintFromShape(paint, tx, null, nodeBounds, lx, ly, lw, lh);
+            pr.fillRect(x, y, w, h);
+        }, clip);
+    }
+
+    void drawImage(final Rectangle clip, final int bands, final int compositeRule,
+                   final int imageType, final int imageMode, final int data[],
+                   final int width, final int height, final int offset, final int stride,
+                   final Transform6 textureTransform, final boolean repeat,
+                   final int bboxX, final int bboxY, final int bboxW, final int bboxH,
+                   final int lEdge, final int rEdge, final int tEdge, final int bEdge,
+                   final int txMin, final int tyMin, final int txMax, final int tyMax,
+                   final boolean hasAlpha)
+    {
+        final int rowTop = Math.max(clip.y, bboxY >> 16);
+        final int rowBottom = Math.min(clip.y + clip.height, (bboxY + bboxH + 0xffff) >> 16);
+        runBands(bands, rowTop, rowBottom, (band, pr) -> {
+            pr.setCompositeRule(compositeRule);
+            pr.drawImage(imageType, imageMode, data, width, height, offset, stride,
+                    textureTransform, repeat,
+                    bboxX, bboxY, bboxW, bboxH,
+                    lEdge, rEdge, tEdge, bEdge,
+                    txMin, tyMin, txMax, tyMax,
+                    hasAlpha);
+        }, clip);
+    }
+
+    private interface BandOp {
+        void render(int band, PiscesRenderer pr);
+    }
+
+    private void runBands(int bands, int rowTop, int rowBottom, BandOp op, Rectangle clip) {
+        final int rows = rowBottom - rowTop;
+        final ExecutorService exec = getExecutor();
+        for (int i = 1; i < bands; i++) {
+            final int band = i;
+            final int top = rowTop + rows * band / bands;
+            final int bottom = rowTop + rows * (band + 1) / bands;
+            pending[band] = exec.submit(() -> renderBand(band, op, clip.x, top, clip.width, bottom - top));
+        }
+        renderBand(0, op, clip.x, rowTop, clip.width, rows / bands);
+
+        /* The bands write into the destination, so all of them must have
+         * finished before returning, even if this thread is interrupted */
+        RuntimeException failure = null;
+        boolean interrupted = false;
+        for (int i = 1; i < bands; i++) {
+            while (pending[i] != null) {
+                try {
+                    pending[i].get();
+                    pending[i] = null;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = new RuntimeException(e.getCause());
+                    }
+                    pending[i] = null;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void renderBand(int band, BandOp op, int x, int y, int w, int h) {
+        final PiscesRenderer pr = renderers[band];
+        pr.setClip(x, y, w, h);
+        op.render(band, pr);
+    }
+}
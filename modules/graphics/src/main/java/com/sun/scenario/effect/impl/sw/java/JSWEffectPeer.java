@@ -25,6 +25,10 @@
 
 package com.sun.scenario.effect.impl.sw.java;
 
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import com.sun.scenario.effect.FilterContext;
 import com.sun.scenario.effect.impl.EffectPeer;
 import com.sun.scenario.effect.impl.Renderer;
@@ -41,6 +45,77 @@ public abstract class JSWEffectPeer<T extends RenderState> extends EffectPeer<T>
     protected final static int FVALS_G = 1;
     protected final static int FVALS_B = 2;
 
+    /**
+     * The number of threads used to filter independent bands of scanlines.
+     * A value of 1 filters everything on the calling thread.
+     */
+    private static final int parallelism = AccessController.doPrivileged(
+            (PrivilegedAction<Integer>) () -> Integer.getInteger("decora.jsw.parallelism",
+                    Runtime.getRuntime().availableProcessors()));
+
+    // Images smaller than this are not worth the fork/join overhead
+    private static final int MIN_PARALLEL_PIXELS = 128 * 128;
+
+    private static ForkJoinPool bandPool;
+
+    private static synchronized ForkJoinPool getBandPool() {
+        if (bandPool == null) {
+            bandPool = AccessController.doPrivileged(
+                    (PrivilegedAction<ForkJoinPool>) () -> new ForkJoinPool(parallelism));
+        }
+        return bandPool;
+    }
+
+    /**
+     * Filters a contiguous range of lines {@code [start, end)}.
+     * Implementations must not share any mutable scratch state between
+     * invocations since bands may be filtered concurrently.
+     */
+    protected interface BandFilter {
+        void filter(int start, int end);
+    }
+
+    private static final class BandTask extends RecursiveAction {
+        private final BandFilter filter;
+        private final int start, end, threshold;
+
+        BandTask(BandFilter filter, int start, int end, int threshold) {
+            this.filter = filter;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= threshold) {
+                filter.filter(start, end);
+            } else {
+                int mid = (start + end) >>> 1;
+                invokeAll(new BandTask(filter, start, mid, threshold),
+                          new BandTask(filter, mid, end, threshold));
+            }
+        }
+    }
+
+    /**
+     * Splits {@code numLines} independent lines of {@code lineLength} pixels
+     * each into bands and filters them on a shared {@code ForkJoinPool},
+     * returning once all of the bands have been filtered.  Small images are
+     * filtered directly on the calling thread.
+     */
+    protected static void filterBands(int numLines, int lineLength, BandFilter filter) {
+        if (parallelism <= 1 || numLines < 2 ||
+            (long) numLines * lineLength < MIN_PARALLEL_PIXELS)
+        {
+            filter.filter(0, numLines);
+            return;
+        }
+        // A couple of bands per thread keeps the workers evenly loaded
+        int threshold = Math.max(1, numLines / (parallelism * 2));
+        getBandPool().invoke(new BandTask(filter, 0, numLines, threshold));
+    }
+
     protected final void laccum(int pixel, float mul, float fvals[]) {
         mul /= 255f;
         fvals[FVALS_R] += ((pixel >>  16) & 0xff) * mul;
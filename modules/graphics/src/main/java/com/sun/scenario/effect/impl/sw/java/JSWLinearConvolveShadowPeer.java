@@ -53,42 +53,42 @@ public class JSWLinearConvolveShadowPeer extends JSWLinearConvolvePeer {
     {
         float shadowColor[] = getShadowColor();
 
-        int dstrow = 0;
         // srcxy0 point at UL corner, shift them to center of 1st dest pixel:
-        srcx0 += (dxrow + dxcol) * 0.5f;
-        srcy0 += (dyrow + dycol) * 0.5f;
-        for (int dy = 0; dy < dsth; dy++) {
-            float srcx = srcx0;
-            float srcy = srcy0;
-            for (int dx = 0; dx < dstw; dx++) {
-                float sum = 0.0f;
-                float sampx = srcx + offsetx;
-                float sampy = srcy + offsety;
-                for (int i = 0; i < count; ++i) {
-                    if (sampx >= 0 && sampy >= 0) {
-                        int ix = (int) sampx;
-                        int iy = (int) sampy;
-                        if (ix < srcw && iy < srch) {
-                            // TODO: Usine linear interpolation here... (RT-27388)
-                            int argb = srcPixels[iy * srcscan + ix];
-                            sum += (argb >>> 24) * weights[i];
+        final float srcx00 = srcx0 + (dxrow + dxcol) * 0.5f;
+        final float srcy00 = srcy0 + (dyrow + dycol) * 0.5f;
+        filterBands(dsth, dstw, (ystart, yend) -> {
+            int dstrow = ystart * dstscan;
+            for (int dy = ystart; dy < yend; dy++) {
+                float srcx = srcx00 + dy * dxrow;
+                float srcy = srcy00 + dy * dyrow;
+                for (int dx = 0; dx < dstw; dx++) {
+                    float sum = 0.0f;
+                    float sampx = srcx + offsetx;
+                    float sampy = srcy + offsety;
+                    for (int i = 0; i < count; ++i) {
+                        if (sampx >= 0 && sampy >= 0) {
+                            int ix = (int) sampx;
+                            int iy = (int) sampy;
+                            if (ix < srcw && iy < srch) {
+                                // TODO: Usine linear interpolation here... (RT-27388)
+                                int argb = srcPixels[iy * srcscan + ix];
+                                sum += (argb >>> 24) * weights[i];
+                            }
                         }
+                        sampx += deltax;
+                        sampy += deltay;
                     }
-                    sampx += deltax;
-                    sampy += deltay;
+                    sum = (sum < 0f) ? 0f : ((sum > 255f) ? 255f : sum);
+                    dstPixels[dstrow + dx] = ((int) (shadowColor[0] * sum) << 16) |
+                                             ((int) (shadowColor[1] * sum) <<  8) |
+                                             ((int) (shadowColor[2] * sum)      ) |
+                                             ((int) (shadowColor[3] * sum) << 24);
+                    srcx += dxcol;
+                    srcy += dycol;
                 }
-                sum = (sum < 0f) ? 0f : ((sum > 255f) ? 255f : sum);
-                dstPixels[dstrow + dx] = ((int) (shadowColor[0] * sum) << 16) |
-                                         ((int) (shadowColor[1] * sum) <<  8) |
-                                         ((int) (shadowColor[2] * sum)      ) |
-                                         ((int) (shadowColor[3] * sum) << 24);
-                srcx += dxcol;
-                srcy += dycol;
+                dstrow += dstscan;
             }
-            srcx0 += dxrow;
-            srcy0 += dyrow;
-            dstrow += dstscan;
-        }
+        });
     }
 
     /*
@@ -109,9 +109,6 @@ public class JSWLinearConvolveShadowPeer extends JSWLinearConvolvePeer {
         // avals stores the alpha values from the surrounding K pixels
         // from x-r to x+r
         int kernelSize = weights.length / 2;
-        float avals[] = new float[kernelSize];
-        int dstrow = 0;
-        int srcrow = 0;
         int shadowRGBs[] = new int[256];
         for (int i = 0; i < shadowRGBs.length; i++) {
             shadowRGBs[i] = ((int) (shadowColor[0] * i) << 16) |
@@ -119,37 +116,42 @@ public class JSWLinearConvolveShadowPeer extends JSWLinearConvolvePeer {
                             ((int) (shadowColor[2] * i)      ) |
                             ((int) (shadowColor[3] * i) << 24);
         }
-        for (int r = 0; r < dstrows; r++) {
-            int dstoff = dstrow;
-            int srcoff = srcrow;
-            // Must clear out the array at the start of every line
-            // Might be able to rely on the fact that the previous line must
-            // have run out of data towards the end of the scan line, though.
-            for (int i = 0; i < avals.length; i++) {
-                avals[i] = 0f;
-            }
-            int koff = kernelSize;
-            for (int c = 0; c < dstcols; c++) {
-                // Load the data for this x location into the array.
-                avals[kernelSize - koff] =
-                    ((c < srccols) ? srcPixels[srcoff] : 0) >>> 24;
-                // Bump the koff to the next spot to align the coefficients.
-                if (--koff <= 0) {
-                    koff += kernelSize;
-                }
-                float sum = -0.5f;
+        filterBands(dstrows, dstcols, (rstart, rend) -> {
+            float avals[] = new float[kernelSize];
+            int dstrow = rstart * drowinc;
+            int srcrow = rstart * srowinc;
+            for (int r = rstart; r < rend; r++) {
+                int dstoff = dstrow;
+                int srcoff = srcrow;
+                // Must clear out the array at the start of every line
+                // Might be able to rely on the fact that the previous line must
+                // have run out of data towards the end of the scan line, though.
                 for (int i = 0; i < avals.length; i++) {
-                    sum += avals[i] * weights[koff + i];
+                    avals[i] = 0f;
                 }
-                dstPixels[dstoff] =
-                    ((sum < 0f) ? 0
-                     : ((sum >= 254f) ? shadowRGBs[255]
-                        : shadowRGBs[((int) sum) + 1]));
-                dstoff += dcolinc;
-                srcoff += scolinc;
+                int koff = kernelSize;
+                for (int c = 0; c < dstcols; c++) {
+                    // Load the data for this x location into the array.
+                    avals[kernelSize - koff] =
+                        ((c < srccols) ? srcPixels[srcoff] : 0) >>> 24;
+                    // Bump the koff to the next spot to align the coefficients.
+                    if (--koff <= 0) {
+                        koff += kernelSize;
+                    }
+                    float sum = -0.5f;
+                    for (int i = 0; i < avals.length; i++) {
+                        sum += avals[i] * weights[koff + i];
+                    }
+                    dstPixels[dstoff] =
+                        ((sum < 0f) ? 0
+                         : ((sum >= 254f) ? shadowRGBs[255]
+                            : shadowRGBs[((int) sum) + 1]));
+                    dstoff += dcolinc;
+                    srcoff += scolinc;
+                }
+                dstrow += drowinc;
+                srcrow += srowinc;
             }
-            dstrow += drowinc;
-            srcrow += srowinc;
-        }
+        });
     }
 }
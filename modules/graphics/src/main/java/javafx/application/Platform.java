@@ -83,6 +83,43 @@ public final class Platform {
         PlatformImpl.runLater(runnable);
     }
 
+    /**
+     * Run the specified Runnable on the JavaFX Application Thread at some
+     * unspecified time in the future, like {@link #runLater(Runnable)}, but
+     * first wait while <code>maxPending</code> or more Runnables are waiting
+     * to be run. This lets a thread that produces updates faster than the
+     * JavaFX Application Thread can apply them slow down, rather than flood
+     * the event queue. When called on the JavaFX Application Thread this
+     * method never waits.
+     *
+     * @param runnable the Runnable whose run method will be executed on the
+     * JavaFX Application Thread
+     * @param maxPending the number of pending Runnables at which this method
+     * waits; must be positive
+     *
+     * @throws IllegalStateException if the FX runtime has not been initialized
+     * @throws IllegalArgumentException if maxPending is not positive
+     * @throws InterruptedException if the calling thread is interrupted while
+     * waiting, in which case the Runnable is not posted
+     * @see #getPendingRunnableCount()
+     * @since JavaFX 8u202
+     */
+    public static void runLater(Runnable runnable, int maxPending) throws InterruptedException {
+        PlatformImpl.runLater(runnable, maxPending);
+    }
+
+    /**
+     * Returns the number of Runnables passed to {@link #runLater(Runnable)}
+     * that have not started running yet. This method may be called from any
+     * thread.
+     *
+     * @return the number of pending Runnables
+     * @since JavaFX 8u202
+     */
+    public static int getPendingRunnableCount() {
+        return PlatformImpl.getPendingRunLaterCount();
+    }
+
     // NOTE: Add the following if we decide to expose it publicly
 //    public static void runAndWait(Runnable runnable) {
 //        PlatformImpl.runAndWait(runnable);
@@ -25,9 +25,11 @@
 
 package javafx.concurrent;
 
+import com.sun.javafx.concurrent.ServiceExecutor;
 import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyDoubleProperty;
@@ -35,6 +37,7 @@ import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyStringProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
@@ -48,13 +51,8 @@ import javafx.event.EventType;
 import java.security.AccessController;
 import java.security.AccessControlContext;
 import java.security.PrivilegedAction;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
-import sun.util.logging.PlatformLogger;
 import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_CANCELLED;
 import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_FAILED;
 import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_READY;
@@ -135,67 +133,6 @@ import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_SUCCEEDED;
  * @since JavaFX 2.0
  */
 public abstract class Service<V> implements Worker<V>, EventTarget {
-    /**
-     * Logger used in the case of some uncaught exceptions
-     */
-    private static final PlatformLogger LOG = PlatformLogger.getLogger(Service.class.getName());
-
-    /*
-        The follow chunk of static state is for defining the default Executor used
-        with the Service. This is based on pre-existing JavaFX Script code and
-        experience with JavaFX Script. It was necessary to have a thread pool by default
-        because we found naive code could totally overwhelm the system otherwise
-        by spawning thousands of threads for fetching resources, for example.
-        We also set the priority and daemon status of the thread in its thread
-        factory.
-     */
-    private static final int THREAD_POOL_SIZE = 32;
-    private static final long THREAD_TIME_OUT = 1000;
-
-    /**
-     * Because the ThreadPoolExecutor works completely backwards from what we want (ie:
-     * it doesn't increase thread count beyond the core pool size unless the queue is full),
-     * our queue has to be smart in that it will REJECT an item in the queue unless the
-     * thread size in the EXECUTOR is > 32, in which case we will queue up.
-     */
-    private static final BlockingQueue<Runnable> IO_QUEUE = new LinkedBlockingQueue<Runnable>() {
-        @Override public boolean offer(Runnable runnable) {
-            if (EXECUTOR.getPoolSize() < THREAD_POOL_SIZE) {
-                return false;
-            }
-            return super.offer(runnable);
-        }
-    };
-
-    // Addition of doPrivileged added due to RT-19580
-    private static final ThreadGroup THREAD_GROUP = AccessController.doPrivileged((PrivilegedAction<ThreadGroup>) () -> new ThreadGroup("javafx concurrent thread pool"));
-    private static final Thread.UncaughtExceptionHandler UNCAUGHT_HANDLER = (thread, throwable) -> {
-        // Ignore IllegalMonitorStateException, these are thrown from the ThreadPoolExecutor
-        // when a browser navigates away from a page hosting an applet that uses
-        // asynchronous tasks. These exceptions generally do not cause loss of functionality.
-        if (!(throwable instanceof IllegalMonitorStateException)) {
-            LOG.warning("Uncaught throwable in " + THREAD_GROUP.getName(), throwable);
-        }
-    };
-
-    // Addition of doPrivileged added due to RT-19580
-    private static final ThreadFactory THREAD_FACTORY = run -> AccessController.doPrivileged((PrivilegedAction<Thread>) () -> {
-        final Thread th = new Thread(THREAD_GROUP, run);
-        th.setUncaughtExceptionHandler(UNCAUGHT_HANDLER);
-        th.setPriority(Thread.MIN_PRIORITY);
-        th.setDaemon(true);
-        return th;
-    });
-
-    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
-            2, THREAD_POOL_SIZE,
-            THREAD_TIME_OUT, TimeUnit.MILLISECONDS,
-            IO_QUEUE, THREAD_FACTORY, new ThreadPoolExecutor.AbortPolicy());
-
-    static {
-        EXECUTOR.allowCoreThreadTimeOut(true);
-    }
-
     private final ObjectProperty<State> state = new SimpleObjectProperty<>(this, "state", State.READY);
     @Override public final State getState() { checkThread(); return state.get(); }
     @Override public final ReadOnlyObjectProperty<State> stateProperty() { checkThread(); return state; }
@@ -242,6 +179,21 @@ public abstract class Service<V> implements Worker<V>, EventTarget {
     public final Executor getExecutor() { checkThread(); return executor.get(); }
     public final ObjectProperty<Executor> executorProperty() { checkThread(); return executor; }
 
+    /**
+     * The priority of the Tasks created by this Service when they are run on
+     * the default executor, between {@link Thread#MIN_PRIORITY} and
+     * {@link Thread#MAX_PRIORITY}. When all threads of the default executor
+     * are busy, Tasks with a higher priority are started first, and each Task
+     * runs on a thread with this priority. The priority has no effect when an
+     * {@link #executorProperty() executor} is set on this Service. The default
+     * value is {@link Thread#MIN_PRIORITY}.
+     * @since JavaFX 8u202
+     */
+    private final IntegerProperty priority = new SimpleIntegerProperty(this, "priority", Thread.MIN_PRIORITY);
+    public final void setPriority(int value) { checkThread(); priority.set(value); }
+    public final int getPriority() { checkThread(); return priority.get(); }
+    public final IntegerProperty priorityProperty() { checkThread(); return priority; }
+
     /**
      * The onReady event handler is called whenever the Task state transitions
      * to the READY state.
@@ -708,7 +660,7 @@ public abstract class Service<V> implements Worker<V>, EventTarget {
      *     Uses the <code>executor</code> defined on this Service to execute the
      *     given task. If the <code>executor</code> is null, then a default
      *     executor is used which will create a new daemon thread on which to
-     *     execute this task.
+     *     execute this task, using the <code>priority</code> of this Service.
      * </p>
      * <p>
      *     This method is intended only to be called by the Service
@@ -719,13 +671,18 @@ public abstract class Service<V> implements Worker<V>, EventTarget {
      */
     protected void executeTask(final Task<V> task) {
         final AccessControlContext acc = AccessController.getContext();
-        final Executor e = getExecutor() != null ? getExecutor() : EXECUTOR;
-        e.execute(() -> {
+        final Runnable runnable = () -> {
             AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
                 task.run();
                 return null;
             }, acc);
-        });
+        };
+        final Executor e = getExecutor();
+        if (e != null) {
+            e.execute(runnable);
+        } else {
+            ServiceExecutor.getDefault().execute(runnable, getPriority());
+        }
     }
 
     /***************************************************************************
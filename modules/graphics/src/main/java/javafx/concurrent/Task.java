@@ -47,7 +47,10 @@ import javafx.event.EventHandler;
 import javafx.event.EventTarget;
 import javafx.event.EventType;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_CANCELLED;
 import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_FAILED;
@@ -617,33 +620,49 @@ import static javafx.concurrent.WorkerStateEvent.WORKER_STATE_SUCCEEDED;
  * @since JavaFX 2.0
  */
 public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventTarget {
+    /**
+     * Collects the Tasks that have pending updates, from all threads, so that
+     * they are applied in one batch on the FX application thread. This way a
+     * burst of updates from any number of Tasks costs a single runLater.
+     */
+    private static final UpdateDispatcher UPDATE_DISPATCHER = new UpdateDispatcher();
+
+    private static final int PROGRESS_UPDATE = 1;
+    private static final int MESSAGE_UPDATE = 2;
+    private static final int TITLE_UPDATE = 4;
+    private static final int VALUE_UPDATE = 8;
+
+    /**
+     * The kinds of update waiting to be applied on the FX application thread.
+     * When this goes from zero to non-zero the Task is handed to the
+     * UPDATE_DISPATCHER, so that updates are coalesced such that we don't
+     * flood the event queue.
+     */
+    private final AtomicInteger pendingUpdates = new AtomicInteger();
+
     /**
      * Used to send workDone updates in a thread-safe manner from the subclass
-     * to the FX application thread and workDone related properties. AtomicReference
-     * is used so as to coalesce updates such that we don't flood the event queue.
+     * to the FX application thread and workDone related properties.
      */
-    private AtomicReference<ProgressUpdate> progressUpdate = new AtomicReference<>();
+    private final AtomicReference<ProgressUpdate> progressUpdate = new AtomicReference<>();
 
     /**
      * Used to send message updates in a thread-safe manner from the subclass
-     * to the FX application thread. AtomicReference is used so as to coalesce
-     * updates such that we don't flood the event queue.
+     * to the FX application thread.
      */
-    private AtomicReference<String> messageUpdate = new AtomicReference<>();
+    private final AtomicReference<String> messageUpdate = new AtomicReference<>();
 
     /**
      * Used to send title updates in a thread-safe manner from the subclass
-     * to the FX application thread. AtomicReference is used so as to coalesce
-     * updates such that we don't flood the event queue.
+     * to the FX application thread.
      */
-    private AtomicReference<String> titleUpdate = new AtomicReference<>();
+    private final AtomicReference<String> titleUpdate = new AtomicReference<>();
 
     /**
      * Used to send value updates in a thread-safe manner from the subclass
-     * to the FX application thread. AtomicReference is used so as to coalesce
-     * updates such that we don't flood the event queue.
+     * to the FX application thread.
      */
-    private AtomicReference<V> valueUpdate = new AtomicReference<>();
+    private final AtomicReference<V> valueUpdate = new AtomicReference<>();
 
     /**
      * This is used so we have a thread-safe way to ask whether the task was
@@ -1100,11 +1119,9 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
 
         if (isFxApplicationThread()) {
             _updateProgress(workDone, max);
-        } else if (progressUpdate.getAndSet(new ProgressUpdate(workDone, max)) == null) {
-            runLater(() -> {
-                final ProgressUpdate update = progressUpdate.getAndSet(null);
-                _updateProgress(update.workDone, update.totalWork);
-            });
+        } else {
+            progressUpdate.set(new ProgressUpdate(workDone, max));
+            postUpdate(PROGRESS_UPDATE);
         }
     }
 
@@ -1139,14 +1156,8 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
             // will update this message quite frequently, and we need
             // to throttle the updates so as not to completely clobber
             // the event dispatching system.
-            if (messageUpdate.getAndSet(message) == null) {
-                runLater(new Runnable() {
-                    @Override public void run() {
-                        final String message = messageUpdate.getAndSet(null);
-                        Task.this.message.set(message);
-                    }
-                });
-            }
+            messageUpdate.set(message);
+            postUpdate(MESSAGE_UPDATE);
         }
     }
 
@@ -1171,14 +1182,8 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
             // will update this title quite frequently, and we need
             // to throttle the updates so as not to completely clobber
             // the event dispatching system.
-            if (titleUpdate.getAndSet(title) == null) {
-                runLater(new Runnable() {
-                    @Override public void run() {
-                        final String title = titleUpdate.getAndSet(null);
-                        Task.this.title.set(title);
-                    }
-                });
-            }
+            titleUpdate.set(title);
+            postUpdate(TITLE_UPDATE);
         }
     }
 
@@ -1204,9 +1209,47 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
             // will update this value quite frequently, and we need
             // to throttle the updates so as not to completely clobber
             // the event dispatching system.
-            if (valueUpdate.getAndSet(value) == null) {
-                runLater(() -> Task.this.value.set(valueUpdate.getAndSet(null)));
-            }
+            valueUpdate.set(value);
+            postUpdate(VALUE_UPDATE);
+        }
+    }
+
+    /**
+     * Marks the given kind of update as pending, and hands this Task to the
+     * update dispatcher if it had no pending updates yet. The new value must
+     * have been stored before this is called.
+     */
+    private void postUpdate(int update) {
+        int pending;
+        do {
+            pending = pendingUpdates.get();
+            if ((pending & update) != 0) return;
+        } while (!pendingUpdates.compareAndSet(pending, pending | update));
+
+        if (pending == 0) {
+            UPDATE_DISPATCHER.post(this);
+        }
+    }
+
+    /**
+     * Applies the pending updates on the FX application thread. The pending
+     * flags are cleared before the values are read, so a value stored after
+     * this point is always followed by another call to postUpdate.
+     */
+    private void applyUpdates() {
+        final int pending = pendingUpdates.getAndSet(0);
+        if ((pending & PROGRESS_UPDATE) != 0) {
+            final ProgressUpdate update = progressUpdate.get();
+            _updateProgress(update.workDone, update.totalWork);
+        }
+        if ((pending & MESSAGE_UPDATE) != 0) {
+            message.set(messageUpdate.get());
+        }
+        if ((pending & TITLE_UPDATE) != 0) {
+            title.set(titleUpdate.get());
+        }
+        if ((pending & VALUE_UPDATE) != 0) {
+            value.set(valueUpdate.get());
         }
     }
 
@@ -1365,9 +1408,8 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
     /**
      * A struct like class that contains the last workDone update information.
      * What we do when updateProgress is called, is we create a new ProgressUpdate
-     * object and store it. If it was null, then we fire off a new Runnable
-     * using RunLater, which will eventually read the latest and set it to null
-     * atomically. If it was not null, then we simply update it.
+     * object and store it. If no progress update was pending, then the Task is
+     * handed to the UPDATE_DISPATCHER, which will eventually read the latest.
      */
     private static final class ProgressUpdate {
         private final double workDone;
@@ -1379,6 +1421,34 @@ public abstract class Task<V> extends FutureTask<V> implements Worker<V>, EventT
         }
     }
 
+    /**
+     * Applies the updates of all Tasks that have posted updates from a
+     * background thread. Only one flush is waiting on the event queue at any
+     * time; it is scheduled with the runLater of the Task that started the
+     * batch, and it applies the updates of every Task queued until it runs.
+     */
+    private static final class UpdateDispatcher implements Runnable {
+        private final ConcurrentLinkedQueue<Task<?>> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void post(Task<?> task) {
+            tasks.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                task.runLater(this);
+            }
+        }
+
+        @Override public void run() {
+            // Clear the flag first, so that a Task queued while we are
+            // draining either gets drained now or schedules another flush
+            scheduled.set(false);
+            Task<?> task;
+            while ((task = tasks.poll()) != null) {
+                task.applyUpdates();
+            }
+        }
+    }
+
     /**
      *  TaskCallable actually implements the Callable contract as defined for
      *  the FutureTask class, and is necessary so as to allow us to intercept
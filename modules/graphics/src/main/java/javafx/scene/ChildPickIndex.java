@@ -0,0 +1,369 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.javafx.geom.BaseBounds;
+import com.sun.javafx.geom.RectBounds;
+import com.sun.javafx.geom.PickRay;
+import com.sun.javafx.geom.Vec3d;
+import com.sun.javafx.geom.transform.BaseTransform;
+import com.sun.javafx.scene.input.PickResultChooser;
+
+/**
+ * A uniform grid over the bounds in parent of the children of a
+ * {@link Parent}, used to pick large flat parents without visiting every
+ * child. Each cell holds the (ascending) indices of the children whose bounds
+ * overlap it, so picking a point only visits the children of one cell, in the
+ * same top-most-first order as the linear walk in
+ * {@link Parent#impl_pickChildrenNode}. Children spanning many cells are
+ * kept in a separate list which is merged into every query.
+ * <p>
+ * The grid is only consulted for rays parallel to the z axis in the
+ * coordinate space of the parent, which is the usual case of 2D picking. For
+ * such rays a child can only be hit if the ray passes through its bounds in
+ * parent, so skipping the children of the other cells does not change the
+ * result.
+ * <p>
+ * The index is kept in sync through the same notifications the parent uses to
+ * maintain its cached bounds: any change to the children list discards the
+ * whole grid, while bounds and visibility changes of a child only move that
+ * child between cells the next time the index is used. Once more children
+ * have moved than there are children in total the grid is rebuilt, so that it
+ * follows the extent of the content.
+ */
+final class ChildPickIndex {
+
+    /**
+     * The number of children above which a parent uses a pick index. Zero
+     * disables pick indices altogether.
+     */
+    static final int THRESHOLD =
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger("javafx.sg.pickIndexThreshold", 256));
+
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final int NOT_INDEXED = 0;
+    private static final int IN_CELLS = 1;
+    private static final int IN_LARGE = 2;
+
+    private static final class Entry {
+        final Node node;
+        final int index;
+        int state;
+        boolean dirty;
+        int x0, y0, x1, y1;
+
+        Entry(Node node, int index) {
+            this.node = node;
+            this.index = index;
+        }
+    }
+
+    private final List<Node> children;
+    private final Map<Node, Entry> entries = new IdentityHashMap<>();
+    private final ArrayList<Entry> dirtyEntries = new ArrayList<>();
+    private BaseBounds tmp = new RectBounds();
+    private boolean valid;
+    private int updatesSinceBuild;
+
+    private double minX, minY;
+    private double invCellWidth, invCellHeight;
+    private int cols, rows;
+    private int[][] cells;
+    private int[] cellSizes;
+    private int[] large = EMPTY;
+    private int largeSize;
+    private int largeLimit;
+
+    ChildPickIndex(List<Node> children) {
+        this.children = children;
+    }
+
+    static boolean isUsable(int childCount) {
+        return THRESHOLD > 0 && childCount > THRESHOLD;
+    }
+
+    /**
+     * Called when the children list has changed in any way.
+     */
+    void invalidate() {
+        valid = false;
+        entries.clear();
+        dirtyEntries.clear();
+    }
+
+    /**
+     * Called when the bounds or the visibility of a child has changed.
+     */
+    void childChanged(Node node) {
+        if (!valid) {
+            return;
+        }
+        Entry entry = entries.get(node);
+        if (entry != null && !entry.dirty) {
+            entry.dirty = true;
+            dirtyEntries.add(entry);
+        }
+    }
+
+    /**
+     * Picks the children hit by the given ray, top-most first. Returns false
+     * if the index cannot be used for this ray and the caller has to visit
+     * all the children itself.
+     */
+    boolean pick(PickRay pickRay, PickResultChooser result) {
+        final Vec3d dir = pickRay.getDirectionNoClone();
+        if (dir.x != 0.0 || dir.y != 0.0 || dir.z == 0.0) {
+            return false;
+        }
+
+        validate();
+
+        final Vec3d origin = pickRay.getOriginNoClone();
+        final int cell = cellY(origin.y) * cols + cellX(origin.x);
+        final int[] indices = cells[cell];
+        final int[] largeIndices = large;
+        int i = cellSizes[cell] - 1;
+        int j = largeSize - 1;
+        while (i >= 0 || j >= 0) {
+            final int index;
+            if (j < 0 || (i >= 0 && indices[i] > largeIndices[j])) {
+                index = indices[i--];
+            } else {
+                index = largeIndices[j--];
+            }
+            if (index >= children.size()) {
+                continue;
+            }
+            children.get(index).impl_pickNode(pickRay, result);
+            if (result.isClosed()) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private void validate() {
+        if (!valid || updatesSinceBuild + dirtyEntries.size() > children.size()) {
+            build();
+            return;
+        }
+        // Computing the bounds of a child may report the child as changed
+        // again, which is why the list is walked by index
+        for (int i = 0; i < dirtyEntries.size(); i++) {
+            final Entry entry = dirtyEntries.get(i);
+            entry.dirty = false;
+            remove(entry);
+            insert(entry);
+        }
+        updatesSinceBuild += dirtyEntries.size();
+        dirtyEntries.clear();
+    }
+
+    private void build() {
+        entries.clear();
+        dirtyEntries.clear();
+        updatesSinceBuild = 0;
+        largeSize = 0;
+
+        final int size = children.size();
+        final float[] bounds = new float[size * 4];
+        float bx0 = Float.POSITIVE_INFINITY, by0 = Float.POSITIVE_INFINITY;
+        float bx1 = Float.NEGATIVE_INFINITY, by1 = Float.NEGATIVE_INFINITY;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final Node node = children.get(i);
+            final Entry entry = new Entry(node, i);
+            entries.put(node, entry);
+            if (computeBounds(node)) {
+                final int k = i * 4;
+                bounds[k] = tmp.getMinX();
+                bounds[k + 1] = tmp.getMinY();
+                bounds[k + 2] = tmp.getMaxX();
+                bounds[k + 3] = tmp.getMaxY();
+                bx0 = Math.min(bx0, bounds[k]);
+                by0 = Math.min(by0, bounds[k + 1]);
+                bx1 = Math.max(bx1, bounds[k + 2]);
+                by1 = Math.max(by1, bounds[k + 3]);
+                entry.state = IN_CELLS;
+                count++;
+            }
+        }
+
+        final double width = count == 0 ? 0 : (double) bx1 - bx0;
+        final double height = count == 0 ? 0 : (double) by1 - by0;
+        if (width > 0 && height > 0) {
+            cols = (int) Math.ceil(Math.sqrt(count * width / height));
+        } else {
+            cols = width > 0 ? count : 1;
+        }
+        cols = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, cols));
+        rows = height > 0 ? (count + cols - 1) / cols : 1;
+        rows = Math.max(1, Math.min(MAX_CELLS_PER_AXIS, rows));
+        minX = count == 0 ? 0 : bx0;
+        minY = count == 0 ? 0 : by0;
+        invCellWidth = width > 0 ? cols / width : 0;
+        invCellHeight = height > 0 ? rows / height : 0;
+        largeLimit = Math.max(16, cols * rows / 16);
+
+        final int cellCount = cols * rows;
+        cells = new int[cellCount][];
+        cellSizes = new int[cellCount];
+        Arrays.fill(cells, EMPTY);
+        for (int i = 0; i < size; i++) {
+            final Entry entry = entries.get(children.get(i));
+            if (entry.state != NOT_INDEXED) {
+                final int k = i * 4;
+                setCellRange(entry, bounds[k], bounds[k + 1], bounds[k + 2], bounds[k + 3]);
+                // children are visited in ascending order, so appending
+                // keeps every cell sorted
+                if (entry.state == IN_LARGE) {
+                    large = append(large, largeSize++, i);
+                } else {
+                    for (int y = entry.y0; y <= entry.y1; y++) {
+                        for (int x = entry.x0; x <= entry.x1; x++) {
+                            final int cell = y * cols + x;
+                            cells[cell] = append(cells[cell], cellSizes[cell]++, i);
+                        }
+                    }
+                }
+            }
+        }
+        valid = true;
+    }
+
+    private boolean computeBounds(Node node) {
+        if (!node.isVisible()) {
+            return false;
+        }
+        tmp = node.getTransformedBounds(tmp, BaseTransform.IDENTITY_TRANSFORM);
+        return !tmp.isEmpty();
+    }
+
+    private void setCellRange(Entry entry, float x0, float y0, float x1, float y1) {
+        // Pad the bounds so that rounding in the transform of the pick ray
+        // can never move a point just inside a child into a neighbouring cell
+        entry.x0 = cellX(x0 - pad(x0));
+        entry.y0 = cellY(y0 - pad(y0));
+        entry.x1 = cellX(x1 + pad(x1));
+        entry.y1 = cellY(y1 + pad(y1));
+        final long span = (long) (entry.x1 - entry.x0 + 1) * (entry.y1 - entry.y0 + 1);
+        entry.state = span > largeLimit ? IN_LARGE : IN_CELLS;
+    }
+
+    private static double pad(float v) {
+        return Math.max(1e-3, Math.abs(v) * 1e-6);
+    }
+
+    private int cellX(double x) {
+        final double c = Math.floor((x - minX) * invCellWidth);
+        return c <= 0 ? 0 : c >= cols - 1 ? cols - 1 : (int) c;
+    }
+
+    private int cellY(double y) {
+        final double c = Math.floor((y - minY) * invCellHeight);
+        return c <= 0 ? 0 : c >= rows - 1 ? rows - 1 : (int) c;
+    }
+
+    private void insert(Entry entry) {
+        if (!computeBounds(entry.node)) {
+            entry.state = NOT_INDEXED;
+            return;
+        }
+        setCellRange(entry, tmp.getMinX(), tmp.getMinY(), tmp.getMaxX(), tmp.getMaxY());
+        if (entry.state == IN_LARGE) {
+            large = insertSorted(large, largeSize++, entry.index);
+        } else {
+            for (int y = entry.y0; y <= entry.y1; y++) {
+                for (int x = entry.x0; x <= entry.x1; x++) {
+                    final int cell = y * cols + x;
+                    cells[cell] = insertSorted(cells[cell], cellSizes[cell]++, entry.index);
+                }
+            }
+        }
+    }
+
+    private void remove(Entry entry) {
+        if (entry.state == IN_LARGE) {
+            largeSize = removeSorted(large, largeSize, entry.index);
+        } else if (entry.state == IN_CELLS) {
+            for (int y = entry.y0; y <= entry.y1; y++) {
+                for (int x = entry.x0; x <= entry.x1; x++) {
+                    final int cell = y * cols + x;
+                    cellSizes[cell] = removeSorted(cells[cell], cellSizes[cell], entry.index);
+                }
+            }
+        }
+        entry.state = NOT_INDEXED;
+    }
+
+    private static int[] append(int[] array, int size, int value) {
+        if (size == array.length) {
+            final int[] grown = new int[Math.max(4, size * 2)];
+            System.arraycopy(array, 0, grown, 0, size);
+            array = grown;
+        }
+        array[size] = value;
+        return array;
+    }
+
+    private static int[] insertSorted(int[] array, int size, int value) {
+        int pos = Arrays.binarySearch(array, 0, size, value);
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        if (size == array.length) {
+            final int[] grown = new int[Math.max(4, size * 2)];
+            System.arraycopy(array, 0, grown, 0, pos);
+            System.arraycopy(array, pos, grown, pos + 1, size - pos);
+            array = grown;
+        } else {
+            System.arraycopy(array, pos, array, pos + 1, size - pos);
+        }
+        array[pos] = value;
+        return array;
+    }
+
+    private static int removeSorted(int[] array, int size, int value) {
+        final int pos = Arrays.binarySearch(array, 0, size, value);
+        if (pos < 0) {
+            return size;
+        }
+        System.arraycopy(array, pos + 1, array, pos, size - pos - 1);
+        return size - 1;
+    }
+
+}
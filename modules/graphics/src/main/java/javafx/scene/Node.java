@@ -124,6 +124,7 @@ import com.sun.javafx.collections.UnmodifiableListSet;
 import com.sun.javafx.css.PseudoClassState;
 import com.sun.javafx.css.Selector;
 import com.sun.javafx.css.Style;
+import com.sun.javafx.css.StyleManager;
 import com.sun.javafx.css.converters.BooleanConverter;
 import com.sun.javafx.css.converters.CursorConverter;
 import com.sun.javafx.css.converters.EffectConverter;
@@ -1020,7 +1021,9 @@ public abstract class Node implements EventTarget, Styleable {
     private ObservableList<String> styleClass = new TrackableObservableList<String>() {
         @Override
         protected void onChanged(Change<String> c) {
-            impl_reapplyCSS();
+            if (isStyleClassDependency(c)) {
+                impl_reapplyCSS();
+            }
         }
 
         @Override
@@ -8925,6 +8928,31 @@ public abstract class Node implements EventTarget, Styleable {
         }
     }
 
+    //
+    // Returns true if a style class added or removed by the change appears in a
+    // selector that could match this node or, for nodes with children, one of
+    // its descendants. Otherwise the change cannot affect the styles and CSS
+    // does not need to be reapplied.
+    //
+    private boolean isStyleClassDependency(Change<String> c) {
+        final int mask = (this instanceof Parent || this instanceof SubScene)
+                ? StyleManager.SUBJECT_DEPENDENCY | StyleManager.ANCESTOR_DEPENDENCY
+                : StyleManager.SUBJECT_DEPENDENCY;
+        while (c.next()) {
+            final List<String> removed = c.getRemoved();
+            for (int n = 0, nMax = removed.size(); n < nMax; n++) {
+                if ((StyleManager.getStyleClassDependency(removed.get(n)) & mask) != 0) return true;
+            }
+            if (c.wasAdded()) {
+                final List<String> added = c.getAddedSubList();
+                for (int n = 0, nMax = added.size(); n < nMax; n++) {
+                    if ((StyleManager.getStyleClassDependency(added.get(n)) & mask) != 0) return true;
+                }
+            }
+        }
+        return false;
+    }
+
     /**
      * @treatAsPrivate implementation detail
      * @deprecated This is an internal API that is not intended for use and will be removed in the next version
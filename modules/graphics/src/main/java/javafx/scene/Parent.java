@@ -343,6 +343,10 @@ public abstract class Parent extends Node {
                 impl_geomChanged();
             }
 
+            if (pickIndex != null) {
+                pickIndex.invalidate();
+            }
+
             // Note the starting index at which we need to update the
             // PGGroup on the next update, and mark the children dirty
             c.reset();
@@ -705,11 +709,9 @@ public abstract class Parent extends Node {
         double boundsDistance = impl_intersectsBounds(pickRay);
 
         if (!Double.isNaN(boundsDistance)) {
-            for (int i = children.size()-1; i >= 0; i--) {
-                children.get(i).impl_pickNode(pickRay, result);
-                if (result.isClosed()) {
-                    return;
-                }
+            impl_pickChildrenNode(pickRay, result);
+            if (result.isClosed()) {
+                return;
             }
 
             if (isPickOnBounds()) {
@@ -718,6 +720,35 @@ public abstract class Parent extends Node {
         }
     }
 
+    /**
+     * Picks the children of this parent, top-most first, stopping as soon as
+     * the result is closed. Large parents consult a spatial index of the
+     * bounds of their children instead of visiting every child.
+     *
+     * @treatAsPrivate implementation detail
+     * @deprecated This is an internal API that is not intended for use and will be removed in the next version
+     */
+    @Deprecated
+    protected final void impl_pickChildrenNode(PickRay pickRay, PickResultChooser result) {
+        if (ChildPickIndex.isUsable(children.size())) {
+            if (pickIndex == null) {
+                pickIndex = new ChildPickIndex(children);
+            }
+            if (pickIndex.pick(pickRay, result)) {
+                return;
+            }
+        } else {
+            pickIndex = null;
+        }
+
+        for (int i = children.size()-1; i >= 0; i--) {
+            children.get(i).impl_pickNode(pickRay, result);
+            if (result.isClosed()) {
+                return;
+            }
+        }
+    }
+
     @Override boolean isConnected() {
         return super.isConnected() || sceneRoot;
     }
@@ -1362,6 +1393,13 @@ public abstract class Parent extends Node {
      */
     private ArrayList<Node> dirtyChildren;
 
+    /**
+     * Spatial index of the bounds of the children used for picking, created
+     * on demand once the number of children exceeds
+     * {@link ChildPickIndex#THRESHOLD}.
+     */
+    private ChildPickIndex pickIndex;
+
     private Node top;
     private Node left;
     private Node bottom;
@@ -1738,6 +1776,12 @@ public abstract class Parent extends Node {
      * Called by Node whenever its bounds have changed.
      */
     void childBoundsChanged(Node node) {
+        // The pick index must follow the child even while its transformed
+        // bounds are being computed, as it won't be told again
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
+
         // See comment above at "currentlyProcessedChild" field
         if (node == currentlyProcessedChild) {
             return;
@@ -1768,6 +1812,10 @@ public abstract class Parent extends Node {
         }
 
         impl_geomChanged();
+
+        if (pickIndex != null) {
+            pickIndex.childChanged(node);
+        }
     }
 
     /**
@@ -587,6 +587,19 @@ public final class GraphicsContext {
             return new State(this);
         }
 
+        void copyFrom(State s) {
+            Affine2D tx = this.transform;
+            tx.setTransform(s.transform);
+            set(s.globalAlpha, s.blendop,
+                tx,
+                s.fill, s.stroke,
+                s.linewidth, s.linecap, s.linejoin, s.miterlimit,
+                s.dashes, s.dashOffset,
+                s.numClipPaths,
+                s.font, s.fontsmoothing, s.textalign, s.textbaseline,
+                s.effect, s.fillRule);
+        }
+
         void restore(GraphicsContext ctx) {
             ctx.setGlobalAlpha(globalAlpha);
             ctx.setGlobalBlendMode(blendop);
@@ -637,6 +650,7 @@ public final class GraphicsContext {
     private void writePath(byte command) {
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         if (pathDirty) {
             buf.putByte(NGCanvas.PATHSTART);
             PathIterator pi = path.getPathIterator(null);
@@ -683,8 +697,16 @@ public final class GraphicsContext {
     }
 
     private void writeOp4(double x, double y, double w, double h, byte command) {
+        GrowableDataBuffer buf = getBuffer();
+        int valpos = buf.writeValuePosition();
+        int objpos = buf.writeObjectPosition();
         updateTransform();
-        writeRectParams(getBuffer(), x, y, w, h, command);
+        writeRectParams(buf, x, y, w, h, command);
+        if (command == NGCanvas.FILL_RECT || command == NGCanvas.CLEAR_RECT) {
+            addOverdrawMark(valpos, objpos, x, y, w, h);
+        } else {
+            clearOverdrawMarks();
+        }
     }
 
     private void writeOp6(double x, double y, double w, double h,
@@ -692,6 +714,7 @@ public final class GraphicsContext {
     {
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(command);
         buf.putFloat((float) x);
         buf.putFloat((float) y);
@@ -718,6 +741,7 @@ public final class GraphicsContext {
     {
         if (xPoints == null || yPoints == null) return;
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(NGCanvas.PATHSTART);
         int pos = 0;
         byte polycmd = NGCanvas.MOVETO;
@@ -749,10 +773,13 @@ public final class GraphicsContext {
         if (img == null || img.getProgress() < 1.0) return;
         Object platformImg = img.impl_getPlatformImage();
         if (platformImg == null) return;
-        updateTransform();
         GrowableDataBuffer buf = getBuffer();
+        int valpos = buf.writeValuePosition();
+        int objpos = buf.writeObjectPosition();
+        updateTransform();
         writeRectParams(buf, dx, dy, dw, dh, NGCanvas.DRAW_IMAGE);
         buf.putObject(platformImg);
+        addOverdrawMark(valpos, objpos, dx, dy, dw, dh);
     }
 
     private void writeImage(Image img,
@@ -762,14 +789,17 @@ public final class GraphicsContext {
         if (img == null || img.getProgress() < 1.0) return;
         Object platformImg = img.impl_getPlatformImage();
         if (platformImg == null) return;
-        updateTransform();
         GrowableDataBuffer buf = getBuffer();
+        int valpos = buf.writeValuePosition();
+        int objpos = buf.writeObjectPosition();
+        updateTransform();
         writeRectParams(buf, dx, dy, dw, dh, NGCanvas.DRAW_SUBIMAGE);
         buf.putFloat((float) sx);
         buf.putFloat((float) sy);
         buf.putFloat((float) sw);
         buf.putFloat((float) sh);
         buf.putObject(platformImg);
+        addOverdrawMark(valpos, objpos, dx, dy, dw, dh);
     }
 
     private void writeText(String text, double x, double y, double maxWidth,
@@ -778,6 +808,7 @@ public final class GraphicsContext {
         if (text == null) return;
         updateTransform();
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(command);
         buf.putFloat((float) x);
         buf.putFloat((float) y);
@@ -815,6 +846,7 @@ public final class GraphicsContext {
 
     void updateDimensions() {
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(NGCanvas.SET_DIMS);
         buf.putFloat((float) theCanvas.getWidth());
         buf.putFloat((float) theCanvas.getHeight());
@@ -832,6 +864,7 @@ public final class GraphicsContext {
             theCanvas.isRendererFallingBehind())
         {
             buf.reset();
+            clearOverdrawMarks();
             buf.putByte(NGCanvas.RESET);
             updateDimensions();
             txdirty = true;
@@ -849,6 +882,8 @@ public final class GraphicsContext {
         }
     }
 
+    private final double coverageCorners[] = new double[8];
+
     private void resetIfCovers(Paint p, double x, double y, double w, double h) {
         Affine2D tx = this.curState.transform;
         if (tx.isTranslateOrIdentity()) {
@@ -861,8 +896,27 @@ public final class GraphicsContext {
                 return;
             }
         } else {
-//          quad test for coverage...?
-            return;
+            // The (convex) transformed rectangle covers the canvas if all
+            // four corners of the canvas map back into the rectangle
+            double cw = theCanvas.getWidth();
+            double ch = theCanvas.getHeight();
+            double corners[] = coverageCorners;
+            corners[0] = 0;  corners[1] = 0;
+            corners[2] = cw; corners[3] = 0;
+            corners[4] = 0;  corners[5] = ch;
+            corners[6] = cw; corners[7] = ch;
+            try {
+                tx.inverseTransform(corners, 0, corners, 0, 4);
+            } catch (NoninvertibleTransformException e) {
+                return;
+            }
+            for (int i = 0; i < 8; i += 2) {
+                if (corners[i] < x || corners[i] > x+w ||
+                    corners[i+1] < y || corners[i+1] > y+h)
+                {
+                    return;
+                }
+            }
         }
         if (p != null) {
             if (this.curState.blendop != BlendMode.SRC_OVER) return;
@@ -873,6 +927,119 @@ public final class GraphicsContext {
         reset();
     }
 
+    /*
+     * Overdraw elimination for partial covers. The most recent fillRect,
+     * clearRect and drawImage operations that were recorded back to back,
+     * with only attribute changes between them, are remembered together
+     * with the buffer positions and the rendering state they started at.
+     * When a later opaque fill or clear hides a trailing run of them
+     * completely, the buffer is cut back to the start of that run and the
+     * current attributes are written again, as reset() does for a cover of
+     * the whole canvas. Any other operation ends the run.
+     */
+    private static final int MAX_OVERDRAW_MARKS = 32;
+
+    private static final class OverdrawMark {
+        int valpos;
+        int objpos;
+        final State state = new State();
+        double minx, miny, maxx, maxy;
+    }
+
+    private final OverdrawMark overdrawMarks[] = new OverdrawMark[MAX_OVERDRAW_MARKS];
+    private int firstOverdrawMark;
+    private int numOverdrawMarks;
+
+    private void clearOverdrawMarks() {
+        numOverdrawMarks = 0;
+    }
+
+    private OverdrawMark getOverdrawMark(int i) {
+        return overdrawMarks[(firstOverdrawMark + i) % MAX_OVERDRAW_MARKS];
+    }
+
+    private void addOverdrawMark(int valpos, int objpos,
+                                 double x, double y, double w, double h)
+    {
+        // Effects and clips change what an operation touches, and the
+        // clip stack can't be rewound, so these end the run instead
+        if (curState.effect != null || curState.numClipPaths > 0) {
+            clearOverdrawMarks();
+            return;
+        }
+        if (numOverdrawMarks == MAX_OVERDRAW_MARKS) {
+            firstOverdrawMark = (firstOverdrawMark + 1) % MAX_OVERDRAW_MARKS;
+            numOverdrawMarks--;
+        }
+        int index = (firstOverdrawMark + numOverdrawMarks) % MAX_OVERDRAW_MARKS;
+        OverdrawMark mark = overdrawMarks[index];
+        if (mark == null) {
+            mark = overdrawMarks[index] = new OverdrawMark();
+        }
+        mark.valpos = valpos;
+        mark.objpos = objpos;
+        mark.state.copyFrom(curState);
+        double corners[] = coverageCorners;
+        corners[0] = x;   corners[1] = y;
+        corners[2] = x+w; corners[3] = y;
+        corners[4] = x;   corners[5] = y+h;
+        corners[6] = x+w; corners[7] = y+h;
+        curState.transform.transform(corners, 0, corners, 0, 4);
+        mark.minx = Math.min(Math.min(corners[0], corners[2]), Math.min(corners[4], corners[6]));
+        mark.miny = Math.min(Math.min(corners[1], corners[3]), Math.min(corners[5], corners[7]));
+        mark.maxx = Math.max(Math.max(corners[0], corners[2]), Math.max(corners[4], corners[6]));
+        mark.maxy = Math.max(Math.max(corners[1], corners[3]), Math.max(corners[5], corners[7]));
+        numOverdrawMarks++;
+    }
+
+    private void dropCoveredOps(Paint p, double x, double y, double w, double h) {
+        // A buffer handed to the renderer is replaced by a new one, which
+        // starts with SET_DIMS and so clears the marks
+        GrowableDataBuffer buf = getBuffer();
+        if (numOverdrawMarks == 0) return;
+        Affine2D tx = this.curState.transform;
+        if (tx.getMxy() != 0 || tx.getMyx() != 0) return;
+        if (p != null) {
+            if (this.curState.blendop != BlendMode.SRC_OVER) return;
+            if (!p.isOpaque() || this.curState.globalAlpha < 1.0) return;
+        }
+        if (this.curState.numClipPaths > 0) return;
+        if (this.curState.effect != null) return;
+
+        double x0 = x * tx.getMxx() + tx.getMxt();
+        double x1 = (x + w) * tx.getMxx() + tx.getMxt();
+        double y0 = y * tx.getMyy() + tx.getMyt();
+        double y1 = (y + h) * tx.getMyy() + tx.getMyt();
+        // Only pixels completely inside the rectangle are fully replaced,
+        // and an operation may touch the pixels around its bounds, so keep
+        // a margin of one unit (at least one pixel at any render scale)
+        double minx = Math.min(x0, x1) + 1;
+        double miny = Math.min(y0, y1) + 1;
+        double maxx = Math.max(x0, x1) - 1;
+        double maxy = Math.max(y0, y1) - 1;
+
+        int first = numOverdrawMarks;
+        while (first > 0) {
+            OverdrawMark mark = getOverdrawMark(first - 1);
+            if (mark.minx < minx || mark.miny < miny ||
+                mark.maxx > maxx || mark.maxy > maxy)
+            {
+                break;
+            }
+            first--;
+        }
+        if (first == numOverdrawMarks) return;
+
+        OverdrawMark mark = getOverdrawMark(first);
+        buf.truncate(mark.valpos, mark.objpos);
+        numOverdrawMarks = first;
+        State s = this.curState;
+        this.curState = mark.state.copy();
+        txdirty = true;
+        pathDirty = true;
+        s.restore(this);
+    }
+
     /**
     * Gets the {@code Canvas} that the {@code GraphicsContext} is issuing draw
     * commands to. There is only ever one {@code Canvas} for a
@@ -2304,6 +2471,7 @@ public final class GraphicsContext {
         clipStack.addLast(clip);
         curState.numClipPaths++;
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(NGCanvas.PUSH_CLIP);
         buf.putObject(clip);
     }
@@ -2337,6 +2505,7 @@ public final class GraphicsContext {
     public void clearRect(double x, double y, double w, double h) {
         if (w != 0 && h != 0) {
             resetIfCovers(null, x, y, w, h);
+            dropCoveredOps(null, x, y, w, h);
             writeOp4(x, y, w, h, NGCanvas.CLEAR_RECT);
         }
     }
@@ -2359,6 +2528,7 @@ public final class GraphicsContext {
     public void fillRect(double x, double y, double w, double h) {
         if (w != 0 && h != 0) {
             resetIfCovers(this.curState.fill, x, y, w, h);
+            dropCoveredOps(this.curState.fill, x, y, w, h);
             writeOp4(x, y, w, h, NGCanvas.FILL_RECT);
         }
     }
@@ -2715,6 +2885,7 @@ public final class GraphicsContext {
                 @Override
                 public void setArgb(int x, int y, int argb) {
                     GrowableDataBuffer buf = getBuffer();
+                    clearOverdrawMarks();
                     buf.putByte(NGCanvas.PUT_ARGB);
                     buf.putInt(x);
                     buf.putInt(y);
@@ -2735,6 +2906,7 @@ public final class GraphicsContext {
                                               byte[] pixels)
                 {
                     GrowableDataBuffer buf = getBuffer();
+                    clearOverdrawMarks();
                     buf.putByte(NGCanvas.PUT_ARGBPRE_BUF);
                     buf.putInt(x);
                     buf.putInt(y);
@@ -2972,6 +3144,7 @@ public final class GraphicsContext {
     public void applyEffect(Effect e) {
         if (e == null) return;
         GrowableDataBuffer buf = getBuffer();
+        clearOverdrawMarks();
         buf.putByte(NGCanvas.FX_APPLY_EFFECT);
         Effect effect = e.impl_copy();
         effect.impl_sync();
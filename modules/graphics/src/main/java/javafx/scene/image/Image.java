@@ -32,9 +32,8 @@ import java.net.URL;
 import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.IntBuffer;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.CancellationException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -49,10 +48,10 @@ import javafx.beans.property.ReadOnlyObjectPropertyBase;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.scene.Scene;
 import javafx.scene.paint.Color;
+import javafx.stage.Window;
 import javafx.util.Duration;
-import com.sun.javafx.runtime.async.AsyncOperation;
-import com.sun.javafx.runtime.async.AsyncOperationListener;
 import com.sun.javafx.tk.ImageLoader;
 import com.sun.javafx.tk.PlatformImage;
 import com.sun.javafx.tk.Toolkit;
@@ -770,7 +769,7 @@ public class Image {
      */
     public void cancel() {
         if (backgroundTask != null) {
-            backgroundTask.cancel();
+            backgroundTask.cancel(this);
         }
     }
 
@@ -784,7 +783,11 @@ public class Image {
         }
     }
 
-    private ImageTask backgroundTask;
+    private ImageLoadScheduler.Request backgroundTask;
+
+    // The image views which displayed this image while it was being loaded
+    // in the background, used to prioritize the images in showing windows.
+    private List<WeakReference<ImageView>> loadingViews;
 
     private void initialize(Object externalImage) {
         // we need to check the original values here, because setting placeholder
@@ -811,7 +814,8 @@ public class Image {
         }
     }
 
-    private void finishImage(ImageLoader loader) {
+    void finishImage(ImageLoader loader) {
+        loadingViews = null;
         final Exception loadingException = loader.getException();
         if (loadingException != null) {
             finishImage(loadingException);
@@ -829,7 +833,8 @@ public class Image {
         setProgress(1);
     }
 
-    private void finishImage(Exception exception) {
+    void finishImage(Exception exception) {
+       loadingViews = null;
        setException(exception);
        setError(true);
        setPlatformImageWH(null, 0, 0);
@@ -917,36 +922,48 @@ public class Image {
         }
     }
 
-    private void cycleTasks() {
-        synchronized (pendingTasks) {
-            runningTasks--;
-            // do we have any pending tasks to run ?
-            // we can assume we are under the throttle limit because
-            // one task just completed.
-            final ImageTask nextTask = pendingTasks.poll();
-            if (nextTask != null) {
-                runningTasks++;
-                nextTask.start();
+    private void loadInBackground() {
+        backgroundTask = ImageLoadScheduler.getInstance().submit(this);
+    }
+
+    void loadingProgress(int cur, int max) {
+        if (max > 0) {
+            double curProgress = (double) cur / max;
+            if ((curProgress < 1) && (curProgress >= (getProgress() + 0.1))) {
+                setProgress(curProgress);
             }
         }
     }
 
-    private void loadInBackground() {
-        backgroundTask = new ImageTask();
-        // This is an artificial throttle on background image loading tasks.
-        // It has been shown that with large images, we can quickly use up the
-        // heap loading images, even if they result in thumbnails.
-        // The limit of MAX_RUNNING_TASKS is arbitrary, and was based on initial
-        // testing with
-        // about 60 2-6 megapixel images.
-        synchronized (pendingTasks) {
-            if (runningTasks >= MAX_RUNNING_TASKS) {
-                pendingTasks.offer(backgroundTask);
-            } else {
-                runningTasks++;
-                backgroundTask.start();
+    void addLoadingView(ImageView view) {
+        if (backgroundTask == null || getProgress() >= 1) {
+            return;
+        }
+        if (loadingViews == null) {
+            loadingViews = new ArrayList<WeakReference<ImageView>>(1);
+        }
+        loadingViews.add(new WeakReference<ImageView>(view));
+    }
+
+    /**
+     * Returns true if this image is displayed by an image view in a showing
+     * window. Only tracked while the image is loaded in the background.
+     */
+    boolean isShowing() {
+        final List<WeakReference<ImageView>> views = loadingViews;
+        if (views != null) {
+            for (WeakReference<ImageView> ref : views) {
+                final ImageView view = ref.get();
+                if (view != null && view.getImage() == this) {
+                    final Scene scene = view.getScene();
+                    final Window window = scene != null ? scene.getWindow() : null;
+                    if (window != null && window.isShowing()) {
+                        return true;
+                    }
+                }
             }
         }
+        return false;
     }
 
     // Used by SwingUtils.toFXImage
@@ -1002,63 +1019,6 @@ public class Image {
         platformImage.set(newPlatformImage);
     }
 
-    private static final int MAX_RUNNING_TASKS = 4;
-    private static int runningTasks = 0;
-    private static final Queue<ImageTask> pendingTasks =
-            new LinkedList<ImageTask>();
-
-    private final class ImageTask
-            implements AsyncOperationListener<ImageLoader> {
-
-        private final AsyncOperation peer;
-
-        public ImageTask() {
-            peer = constructPeer();
-        }
-
-        @Override
-        public void onCancel() {
-            finishImage(new CancellationException("Loading cancelled"));
-            cycleTasks();
-        }
-
-        @Override
-        public void onException(Exception exception) {
-            finishImage(exception);
-            cycleTasks();
-        }
-
-        @Override
-        public void onCompletion(ImageLoader value) {
-            finishImage(value);
-            cycleTasks();
-        }
-
-        @Override
-        public void onProgress(int cur, int max) {
-            if (max > 0) {
-                double curProgress = (double) cur / max;
-                if ((curProgress < 1) && (curProgress >= (getProgress() + 0.1))) {
-                    setProgress(curProgress);
-                }
-            }
-        }
-
-        public void start() {
-            peer.start();
-        }
-
-        public void cancel() {
-            peer.cancel();
-        }
-
-        private AsyncOperation constructPeer() {
-            return loadImageAsync(this, url,
-                                  requestedWidth, requestedHeight,
-                                  preserveRatio, smooth);
-        }
-    }
-
     private static ImageLoader loadImage(
             String url, double width, double height,
             boolean preserveRatio, boolean smooth) {
@@ -1075,15 +1035,6 @@ public class Image {
 
     }
 
-    private static AsyncOperation loadImageAsync(
-            AsyncOperationListener<? extends ImageLoader> listener,
-            String url, double width, double height,
-            boolean preserveRatio, boolean smooth) {
-        return Toolkit.getToolkit().loadImageAsync(listener, url,
-                                                   (int) width, (int) height,
-                                                   preserveRatio, smooth);
-    }
-
     private static ImageLoader loadPlatformImage(Object platformImage) {
         return Toolkit.getToolkit().loadPlatformImage(platformImage);
     }
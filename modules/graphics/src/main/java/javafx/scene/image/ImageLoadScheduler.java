@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.image;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import com.sun.javafx.runtime.async.AsyncOperation;
+import com.sun.javafx.runtime.async.AsyncOperationListener;
+import com.sun.javafx.tk.ImageLoader;
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * Schedules the background loading of images.
+ * <p>
+ * At most {@code javafx.image.loadingThreads} images (the number of
+ * available processors by default) are decoded at the same time. It has been
+ * shown that with large images we can quickly use up the heap loading images,
+ * even if they result in thumbnails, so the remaining requests wait in a
+ * queue. Requests for images displayed by an {@code ImageView} in a showing
+ * window are started before the others.
+ * <p>
+ * Images with the same url, requested size and filtering share a single
+ * request and are all finished with the result of one decode. The scheduler
+ * only keeps weak references to the images waiting for a request, so a
+ * request whose images have all been garbage collected is dropped from the
+ * queue, or cancelled if it is already running, the next time the scheduler
+ * submits or completes a request.
+ */
+final class ImageLoadScheduler {
+
+    private static final ImageLoadScheduler instance = new ImageLoadScheduler(
+            AccessController.doPrivileged((PrivilegedAction<Integer>) () -> Integer.getInteger(
+                    "javafx.image.loadingThreads",
+                    Runtime.getRuntime().availableProcessors())));
+
+    static ImageLoadScheduler getInstance() {
+        return instance;
+    }
+
+    private final int maxRunning;
+    private int running;
+    private final LinkedList<Request> pending = new LinkedList<Request>();
+    private final Map<String, Request> requests = new HashMap<String, Request>();
+    private final ReferenceQueue<Image> staleImages = new ReferenceQueue<Image>();
+
+    ImageLoadScheduler(int maxRunning) {
+        this.maxRunning = Math.max(1, maxRunning);
+    }
+
+    int getMaxRunning() {
+        return maxRunning;
+    }
+
+    /**
+     * Starts or queues the background loading of the given image and
+     * returns the request the image is waiting for.
+     */
+    Request submit(Image image) {
+        final String key = image.impl_getUrl() + '|'
+                + image.getRequestedWidth() + 'x' + image.getRequestedHeight() + '|'
+                + image.isPreserveRatio() + '|' + image.isSmooth();
+        final List<AsyncOperation> toCancel = new ArrayList<AsyncOperation>();
+        final List<Request> toStart = new ArrayList<Request>();
+        final Request request;
+        synchronized (this) {
+            expungeStaleImages(toCancel);
+            Request existing = requests.get(key);
+            if (existing != null) {
+                request = existing;
+            } else {
+                request = new Request(key, image);
+                requests.put(key, request);
+                pending.add(request);
+            }
+            request.waiters.add(new Waiter(image, request, staleImages));
+            startPending(toStart);
+        }
+        run(toCancel, toStart);
+        return request;
+    }
+
+    /**
+     * Stops the given image from waiting for its request and finishes it
+     * with a {@code CancellationException}. The request itself is cancelled
+     * if no other image waits for it.
+     */
+    void cancel(Request request, Image image) {
+        final List<AsyncOperation> toCancel = new ArrayList<AsyncOperation>();
+        final List<Request> toStart = new ArrayList<Request>();
+        boolean found = false;
+        synchronized (this) {
+            for (Iterator<Waiter> it = request.waiters.iterator(); it.hasNext();) {
+                if (it.next().get() == image) {
+                    it.remove();
+                    found = true;
+                    break;
+                }
+            }
+            if (found && request.waiters.isEmpty()) {
+                abandon(request, toCancel);
+            }
+            startPending(toStart);
+        }
+        run(toCancel, toStart);
+        if (found) {
+            image.finishImage(new CancellationException("Loading cancelled"));
+        }
+    }
+
+    /**
+     * Called once a request has finished, successfully or not. Frees its
+     * slot, starts the next pending requests and returns the images which
+     * were still waiting for it.
+     */
+    private List<Image> complete(Request request) {
+        final List<AsyncOperation> toCancel = new ArrayList<AsyncOperation>();
+        final List<Request> toStart = new ArrayList<Request>();
+        final List<Image> images;
+        synchronized (this) {
+            running--;
+            if (requests.get(request.key) == request) {
+                requests.remove(request.key);
+            }
+            images = request.getImages();
+            request.waiters.clear();
+            request.peer = null;
+            expungeStaleImages(toCancel);
+            startPending(toStart);
+        }
+        run(toCancel, toStart);
+        return images;
+    }
+
+    private synchronized List<Image> getImages(Request request) {
+        return request.getImages();
+    }
+
+    private void expungeStaleImages(List<AsyncOperation> toCancel) {
+        Waiter waiter;
+        while ((waiter = (Waiter) staleImages.poll()) != null) {
+            final Request request = waiter.request;
+            if (request.waiters.remove(waiter) && request.waiters.isEmpty()) {
+                abandon(request, toCancel);
+            }
+        }
+    }
+
+    private void abandon(Request request, List<AsyncOperation> toCancel) {
+        if (requests.get(request.key) == request) {
+            requests.remove(request.key);
+        }
+        if (request.peer == null) {
+            pending.remove(request);
+        } else {
+            // the slot is freed when the cancelled request completes
+            toCancel.add(request.peer);
+        }
+    }
+
+    private void startPending(List<Request> toStart) {
+        while (running < maxRunning && !pending.isEmpty()) {
+            final Request request = pollPending();
+            request.peer = Toolkit.getToolkit().loadImageAsync(
+                    request, request.url,
+                    (int) request.width, (int) request.height,
+                    request.preserveRatio, request.smooth);
+            running++;
+            toStart.add(request);
+        }
+    }
+
+    private Request pollPending() {
+        for (Iterator<Request> it = pending.iterator(); it.hasNext();) {
+            final Request request = it.next();
+            if (request.isShowing()) {
+                it.remove();
+                return request;
+            }
+        }
+        return pending.poll();
+    }
+
+    private static void run(List<AsyncOperation> toCancel, List<Request> toStart) {
+        for (AsyncOperation peer : toCancel) {
+            peer.cancel();
+        }
+        for (Request request : toStart) {
+            final AsyncOperation peer = request.peer;
+            if (peer != null) {
+                peer.start();
+            }
+        }
+    }
+
+    private static final class Waiter extends WeakReference<Image> {
+        final Request request;
+
+        Waiter(Image image, Request request, ReferenceQueue<Image> queue) {
+            super(image, queue);
+            this.request = request;
+        }
+    }
+
+    final class Request implements AsyncOperationListener<ImageLoader> {
+        private final String key;
+        private final String url;
+        private final double width;
+        private final double height;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+        private final List<Waiter> waiters = new ArrayList<Waiter>(1);
+        private AsyncOperation peer;
+
+        private Request(String key, Image image) {
+            this.key = key;
+            this.url = image.impl_getUrl();
+            this.width = image.getRequestedWidth();
+            this.height = image.getRequestedHeight();
+            this.preserveRatio = image.isPreserveRatio();
+            this.smooth = image.isSmooth();
+        }
+
+        private List<Image> getImages() {
+            if (waiters.isEmpty()) {
+                return Collections.emptyList();
+            }
+            final List<Image> images = new ArrayList<Image>(waiters.size());
+            for (Waiter waiter : waiters) {
+                final Image image = waiter.get();
+                if (image != null) {
+                    images.add(image);
+                }
+            }
+            return images;
+        }
+
+        private boolean isShowing() {
+            for (Waiter waiter : waiters) {
+                final Image image = waiter.get();
+                if (image != null && image.isShowing()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void cancel(Image image) {
+            ImageLoadScheduler.this.cancel(this, image);
+        }
+
+        @Override
+        public void onCancel() {
+            for (Image image : complete(this)) {
+                image.finishImage(new CancellationException("Loading cancelled"));
+            }
+        }
+
+        @Override
+        public void onException(Exception exception) {
+            for (Image image : complete(this)) {
+                image.finishImage(exception);
+            }
+        }
+
+        @Override
+        public void onCompletion(ImageLoader value) {
+            for (Image image : complete(this)) {
+                image.finishImage(value);
+            }
+        }
+
+        @Override
+        public void onProgress(int cur, int max) {
+            for (Image image : ImageLoadScheduler.this.getImages(this)) {
+                image.loadingProgress(cur, max);
+            }
+        }
+    }
+}
@@ -217,6 +217,7 @@ public class ImageView extends Node {
                     if (needsListeners) {
                         Toolkit.getImageAccessor().getImageProperty(_image).
                                 addListener(platformImageChangeListener.getWeakListener());
+                        _image.addLoadingView(ImageView.this);
                     }
                     if (dimensionChanged) {
                         invalidateWidthHeight();
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class RunLaterQueueTest {
+    // Plays the part of the toolkit event queue
+    private final ConcurrentLinkedQueue<Runnable> eventQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger deferCount = new AtomicInteger();
+    private boolean deferImmediately;
+
+    private RunLaterQueue createQueue(long budget) {
+        return new RunLaterQueue(r -> {
+            deferCount.incrementAndGet();
+            if (deferImmediately) {
+                r.run();
+            } else {
+                eventQueue.add(r);
+            }
+        }, budget);
+    }
+
+    private void runEvents() {
+        Runnable r;
+        while ((r = eventQueue.poll()) != null) {
+            r.run();
+        }
+    }
+
+    @Test public void runnablesFromManyThreadsRunInOrderWithFewDeferrals() throws Exception {
+        final RunLaterQueue queue = createQueue(0);
+        final int threads = 4;
+        final int count = 10000;
+        final List<List<Integer>> results = new ArrayList<>();
+        final List<Thread> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final List<Integer> result = new ArrayList<>();
+            results.add(result);
+            producers.add(new Thread(() -> {
+                for (int i = 0; i < count; i++) {
+                    final int value = i;
+                    queue.post(() -> result.add(value));
+                }
+            }));
+        }
+        for (Thread th : producers) th.start();
+        for (Thread th : producers) th.join();
+        assertEquals(threads * count, queue.size());
+
+        runEvents();
+        assertEquals(0, queue.size());
+        for (List<Integer> result : results) {
+            assertEquals(count, result.size());
+            for (int i = 0; i < count; i++) {
+                assertEquals(i, (int) result.get(i));
+            }
+        }
+        assertTrue("deferred " + deferCount.get() + " times", deferCount.get() <= 2);
+    }
+
+    @Test public void drainYieldsWhenOutOfBudget() {
+        final RunLaterQueue queue = createQueue(TimeUnit.MILLISECONDS.toNanos(5));
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final int value = i;
+            queue.post(() -> {
+                order.add(value);
+                try {
+                    Thread.sleep(2);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        final Runnable firstDrain = eventQueue.poll();
+        firstDrain.run();
+        assertTrue(order.size() < 10);
+        assertEquals(10 - order.size(), queue.size());
+        assertFalse(eventQueue.isEmpty());
+
+        runEvents();
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), order);
+    }
+
+    @Test public void runnablesRunInsideNestedEventLoop() {
+        final RunLaterQueue queue = createQueue(0);
+        final List<String> order = new ArrayList<>();
+        queue.post(() -> {
+            order.add("enter");
+            // Simulate a nested event loop, which keeps processing events
+            runEvents();
+            order.add("exit");
+        });
+        queue.post(() -> order.add("second"));
+        runEvents();
+        assertEquals(Arrays.asList("enter", "second", "exit"), order);
+    }
+
+    @Test public void immediateDeferralDoesNotReorderRunnables() {
+        final RunLaterQueue queue = createQueue(0);
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final int value = i;
+            queue.post(() -> {
+                order.add(value);
+                if (value == 0) {
+                    queue.post(() -> order.add(3));
+                }
+            });
+        }
+        deferImmediately = true;
+        runEvents();
+        assertEquals(Arrays.asList(0, 1, 2, 3), order);
+        assertEquals(0, queue.size());
+    }
+
+    @Test public void runnablesAfterAFailureStillRun() {
+        final RunLaterQueue queue = createQueue(0);
+        final List<Integer> order = new ArrayList<>();
+        queue.post(() -> { throw new IllegalStateException(); });
+        queue.post(() -> order.add(1));
+        try {
+            eventQueue.poll().run();
+            fail("Expected the exception to reach the toolkit");
+        } catch (IllegalStateException expected) {
+        }
+        runEvents();
+        assertEquals(Collections.singletonList(1), order);
+    }
+
+    @Test(timeout = 5000) public void postWaitsForSpace() throws Exception {
+        final RunLaterQueue queue = createQueue(0);
+        final CountDownLatch posted = new CountDownLatch(1);
+        final AtomicBoolean postedWhileDraining = new AtomicBoolean();
+        // The producer is released as soon as the first runnable is taken,
+        // while the drain is still running
+        queue.post(() -> {
+            try {
+                postedWhileDraining.set(posted.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queue.post(() -> { });
+        final Thread producer = new Thread(() -> {
+            try {
+                queue.post(() -> { }, 2, true);
+                posted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(posted.await(100, TimeUnit.MILLISECONDS));
+
+        eventQueue.poll().run();
+        assertTrue(postedWhileDraining.get());
+        producer.join();
+        runEvents();
+        assertEquals(0, queue.size());
+    }
+
+    @Test(timeout = 5000) public void closeReleasesWaitingProducers() throws Exception {
+        final RunLaterQueue queue = createQueue(0);
+        queue.post(() -> { });
+        final CountDownLatch posted = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            try {
+                queue.post(() -> { }, 1, true);
+                posted.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(posted.await(100, TimeUnit.MILLISECONDS));
+
+        queue.close();
+        assertTrue(posted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test public void postOnFxThreadDoesNotWait() throws Exception {
+        final RunLaterQueue queue = createQueue(0);
+        queue.post(() -> { });
+        queue.post(() -> { }, 1, false);
+        assertEquals(2, queue.size());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.concurrent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ServiceExecutorTest {
+
+    @Test public void unknownStrategyFallsBackToThreadPool() {
+        ServiceExecutor executor = new ServiceExecutor("bogus", 4);
+        assertEquals(ServiceExecutor.THREAD_POOL, executor.getStrategy());
+        assertEquals(4, executor.getPoolSize());
+    }
+
+    @Test public void queuedJobsRunInPriorityOrder() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.THREAD_POOL, 1);
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(4);
+        int[] priorities = { Thread.MIN_PRIORITY, Thread.NORM_PRIORITY, Thread.MAX_PRIORITY, Thread.NORM_PRIORITY };
+        for (int i = 0; i < priorities.length; i++) {
+            final int id = i;
+            executor.execute(() -> {
+                order.add(id);
+                done.countDown();
+            }, priorities[i]);
+        }
+        assertEquals(4, executor.getQueuedCount());
+        assertEquals(1, executor.getActiveCount());
+
+        blocker.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(2, 1, 3, 0), order);
+    }
+
+    @Test public void jobsRunWithTheirPriority() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.THREAD_POOL, 2);
+        int[] seen = new int[1];
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            seen[0] = Thread.currentThread().getPriority();
+            done.countDown();
+        }, Thread.NORM_PRIORITY + 1);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Thread.NORM_PRIORITY + 1, seen[0]);
+    }
+
+    @Test public void prioritiesAreClamped() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.THREAD_POOL, 2);
+        int[] seen = new int[1];
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            seen[0] = Thread.currentThread().getPriority();
+            done.countDown();
+        }, 100);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Thread.MAX_PRIORITY, seen[0]);
+    }
+
+    @Test public void countersAreUpdated() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.THREAD_POOL, 2);
+        CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(5, executor.getSubmittedCount());
+        waitForCompletion(executor, 5);
+        assertEquals(0, executor.getQueuedCount());
+        assertEquals(0, executor.getActiveCount());
+        assertTrue(executor.getMaximumWaitTime() >= executor.getAverageWaitTime());
+
+        executor.resetStatistics();
+        assertEquals(0, executor.getSubmittedCount());
+        assertEquals(0, executor.getCompletedCount());
+        assertEquals(0, executor.getAverageWaitTime());
+        assertEquals(0, executor.getMaximumWaitTime());
+    }
+
+    @Test public void forkJoinRunsJobs() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.FORK_JOIN, 2);
+        assertEquals(ServiceExecutor.FORK_JOIN, executor.getStrategy());
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        waitForCompletion(executor, 10);
+    }
+
+    @Test public void virtualRunsJobs() throws Exception {
+        ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.VIRTUAL, 2);
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.execute(done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        waitForCompletion(executor, 10);
+    }
+
+    private static void waitForCompletion(ServiceExecutor executor, long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (executor.getCompletedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, executor.getCompletedCount());
+    }
+}
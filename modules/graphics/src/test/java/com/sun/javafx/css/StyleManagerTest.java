@@ -1077,6 +1077,22 @@ public class StyleManagerTest {
 
     }
 
+    @Test
+    public void testStyleClassDependency() {
+        Scene scene = new Scene(new Group());
+        StyleManager sm = StyleManager.getInstance();
+        sm.addUserAgentStylesheet(scene, CSSParser.getInstance().parse(
+                ".dep-a .dep-b > .dep-c { -fx-fill: red; } .dep-c.dep-d, .dep-a { -fx-fill: blue; }"));
+
+        assertEquals(StyleManager.ANCESTOR_DEPENDENCY | StyleManager.SUBJECT_DEPENDENCY,
+                StyleManager.getStyleClassDependency("dep-a"));
+        assertEquals(StyleManager.ANCESTOR_DEPENDENCY, StyleManager.getStyleClassDependency("dep-b"));
+        assertEquals(StyleManager.SUBJECT_DEPENDENCY, StyleManager.getStyleClassDependency("dep-c"));
+        assertEquals(StyleManager.SUBJECT_DEPENDENCY, StyleManager.getStyleClassDependency("dep-d"));
+        assertEquals(0, StyleManager.getStyleClassDependency("dep-unused"));
+        assertEquals(0, StyleManager.getStyleClassDependency(null));
+    }
+
     @Test
     public void testConcurrentAccess() {
         final int NUM_THREADS = 10;
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.font;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import com.sun.javafx.font.FontFileReader.Buffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FontFileReaderTest {
+    private File file;
+    private byte[] content;
+
+    @Before public void setUp() throws IOException {
+        content = new byte[5000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) (i * 7);
+        }
+        file = File.createTempFile("FontFileReaderTest", ".ttf");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+    }
+
+    @After public void tearDown() {
+        file.delete();
+    }
+
+    private int getInt(int offset) {
+        return (content[offset] & 0xff) << 24 | (content[offset + 1] & 0xff) << 16 |
+               (content[offset + 2] & 0xff) << 8 | (content[offset + 3] & 0xff);
+    }
+
+    private void checkBlocks(FontFileReader reader) {
+        /* Small blocks use the read cache of unmapped readers */
+        Buffer buffer = reader.readBlock(12, 16);
+        assertEquals(getInt(12), buffer.getInt());
+        assertEquals(getInt(16), buffer.getInt());
+        assertEquals((short) getInt(16), buffer.getShort(6));
+        assertEquals((char) (getInt(24) >>> 16), buffer.getChar(12));
+        assertEquals(content[15], buffer.get(3));
+
+        Buffer large = reader.readBlock(100, 3000);
+        assertEquals(3000, large.capacity());
+        large.position(40);
+        assertEquals(getInt(140), large.getInt());
+        byte[] bytes = new byte[10];
+        large.get(2900, bytes, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(content[3000 + i], bytes[i]);
+        }
+    }
+
+    @Test public void mappedFileIsReadWithoutBeingOpen() throws Exception {
+        FontFileReader reader = new FontFileReader(file.getPath(), true);
+        /* Opening the file, as when enumerating fonts, does not map it */
+        assertTrue(reader.openFile());
+        assertFalse(reader.isMapped());
+        assertFalse(reader.map());
+        reader.closeFile();
+
+        assertTrue(reader.map());
+        assertTrue(reader.isMapped());
+        assertEquals(content.length, reader.getLength());
+
+        /* The mapping remains valid, and the file stays open */
+        checkBlocks(reader);
+        assertFalse(reader.openFile());
+    }
+
+    @Test public void mappedBlocksOutsideTheFileAreNull() throws Exception {
+        FontFileReader reader = new FontFileReader(file.getPath(), true);
+        assertTrue(reader.map());
+        Buffer buffer = reader.readBlock(4990, 10);
+        assertEquals(10, buffer.capacity());
+        assertEquals(content[4999], buffer.get(9));
+
+        assertNull(reader.readBlock(4990, 100));
+        assertNull(reader.readBlock(-4, 4));
+        assertNull(reader.readBlock(10, -1));
+        assertNull(reader.readBlock(Integer.MAX_VALUE, 10));
+    }
+
+    @Test public void unmappedFileIsReadWhileOpen() throws Exception {
+        FontFileReader reader = new FontFileReader(file.getPath(), false);
+        assertTrue(reader.openFile());
+        assertFalse(reader.isMapped());
+        checkBlocks(reader);
+        reader.closeFile();
+        assertFalse(reader.map());
+        assertTrue(file.delete());
+    }
+
+    @Test public void missingFileIsNotOpened() throws Exception {
+        FontFileReader reader = new FontFileReader(file.getPath() + ".missing", true);
+        assertFalse(reader.openFile());
+        assertFalse(reader.map());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.font;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FontIndexTest {
+    private File file;
+
+    @Before public void setUp() throws IOException {
+        file = File.createTempFile("FontIndexTest", ".idx");
+        file.delete();
+    }
+
+    @After public void tearDown() {
+        file.delete();
+    }
+
+    private static List<FontIndex.Entry> entries() {
+        return Arrays.asList(
+            new FontIndex.Entry("Lucida Sans Regular", "Lucida Sans", "/fonts/LucidaSansRegular.ttf", 0),
+            new FontIndex.Entry("Cambria", "Cambria", "/fonts/cambria.ttc", 0),
+            new FontIndex.Entry("Cambria Math", "Cambria Math", "/fonts/cambria.ttc", 1));
+    }
+
+    @Test public void indexIsOffUnlessTurnedOn() {
+        assertNull(FontIndex.getIndexFile(null, "/home/user"));
+        assertNull(FontIndex.getIndexFile("", "/home/user"));
+        assertNull(FontIndex.getIndexFile("false", "/home/user"));
+        assertNull(FontIndex.getIndexFile("true", null));
+        assertEquals(new File("/home/user", ".openjfx" + File.separator + "cache" + File.separator + "fontindex"),
+                     FontIndex.getIndexFile("true", "/home/user"));
+        assertEquals(new File("/tmp/fonts.idx"), FontIndex.getIndexFile("/tmp/fonts.idx", "/home/user"));
+    }
+
+    @Test public void missingFileIsEmptyIndex() {
+        FontIndex index = new FontIndex(file);
+        assertNull(index.get("/fonts", 1000L));
+    }
+
+    @Test public void entriesSurviveSaveAndLoad() {
+        FontIndex index = new FontIndex(file);
+        index.put("/fonts", 1000L, entries());
+        assertTrue(index.save());
+        assertTrue(file.isFile());
+
+        List<FontIndex.Entry> loaded = new FontIndex(file).get("/fonts", 1000L);
+        assertNotNull(loaded);
+        assertEquals(3, loaded.size());
+        FontIndex.Entry math = loaded.get(2);
+        assertEquals("Cambria Math", math.fullName);
+        assertEquals("Cambria Math", math.familyName);
+        assertEquals("/fonts/cambria.ttc", math.file);
+        assertEquals(1, math.index);
+    }
+
+    @Test public void modifiedDirectoryIsNotUsed() {
+        FontIndex index = new FontIndex(file);
+        index.put("/fonts", 1000L, entries());
+        assertTrue(index.save());
+
+        FontIndex loaded = new FontIndex(file);
+        assertNull(loaded.get("/fonts", 2000L));
+        assertNull(loaded.get("/otherfonts", 1000L));
+        /* An unknown modification time is never trusted */
+        index.put("/nofonts", 0L, entries());
+        assertNull(index.get("/nofonts", 0L));
+    }
+
+    @Test public void otherVersionIsIgnored() throws IOException {
+        FontIndex index = new FontIndex(file);
+        index.put("/fonts", 1000L, entries());
+        assertTrue(index.save());
+
+        byte[] version = { 0, 0, 0, (byte) (FontIndex.VERSION + 1) };
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(4);
+            raf.write(version);
+        }
+        assertNull(new FontIndex(file).get("/fonts", 1000L));
+    }
+
+    @Test public void corruptFileIsIgnoredAndReplaced() throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(new byte[] { 0x4a, 0x46, 0x46, 0x49, 0, 0, 0, 1, 0, 0 });
+        }
+        FontIndex index = new FontIndex(file);
+        assertNull(index.get("/fonts", 1000L));
+
+        index.put("/fonts", 1000L, entries());
+        assertTrue(index.save());
+        assertEquals(3, new FontIndex(file).get("/fonts", 1000L).size());
+    }
+
+    @Test public void backgroundSaveWritesIndex() throws Exception {
+        FontIndex index = new FontIndex(file);
+        index.put("/fonts", 1000L, entries());
+        index.saveInBackground();
+        for (int i = 0; i < 100 && !file.isFile(); i++) {
+            Thread.sleep(50);
+        }
+        assertNotNull(new FontIndex(file).get("/fonts", 1000L));
+    }
+}
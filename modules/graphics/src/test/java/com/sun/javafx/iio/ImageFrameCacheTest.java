@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.iio;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ImageFrameCacheTest {
+
+    private File dir;
+    private File image;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("imagecache").toFile();
+        image = new File(dir, "test.png");
+        writeImage(image, Color.RED);
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                f.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    private static void writeImage(File file, Color color) throws IOException {
+        BufferedImage img = new BufferedImage(17, 9, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = img.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 17, 9);
+        g.setColor(Color.BLUE);
+        g.fillRect(3, 2, 5, 5);
+        g.dispose();
+        ImageTestHelper.writeImage(img, file.getPath(), "png", null);
+    }
+
+    private static byte[] bytes(ImageFrame frame) {
+        ByteBuffer data = ((ByteBuffer) frame.getImageData()).duplicate();
+        data.rewind();
+        byte[] b = new byte[data.remaining()];
+        data.get(b);
+        return b;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        String key = cache.getKey(image.getPath(), 0, 0, true, 1.0f, true);
+        assertNotNull(key);
+        assertNull(cache.get(key));
+
+        ImageFrame[] frames = ImageStorage.loadAll(image.getPath(), null, 0, 0, true, 1.0f, true);
+        cache.put(key, frames);
+        ImageFrame[] cached = cache.get(key);
+        assertNotNull(cached);
+        assertEquals(frames.length, cached.length);
+        for (int i = 0; i < frames.length; i++) {
+            assertEquals(frames[i].getImageType(), cached[i].getImageType());
+            assertEquals(frames[i].getWidth(), cached[i].getWidth());
+            assertEquals(frames[i].getHeight(), cached[i].getHeight());
+            assertEquals(frames[i].getStride(), cached[i].getStride());
+            assertEquals(frames[i].getPixelScale(), cached[i].getPixelScale(), 0f);
+            assertEquals(String.valueOf(frames[i].getMetadata()),
+                         String.valueOf(cached[i].getMetadata()));
+            assertArrayEquals(bytes(frames[i]), bytes(cached[i]));
+        }
+    }
+
+    @Test
+    public void testCachedFramesAreWritable() throws Exception {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        String key = cache.getKey(image.getPath(), 0, 0, true, 1.0f, true);
+        cache.put(key, ImageStorage.loadAll(image.getPath(), null, 0, 0, true, 1.0f, true));
+
+        ImageFrame[] cached = cache.get(key);
+        ByteBuffer data = (ByteBuffer) cached[0].getImageData();
+        byte b = data.get(0);
+        data.put(0, (byte) ~b);
+        assertEquals(b, ((ByteBuffer) cache.get(key)[0].getImageData()).get(0));
+    }
+
+    @Test
+    public void testKeyDependsOnRequest() {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        String path = image.getPath();
+        String key = cache.getKey(path, 0, 0, true, 1.0f, true);
+        assertEquals(key, cache.getKey(path, 0, 0, true, 1.0f, true));
+        assertNotEquals(key, cache.getKey(path, 8, 0, true, 1.0f, true));
+        assertNotEquals(key, cache.getKey(path, 0, 0, false, 1.0f, true));
+        assertNotEquals(key, cache.getKey(path, 0, 0, true, 1.0f, false));
+    }
+
+    @Test
+    public void testKeyChangesWhenFileChanges() throws Exception {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        String key = cache.getKey(image.getPath(), 0, 0, true, 1.0f, true);
+        writeImage(image, Color.GREEN);
+        image.setLastModified(image.lastModified() + 2000);
+        assertNotEquals(key, cache.getKey(image.getPath(), 0, 0, true, 1.0f, true));
+    }
+
+    @Test
+    public void testRemoteImagesAreNotCached() {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        assertNull(cache.getKey("http://example.com/image.png", 0, 0, true, 1.0f, true));
+        assertNull(cache.getKey(new File(dir, "missing.png").getPath(), 0, 0, true, 1.0f, true));
+    }
+
+    @Test
+    public void testCorruptEntryIsDropped() throws Exception {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024 * 1024);
+        String key = cache.getKey(image.getPath(), 0, 0, true, 1.0f, true);
+        File entry = new File(dir, key + ".frames");
+        Files.write(entry.toPath(), new byte[] { 1, 2, 3 });
+        assertNull(cache.get(key));
+        assertFalse(entry.exists());
+    }
+
+    @Test
+    public void testCacheIsTrimmed() throws Exception {
+        ImageFrameCache cache = new ImageFrameCache(dir, 1024);
+        ImageFrame[] frames = ImageStorage.loadAll(image.getPath(), null, 0, 0, true, 1.0f, true);
+        String first = cache.getKey(image.getPath(), 0, 0, true, 1.0f, true);
+        cache.put(first, frames);
+        new File(dir, first + ".frames").setLastModified(System.currentTimeMillis() - 10000);
+        String second = cache.getKey(image.getPath(), 0, 0, false, 1.0f, true);
+        cache.put(second, frames);
+        assertNull(cache.get(first));
+        assertNotNull(cache.get(second));
+    }
+}
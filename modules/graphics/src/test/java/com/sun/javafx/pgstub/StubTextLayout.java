@@ -98,7 +98,9 @@ public class StubTextLayout implements TextLayout {
             return new GlyphList[0];
         }
         @Override public RectBounds getBounds() {
-            return new RectBounds();
+            // a line is as high as the font size, like in getBounds()
+            final float fontSize = (font == null ? 0 : (float)font.getSize());
+            return new RectBounds(0, -fontSize, 0, 0);
         }
         @Override public float getLeftSideBearing() {
             return 0;
@@ -412,4 +412,25 @@ public class GrowableDataBufferTest {
         assertFalse(gdb.hasValues());
         assertFalse(gdb.hasObjects());
     }
+
+    @Test public void testTruncate() {
+        GrowableDataBuffer gdb = GrowableDataBuffer.getBuffer(NUM_BYTES, NUM_VALUES);
+        fill(gdb, true, true);
+        int valpos = gdb.writeValuePosition();
+        int objpos = gdb.writeObjectPosition();
+        fill(gdb, true, true);
+        gdb.truncate(valpos, objpos);
+        assertTrue(gdb.writeValuePosition() == valpos);
+        assertTrue(gdb.writeObjectPosition() == objpos);
+        test(gdb, true, true);
+        assertFalse(gdb.hasValues());
+        assertFalse(gdb.hasObjects());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTruncatePastWritePosition() {
+        GrowableDataBuffer gdb = GrowableDataBuffer.getBuffer(NUM_BYTES, NUM_VALUES);
+        fill(gdb, true, true);
+        gdb.truncate(gdb.writeValuePosition() + 1, gdb.writeObjectPosition());
+    }
 }
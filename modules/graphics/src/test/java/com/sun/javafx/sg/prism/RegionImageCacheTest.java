@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RegionImageCacheTest {
+
+    private Graphics g;
+    private RegionImageCache cache;
+    private int nextKey;
+
+    @Before
+    public void setUp() {
+        g = new TestGraphics();
+        cache = new RegionImageCache(g.getResourceFactory(), 2);
+    }
+
+    private boolean locate(int key, Rectangle rect) {
+        rect.setBounds(0, 0, 300, 300);
+        return cache.getImageLocation(key, rect, null, null, g);
+    }
+
+    /**
+     * Adds new images until the page count or the flush count changes and
+     * returns the keys which were added.
+     */
+    private int[] fillPage() {
+        final int pages = cache.getPageCount();
+        final long flushes = cache.getFlushCount();
+        final Rectangle rect = new Rectangle();
+        final int first = nextKey;
+        do {
+            assertTrue(locate(nextKey++, rect));
+        } while (cache.getPageCount() == pages && cache.getFlushCount() == flushes);
+        // The last key was placed on the new (or flushed) page
+        int[] keys = new int[nextKey - first - 1];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = first + i;
+        }
+        return keys;
+    }
+
+    @Test
+    public void testHitReturnsSameLocation() {
+        Rectangle rect = new Rectangle();
+        assertTrue(locate(1, rect));
+        int x = rect.x, y = rect.y;
+        RTTexture tex = cache.getBackingStore();
+        assertTrue(locate(2, rect));
+
+        assertFalse(locate(1, rect));
+        assertEquals(x, rect.x);
+        assertEquals(y, rect.y);
+        assertSame(tex, cache.getBackingStore());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testHashCollisionDisablesCaching() {
+        Rectangle rect = new Rectangle();
+        assertTrue(locate(1, rect));
+        rect.setBounds(0, 0, 10, 10);
+        assertFalse(cache.getImageLocation(1, rect, null, null, g));
+        assertTrue(rect.isEmpty());
+    }
+
+    @Test
+    public void testPagesAreAddedBeforeFlushing() {
+        assertEquals(1, cache.getPageCount());
+        RTTexture first = cache.getBackingStore();
+        fillPage();
+        assertEquals(2, cache.getPageCount());
+        assertNotSame(first, cache.getBackingStore());
+        assertEquals(0, cache.getFlushCount());
+    }
+
+    @Test
+    public void testLeastReusedPageIsFlushed() {
+        int[] popular = fillPage();
+        Rectangle rect = new Rectangle();
+        for (int key : popular) {
+            assertFalse(locate(key, rect));
+        }
+        RTTexture popularPage = cache.getBackingStore();
+
+        // Fills the second page, the next image flushes one of the pages
+        int[] other = fillPage();
+        assertEquals(1, cache.getFlushCount());
+        assertTrue(cache.getEvictionCount() > 0);
+        assertNotSame(popularPage, cache.getBackingStore());
+        for (int key : popular) {
+            assertFalse(locate(key, rect));
+            assertSame(popularPage, cache.getBackingStore());
+        }
+        assertTrue(locate(other[other.length - 1], rect));
+    }
+}
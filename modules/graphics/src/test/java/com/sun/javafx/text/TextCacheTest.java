@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.text;
+
+import com.sun.javafx.font.PGFont;
+import com.sun.javafx.pgstub.StubFontLoader.StubFont;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextCacheTest {
+    private final PGFont font = new StubFont();
+
+    private TextCache.Key key(String text) {
+        return key(text, font, 0);
+    }
+
+    private TextCache.Key key(String text, PGFont font, long attributes) {
+        char[] chars = text.toCharArray();
+        return new TextCache.Key(chars, 0, chars.length, font, attributes);
+    }
+
+    @Test public void keysWithTheSameCharactersAreEqual() {
+        char[] chars = "xxhelloxx".toCharArray();
+        TextCache.Key range = new TextCache.Key(chars, 2, 5, font, 0);
+        assertEquals(key("hello"), range);
+        assertEquals(key("hello").hashCode(), range.hashCode());
+        assertEquals(range, range.copy());
+    }
+
+    @Test public void keysDifferByFontAndAttributes() {
+        assertFalse(key("hello").equals(key("hellO")));
+        assertFalse(key("hello").equals(key("hello", new StubFont(), 0)));
+        assertFalse(key("hello").equals(key("hello", font, 1)));
+    }
+
+    @Test public void copiedKeyDoesNotShareCharacters() {
+        char[] chars = "xxhelloxx".toCharArray();
+        TextCache.Key copy = new TextCache.Key(chars, 2, 5, font, 0).copy();
+        chars[2] = 'j';
+        assertEquals(key("hello"), copy);
+    }
+
+    @Test public void hitsAndMissesAreCounted() {
+        TextCache<String> cache = new TextCache<>(100);
+        assertNull(cache.get(key("hello")));
+        cache.put(key("hello"), "value");
+        assertEquals("value", cache.get(key("hello")));
+        assertEquals("value", cache.get(key("hello")));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3.0, cache.getHitRate(), 1e-9);
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitRate(), 0);
+    }
+
+    @Test public void leastRecentlyUsedEntriesAreEvictedByWeight() {
+        TextCache<String> cache = new TextCache<>(10);
+        cache.put(key("aaaa"), "a");
+        cache.put(key("bbbb"), "b");
+        assertEquals("a", cache.get(key("aaaa")));
+        cache.put(key("cccc"), "c");
+        assertNull(cache.get(key("bbbb")));
+        assertEquals("a", cache.get(key("aaaa")));
+        assertEquals("c", cache.get(key("cccc")));
+        assertEquals(8, cache.getWeight());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test public void replacingAnEntryKeepsTheWeight() {
+        TextCache<String> cache = new TextCache<>(10);
+        cache.put(key("aaaa"), "a");
+        cache.put(key("aaaa"), "b");
+        assertEquals(4, cache.getWeight());
+        assertEquals(1, cache.size());
+        assertEquals("b", cache.get(key("aaaa")));
+    }
+
+    @Test public void entriesLargerThanTheCapacityAreNotCached() {
+        TextCache<String> cache = new TextCache<>(3);
+        cache.put(key("aaaa"), "a");
+        assertEquals(0, cache.size());
+        assertNull(cache.get(key("aaaa")));
+    }
+}
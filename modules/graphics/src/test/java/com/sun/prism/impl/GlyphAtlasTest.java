@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.prism.impl;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.prism.Texture;
+import com.sun.prism.impl.GlyphCache.GlyphData;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class GlyphAtlasTest {
+
+    private TestAtlas atlas;
+
+    private static class TestAtlas extends GlyphAtlas {
+        final List<GlyphData> evicted = new ArrayList<GlyphData>();
+        final List<GlyphData> uploaded = new ArrayList<GlyphData>();
+        int flushes;
+
+        TestAtlas(int width, int height, int maxPages) {
+            super(null, false, width, height, maxPages);
+        }
+
+        @Override protected Texture createTexture(int index) {
+            return (Texture) Proxy.newProxyInstance(
+                    Texture.class.getClassLoader(), new Class<?>[] { Texture.class },
+                    (proxy, method, args) -> null);
+        }
+
+        @Override protected void flush() {
+            flushes++;
+        }
+
+        @Override protected void evict(GlyphData data) {
+            evicted.add(data);
+        }
+
+        @Override protected void upload(GlyphData data) {
+            uploaded.add(data);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        // Two 64x64 pages, each holding four 32x32 glyphs
+        atlas = new TestAtlas(64, 64, 2);
+    }
+
+    private static GlyphData glyph() {
+        return new GlyphData(0, 0, 1, 0, 0, new Rectangle(0, 0, 32, 32));
+    }
+
+    private List<GlyphData> fill(int count) {
+        List<GlyphData> glyphs = new ArrayList<GlyphData>();
+        for (int i = 0; i < count; i++) {
+            atlas.nextUse();
+            GlyphData data = glyph();
+            assertTrue(atlas.allocate(data));
+            glyphs.add(data);
+        }
+        return glyphs;
+    }
+
+    @Test
+    public void testPagesAreAddedOnDemand() {
+        assertEquals(0, atlas.getPageCount());
+        List<GlyphData> glyphs = fill(4);
+        assertEquals(1, atlas.getPageCount());
+        for (GlyphData data : glyphs) {
+            assertSame(atlas.getPage(0), data.page);
+        }
+        GlyphData data = fill(1).get(0);
+        assertEquals(2, atlas.getPageCount());
+        assertSame(atlas.getPage(1), data.page);
+        assertEquals(0, atlas.getCompactionCount());
+    }
+
+    @Test
+    public void testFullAtlasCompactsLeastRecentlyUsedPage() {
+        List<GlyphData> glyphs = fill(8);
+        atlas.nextUse();
+        atlas.touch(glyphs.get(6));
+        atlas.touch(glyphs.get(7));
+        // Use the first page again so the second one is the oldest
+        atlas.nextUse();
+        for (int i = 0; i < 4; i++) {
+            atlas.touch(glyphs.get(i));
+        }
+
+        GlyphData data = glyph();
+        assertTrue(atlas.allocate(data));
+
+        assertSame(atlas.getPage(1), data.page);
+        assertEquals(1, atlas.getCompactionCount());
+        assertEquals(0, atlas.getClearCount());
+        assertEquals(1, atlas.flushes);
+        // The two least recently used glyphs of the page are evicted,
+        // the others are moved
+        assertTrue(atlas.evicted.contains(glyphs.get(4)));
+        assertTrue(atlas.evicted.contains(glyphs.get(5)));
+        assertEquals(2, atlas.getEvictionCount());
+        assertNull(glyphs.get(4).page);
+        assertEquals(2, atlas.uploaded.size());
+        assertTrue(atlas.uploaded.contains(glyphs.get(6)));
+        assertTrue(atlas.uploaded.contains(glyphs.get(7)));
+        for (int i = 0; i < 4; i++) {
+            assertSame(atlas.getPage(0), glyphs.get(i).page);
+        }
+    }
+
+    @Test
+    public void testGlyphsOfCurrentUseAreNotEvictedByCompaction() {
+        List<GlyphData> glyphs = fill(8);
+        atlas.nextUse();
+        for (GlyphData data : glyphs) {
+            atlas.touch(data);
+        }
+        // No room without evicting a glyph of the current use, so instead
+        // of dropping one the atlas is cleared for the caller to try again
+        GlyphData data = glyph();
+        assertTrue(atlas.allocate(data));
+        assertEquals(1, atlas.getCompactionCount());
+        assertEquals(1, atlas.getClearCount());
+        assertEquals(0, atlas.getEvictionCount());
+        assertEquals(glyphs.size(), atlas.evicted.size());
+        for (GlyphData g : glyphs) {
+            assertNull(g.page);
+        }
+        assertSame(atlas.getPage(0), data.page);
+        assertEquals(0, data.getRect().x);
+        assertEquals(0, data.getRect().y);
+    }
+
+    @Test
+    public void testCompactionKeepsAllGlyphsOfCurrentUse() {
+        List<GlyphData> glyphs = fill(8);
+        // Three glyphs of the first page are used by the current draw,
+        // which is more than the half of the page a compaction keeps
+        atlas.nextUse();
+        for (int i = 0; i < 3; i++) {
+            atlas.touch(glyphs.get(i));
+        }
+        atlas.touch(glyphs.get(4));
+        assertTrue(atlas.allocate(glyph()));
+        assertEquals(0, atlas.getClearCount());
+        assertEquals(1, atlas.getCompactionCount());
+        assertEquals(1, atlas.getEvictionCount());
+        assertTrue(atlas.evicted.contains(glyphs.get(3)));
+        for (int i = 0; i < 3; i++) {
+            assertSame(atlas.getPage(0), glyphs.get(i).page);
+        }
+    }
+
+    @Test
+    public void testClearEvictsAllGlyphs() {
+        List<GlyphData> glyphs = fill(6);
+        atlas.clear();
+        assertEquals(1, atlas.getClearCount());
+        assertEquals(glyphs.size(), atlas.evicted.size());
+        for (GlyphData data : glyphs) {
+            assertNull(data.page);
+        }
+        assertEquals(2, atlas.getPageCount());
+        assertTrue(atlas.allocate(glyph()));
+        assertEquals(0, atlas.getPage(0).glyphs.get(0).getRect().x);
+    }
+
+    @Test
+    public void testStatistics() {
+        atlas.addStatistics(3, 1);
+        atlas.addStatistics(5, 0);
+        assertEquals(8, atlas.getHitCount());
+        assertEquals(1, atlas.getMissCount());
+    }
+}
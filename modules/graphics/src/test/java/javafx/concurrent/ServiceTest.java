@@ -109,6 +109,58 @@ public class ServiceTest {
         assertTrue(results.get());
     }
 
+    /******************************************************************
+     * Priority Property                                              *
+     *****************************************************************/
+
+    @Test public void priorityDefaultsToMinPriority() {
+        assertEquals(Thread.MIN_PRIORITY, service.getPriority());
+        assertEquals(Thread.MIN_PRIORITY, service.priorityProperty().get());
+    }
+
+    @Test public void priorityCanBeSet() {
+        service.setPriority(Thread.NORM_PRIORITY);
+        assertEquals(Thread.NORM_PRIORITY, service.getPriority());
+        assertEquals(Thread.NORM_PRIORITY, service.priorityProperty().get());
+    }
+
+    /**
+     * Tests that the task of a service without an executor runs on a thread
+     * with the priority of the service
+     */
+    @Test(timeout = 2000) public void priorityIsUsedByDefaultExecutor() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final int[] priority = new int[1];
+        Service<Void> s = new Service<Void>() {
+            @Override protected Task<Void> createTask() {
+                return new Task<Void>() {
+                    @Override protected Void call() throws Exception {
+                        priority[0] = Thread.currentThread().getPriority();
+                        latch.countDown();
+                        return null;
+                    }
+
+                    @Override void runLater(Runnable r) {
+                        r.run();
+                    }
+
+                    @Override boolean isFxApplicationThread() {
+                        return true;
+                    }
+                };
+            }
+
+            @Override void checkThread() { }
+            @Override void runLater(Runnable r) {
+                r.run();
+            }
+        };
+        s.setPriority(Thread.NORM_PRIORITY);
+        s.start();
+        latch.await();
+        assertEquals(Thread.NORM_PRIORITY, priority[0]);
+    }
+
     /******************************************************************
      * Test initial values for properties                             *
      *****************************************************************/
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that updates posted from background threads by many Tasks are
+ * applied on the FX thread in a single batch.
+ */
+public class TaskBatchedUpdatesTest {
+    private final ConcurrentLinkedQueue<Runnable> eventQueue = new ConcurrentLinkedQueue<>();
+    private Thread fxThread;
+    private List<Task<String>> tasks;
+
+    @Before public void setup() {
+        fxThread = Thread.currentThread();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Task<String>() {
+                @Override protected String call() throws Exception {
+                    return null;
+                }
+
+                @Override boolean isFxApplicationThread() {
+                    return Thread.currentThread() == fxThread;
+                }
+
+                @Override void runLater(Runnable r) {
+                    eventQueue.add(r);
+                }
+            });
+        }
+    }
+
+    private void inBackground(Runnable r) throws InterruptedException {
+        Thread th = new Thread(r);
+        th.start();
+        th.join();
+    }
+
+    private void drainEventQueue() {
+        Runnable r;
+        while ((r = eventQueue.poll()) != null) {
+            r.run();
+        }
+    }
+
+    @Test public void updatesOfAllTasksAreAppliedByOneRunnable() throws Exception {
+        inBackground(() -> {
+            for (int n = 1; n <= 10; n++) {
+                for (int i = 0; i < tasks.size(); i++) {
+                    Task<String> task = tasks.get(i);
+                    task.updateProgress(n, 10);
+                    task.updateMessage("message " + i + " " + n);
+                    task.updateTitle("title " + i);
+                    task.updateValue("value " + i);
+                }
+            }
+        });
+        assertEquals(1, eventQueue.size());
+        drainEventQueue();
+
+        for (int i = 0; i < tasks.size(); i++) {
+            Task<String> task = tasks.get(i);
+            assertEquals(10, task.getWorkDone(), 0);
+            assertEquals(10, task.getTotalWork(), 0);
+            assertEquals(1, task.getProgress(), 0);
+            assertEquals("message " + i + " 10", task.getMessage());
+            assertEquals("title " + i, task.getTitle());
+            assertEquals("value " + i, task.getValue());
+        }
+    }
+
+    @Test public void updatesAfterAFlushScheduleAnotherOne() throws Exception {
+        final Task<String> task = tasks.get(0);
+        inBackground(() -> task.updateMessage("first"));
+        drainEventQueue();
+        assertEquals("first", task.getMessage());
+
+        inBackground(() -> task.updateMessage("second"));
+        assertEquals(1, eventQueue.size());
+        drainEventQueue();
+        assertEquals("second", task.getMessage());
+    }
+
+    @Test public void nullUpdatesAreApplied() throws Exception {
+        final Task<String> task = tasks.get(0);
+        inBackground(() -> {
+            task.updateValue("value");
+            task.updateMessage("message");
+        });
+        drainEventQueue();
+
+        inBackground(() -> {
+            task.updateValue(null);
+            task.updateMessage(null);
+        });
+        drainEventQueue();
+        assertNull(task.getValue());
+        assertNull(task.getMessage());
+    }
+
+    @Test public void onlyPendingKindsOfUpdateAreApplied() throws Exception {
+        final Task<String> task = tasks.get(0);
+        inBackground(() -> task.updateTitle("title"));
+        drainEventQueue();
+
+        task.updateTitle("set on the FX thread");
+        inBackground(() -> task.updateMessage("message"));
+        drainEventQueue();
+        assertEquals("set on the FX thread", task.getTitle());
+        assertEquals("message", task.getMessage());
+    }
+}
@@ -25,6 +25,8 @@
 
 package javafx.scene;
 
+import com.sun.javafx.css.StyleManager;
+import com.sun.javafx.css.parser.CSSParser;
 import com.sun.javafx.geom.BoxBounds;
 import com.sun.javafx.geom.PickRay;
 import com.sun.javafx.geom.transform.Affine2D;
@@ -33,6 +35,7 @@ import com.sun.javafx.geom.transform.BaseTransform;
 import com.sun.javafx.geom.transform.Translate2D;
 import com.sun.javafx.pgstub.StubStage;
 import com.sun.javafx.pgstub.StubToolkit;
+import com.sun.javafx.scene.CssFlags;
 import com.sun.javafx.scene.DirtyBits;
 import com.sun.javafx.scene.input.PickResultChooser;
 import com.sun.javafx.sg.prism.NGGroup;
@@ -49,6 +52,7 @@ import javafx.geometry.Point2D;
 import javafx.geometry.Point3D;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.effect.Effect;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
 import javafx.scene.transform.Rotate;
 import javafx.scene.transform.Transform;
@@ -1712,6 +1716,37 @@ public class NodeTest {
         assertEquals(100.0, scene.getWidth(), 0.00001);
     }
 
+    @Test
+    public void testStyleClassNotUsedBySelectorsDoesNotReapplyCss() {
+        final Rectangle rect = new Rectangle();
+        final Group group = new Group(rect);
+        final Scene scene = new Scene(group);
+        StyleManager.getInstance().addUserAgentStylesheet(scene, CSSParser.getInstance().parse(
+                ".node-test-subject { -fx-fill: red; } .node-test-ancestor > .node-test-child { -fx-fill: blue; }"));
+        group.applyCss();
+        assertEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+
+        rect.getStyleClass().add("node-test-unused");
+        assertEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+
+        // only matters for the descendants of rect, which has none
+        rect.getStyleClass().add("node-test-ancestor");
+        assertEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+
+        group.getStyleClass().add("node-test-ancestor");
+        assertNotEquals(CssFlags.CLEAN, group.getCSSFlags());
+        group.applyCss();
+
+        rect.getStyleClass().add("node-test-subject");
+        assertNotEquals(CssFlags.CLEAN, ((Node) rect).getCSSFlags());
+        group.applyCss();
+        assertEquals(Color.RED, rect.getFill());
+
+        rect.getStyleClass().remove("node-test-subject");
+        group.applyCss();
+        assertEquals(Color.BLACK, rect.getFill());
+    }
+
     private Node createTestRect() {
         final Rectangle rect = new Rectangle() {
             @Override protected NGNode impl_createPeer() {
@@ -31,6 +31,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import javafx.scene.shape.Circle;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
 
 import org.junit.Test;
 
@@ -226,5 +227,105 @@ public class PickAndContainsTest {
         assertFalse(r1.contains(pickX, pickY));
         assertFalse(r2.contains(pickX, pickY));
     }
+
+    /***************************************************************************
+     *                                                                         *
+     *                           Pick Index Tests                              *
+     *                                                                         *
+     **************************************************************************/
+
+    private static final int GRID = 40;
+
+    private static Group createGrid(Rectangle[] rects) {
+        Group g = new Group();
+        for (int i = 0; i < rects.length; i++) {
+            rects[i] = new Rectangle((i % GRID) * 10, (i / GRID) * 10, 8, 8);
+            g.getChildren().add(rects[i]);
+        }
+        return g;
+    }
+
+    @Test
+    public void testScenePickingLargeGroup() {
+        Rectangle[] rects = new Rectangle[GRID * GRID];
+        Scene scene = new Scene(createGrid(rects));
+
+        for (int i = 0; i < rects.length; i += 7) {
+            assertSame(rects[i], scene.test_pick((i % GRID) * 10 + 4, (i / GRID) * 10 + 4));
+        }
+        assertNull(scene.test_pick(9, 9));
+        assertNull(scene.test_pick(GRID * 10 + 50, 5));
+    }
+
+    @Test
+    public void testScenePickingLargeGroupTopMost() {
+        Rectangle[] rects = new Rectangle[GRID * GRID];
+        Group g = createGrid(rects);
+        Rectangle cover = new Rectangle(0, 0, GRID * 10, GRID * 10);
+        Rectangle overlap = new Rectangle(100, 100, 8, 8);
+        g.getChildren().add(0, cover);
+        g.getChildren().add(overlap);
+        Scene scene = new Scene(g);
+
+        assertSame(overlap, scene.test_pick(104, 104));
+        assertSame(rects[GRID * 5 + 5], scene.test_pick(54, 54));
+        assertSame(cover, scene.test_pick(9, 9));
+
+        overlap.toBack();
+        assertSame(rects[GRID * 10 + 10], scene.test_pick(104, 104));
+        cover.toFront();
+        assertSame(cover, scene.test_pick(104, 104));
+    }
+
+    @Test
+    public void testScenePickingLargeGroupAfterChanges() {
+        Rectangle[] rects = new Rectangle[GRID * GRID];
+        Group g = createGrid(rects);
+        Scene scene = new Scene(g);
+        Rectangle r = rects[0];
+
+        assertSame(r, scene.test_pick(4, 4));
+
+        r.setX(GRID * 10 + 100);
+        assertNull(scene.test_pick(4, 4));
+        assertSame(r, scene.test_pick(GRID * 10 + 104, 4));
+
+        r.setTranslateX(-GRID * 10 - 100);
+        assertSame(r, scene.test_pick(4, 4));
+
+        r.setVisible(false);
+        assertNull(scene.test_pick(4, 4));
+        r.setVisible(true);
+        assertSame(r, scene.test_pick(4, 4));
+
+        g.getChildren().remove(r);
+        assertNull(scene.test_pick(4, 4));
+        assertSame(rects[1], scene.test_pick(14, 4));
+    }
+
+    @Test
+    public void testScenePickingLargeGroupManyMoves() {
+        Rectangle[] rects = new Rectangle[GRID * GRID];
+        Scene scene = new Scene(createGrid(rects));
+
+        assertSame(rects[0], scene.test_pick(4, 4));
+        for (Rectangle r : rects) {
+            r.setTranslateX(1000);
+        }
+        assertNull(scene.test_pick(4, 4));
+        assertSame(rects[0], scene.test_pick(1004, 4));
+        assertSame(rects[rects.length - 1], scene.test_pick(1000 + (GRID - 1) * 10 + 4, (GRID - 1) * 10 + 4));
+    }
+
+    @Test
+    public void testScenePickingLargeGroupScaled() {
+        Rectangle[] rects = new Rectangle[GRID * GRID];
+        Group g = createGrid(rects);
+        g.getTransforms().add(new Scale(2, 2));
+        Scene scene = new Scene(new Group(g));
+
+        assertSame(rects[GRID * 3 + 2], scene.test_pick(2 * 24, 2 * 34));
+        assertNull(scene.test_pick(2 * 29, 2 * 34));
+    }
 }
 
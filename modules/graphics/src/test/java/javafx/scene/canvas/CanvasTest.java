@@ -25,6 +25,8 @@
 
 package javafx.scene.canvas;
 
+import com.sun.javafx.sg.prism.GrowableDataBuffer;
+import com.sun.javafx.sg.prism.NGCanvas;
 import javafx.geometry.VPos;
 import javafx.scene.NodeTest;
 import javafx.scene.effect.BlendMode;
@@ -45,7 +47,9 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertNotNull;
 
 public class CanvasTest {
@@ -509,4 +513,144 @@ public class CanvasTest {
         assertEquals(expected.getMzz(), result.getMzz(), 0.00001);
         assertEquals(expected.getTz(), result.getTz(), 0.00001);
     }
+
+    private void fillBufferPastResetThreshold() {
+        while (canvas.getBuffer().writeValuePosition() <= Canvas.DEFAULT_VAL_BUF_SIZE) {
+            gc.fillRect(10, 10, 5, 5);
+        }
+    }
+
+    @Test public void testGCfillRect_CoveringResetsBuffer() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        fillBufferPastResetThreshold();
+        gc.setFill(Color.RED);
+        gc.fillRect(0, 0, 100, 100);
+        assertEquals(NGCanvas.RESET, canvas.getBuffer().peekByte(0));
+    }
+
+    @Test public void testGCfillRect_RotatedCoveringResetsBuffer() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        fillBufferPastResetThreshold();
+        gc.setFill(Color.RED);
+        gc.rotate(45);
+        gc.fillRect(-200, -200, 400, 400);
+        assertEquals(NGCanvas.RESET, canvas.getBuffer().peekByte(0));
+    }
+
+    @Test public void testGCfillRect_RotatedNotCoveringKeepsBuffer() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        fillBufferPastResetThreshold();
+        gc.setFill(Color.RED);
+        gc.rotate(45);
+        gc.fillRect(0, -50, 100, 100);
+        assertNotEquals(NGCanvas.RESET, canvas.getBuffer().peekByte(0));
+    }
+
+    @Test public void testGCclearRect_ScaledCoveringResetsBuffer() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        fillBufferPastResetThreshold();
+        gc.scale(2, 2);
+        gc.clearRect(0, 0, 50, 50);
+        assertEquals(NGCanvas.RESET, canvas.getBuffer().peekByte(0));
+    }
+
+    private int countObjects() {
+        GrowableDataBuffer buf = canvas.getBuffer();
+        int count = 0;
+        for (int i = 0; i < buf.writeObjectPosition(); i++) {
+            if (buf.peekObject(i) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Test public void testGCfillRect_OpaqueCoverDropsHiddenOps() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(30, 30, 5, 5);
+        gc.setFill(Color.GREEN);
+        gc.fillRect(40, 40, 5, 5);
+        gc.setFill(Color.RED);
+        gc.fillRect(20, 20, 40, 40);
+        // Only the paint in effect before the hidden ops and the new one
+        assertEquals(2, countObjects());
+    }
+
+    @Test public void testGCclearRect_CoverDropsHiddenOps() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(30, 30, 5, 5);
+        gc.setFill(Color.GREEN);
+        gc.fillRect(40, 40, 5, 5);
+        gc.setFill(Color.BLUE);
+        gc.clearRect(20, 20, 40, 40);
+        assertEquals(1, countObjects());
+    }
+
+    @Test public void testGCfillRect_TranslucentCoverKeepsOps() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(30, 30, 5, 5);
+        gc.setFill(Color.rgb(255, 0, 0, 0.5));
+        gc.fillRect(20, 20, 40, 40);
+        assertEquals(2, countObjects());
+    }
+
+    @Test public void testGCfillRect_PartialCoverKeepsOps() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(55, 55, 10, 10);
+        gc.setFill(Color.GREEN);
+        gc.fillRect(20, 20, 5, 5);
+        gc.setFill(Color.RED);
+        gc.fillRect(20, 20, 40, 40);
+        assertEquals(3, countObjects());
+    }
+
+    @Test public void testGCfillRect_ScaledCoverDropsHiddenOps() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(30, 30, 5, 5);
+        gc.scale(2, 2);
+        gc.setFill(Color.RED);
+        gc.fillRect(10, 10, 20, 20);
+        assertEquals(2, countObjects());
+    }
+
+    @Test public void testGCfillRect_StrokeEndsHiddenRun() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.fillRect(30, 30, 5, 5);
+        gc.strokeLine(30, 30, 35, 35);
+        int valpos = canvas.getBuffer().writeValuePosition();
+        gc.setFill(Color.RED);
+        gc.fillRect(20, 20, 40, 40);
+        assertTrue(canvas.getBuffer().writeValuePosition() > valpos);
+    }
+
+    @Test public void testGCfillRect_ClipEndsHiddenRun() {
+        canvas.setWidth(100);
+        canvas.setHeight(100);
+        gc.setFill(Color.BLUE);
+        gc.save();
+        gc.rect(0, 0, 50, 50);
+        gc.clip();
+        gc.fillRect(30, 30, 5, 5);
+        gc.restore();
+        int valpos = canvas.getBuffer().writeValuePosition();
+        gc.setFill(Color.RED);
+        gc.fillRect(20, 20, 40, 40);
+        assertTrue(canvas.getBuffer().writeValuePosition() > valpos);
+    }
 }
@@ -30,12 +30,18 @@ import com.sun.javafx.test.PropertyInvalidationCounter;
 import com.sun.javafx.tk.Toolkit;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 
 import static org.junit.Assert.*;
@@ -305,6 +311,147 @@ public final class ImageTest {
         }
     }
 
+    @Test
+    public void loadImageAsyncCoalescingTest() {
+        final String url = "file:coalesced.png";
+        registerImage(url, 100, 50);
+
+        final Image image1 = new Image(url, true);
+        final StubAsyncImageLoader asyncLoader = getLastAsyncImageLoader();
+        final Image image2 = new Image(url, true);
+        final Image image3 = new Image(url, true);
+
+        assertSame(asyncLoader, getLastAsyncImageLoader());
+
+        image3.cancel();
+        assertTrue(image3.isError());
+        assertFalse(asyncLoader.isCancelled());
+
+        asyncLoader.finish();
+        verifyLoadedImage(image1, 0, 0, false, false, 100, 50);
+        verifyLoadedImage(image2, 0, 0, false, false, 100, 50);
+    }
+
+    @Test
+    public void loadImageAsyncDifferentSizesAreNotCoalescedTest() {
+        final String url = "file:sizes.png";
+        registerImage(url, 100, 50);
+
+        final Image image1 = new Image(url, true);
+        final StubAsyncImageLoader asyncLoader1 = getLastAsyncImageLoader();
+        final Image image2 = new Image(url, 50, 25, false, false, true);
+        asyncLoader1.finish();
+        final StubAsyncImageLoader asyncLoader2 = getLastAsyncImageLoader();
+
+        assertNotSame(asyncLoader1, asyncLoader2);
+        asyncLoader2.finish();
+        verifyLoadedImage(image1, 0, 0, false, false, 100, 50);
+        verifyLoadedImage(image2, 50, 25, false, false, 100, 50);
+    }
+
+    @Test
+    public void loadImageAsyncShowingImagesFirstTest() {
+        final Queue<StubAsyncImageLoader> running = fillLoadingSlots("showing");
+
+        final String hiddenUrl = "file:hidden.png";
+        registerImage(hiddenUrl, 10, 10);
+        final Image hidden = new Image(hiddenUrl, true);
+
+        final String shownUrl = "file:shown.png";
+        registerImage(shownUrl, 10, 10);
+        final Image shown = new Image(shownUrl, true);
+        final Stage stage = new Stage();
+        stage.setScene(new Scene(new Group(new ImageView(shown))));
+        stage.show();
+
+        try {
+            running.poll().finish();
+            getLastAsyncImageLoader().finish();
+            assertEquals(1, shown.getProgress(), 0);
+            assertTrue(hidden.getProgress() < 1);
+
+            // the slot freed by the shown image is used by the hidden one
+            getLastAsyncImageLoader().finish();
+            assertEquals(1, hidden.getProgress(), 0);
+        } finally {
+            stage.hide();
+            finishAll(running);
+        }
+    }
+
+    @Test
+    public void loadImageAsyncUnreachablePendingImageTest() {
+        final Queue<StubAsyncImageLoader> running = fillLoadingSlots("unreachable");
+        final StubAsyncImageLoader lastLoader = getLastAsyncImageLoader();
+
+        final WeakReference<Image> ref = createUnreachableImage("file:pending.png");
+        assertTrue(collect(ref));
+
+        // the request of the collected image is dropped instead of started
+        running.poll().finish();
+        assertSame(lastLoader, getLastAsyncImageLoader());
+        finishAll(running);
+    }
+
+    @Test
+    public void loadImageAsyncUnreachableRunningImageTest() {
+        final WeakReference<Image> ref = createUnreachableImage("file:running.png");
+        final StubAsyncImageLoader asyncLoader = getLastAsyncImageLoader();
+        assertTrue(asyncLoader.isStarted());
+        assertTrue(collect(ref));
+
+        final String url = "file:other.png";
+        registerImage(url, 10, 10);
+        final Image other = new Image(url, true);
+
+        assertTrue(asyncLoader.isCancelled());
+        getLastAsyncImageLoader().finish();
+        verifyLoadedImage(other, 0, 0, false, false, 10, 10);
+    }
+
+    // keeps the images occupying the loading slots reachable
+    private final List<Image> slotImages = new ArrayList<Image>();
+
+    private Queue<StubAsyncImageLoader> fillLoadingSlots(String name) {
+        final Queue<StubAsyncImageLoader> running =
+                new LinkedList<StubAsyncImageLoader>();
+        final int count = ImageLoadScheduler.getInstance().getMaxRunning();
+        for (int i = 0; i < count; ++i) {
+            final String url = "file:" + name + i + ".png";
+            registerImage(url, 10, 10);
+            slotImages.add(new Image(url, true));
+            running.add(getLastAsyncImageLoader());
+        }
+        return running;
+    }
+
+    private static void finishAll(Queue<StubAsyncImageLoader> loaders) {
+        StubAsyncImageLoader loader;
+        while ((loader = loaders.poll()) != null) {
+            if (!loader.isDone()) {
+                loader.finish();
+            }
+        }
+    }
+
+    private WeakReference<Image> createUnreachableImage(String url) {
+        registerImage(url, 10, 10);
+        return new WeakReference<Image>(new Image(url, true));
+    }
+
+    private static boolean collect(WeakReference<?> ref) {
+        for (int i = 0; i < 10 && ref.get() != null; ++i) {
+            System.gc();
+            System.runFinalization();
+        }
+        try {
+            // cleared references are enqueued by the reference handler thread
+            Thread.sleep(100);
+        } catch (InterruptedException e) {
+        }
+        return ref.get() == null;
+    }
+
     @Test
     public void animatedImageTest() {
         // reset time
@@ -41,6 +41,14 @@ public final class MXExtensionImpl extends MXExtension {
                 new SGMXBeanImpl(),
                 new ObjectName("com.oracle.javafx.jmx:type=SGBean"));
 
+        mbeanServer.registerMBean(
+                new PulseMetricsMXBeanImpl(),
+                new ObjectName("com.oracle.javafx.jmx:type=PulseMetrics"));
+
+        mbeanServer.registerMBean(
+                new ServiceExecutorMXBeanImpl(),
+                new ObjectName("com.oracle.javafx.jmx:type=ServiceExecutor"));
+
         mbeanServer.registerMBean(
                 AnimationPulse.getDefaultBean(),
                 new ObjectName(":type=AnimationPulse"));
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The <code>PulseMetricsMXBean</code> publishes the per-phase pulse statistics
+ * aggregated by the pulse metrics logger. Each phase reported by the runtime
+ * (CSS pass, layout pass, synchronization, painting, presenting, ...) as well
+ * as the pulse and rendering as a whole are described by a
+ * {@link PhaseStatistics}. Counters such as "Region image cache flushed" are
+ * accumulated since the last call to {@link #reset()}.
+ *
+ * The metrics are only gathered when the application is started with
+ * <code>-Djavafx.pulseLogger.metrics=true</code> or <code>-Djavafx.debug=true</code>.
+ */
+public interface PulseMetricsMXBean {
+
+    /**
+     * Returns whether pulse metrics are being gathered.
+     *
+     * @return true if the pulse metrics logger is enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Returns the number of pulses recorded since the last reset.
+     *
+     * @return the number of pulses
+     */
+    long getPulseCount();
+
+    /**
+     * Returns the statistics of every recorded phase, sorted by phase name.
+     *
+     * @return the list of phase statistics
+     */
+    List<PhaseStatistics> getPhaseStatistics();
+
+    /**
+     * Returns the statistics of the given phase.
+     *
+     * @param phase the name of the phase
+     * @return the statistics of the phase or null if the phase was never recorded
+     */
+    PhaseStatistics getPhaseStatistics(String phase);
+
+    /**
+     * Returns the current value of every counter, sorted by counter name.
+     *
+     * @return the counters
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Clears all statistics and counters.
+     */
+    void reset();
+}
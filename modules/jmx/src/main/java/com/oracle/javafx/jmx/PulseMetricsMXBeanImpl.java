@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.logging.MetricsLogger;
+
+/**
+ * Default implementation of {@link PulseMetricsMXBean} interface.
+ */
+public class PulseMetricsMXBeanImpl implements PulseMetricsMXBean {
+
+    private final MetricsLogger metrics;
+
+    public PulseMetricsMXBeanImpl() {
+        this(MetricsLogger.getInstance());
+    }
+
+    PulseMetricsMXBeanImpl(MetricsLogger metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEnabled() {
+        return metrics != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPulseCount() {
+        return metrics == null ? 0 : metrics.getPulseCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<PhaseStatistics> getPhaseStatistics() {
+        if (metrics == null) {
+            return Collections.emptyList();
+        }
+        List<PhaseStatistics> result = new ArrayList<>();
+        for (MetricsLogger.Histogram histogram : metrics.getHistograms()) {
+            result.add(toStatistics(histogram));
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PhaseStatistics getPhaseStatistics(String phase) {
+        if (metrics == null) {
+            return null;
+        }
+        MetricsLogger.Histogram histogram = metrics.getHistogram(phase);
+        return histogram == null ? null : toStatistics(histogram);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Long> getCounters() {
+        if (metrics == null) {
+            return Collections.emptyMap();
+        }
+        return metrics.getCounters();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        if (metrics != null) {
+            metrics.reset();
+        }
+    }
+
+    private static PhaseStatistics toStatistics(MetricsLogger.Histogram histogram) {
+        long[] percentiles = histogram.getPercentiles(50, 99);
+        return new PhaseStatistics(histogram.getName(),
+                histogram.getCount(),
+                toMicros(histogram.getMean()),
+                toMicros(percentiles[0]),
+                toMicros(percentiles[1]),
+                toMicros(histogram.getMax()));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+/**
+ * The <code>ServiceExecutorMXBean</code> publishes the state of the executor
+ * that runs the tasks of every {@link javafx.concurrent.Service} which has no
+ * executor of its own. A queued count that keeps growing, or an average wait
+ * time that is high compared to the time the tasks take, shows that the
+ * executor is saturated.
+ *
+ * The strategy and size of the executor are chosen with the
+ * <code>javafx.concurrent.executor</code> and
+ * <code>javafx.concurrent.poolSize</code> system properties.
+ */
+public interface ServiceExecutorMXBean {
+
+    /**
+     * Returns the strategy of the executor, one of "threadPool", "forkJoin"
+     * or "virtual".
+     *
+     * @return the strategy
+     */
+    String getStrategy();
+
+    /**
+     * Returns the maximum number of threads of the executor.
+     *
+     * @return the pool size
+     */
+    int getPoolSize();
+
+    /**
+     * Returns the number of threads the executor currently has.
+     *
+     * @return the thread count
+     */
+    int getThreadCount();
+
+    /**
+     * Returns the number of tasks waiting for a thread.
+     *
+     * @return the queued count
+     */
+    int getQueuedCount();
+
+    /**
+     * Returns the number of tasks currently running.
+     *
+     * @return the active count
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the number of tasks submitted since the last reset.
+     *
+     * @return the submitted count
+     */
+    long getSubmittedCount();
+
+    /**
+     * Returns the number of tasks that finished since the last reset.
+     *
+     * @return the completed count
+     */
+    long getCompletedCount();
+
+    /**
+     * Returns the average time in microseconds that tasks waited for a thread
+     * since the last reset.
+     *
+     * @return the average wait time
+     */
+    long getAverageWaitTime();
+
+    /**
+     * Returns the longest time in microseconds that a task waited for a
+     * thread since the last reset.
+     *
+     * @return the maximum wait time
+     */
+    long getMaximumWaitTime();
+
+    /**
+     * Clears the submitted and completed counts and the wait times.
+     */
+    void reset();
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+import java.util.concurrent.TimeUnit;
+
+import com.sun.javafx.concurrent.ServiceExecutor;
+
+/**
+ * Default implementation of {@link ServiceExecutorMXBean} interface.
+ */
+public class ServiceExecutorMXBeanImpl implements ServiceExecutorMXBean {
+
+    private final ServiceExecutor executor;
+
+    public ServiceExecutorMXBeanImpl() {
+        this(ServiceExecutor.getDefault());
+    }
+
+    ServiceExecutorMXBeanImpl(ServiceExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getStrategy() {
+        return executor.getStrategy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getThreadCount() {
+        return executor.getThreadCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getQueuedCount() {
+        return executor.getQueuedCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getSubmittedCount() {
+        return executor.getSubmittedCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCompletedCount() {
+        return executor.getCompletedCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getAverageWaitTime() {
+        return TimeUnit.NANOSECONDS.toMicros(executor.getAverageWaitTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMaximumWaitTime() {
+        return TimeUnit.NANOSECONDS.toMicros(executor.getMaximumWaitTime());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        executor.resetStatistics();
+    }
+}
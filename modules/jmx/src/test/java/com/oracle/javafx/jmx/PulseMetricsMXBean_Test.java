@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class PulseMetricsMXBean_Test {
+
+    @Test
+    public void registerTest() throws Exception {
+        final MBeanServer mbeanServer = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("com.oracle.javafx.jmx:type=PulseMetrics");
+        mbeanServer.registerMBean(new PulseMetricsMXBeanImpl(), name);
+
+        assertTrue(mbeanServer.isRegistered(name));
+        assertNotNull(mbeanServer.getAttribute(name, "PhaseStatistics"));
+        assertNotNull(mbeanServer.getAttribute(name, "Counters"));
+    }
+
+    @Test
+    public void disabledTest() {
+        final PulseMetricsMXBean mxBean = new PulseMetricsMXBeanImpl(null);
+        assertFalse(mxBean.isEnabled());
+        assertEquals(0, mxBean.getPulseCount());
+        assertTrue(mxBean.getPhaseStatistics().isEmpty());
+        assertNull(mxBean.getPhaseStatistics("CSS Pass"));
+        assertTrue(mxBean.getCounters().isEmpty());
+        mxBean.reset();
+    }
+}
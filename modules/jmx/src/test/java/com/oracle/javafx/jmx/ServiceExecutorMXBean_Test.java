@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2018, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.oracle.javafx.jmx;
+
+import com.sun.javafx.concurrent.ServiceExecutor;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class ServiceExecutorMXBean_Test {
+
+    @Test
+    public void registerTest() throws Exception {
+        final MBeanServer mbeanServer = MBeanServerFactory.newMBeanServer();
+        final ObjectName name = new ObjectName("com.oracle.javafx.jmx:type=ServiceExecutor");
+        mbeanServer.registerMBean(new ServiceExecutorMXBeanImpl(), name);
+
+        assertTrue(mbeanServer.isRegistered(name));
+        assertNotNull(mbeanServer.getAttribute(name, "Strategy"));
+        assertNotNull(mbeanServer.getAttribute(name, "QueuedCount"));
+        assertNotNull(mbeanServer.getAttribute(name, "AverageWaitTime"));
+    }
+
+    @Test
+    public void countersTest() throws Exception {
+        final ServiceExecutor executor = new ServiceExecutor(ServiceExecutor.THREAD_POOL, 2);
+        final ServiceExecutorMXBean mxBean = new ServiceExecutorMXBeanImpl(executor);
+        assertEquals(ServiceExecutor.THREAD_POOL, mxBean.getStrategy());
+        assertEquals(2, mxBean.getPoolSize());
+
+        final CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(done::countDown);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, mxBean.getSubmittedCount());
+
+        mxBean.reset();
+        assertEquals(0, mxBean.getSubmittedCount());
+        assertEquals(0, mxBean.getMaximumWaitTime());
+    }
+}